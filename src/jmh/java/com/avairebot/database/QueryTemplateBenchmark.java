@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.database.fakes.FakeDatabaseManager;
+import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.query.QueryTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the guild settings lookup with a fresh query builder, like
+ * the controllers used to do on every cache miss, against reusing the
+ * compiled query template and only binding the new values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryTemplateBenchmark {
+
+    private static final String[] columns = new String[50];
+
+    static {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = "guild_settings.column_" + i;
+        }
+    }
+
+    private FakeDatabaseManager dbm;
+    private QueryTemplate template;
+    private long guildId = 438134543837560832L;
+
+    @Setup
+    public void setUp() {
+        dbm = new FakeDatabaseManager();
+        template = dbm.template("guild_settings.benchmark", query -> query
+            .table("guild_settings")
+            .select(columns)
+            .where("guild_settings.id", QueryTemplate.parameter("id")));
+    }
+
+    @Benchmark
+    public String queryBuilder() {
+        return new QueryBuilder(dbm, "guild_settings")
+            .select(columns)
+            .where("guild_settings.id", guildId++)
+            .toSQL();
+    }
+
+    @Benchmark
+    public List<Object> queryTemplate() {
+        return template.bind(guildId++);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.moderation.global.automod.AutomodRules;
+import com.vdurmont.emoji.EmojiParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the compiled automod rules against the old character and emoji
+ * spam checks, which compiled both patterns and ran the emoji parser for
+ * every message, over a corpus of short, typical, and long messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutomodRulesBenchmark {
+
+    private static final String[] words = {
+        "hello", "the", "raid", "is", "at", "sector", "core", "anyone", "want", "to", "join",
+        "lol", "gg", "patrol", "points", "https://www.roblox.com/games/17541193", "ok", "thanks",
+        ":smile:", ":thumbsup:", "\uD83D\uDE00", "\uD83D\uDD25", "nooooo", "yesss", "!!!"
+    };
+
+    private static final int characterSpam = 6;
+    private static final int emojiSpam = 8;
+
+    @Param({"short", "typical", "long"})
+    private String corpus;
+
+    private String[] messages;
+    private AutomodRules rules;
+    private int index = 0;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        int minimumWords = switch (corpus) {
+            case "short" -> 1;
+            case "typical" -> 8;
+            default -> 80;
+        };
+
+        messages = new String[1024];
+        for (int i = 0; i < messages.length; i++) {
+            int amount = minimumWords + random.nextInt(minimumWords * 2);
+
+            StringBuilder builder = new StringBuilder();
+            for (int j = 0; j < amount; j++) {
+                builder.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            messages[i] = builder.toString().trim();
+        }
+
+        GuildSettingsTransformer transformer = new GuildSettingsTransformer(null);
+        transformer.setCharacterSpam(characterSpam);
+        transformer.setEmojiSpam(emojiSpam);
+
+        rules = transformer.getAutomodRules();
+    }
+
+    @Benchmark
+    public int patterns() {
+        String content = next();
+
+        Pattern characterPattern = Pattern.compile("(.)\\1{" + (characterSpam - 1) + ",}", Pattern.CASE_INSENSITIVE);
+        if (characterPattern.matcher(content).find()) {
+            return 1;
+        }
+
+        Pattern emojiPattern = Pattern.compile("(:[^:\\s]*(?:::[^:\\s]*)*:)", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = emojiPattern.matcher(content);
+
+        int count = EmojiParser.extractEmojis(content).size();
+        while (matcher.find()) {
+            count++;
+        }
+        return count >= emojiSpam ? 2 : 0;
+    }
+
+    @Benchmark
+    public AutomodRules.ContentViolation rules() {
+        return rules.checkContent(next());
+    }
+
+    private String next() {
+        index = (index + 1) & (messages.length - 1);
+        return messages[index];
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.pinewoodbuilders.moderation.filter.WordFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled word filter against the old filter path, which
+ * lowercased the whole filter list for every message and then checked
+ * every filtered word against the message one at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordFilterBenchmark {
+
+    @Param({"50", "1000"})
+    private int words;
+
+    private List <String> filter;
+    private WordFilter wordFilter;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        filter = new ArrayList <>();
+        for (int i = 0; i < words; i++) {
+            filter.add(randomWord(random, 5 + random.nextInt(6)).toUpperCase());
+        }
+        wordFilter = WordFilter.compile(filter, filter);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            builder.append(randomWord(random, 3 + random.nextInt(6))).append(' ');
+        }
+        message = builder.toString().trim();
+    }
+
+    @Benchmark
+    public boolean listWildcard() {
+        String content = message.toLowerCase();
+        for (String word : lowercase(filter)) {
+            if (content.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean listExact() {
+        List <String> words = lowercase(Arrays.asList(message.split(" ")));
+        List <String> badWords = lowercase(filter);
+
+        return words.stream().anyMatch(badWords::contains);
+    }
+
+    @Benchmark
+    public String compiledWildcard() {
+        return wordFilter.findWildcardMatch(message);
+    }
+
+    @Benchmark
+    public String compiledExact() {
+        return wordFilter.findExactMatch(message);
+    }
+
+    private static List <String> lowercase(List <String> strings) {
+        List <String> result = new ArrayList <>(strings.size());
+        for (String string : strings) {
+            result.add(string.toLowerCase());
+        }
+        return result;
+    }
+
+    private static String randomWord(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -62,17 +62,23 @@ import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.middleware.*;
 import com.pinewoodbuilders.middleware.global.IsCategoryEnabled;
+import com.pinewoodbuilders.moderation.expiry.ExpiryService;
 import com.pinewoodbuilders.moderation.local.ban.BanManager;
 import com.pinewoodbuilders.moderation.global.filter.LinkFilterManager;
+import com.pinewoodbuilders.moderation.global.filter.RedirectResolver;
 import com.pinewoodbuilders.moderation.local.mute.MuteManager;
 import com.pinewoodbuilders.moderation.global.globalmute.GlobalMuteManager;
 import com.pinewoodbuilders.moderation.global.punishments.GlobalPunishmentManager;
 import com.pinewoodbuilders.moderation.local.warn.WarnsManager;
+import com.pinewoodbuilders.moderation.global.moderators.GroupModeratorManager;
 import com.pinewoodbuilders.moderation.local.watch.WatchManager;
 import com.pinewoodbuilders.moderation.global.globalwatch.GlobalWatchManager;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseAllocator;
 import com.pinewoodbuilders.pinewood.VoiceWhitelistManager;
 import com.pinewoodbuilders.plugin.PluginLoader;
 import com.pinewoodbuilders.plugin.PluginManager;
+import com.pinewoodbuilders.reminders.ReminderManager;
+import com.pinewoodbuilders.requests.HttpClientProvider;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
 import com.pinewoodbuilders.servlet.WebServlet;
@@ -141,11 +147,15 @@ public class Xeus {
     private final LevelManager levelManager;
     private final PluginManager pluginManager;
     private final VoteManager voteManager;
+    private final ReminderManager reminderManager;
+    private final ExpiryService expiryService;
+    private final ModlogCaseAllocator modlogCaseAllocator;
     private final MuteManager muteManger;
     private final BanManager banManager;
     private final GlobalMuteManager globalMuteManager;
     private final WatchManager onWatchManger;
     private final WarnsManager warnsManager;
+    private final GroupModeratorManager groupModeratorManager;
     private final ShardEntityCounter shardEntityCounter;
     private final EventEmitter eventEmitter;
     private final BotAdmin botAdmins;
@@ -157,6 +167,7 @@ public class Xeus {
     private final GlobalPunishmentManager globalPunishmentManager;
     private final GlobalWatchManager globalWatchManager;
     private final LinkFilterManager linkFilterManager;
+    private final RedirectResolver redirectResolver;
 
     private Carbon shutdownTime = null;
     private int shutdownCode = ExitCodes.EXIT_CODE_RESTART;
@@ -205,6 +216,8 @@ public class Xeus {
             EnvironmentOverride.overrideWithPrefix("AVA", constants);
         }
 
+        HttpClientProvider.configure(config);
+
         botAdmins = new BotAdmin(this, Collections.unmodifiableSet(new HashSet <>(
             config.getStringList("botAccess")
         )));
@@ -455,12 +468,25 @@ public class Xeus {
         log.info("Preparing vote manager");
         voteManager = new VoteManager(this);
 
+        log.info("Preparing reminder manager");
+        reminderManager = new ReminderManager(this);
+
+        log.info("Preparing modlog case allocator");
+        modlogCaseAllocator = new ModlogCaseAllocator(this);
+
+        log.info("Preparing moderation expiry service");
+        expiryService = new ExpiryService(ScheduleHandler.getScheduler());
+
         log.info("Preparing mute manager");
         muteManger = new MuteManager(this);
 
         log.info("Preparing link filter manager");
         linkFilterManager = new LinkFilterManager(this);
 
+        log.info("Preparing redirect resolver");
+        redirectResolver = new RedirectResolver();
+        Metrics.cacheMetrics.addCache("redirect-chains", redirectResolver.getCache());
+
         log.info("Preparing global mute manager");
         globalMuteManager = new GlobalMuteManager(this);
 
@@ -476,6 +502,9 @@ public class Xeus {
         log.info("Preparing warnings manager");
         warnsManager = new WarnsManager(this);
 
+        log.info("Preparing group moderator manager");
+        groupModeratorManager = new GroupModeratorManager(this);
+
         log.info("Preparing voice whitelist manager.");
         voiceWhitelistManager = new VoiceWhitelistManager(this);
 
@@ -597,6 +626,18 @@ public class Xeus {
         return voteManager;
     }
 
+    public ReminderManager getReminderManager() {
+        return reminderManager;
+    }
+
+    public ExpiryService getExpiryService() {
+        return expiryService;
+    }
+
+    public ModlogCaseAllocator getModlogCaseAllocator() {
+        return modlogCaseAllocator;
+    }
+
     public MuteManager getMuteManger() {
         return muteManger;
     }
@@ -774,7 +815,15 @@ public class Xeus {
         return warnsManager;
     }
 
+    public GroupModeratorManager getGroupModeratorManager() {
+        return groupModeratorManager;
+    }
+
     public LinkFilterManager getLinkFilterManager() {
         return linkFilterManager;
     }
+
+    public RedirectResolver getRedirectResolver() {
+        return redirectResolver;
+    }
 }
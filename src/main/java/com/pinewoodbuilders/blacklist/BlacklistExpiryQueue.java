@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.blacklist;
+
+import com.pinewoodbuilders.time.Carbon;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of when blacklist records expire, ordered by their expiry
+ * time, so expired records can be removed without scanning the whole
+ * blacklist. Keys that have been replaced or removed in the meantime
+ * are still handed back once their old expiry time is reached, so the
+ * consumer should re-check the current record before dropping it.
+ *
+ * @param <K> The key type used to look up the blacklist records.
+ */
+public class BlacklistExpiryQueue<K> {
+
+    private final DelayQueue<Expiry<K>> queue = new DelayQueue<>();
+
+    /**
+     * Schedules the given key to be handed back once the given time has passed,
+     * records with no expire time are never scheduled.
+     *
+     * @param key       The key of the blacklist record.
+     * @param expiresIn The carbon time instance for when the record expires.
+     */
+    public void schedule(@Nonnull K key, @Nullable Carbon expiresIn) {
+        if (expiresIn == null) {
+            return;
+        }
+        queue.add(new Expiry<>(key, expiresIn.getTime().getTimeInMillis()));
+    }
+
+    /**
+     * Hands every key whose expire time has passed to the given consumer,
+     * keys that haven't expired yet are left in the queue.
+     *
+     * @param consumer The consumer that should remove the expired records.
+     */
+    public void drainExpired(@Nonnull Consumer<K> consumer) {
+        Expiry<K> expiry;
+        while ((expiry = queue.poll()) != null) {
+            consumer.accept(expiry.key());
+        }
+    }
+
+    /**
+     * Removes every scheduled key from the queue.
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    private record Expiry<K>(K key, long expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(expiresAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed other) {
+            if (other instanceof Expiry<?> expiry) {
+                return Long.compare(expiresAt, expiry.expiresAt);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
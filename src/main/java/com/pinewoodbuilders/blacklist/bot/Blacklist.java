@@ -23,6 +23,7 @@ package com.pinewoodbuilders.blacklist.bot;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.blacklist.BlacklistExpiryQueue;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.query.ChangeableStatement;
 import com.pinewoodbuilders.time.Carbon;
@@ -33,15 +34,16 @@ import net.dv8tion.jda.api.entities.User;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@SuppressWarnings("SuspiciousMethodCalls")
 public class Blacklist {
 
     private final Xeus avaire;
-    private final List<BlacklistEntity> blacklist;
+    private final Map<BlacklistKey, BlacklistEntity> blacklist;
+    private final BlacklistExpiryQueue<BlacklistKey> expiryQueue;
     private final Ratelimit ratelimit;
 
     /**
@@ -52,7 +54,8 @@ public class Blacklist {
     public Blacklist(Xeus avaire) {
         this.avaire = avaire;
 
-        this.blacklist = new BlacklistList();
+        this.blacklist = new ConcurrentHashMap<>();
+        this.expiryQueue = new BlacklistExpiryQueue<>();
         this.ratelimit = new Ratelimit(this);
     }
 
@@ -72,7 +75,7 @@ public class Blacklist {
      * @return <code>True</code> if the ID is on the blacklist, <code>False</code> otherwise.
      */
     public boolean isBlacklisted(Long id) {
-        return blacklist.contains(id);
+        return getEntity(id) != null;
     }
 
     /**
@@ -143,19 +146,12 @@ public class Blacklist {
      * @param id The ID to remove from teh blacklist.
      */
     public void remove(long id) {
-        if (!isBlacklisted(id)) {
+        BlacklistEntity entity = getEntity(id);
+        if (entity == null) {
             return;
         }
 
-        Iterator<BlacklistEntity> iterator = blacklist.iterator();
-        while (iterator.hasNext()) {
-            BlacklistEntity next = iterator.next();
-
-            if (next.getId() == id) {
-                iterator.remove();
-                break;
-            }
-        }
+        blacklist.remove(new BlacklistKey(entity.getScope(), id), entity);
 
         try {
             avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
@@ -186,11 +182,13 @@ public class Blacklist {
      */
     @Nullable
     public BlacklistEntity getEntity(long id, @Nullable Scope scope) {
-        for (BlacklistEntity entity : blacklist) {
-            if (entity.getId() == id) {
-                if (scope != null && scope != entity.getScope()) {
-                    continue;
-                }
+        if (scope != null) {
+            return blacklist.get(new BlacklistKey(scope, id));
+        }
+
+        for (Scope value : Scope.values()) {
+            BlacklistEntity entity = blacklist.get(new BlacklistKey(value, id));
+            if (entity != null) {
                 return entity;
             }
         }
@@ -217,12 +215,10 @@ public class Blacklist {
      * @param expiresIn The carbon time instance for when the entity should expire.
      */
     public void addIdToBlacklist(Scope scope, final long id, final @Nullable String reason, @Nullable Carbon expiresIn) {
-        BlacklistEntity entity = getEntity(id, scope);
-        if (entity != null) {
-            blacklist.remove(entity);
-        }
+        BlacklistKey key = new BlacklistKey(scope, id);
 
-        blacklist.add(new BlacklistEntity(scope, id, reason, expiresIn));
+        blacklist.put(key, new BlacklistEntity(scope, id, reason, expiresIn));
+        expiryQueue.schedule(key, expiresIn);
 
         try {
             avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
@@ -257,19 +253,30 @@ public class Blacklist {
      * @return The entities currently on the blacklist.
      */
     public List<BlacklistEntity> getBlacklistEntities() {
-        return blacklist;
+        return List.copyOf(blacklist.values());
+    }
+
+    /**
+     * Removes the entities whose expire time has passed from the blacklist, only
+     * the entities that are due are looked at, so this doesn't depend on
+     * the size of the blacklist.
+     */
+    public void removeExpiredEntities() {
+        expiryQueue.drainExpired(key -> blacklist.computeIfPresent(key,
+            (ignored, entity) -> entity.isBlacklisted() ? entity : null
+        ));
     }
 
     /**
      * Syncs the blacklist with the database.
      */
     public synchronized void syncBlacklistWithDatabase() {
-        blacklist.clear();
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
                 .where("expires_in", ">", Carbon.now())
                 .get();
 
+            Map<BlacklistKey, BlacklistEntity> entities = new HashMap<>();
             collection.forEach(row -> {
                 String id = row.getString("id", null);
                 if (id == null) {
@@ -280,7 +287,7 @@ public class Blacklist {
                     long longId = Long.parseLong(id);
                     Scope scope = Scope.fromId(row.getInt("type", 0));
 
-                    blacklist.add(new BlacklistEntity(
+                    entities.put(new BlacklistKey(scope, longId), new BlacklistEntity(
                         scope, longId,
                         row.getString("reason"),
                         row.getTimestamp("expires_in")
@@ -289,26 +296,17 @@ public class Blacklist {
                     // This is ignored
                 }
             });
+
+            blacklist.keySet().retainAll(entities.keySet());
+            blacklist.putAll(entities);
+
+            expiryQueue.clear();
+            entities.forEach((key, entity) -> expiryQueue.schedule(key, entity.getExpiresIn()));
         } catch (SQLException e) {
             Xeus.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
         }
     }
 
-    private class BlacklistList extends ArrayList<BlacklistEntity> {
-
-        @Override
-        public boolean contains(Object o) {
-            if (o instanceof Long) {
-                long id = (long) o;
-                for (BlacklistEntity entity : this) {
-                    if (entity.getId() == id) {
-                        return true;
-                    }
-                }
-                return false;
-            }
-
-            return super.contains(o);
-        }
+    private record BlacklistKey(Scope scope, long id) {
     }
 }
@@ -89,6 +89,16 @@ public class BlacklistEntity extends Evalable {
         return expiresIn == null || expiresIn.isFuture();
     }
 
+    /**
+     * Gets the time the blacklist entity expires, or null if it never expires.
+     *
+     * @return Possibly-null, the carbon time instance for when the entity expires.
+     */
+    @Nullable
+    public Carbon getExpiresIn() {
+        return expiresIn;
+    }
+
     /**
      * Gets the reason the entity was blacklist form, or null.
      *
@@ -24,12 +24,9 @@ package com.pinewoodbuilders.blacklist.bot;
 import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.ratelimit.PunishmentRatelimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 import org.slf4j.Logger;
@@ -38,10 +35,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 public class Ratelimit {
 
@@ -61,26 +55,11 @@ public class Ratelimit {
      */
     static final long hitTime = 30 * 1000;
 
-    /**
-     * The cache loader for holding all the ratelimiter rates.
-     */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(Rate::new));
-
     /**
      * The slf4j logger instance.
      */
     private static final Logger log = LoggerFactory.getLogger(Ratelimit.class);
 
-    /**
-     * The punishment level holder, this map holds all the users and their current
-     * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
-     */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
-
     /**
      * The punishment levels, each index of the levels list should be an
      * increasingly harsher punishment for repeating offenders.
@@ -97,6 +76,11 @@ public class Ratelimit {
         () -> Carbon.now().addDays(7)
     );
 
+    /**
+     * The ratelimiter holding all the rates and punishment levels.
+     */
+    public static final PunishmentRatelimiter ratelimiter = new PunishmentRatelimiter(hitLimit, hitTime, levels);
+
     /**
      * The blacklist instance that the ratelimit was created for.
      */
@@ -196,35 +180,11 @@ public class Ratelimit {
      */
     @Nullable
     public Carbon hit(ThrottleMiddleware.ThrottleType type, long id) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
-            return null;
-        }
-
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        Carbon punishment = ratelimiter.hit(id);
+        if (punishment == null) {
             return null;
         }
 
-        Carbon punishment = getPunishment(id);
-
         log.info("{}:{} has been added to the blacklist for excessive command usage, the blacklist expires {}.",
             type.getName(), id, punishment.toDayDateTimeString()
         );
@@ -237,33 +197,4 @@ public class Ratelimit {
 
         return punishment;
     }
-
-    /**
-     * Gets the punishment for the given user ID, as well as
-     * increasing their punishment level in the process.
-     *
-     * @param userId The ID of the user that the punishment should be fetched for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
-    }
-
-    /**
-     * Gets the {@link Carbon} punishment object, representing
-     * the time that the punishment should expire.
-     *
-     * @param level The level to get the punishment for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private Carbon getPunishment(int level) {
-        if (level < 0) {
-            return levels.get(0).generateTime();
-        }
-        return levels.get(level >= levels.size() ? levels.size() - 1 : level).generateTime();
-    }
 }
@@ -23,6 +23,7 @@ package com.pinewoodbuilders.blacklist.features;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.blacklist.BlacklistExpiryQueue;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.query.ChangeableStatement;
 import com.pinewoodbuilders.time.Carbon;
@@ -33,15 +34,22 @@ import net.dv8tion.jda.api.entities.User;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@SuppressWarnings("SuspiciousMethodCalls")
 public class FeatureBlacklist {
 
+    /**
+     * The guild ID that global Pinewood blacklist records are stored
+     * under, these apply to every feature in every guild.
+     */
+    private static final long GLOBAL_GUILD_ID = 1L;
+
     private final Xeus avaire;
-    private final List<FeatureBlacklistEntity> blacklist;
+    private final Map<FeatureKey, FeatureBlacklistEntity> blacklist;
+    private final BlacklistExpiryQueue<FeatureKey> expiryQueue;
 
     /**
      * Creates a new blacklist instance.
@@ -51,7 +59,8 @@ public class FeatureBlacklist {
     public FeatureBlacklist(Xeus avaire) {
         this.avaire = avaire;
 
-        this.blacklist = new ArrayList<>();
+        this.blacklist = new ConcurrentHashMap<>();
+        this.expiryQueue = new BlacklistExpiryQueue<>();
     }
 
     /**
@@ -95,29 +104,44 @@ public class FeatureBlacklist {
         if (u == null) {
             return;
         }
-        if (!isBlacklisted(u, guildId, featureScope)) {
-            return;
-        }
 
-        Iterator<FeatureBlacklistEntity> iterator = blacklist.iterator();
-        while (iterator.hasNext()) {
-            FeatureBlacklistEntity next = iterator.next();
-
-            if (next.getId() == id && next.getGuildId() == guildId) {
-                iterator.remove();
-                break;
-            }
+        FeatureBlacklistEntity entity = forget(id, guildId, featureScope);
+        if (entity == null) {
+            return;
         }
 
         try {
             avaire.getDatabase().newQueryBuilder(Constants.FEATURE_BLACKLIST_TABLE_NAME)
                 .where("id", id)
+                .andWhere("guild_id", entity.getGuildId())
+                .andWhere("type", entity.getScope().getId())
                 .delete();
         } catch (SQLException e) {
             Xeus.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Removes the blacklist record for the given ID from memory, the record for the
+     * exact scope within the given guild is removed first, falling back to the
+     * record that covers every feature within the guild. Global Pinewood
+     * blacklist records are only removed when their own guild and scope
+     * are given, so a guild blacklist removal never lifts them.
+     *
+     * @param id           The ID to remove from the blacklist.
+     * @param guildId      The ID of the guild the record belongs to.
+     * @param featureScope The scope of the record.
+     * @return Possibly-null, the blacklist entity that was removed.
+     */
+    @Nullable
+    public FeatureBlacklistEntity forget(long id, long guildId, FeatureScope featureScope) {
+        FeatureBlacklistEntity entity = blacklist.remove(new FeatureKey(guildId, id, featureScope));
+        if (entity != null || featureScope == FeatureScope.GLOBAL || featureScope == FeatureScope.PIA_GLOBAL) {
+            return entity;
+        }
+        return blacklist.remove(new FeatureKey(guildId, id, FeatureScope.GLOBAL));
+    }
+
     /**
      * Gets the blacklist entity for the given ID.
      *
@@ -130,7 +154,10 @@ public class FeatureBlacklist {
     }
 
     /**
-     * Gets the blacklist entity for the given ID, matching the given scope.
+     * Gets the blacklist entity for the given ID, matching the given scope. Global
+     * Pinewood blacklist records for the ID are matched first, followed by the
+     * record for the exact scope, and lastly the record that covers every
+     * feature within the given guild.
      *
      * @param id    The ID to get the blacklist entity for.
      * @param featureScope The scope that the blacklist entity should belong to.
@@ -138,17 +165,26 @@ public class FeatureBlacklist {
      */
     @Nullable
     public FeatureBlacklistEntity getEntity(long id, @Nullable FeatureScope featureScope, Long guild) {
-        for (FeatureBlacklistEntity entity : blacklist) {
-            if (entity.getGuildId() == 1 && entity.getScope().getId() == 0) {
-                return entity;
-            } else if (entity.getId() == id && entity.getGuildId() == guild) {
-                if (featureScope != null && featureScope != entity.getScope() && entity.getScope().getId() != 1) {
-                    continue;
+        FeatureBlacklistEntity entity = blacklist.get(new FeatureKey(GLOBAL_GUILD_ID, id, FeatureScope.PIA_GLOBAL));
+        if (entity != null) {
+            return entity;
+        }
+
+        if (featureScope == null) {
+            for (FeatureScope scope : FeatureScope.values()) {
+                entity = blacklist.get(new FeatureKey(guild, id, scope));
+                if (entity != null) {
+                    return entity;
                 }
-                return entity;
             }
+            return null;
+        }
+
+        entity = blacklist.get(new FeatureKey(guild, id, featureScope));
+        if (entity != null) {
+            return entity;
         }
-        return null;
+        return blacklist.get(new FeatureKey(guild, id, FeatureScope.GLOBAL));
     }
 
     /**
@@ -171,12 +207,7 @@ public class FeatureBlacklist {
      * @param expiresIn The carbon time instance for when the entity should expire.
      */
     public void addIdToBlacklist(FeatureScope featureScope, final long id, final @Nullable String reason, @Nullable Carbon expiresIn, Long guild) {
-        FeatureBlacklistEntity entity = getEntity(id, featureScope, guild);
-        if (entity != null) {
-            blacklist.remove(entity);
-        }
-
-        blacklist.add(new FeatureBlacklistEntity(featureScope, id, reason, expiresIn, guild));
+        remember(new FeatureBlacklistEntity(featureScope, id, reason, expiresIn, guild));
 
         try {
             avaire.getDatabase().newQueryBuilder(Constants.FEATURE_BLACKLIST_TABLE_NAME)
@@ -206,6 +237,20 @@ public class FeatureBlacklist {
         }
     }
 
+    /**
+     * Adds the given blacklist entity to the in-memory blacklist, replacing any
+     * record with the same guild, ID, and scope, and schedules it to be
+     * removed once it expires, the database is left untouched.
+     *
+     * @param entity The blacklist entity that should be added.
+     */
+    public void remember(@Nonnull FeatureBlacklistEntity entity) {
+        FeatureKey key = new FeatureKey(entity.getGuildId(), entity.getId(), entity.getScope());
+
+        blacklist.put(key, entity);
+        expiryQueue.schedule(key, entity.getExpiresIn());
+    }
+
     /**
      * Get the all the entities currently on the blacklist, this
      * includes both users and guilds, the type can be checked
@@ -214,19 +259,29 @@ public class FeatureBlacklist {
      * @return The entities currently on the blacklist.
      */
     public List<FeatureBlacklistEntity> getBlacklistEntities() {
-        return blacklist;
+        return List.copyOf(blacklist.values());
+    }
+
+    /**
+     * Removes the entities whose expire time has passed from the blacklist, only
+     * the entities that are due are looked at.
+     */
+    public void removeExpiredEntities() {
+        expiryQueue.drainExpired(key -> blacklist.computeIfPresent(key,
+            (ignored, entity) -> entity.isBlacklisted() ? entity : null
+        ));
     }
 
     /**
      * Syncs the blacklist with the database.
      */
     public synchronized void syncBlacklistWithDatabase() {
-        blacklist.clear();
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.FEATURE_BLACKLIST_TABLE_NAME)
                 .where("expires_in", ">", Carbon.now())
                 .get();
 
+            Map<FeatureKey, FeatureBlacklistEntity> entities = new HashMap<>();
             collection.forEach(row -> {
                 String id = row.getString("id", null);
                 if (id == null) {
@@ -237,19 +292,29 @@ public class FeatureBlacklist {
                     long longId = Long.parseLong(id);
                     FeatureScope featureScope = FeatureScope.fromId(row.getInt("type", 0));
 
-                    blacklist.add(new FeatureBlacklistEntity(
+                    long guildId = row.getLong("guild_id");
+
+                    entities.put(new FeatureKey(guildId, longId, featureScope), new FeatureBlacklistEntity(
                         featureScope, longId,
                         row.getString("reason"),
                         row.getTimestamp("expires_in"),
-                        row.getLong("guild_id")
+                        guildId
                     ));
                 } catch (NumberFormatException ignored) {
                     // This is ignored
                 }
             });
+
+            blacklist.keySet().retainAll(entities.keySet());
+            blacklist.putAll(entities);
+
+            expiryQueue.clear();
+            entities.forEach((key, entity) -> expiryQueue.schedule(key, entity.getExpiresIn()));
         } catch (SQLException e) {
             Xeus.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
         }
     }
 
+    private record FeatureKey(long guildId, long id, FeatureScope scope) {
+    }
 }
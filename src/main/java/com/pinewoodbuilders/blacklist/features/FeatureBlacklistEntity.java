@@ -43,7 +43,7 @@ public class FeatureBlacklistEntity extends Evalable {
      * @param reason    The reason the entity was blacklisted.
      * @param expiresIn The carbon time instance for when the blacklist entity should expire.
      */
-    FeatureBlacklistEntity(FeatureScope featureScope, long id, @Nullable String reason, @Nullable Carbon expiresIn, long guildId) {
+    public FeatureBlacklistEntity(FeatureScope featureScope, long id, @Nullable String reason, @Nullable Carbon expiresIn, long guildId) {
         this.featureScope = featureScope;
         this.id = id;
         this.reason = reason;
@@ -100,6 +100,16 @@ public class FeatureBlacklistEntity extends Evalable {
         return featureScope.equals(FeatureScope.PIA_GLOBAL) || (expiresIn != null && expiresIn.isFuture());
     }
 
+    /**
+     * Gets the time the blacklist entity expires, or null if no expire time was set.
+     *
+     * @return Possibly-null, the carbon time instance for when the entity expires.
+     */
+    @Nullable
+    public Carbon getExpiresIn() {
+        return expiresIn;
+    }
+
     /**
      * Gets the reason the entity was blacklist form, or null.
      *
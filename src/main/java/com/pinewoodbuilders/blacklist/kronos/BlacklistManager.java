@@ -1,129 +1,236 @@
 package com.pinewoodbuilders.blacklist.kronos;
 
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheItem;
 import com.pinewoodbuilders.cache.CacheType;
-import com.google.gson.internal.LinkedTreeMap;
+import com.pinewoodbuilders.contracts.cache.CacheAdapter;
 import com.pinewoodbuilders.factories.RequestFactory;
+import com.pinewoodbuilders.requests.Request;
 import com.pinewoodbuilders.requests.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 public class BlacklistManager {
 
-    private final Xeus avaire;
+    /**
+     * The amount of seconds a caller will wait for a division blacklist to
+     * be loaded, if no blacklist has been loaded or persisted for it yet.
+     */
+    private static final int FIRST_LOAD_TIMEOUT = 10;
 
     private static final Logger log = LoggerFactory.getLogger(BlacklistManager.class);
 
+    private final Xeus avaire;
+    private final Map<KronosDivision, DivisionBlacklist> divisions = new EnumMap<>(KronosDivision.class);
+
     public BlacklistManager(Xeus avaire) {
         this.avaire = avaire;
-    }
 
-    @SuppressWarnings("unchecked")
-    public ArrayList<Long> getTMSBlacklist() {
-        ArrayList<Long> list = new ArrayList<>();
-        String tmsCacheToken = "blacklist.tms.blacklists";
-        if (avaire.getCache().getAdapter(CacheType.FILE).has(tmsCacheToken)) {
-            List<LinkedTreeMap<String, Double>> items = (List<LinkedTreeMap<String, Double>>) avaire.getCache()
-                .getAdapter(CacheType.FILE).get(tmsCacheToken);
-            for (LinkedTreeMap<String, Double> item : items) {
-                list.add(item.get("id").longValue());
+        for (KronosDivision division : KronosDivision.values()) {
+            DivisionBlacklist blacklist = new DivisionBlacklist();
+
+            BlacklistSnapshot persisted = loadPersistedSnapshot(division);
+            if (persisted != null) {
+                blacklist.snapshot = persisted;
+                blacklist.loaded.complete(persisted);
             }
-            //log.info("pbm Blacklist has been requested.");
-        } else {
-            RequestFactory.makeGET("https://pb-kronos.dev/tms/blacklist")
-                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosApiKey"))
-                .send((Consumer <Response>) response -> {
-                    log.info("tms Blacklist has been requested and updated.");
-                    List<LinkedTreeMap<String, Double>> service = (List<LinkedTreeMap<String, Double>>) response.toService(List.class);
-                    for (LinkedTreeMap<String, Double> item : service) {
-                        list.add(item.get("id").longValue());
-                    }
-                    avaire.getCache().getAdapter(CacheType.FILE).remember(tmsCacheToken, (60*60)*60, () -> service);
-                });
+
+            divisions.put(division, blacklist);
         }
-        return list;
+
+        refreshAll();
     }
-    @SuppressWarnings("unchecked")
-    public ArrayList<Long> getPETBlacklist() {
-        ArrayList<Long> list = new ArrayList<>();
-        String petCacheToken = "blacklist.pet.blacklists";
-        if (avaire.getCache().getAdapter(CacheType.FILE).has(petCacheToken)) {
-            List<LinkedTreeMap<String, Double>> items = (List<LinkedTreeMap<String, Double>>) avaire.getCache()
-                .getAdapter(CacheType.FILE).get(petCacheToken);
-            for (LinkedTreeMap<String, Double> item : items) {
-                list.add(item.get("id").longValue());
-            }
-            //log.info("pet Blacklist has been requested.");
-        } else {
-            RequestFactory.makeGET("https://pb-kronos.dev/pet/blacklist")
-                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosApiKey"))
-                .send((Consumer <Response>) response -> {
-                    log.info("pet Blacklist has been requested and updated.");
-                    List<LinkedTreeMap<String, Double>> service = (List<LinkedTreeMap<String, Double>>) response.toService(List.class);
-                    for (LinkedTreeMap<String, Double> item : service) {
-                        list.add(item.get("id").longValue());
-                    }
-                    avaire.getCache().getAdapter(CacheType.FILE).remember(petCacheToken, (60*60)*60, () -> service);
-                });
+
+    /**
+     * Checks if the given Roblox ID is on the blacklist for the given division, if
+     * the division blacklist hasn't been loaded or persisted yet, this will wait
+     * for the first load to finish before checking the blacklist.
+     *
+     * @param division The division that the blacklist should be checked for.
+     * @param robloxId The Roblox ID that should be checked.
+     * @return <code>True</code> if the ID is on the division blacklist, <code>False</code> otherwise.
+     */
+    public boolean isBlacklisted(@Nonnull KronosDivision division, long robloxId) {
+        return awaitSnapshot(division).contains(robloxId);
+    }
+
+    /**
+     * Gets the blacklist snapshot for the given division, waiting for the first load
+     * to finish if the division blacklist hasn't been loaded or persisted yet.
+     *
+     * @param division The division that the snapshot should be returned for.
+     * @return The blacklist snapshot for the given division.
+     */
+    public BlacklistSnapshot awaitSnapshot(@Nonnull KronosDivision division) {
+        DivisionBlacklist blacklist = divisions.get(division);
+        if (blacklist.loaded.isDone()) {
+            return blacklist.snapshot;
         }
-        return list;
+
+        try {
+            return blacklist.loaded.get(FIRST_LOAD_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Timed out waiting for the {} blacklist to be loaded", division.getName());
+        }
+        return blacklist.snapshot;
     }
 
-    @SuppressWarnings("unchecked")
-    public ArrayList<Long> getPBSTBlacklist() {
-        ArrayList<Long> list = new ArrayList<>();
-        String PBSTCacheToken = "blacklist.pbst.blacklists";
-        if (avaire.getCache().getAdapter(CacheType.FILE).has(PBSTCacheToken)) {
-            List<LinkedTreeMap<String, Double>> items = (List<LinkedTreeMap<String, Double>>) avaire.getCache()
-                .getAdapter(CacheType.FILE).get(PBSTCacheToken);
-            for (LinkedTreeMap<String, Double> item : items) {
-                list.add(item.get("id").longValue());
+    /**
+     * Refreshes the blacklists for all the divisions in the background.
+     */
+    public void refreshAll() {
+        for (KronosDivision division : KronosDivision.values()) {
+            refresh(division);
+        }
+    }
+
+    /**
+     * Refreshes the blacklist for the given division in the background, the request
+     * is sent as a conditional request, so the blacklist is only downloaded again
+     * if it has changed since it was last loaded. If a refresh is already
+     * running for the division, the running refresh is returned instead.
+     *
+     * @param division The division that the blacklist should be refreshed for.
+     * @return The future that completes with the refreshed snapshot.
+     */
+    public CompletableFuture<BlacklistSnapshot> refresh(@Nonnull KronosDivision division) {
+        DivisionBlacklist blacklist = divisions.get(division);
+
+        CompletableFuture<BlacklistSnapshot> future = new CompletableFuture<>();
+        if (!blacklist.refresh.compareAndSet(null, future)) {
+            CompletableFuture<BlacklistSnapshot> running = blacklist.refresh.get();
+            return running != null ? running : refresh(division);
+        }
+
+        BlacklistSnapshot current = blacklist.snapshot;
+
+        Request request = RequestFactory.makeGET(division.getBlacklistUrl())
+            .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosApiKey"));
+
+        if (current.getEtag() != null) {
+            request.addHeader("If-None-Match", current.getEtag());
+        }
+        if (current.getLastModified() != null) {
+            request.addHeader("If-Modified-Since", current.getLastModified());
+        }
+
+        request.send((Consumer<Response>) response -> {
+            try {
+                future.complete(handleResponse(division, blacklist, response));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }, future::completeExceptionally);
+
+        return future.whenComplete((snapshot, throwable) -> {
+            blacklist.refresh.set(null);
+
+            if (throwable != null) {
+                log.warn("Failed to refresh the {} blacklist: {}", division.getName(), throwable.getMessage());
             }
-            //log.info("PBST Blacklist has been requested.");
-        } else {
-            RequestFactory.makeGET("https://pb-kronos.dev/pbst/blacklist")
-                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosApiKey"))
-                .send((Consumer <Response>) response -> {
-                    log.info("PBST Blacklist has been requested and updated.");
-                    List<LinkedTreeMap<String, Double>> service = (List<LinkedTreeMap<String, Double>>) response.toService(List.class);
-                    for (LinkedTreeMap<String, Double> item : service) {
-                        list.add(item.get("id").longValue());
-                    }
-                    avaire.getCache().getAdapter(CacheType.FILE).remember(PBSTCacheToken, (60*60)*60, () -> service);
-                });
+
+            // Callers waiting for the first load are released even if the request
+            // failed, they'll get the empty snapshot rather than waiting forever.
+            blacklist.loaded.complete(blacklist.snapshot);
+        });
+    }
+
+    private BlacklistSnapshot handleResponse(KronosDivision division, DivisionBlacklist blacklist, Response response) {
+        okhttp3.Response raw = response.getResponse();
+
+        if (raw.code() == 304) {
+            raw.close();
+            return blacklist.snapshot;
+        }
+
+        if (!raw.isSuccessful()) {
+            raw.close();
+            throw new IllegalStateException("Kronos responded with status code " + raw.code());
+        }
+
+        String etag = raw.header("ETag");
+        String lastModified = raw.header("Last-Modified");
+
+        List<?> service = (List<?>) response.toService(List.class);
+        if (service == null) {
+            throw new IllegalStateException("Kronos responded with an empty blacklist body");
+        }
+
+        BlacklistSnapshot snapshot = BlacklistSnapshot.of(toIds(service, "id"), etag, lastModified);
+        blacklist.snapshot = snapshot;
+        persistSnapshot(division, snapshot);
+
+        log.info("{} blacklist has been requested and updated, {} entries loaded.", division.getName(), snapshot.size());
+
+        return snapshot;
+    }
+
+    private void persistSnapshot(KronosDivision division, BlacklistSnapshot snapshot) {
+        Map<String, Object> persisted = new HashMap<>();
+        persisted.put("ids", snapshot.toArray());
+        persisted.put("etag", snapshot.getEtag());
+        persisted.put("lastModified", snapshot.getLastModified());
+
+        avaire.getCache().getAdapter(CacheType.FILE).forever(getSnapshotCacheToken(division), persisted);
+    }
+
+    @Nullable
+    private BlacklistSnapshot loadPersistedSnapshot(KronosDivision division) {
+        CacheAdapter adapter = avaire.getCache().getAdapter(CacheType.FILE);
+
+        CacheItem item = adapter.getRaw(getSnapshotCacheToken(division));
+        if (item != null && item.getValue() instanceof Map<?, ?> persisted && persisted.get("ids") instanceof List<?> ids) {
+            return BlacklistSnapshot.of(toIds(ids, null),
+                (String) persisted.get("etag"),
+                (String) persisted.get("lastModified")
+            );
         }
-        return list;
+
+        // Falls back to the blacklist stored by older versions, the old format doesn't
+        // include the validators, so the first refresh will download the full list.
+        item = adapter.getRaw("blacklist." + division.getName() + ".blacklists");
+        if (item != null && item.getValue() instanceof List<?> legacy) {
+            return BlacklistSnapshot.of(toIds(legacy, "id"), null, null);
+        }
+        return null;
     }
 
-    @SuppressWarnings("unchecked")
-    public ArrayList<Long> getPBMBlacklist() {
-        ArrayList<Long> list = new ArrayList<>();
-        String pbmCacheToken = "blacklist.pbm.blacklists";
-        if (avaire.getCache().getAdapter(CacheType.FILE).has(pbmCacheToken)) {
-            List<LinkedTreeMap<String, Double>> items = (List<LinkedTreeMap<String, Double>>) avaire.getCache()
-                .getAdapter(CacheType.FILE).get(pbmCacheToken);
-            for (LinkedTreeMap<String, Double> item : items) {
-                list.add(item.get("id").longValue());
+    private long[] toIds(List<?> items, @Nullable String key) {
+        long[] ids = new long[items.size()];
+        int size = 0;
+
+        for (Object item : items) {
+            Object id = key == null ? item : item instanceof Map<?, ?> map ? map.get(key) : null;
+            if (id instanceof Number number) {
+                ids[size++] = number.longValue();
             }
-            //log.info("pbm Blacklist has been requested.");
-        } else {
-            RequestFactory.makeGET("https://pb-kronos.dev/pbm/blacklist")
-                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosApiKey"))
-                .send((Consumer <Response>) response -> {
-                    log.info("pbm Blacklist has been requested and updated.");
-                    List<LinkedTreeMap<String, Double>> service = (List<LinkedTreeMap<String, Double>>) response.toService(List.class);
-                    for (LinkedTreeMap<String, Double> item : service) {
-                        list.add(item.get("id").longValue());
-                    }
-                    avaire.getCache().getAdapter(CacheType.FILE).remember(pbmCacheToken, (60*60)*60, () -> service);
-                });
         }
-        return list;
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    private String getSnapshotCacheToken(KronosDivision division) {
+        return "blacklist." + division.getName() + ".snapshot";
     }
 
+    private static class DivisionBlacklist {
+
+        private final CompletableFuture<BlacklistSnapshot> loaded = new CompletableFuture<>();
+        private final AtomicReference<CompletableFuture<BlacklistSnapshot>> refresh = new AtomicReference<>();
 
+        private volatile BlacklistSnapshot snapshot = BlacklistSnapshot.EMPTY;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.blacklist.kronos;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of a division blacklist, the IDs are stored in an
+ * open addressing hash table of primitive longs, so checking if an ID is
+ * on the blacklist doesn't allocate anything. Snapshots are never changed
+ * after they're created, a refreshed blacklist replaces the whole snapshot.
+ */
+public final class BlacklistSnapshot {
+
+    /**
+     * The empty snapshot, used until a blacklist has been loaded.
+     */
+    public static final BlacklistSnapshot EMPTY = new BlacklistSnapshot(new long[0], null, null);
+
+    private final long[] table;
+    private final int mask;
+    private final boolean hasZero;
+    private final int size;
+
+    private final String etag;
+    private final String lastModified;
+
+    private BlacklistSnapshot(long[] ids, @Nullable String etag, @Nullable String lastModified) {
+        int capacity = Integer.highestOneBit(Math.max(2, ids.length * 2 - 1)) << 1;
+
+        long[] table = new long[capacity];
+        boolean hasZero = false;
+        int size = 0;
+
+        for (long id : ids) {
+            if (id == 0) {
+                size += hasZero ? 0 : 1;
+                hasZero = true;
+                continue;
+            }
+
+            int slot = mix(id) & (capacity - 1);
+            while (table[slot] != 0 && table[slot] != id) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            if (table[slot] == 0) {
+                table[slot] = id;
+                size++;
+            }
+        }
+
+        this.table = table;
+        this.mask = capacity - 1;
+        this.hasZero = hasZero;
+        this.size = size;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Creates a new snapshot holding the given IDs.
+     *
+     * @param ids          The IDs that are on the blacklist.
+     * @param etag         The entity tag the blacklist was served with, if any.
+     * @param lastModified The last modified date the blacklist was served with, if any.
+     * @return The snapshot holding the given IDs.
+     */
+    public static BlacklistSnapshot of(long[] ids, @Nullable String etag, @Nullable String lastModified) {
+        return new BlacklistSnapshot(ids, etag, lastModified);
+    }
+
+    /**
+     * Checks if the given ID is on the blacklist.
+     *
+     * @param id The ID that should be checked.
+     * @return <code>True</code> if the ID is on the blacklist, <code>False</code> otherwise.
+     */
+    public boolean contains(long id) {
+        if (id == 0) {
+            return hasZero;
+        }
+
+        int slot = mix(id) & mask;
+        while (true) {
+            long value = table[slot];
+            if (value == id) {
+                return true;
+            }
+            if (value == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the IDs on the blacklist, in no particular order.
+     *
+     * @return A new array holding the IDs on the blacklist.
+     */
+    public long[] toArray() {
+        long[] ids = Arrays.stream(table).filter(id -> id != 0).toArray();
+        if (!hasZero) {
+            return ids;
+        }
+
+        long[] withZero = Arrays.copyOf(ids, ids.length + 1);
+        withZero[ids.length] = 0;
+        return withZero;
+    }
+
+    /**
+     * Gets the amount of IDs on the blacklist.
+     *
+     * @return The amount of IDs on the blacklist.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the entity tag the blacklist was served with, used for conditional requests.
+     *
+     * @return Possibly-null, the entity tag the blacklist was served with.
+     */
+    @Nullable
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Gets the last modified date the blacklist was served with, used for conditional requests.
+     *
+     * @return Possibly-null, the last modified date the blacklist was served with.
+     */
+    @Nullable
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    private static int mix(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
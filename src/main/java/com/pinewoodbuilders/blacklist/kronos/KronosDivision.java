@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.blacklist.kronos;
+
+import javax.annotation.Nullable;
+
+public enum KronosDivision {
+
+    PBST("pbst", 438134543837560832L),
+    TMS("tms", 572104809973415943L),
+    PET("pet", 436670173777362944L),
+    PBM("pbm", 498476405160673286L);
+
+    private final String name;
+    private final long guildId;
+
+    KronosDivision(String name, long guildId) {
+        this.name = name;
+        this.guildId = guildId;
+    }
+
+    /**
+     * Gets the division that the given guild belongs to.
+     *
+     * @param guildId The ID of the guild that the division should be returned for.
+     * @return Possibly-null, the division the guild belongs to, or <code>null</code>
+     * if the guild isn't the main guild for any of the divisions.
+     */
+    @Nullable
+    public static KronosDivision fromGuildId(long guildId) {
+        for (KronosDivision division : values()) {
+            if (division.getGuildId() == guildId) {
+                return division;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the division, as used by the Kronos API.
+     *
+     * @return The name of the division.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the ID of the main guild for the division.
+     *
+     * @return The ID of the main guild for the division.
+     */
+    public long getGuildId() {
+        return guildId;
+    }
+
+    /**
+     * Gets the Kronos API endpoint for the division blacklist.
+     *
+     * @return The Kronos API endpoint for the division blacklist.
+     */
+    public String getBlacklistUrl() {
+        return "https://pb-kronos.dev/" + name + "/blacklist";
+    }
+}
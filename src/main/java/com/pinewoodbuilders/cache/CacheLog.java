@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * An append-only key-value log, every write is appended to the end of the log
+ * file, and an in-memory index points each key to the position of its latest
+ * value. Values are decoded at most once, the decoded value is kept on the
+ * index entry until the key is written to again.
+ * <p>
+ * Records are laid out as: {@code op (byte), key length (short), key (UTF-8)},
+ * followed by {@code expire time (long), value length (int), value} for writes.
+ * Removals are appended as tombstones, and the log is rewritten once more
+ * than half of it is taken up by overwritten, removed, or expired records.
+ */
+public class CacheLog implements Closeable {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    /**
+     * The amount of dead bytes the log must have before it is compacted.
+     */
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private final File file;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private long size;
+    private long deadBytes;
+
+    /**
+     * Opens the log at the given file, creating it if it doesn't exist, and
+     * replays the records in it to build the index. If the last record was
+     * only partially written the log is truncated to the last full record.
+     *
+     * @param file The file that the log should be stored in.
+     * @throws IOException If the log could not be opened or read.
+     */
+    public CacheLog(@Nonnull File file) throws IOException {
+        this.file = file;
+
+        replay();
+        channel = open(file);
+        if (channel.size() > size) {
+            channel.truncate(size);
+        }
+    }
+
+    /**
+     * Gets the index entry for the given key.
+     *
+     * @param key The key that the entry should be returned for.
+     * @return Possibly-null, the index entry for the given key.
+     */
+    @Nullable
+    public Entry getEntry(@Nonnull String key) {
+        return index.get(key);
+    }
+
+    /**
+     * Checks if the log has a value stored under the given key, this
+     * includes values that have expired but not been swept yet.
+     *
+     * @param key The key that should be checked.
+     * @return <code>True</code> if the key has a value, <code>False</code> otherwise.
+     */
+    public boolean contains(@Nonnull String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Gets the decoded value stored under the given key, the value is only read
+     * from the disk and decoded the first time it is requested, after that the
+     * decoded value is returned directly from the index entry.
+     *
+     * @param key     The key that the value should be returned for.
+     * @param decoder The decoder used to turn the stored bytes into the value.
+     * @param <T>     The type of the decoded value.
+     * @return Possibly-null, the decoded value stored under the given key.
+     * @throws IOException If the value could not be read from the log.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@Nonnull String key, @Nonnull Function<byte[], T> decoder) throws IOException {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        Object decoded = entry.decoded;
+        if (decoded != null) {
+            return (T) decoded;
+        }
+
+        lock.readLock().lock();
+        try {
+            // The entry is looked up again while holding the lock, since
+            // compaction may have moved the value to a new position.
+            entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.decoded == null) {
+                entry.decoded = decoder.apply(read(entry));
+            }
+            return (T) entry.decoded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the value to the log under the given key, replacing any value
+     * that was previously stored under the key.
+     *
+     * @param key     The key that the value should be stored under.
+     * @param time    The unix timestamp in milliseconds for when the value expires.
+     * @param value   The encoded value that should be stored.
+     * @param decoded Possibly-null, the decoded form of the value, used to skip decoding on the next read.
+     * @throws IOException If the value could not be written to the log.
+     */
+    public void put(@Nonnull String key, long time, @Nonnull byte[] value, @Nullable Object decoded) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + keyBytes.length + 8 + 4 + value.length);
+        buffer.put(PUT).putShort((short) keyBytes.length).put(keyBytes)
+            .putLong(time).putInt(value.length).put(value)
+            .flip();
+
+        lock.writeLock().lock();
+        try {
+            long position = size;
+            write(channel, buffer, position);
+
+            Entry entry = new Entry(position + buffer.limit() - value.length, value.length, buffer.limit(), time);
+            entry.decoded = decoded;
+
+            size += buffer.limit();
+            markDead(index.put(key, entry));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the value stored under the given key.
+     *
+     * @param key The key that should be removed.
+     * @return <code>True</code> if a value was removed, <code>False</code> otherwise.
+     * @throws IOException If the removal could not be written to the log.
+     */
+    public boolean remove(@Nonnull String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + keyBytes.length);
+        buffer.put(REMOVE).putShort((short) keyBytes.length).put(keyBytes).flip();
+
+        lock.writeLock().lock();
+        try {
+            Entry entry = index.remove(key);
+            if (entry == null) {
+                return false;
+            }
+
+            write(channel, buffer, size);
+
+            size += buffer.limit();
+            deadBytes += buffer.limit();
+            markDead(entry);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the entries that expired before the given time from the index,
+     * the records stay in the log file until the log is compacted.
+     *
+     * @param now The current unix timestamp in milliseconds.
+     * @return The amount of entries that were removed.
+     */
+    public int removeExpired(long now) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (Map.Entry<String, Entry> item : index.entrySet()) {
+                if (item.getValue().time <= now && index.remove(item.getKey(), item.getValue())) {
+                    markDead(item.getValue());
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if enough of the log is taken up by dead records for a compaction to be worth it.
+     *
+     * @return <code>True</code> if the log should be compacted, <code>False</code> otherwise.
+     */
+    public boolean shouldCompact() {
+        lock.readLock().lock();
+        try {
+            return deadBytes >= MIN_COMPACTION_BYTES && deadBytes * 2 >= size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log so it only holds the latest value for each key, the new
+     * log is written next to the current one and then moved into its place.
+     *
+     * @throws IOException If the log could not be rewritten.
+     */
+    public void compact() throws IOException {
+        File compacted = new File(file.getParentFile(), file.getName() + ".compact");
+
+        lock.writeLock().lock();
+        try {
+            Map<String, Entry> moved = new HashMap<>();
+            long position = 0;
+
+            try (FileChannel target = FileChannel.open(compacted.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+            )) {
+                for (Map.Entry<String, Entry> item : index.entrySet()) {
+                    Entry entry = item.getValue();
+                    byte[] keyBytes = item.getKey().getBytes(StandardCharsets.UTF_8);
+                    byte[] value = read(entry);
+
+                    ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + keyBytes.length + 8 + 4 + value.length);
+                    buffer.put(PUT).putShort((short) keyBytes.length).put(keyBytes)
+                        .putLong(entry.time).putInt(value.length).put(value)
+                        .flip();
+
+                    write(target, buffer, position);
+
+                    Entry copy = new Entry(position + buffer.limit() - value.length, value.length, buffer.limit(), entry.time);
+                    copy.decoded = entry.decoded;
+                    moved.put(item.getKey(), copy);
+
+                    position += buffer.limit();
+                }
+            }
+
+            channel.close();
+            Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(file);
+
+            index.putAll(moved);
+            size = position;
+            deadBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every value from the log, and truncates the log file.
+     *
+     * @throws IOException If the log file could not be truncated.
+     */
+    public void clear() throws IOException {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            channel.truncate(0);
+
+            size = 0;
+            deadBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of keys currently in the index.
+     *
+     * @return The amount of keys currently in the index.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        long fileLength = file.length();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                long position = size;
+
+                byte op = input.readByte();
+                byte[] keyBytes = new byte[input.readUnsignedShort()];
+                input.readFully(keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+
+                if (op == REMOVE) {
+                    size += 1 + 2 + keyBytes.length;
+                    deadBytes += 1 + 2 + keyBytes.length;
+                    markDead(index.remove(key));
+                    continue;
+                }
+
+                if (op != PUT) {
+                    // The rest of the log can't be trusted once an unknown record
+                    // is found, so everything from this point is dropped.
+                    return;
+                }
+
+                long time = input.readLong();
+                int length = input.readInt();
+
+                // Skipping can move past the end of the file, so the record is checked
+                // against the file length to detect a partially written value.
+                int recordLength = 1 + 2 + keyBytes.length + 8 + 4 + length;
+                if (length < 0 || position + recordLength > fileLength) {
+                    return;
+                }
+
+                input.skipNBytes(length);
+                size += recordLength;
+
+                markDead(index.put(key, new Entry(position + recordLength - length, length, recordLength, time)));
+            }
+        } catch (EOFException ignored) {
+            // Reached the end of the log, or the last record was only partially
+            // written, in which case it will be truncated away once opened.
+        }
+    }
+
+    private byte[] read(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new EOFException("Reached the end of the cache log while reading a value");
+            }
+        }
+        return buffer.array();
+    }
+
+    private void markDead(@Nullable Entry entry) {
+        if (entry != null) {
+            deadBytes += entry.recordLength;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static FileChannel open(File file) throws IOException {
+        return FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+    }
+
+    public static class Entry {
+
+        private final long offset;
+        private final int length;
+        private final int recordLength;
+        private final long time;
+
+        private volatile Object decoded;
+
+        Entry(long offset, int length, int recordLength, long time) {
+            this.offset = offset;
+            this.length = length;
+            this.recordLength = recordLength;
+            this.time = time;
+        }
+
+        /**
+         * Gets the unix timestamp in milliseconds for when the value expires.
+         *
+         * @return The unix timestamp in milliseconds for when the value expires.
+         */
+        public long getTime() {
+            return time;
+        }
+    }
+}
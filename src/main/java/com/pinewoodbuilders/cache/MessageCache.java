@@ -1,10 +1,10 @@
 package com.pinewoodbuilders.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.contracts.cache.CachedMessage;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
-import net.jodah.expiringmap.ExpirationPolicy;
-import net.jodah.expiringmap.ExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,124 +12,116 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class MessageCache
 {
+    /**
+     * The max amount of memory in bytes, as estimated by {@link CachedMessage#getEstimatedSize()},
+     * that the cached messages for all the guilds combined are allowed to use, once the budget
+     * is reached the least recently used messages are evicted first, regardless of the guild.
+     */
+    public static final long MAX_CACHE_WEIGHT = 128L * 1024 * 1024;
+
+    /**
+     * The messages for all the guilds, keyed by the message ID, since message IDs are
+     * unique across Discord, the per-guild caches just act as views of this cache.
+     */
+    public static final Cache<Long, CachedMessage> cache = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumWeight(MAX_CACHE_WEIGHT)
+        .weigher((Long key, CachedMessage message) -> message.getEstimatedSize())
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+
     private static final Map<Long, MessageCache> MESSAGE_CACHES = new ConcurrentHashMap<>();
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageCache.class);
 
-    private final Map<Long, CachedMessage> cachedMessages;
     private final long guildId;
 
     public MessageCache(long guildId)
     {
         this.guildId = guildId;
-
-        this.cachedMessages = ExpiringMap.builder()
-            .maxSize(5000)
-            .expirationPolicy(ExpirationPolicy.ACCESSED)
-            .expiration(1, TimeUnit.HOURS)
-            .build();
     }
 
     public static MessageCache getCache(long guildId)
     {
-        MessageCache cache = MESSAGE_CACHES.get(guildId);
-        if(MESSAGE_CACHES.get(guildId) == null)
-        {
-            cache = new MessageCache(guildId);
-            MESSAGE_CACHES.put(guildId, cache);
-        }
-        return cache;
+        return MESSAGE_CACHES.computeIfAbsent(guildId, MessageCache::new);
     }
 
     public static MessageCache getCache(Guild guild)
     {
-        MessageCache cache = MESSAGE_CACHES.get(guild.getIdLong());
-        if(MESSAGE_CACHES.get(guild.getIdLong()) == null)
-        {
-            cache = new MessageCache(guild.getIdLong());
-            MESSAGE_CACHES.put(guild.getIdLong(), cache);
-        }
-        return cache;
+        return getCache(guild.getIdLong());
     }
 
     public void set(CachedMessage message)
     {
-        LOGGER.debug("Adding message " + message.getIdLong() + " to cache.");
-        cachedMessages.putIfAbsent(message.getIdLong(), message);
+        LOGGER.debug("Adding message {} to cache.", message.getIdLong());
+        cache.asMap().putIfAbsent(message.getIdLong(), message);
     }
 
     public void set(List<CachedMessage> messages)
     {
         for(CachedMessage selectedMessage : messages)
         {
-            LOGGER.debug("Adding message " + selectedMessage.getIdLong() + " to cache.");
-            cachedMessages.putIfAbsent(selectedMessage.getIdLong(), selectedMessage);
+            set(selectedMessage);
         }
     }
 
     public CachedMessage get(long messageId)
     {
-        LOGGER.debug("Fetching message " + messageId + " from cache.");
-        for(Map.Entry<Long, CachedMessage> entry : cachedMessages.entrySet())
+        CachedMessage message = cache.getIfPresent(messageId);
+        if(message == null || message.getGuildIdLong() != guildId)
         {
-            if(entry.getKey().equals(messageId))
-            {
-                LOGGER.debug("returned message " + entry.getValue().getIdLong() + " from cache.");
-                return entry.getValue();
-            }
+            return null;
         }
-        return null;
+
+        LOGGER.debug("Returned message {} from cache.", messageId);
+        return message;
     }
 
     public void remove(long messageId)
     {
-        LOGGER.debug("Removed message " + messageId + " from cache.");
-        cachedMessages.remove(messageId);
+        LOGGER.debug("Removed message {} from cache.", messageId);
+        cache.invalidate(messageId);
     }
 
     public void remove(CachedMessage message)
     {
-        LOGGER.debug("Removed message " + message.getIdLong() + " from cache.");
-        cachedMessages.remove(message.getIdLong());
+        remove(message.getIdLong());
     }
 
     public void remove(Message message)
     {
-        LOGGER.debug("Removed message " + message.getIdLong() + " from cache.");
-        cachedMessages.remove(message.getIdLong());
+        remove(message.getIdLong());
     }
 
     public void remove(List<Message> messages)
     {
-        messages.forEach(message ->
-        {
-            LOGGER.debug("Removed message " + message.getIdLong() + " from cache.");
-            cachedMessages.remove(message.getIdLong());
-        });
+        cache.invalidateAll(
+            messages.stream().map(Message::getIdLong).collect(Collectors.toList())
+        );
     }
 
     public boolean isInCache(long messageId)
     {
-        return cachedMessages.containsKey(messageId);
+        return get(messageId) != null;
     }
 
     public boolean isInCache(Message message)
     {
-        return cachedMessages.containsKey(message.getIdLong());
+        return isInCache(message.getIdLong());
     }
 
     public void update(CachedMessage oldMessage, CachedMessage newMessage)
     {
-        LOGGER.debug("Updating message " + oldMessage.getIdLong() + " -> " + newMessage.getIdLong() + " in cache.");
-        cachedMessages.remove(oldMessage.getIdLong());
-        set(newMessage);
+        LOGGER.debug("Updating message {} -> {} in cache.", oldMessage.getIdLong(), newMessage.getIdLong());
+        update(oldMessage.getIdLong(), newMessage);
     }
 
     public void update(long oldMessageID, CachedMessage newMessage)
     {
-        cachedMessages.remove(oldMessageID);
+        cache.invalidate(oldMessageID);
         set(newMessage);
     }
 
@@ -140,11 +132,13 @@ public class MessageCache
 
     public Map<Long, CachedMessage> getCacheView()
     {
-        return cachedMessages;
+        return cache.asMap().entrySet().stream()
+            .filter(entry -> entry.getValue().getGuildIdLong() == guildId)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
     public void flush()
     {
-        cachedMessages.clear();
+        cache.asMap().values().removeIf(message -> message.getGuildIdLong() == guildId);
     }
 }
@@ -21,27 +21,44 @@
 
 package com.pinewoodbuilders.cache.adapters;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonParseException;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.cache.CacheItem;
+import com.pinewoodbuilders.cache.CacheLog;
 import com.pinewoodbuilders.contracts.cache.CacheAdapter;
 import com.avairebot.shared.ExitCodes;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public class FileAdapter extends CacheAdapter {
 
+    private static final Logger log = LoggerFactory.getLogger(FileAdapter.class);
+
+    private static final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    });
+
     private final File storagePath;
+    private final CacheLog cacheLog;
 
     /**
      * Creates the new file cache adapter, the file cache adapter
@@ -49,17 +66,46 @@ public class FileAdapter extends CacheAdapter {
      * Ava to store things that are persisted through restarts.
      */
     public FileAdapter() {
-        storagePath = new File(Constants.STORAGE_PATH, "cache");
+        this(new File(Constants.STORAGE_PATH, "cache"));
+
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("avaire-file-cache-sweeper-%d")
+            .setDaemon(true)
+            .build()
+        );
+        sweeper.scheduleWithFixedDelay(this::sweep, 5, 5, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Creates the new file cache adapter using the given storage path, cache
+     * entries are appended to a single log file inside the storage path,
+     * any entries left over from the old one-file-per-entry layout
+     * are moved into the log when the adapter is created.
+     *
+     * @param storagePath The folder the cache should be stored in.
+     */
+    public FileAdapter(File storagePath) {
+        this.storagePath = storagePath;
 
         if (!storagePath.exists() && !storagePath.mkdirs()) {
-            LoggerFactory.getLogger(FileAdapter.class).error("Failed to create cache storage folder, exiting application...");
+            log.error("Failed to create cache storage folder, exiting application...");
+            System.exit(ExitCodes.EXIT_CODE_NORMAL);
+        }
+
+        CacheLog cacheLog = null;
+        try {
+            cacheLog = new CacheLog(new File(storagePath, "cache.log"));
+            migrateLegacyCacheFiles(cacheLog);
+        } catch (IOException e) {
+            log.error("Failed to open the cache log, exiting application...", e);
             System.exit(ExitCodes.EXIT_CODE_NORMAL);
         }
+        this.cacheLog = cacheLog;
     }
 
     @Override
     public boolean put(String token, Object value, int seconds) {
-        return writeTo(generateCacheFile(token), value, seconds);
+        return writeTo(hash(token), value, seconds);
     }
 
     @Override
@@ -69,7 +115,7 @@ public class FileAdapter extends CacheAdapter {
         }
 
         try {
-            writeTo(generateCacheFile(token), closure.get(), seconds);
+            writeTo(hash(token), closure.get(), seconds);
 
             return get(token);
         } catch (Exception e) {
@@ -80,40 +126,22 @@ public class FileAdapter extends CacheAdapter {
 
     @Override
     public boolean forever(String token, Object value) {
-        return writeTo(generateCacheFile(token), value, Integer.MAX_VALUE);
+        return writeTo(hash(token), value, Integer.MAX_VALUE);
     }
 
     @Override
     public Object get(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
-            return null;
-        }
-
-        try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return false;
-            }
-
-            if (item.getTime() > System.currentTimeMillis()) {
-                return item.getValue();
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
+        CacheItem item = getRaw(token);
+        if (item != null && item.getTime() > System.currentTimeMillis()) {
+            return item.getValue();
         }
         return null;
     }
 
     @Override
     public CacheItem getRaw(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
-            return null;
-        }
-
         try {
-            return Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
+            return cacheLog.get(hash(token), FileAdapter::decode);
         } catch (IOException e) {
             Xeus.getLogger().error("ERROR: ", e);
             return null;
@@ -122,37 +150,21 @@ public class FileAdapter extends CacheAdapter {
 
     @Override
     public boolean has(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
-            return false;
-        }
-
-        try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return false;
-            }
+        CacheLog.Entry entry = cacheLog.getEntry(hash(token));
 
-            return item.getTime() > System.currentTimeMillis();
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-            return false;
-        }
+        return entry != null && entry.getTime() > System.currentTimeMillis();
     }
 
     @Override
     public CacheItem forget(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
+        String key = hash(token);
+        if (!cacheLog.contains(key)) {
             return null;
         }
 
         try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return null;
-            }
-            cacheFile.delete();
+            CacheItem item = cacheLog.get(key, FileAdapter::decode);
+            cacheLog.remove(key);
 
             return item;
         } catch (IOException e) {
@@ -163,102 +175,134 @@ public class FileAdapter extends CacheAdapter {
 
     @Override
     public boolean flush() {
-        deleteRecursively(storagePath, true);
-
-        return true;
-    }
-
-    private void deleteRecursively(File folder, boolean isRoot) {
-        File[] files = folder.listFiles();
-        if (files != null) { //some JVMs return null for empty dirs
-            for (File f : files) {
-                if (f.isDirectory()) {
-                    deleteRecursively(f, false);
-                } else {
-                    f.delete();
-                }
-            }
+        try {
+            cacheLog.clear();
+        } catch (IOException e) {
+            Xeus.getLogger().error("ERROR: ", e);
+            return false;
         }
 
-        if (!isRoot) {
-            folder.delete();
-        }
+        return true;
     }
 
-    private boolean writeTo(File file, Object value, long seconds) {
+    /**
+     * Removes expired entries from the cache log index, and
+     * compacts the log if enough of it has gone stale.
+     */
+    void sweep() {
         try {
-            if (!file.exists() && !file.createNewFile()) {
-                return false;
+            cacheLog.removeExpired(System.currentTimeMillis());
+
+            if (cacheLog.shouldCompact()) {
+                cacheLog.compact();
             }
-        } catch (IOException ignored) {
+        } catch (Exception e) {
+            log.error("Failed to sweep the file cache: {}", e.getMessage(), e);
         }
+    }
 
+    private boolean writeTo(String key, Object value, long seconds) {
         Map<String, Object> cacheItem = new HashMap<>();
         cacheItem.put("time", System.currentTimeMillis() + (seconds * 1000));
         cacheItem.put("value", value);
-        cacheItem.put("key", file.getName());
+        cacheItem.put("key", key.substring(4));
 
-        FileWriter fw = null;
-        BufferedWriter bw = null;
+        // Values are handed back the same way they would be after a restart, so the
+        // encoded value is decoded once here instead of on the first read.
+        byte[] encoded = Xeus.gson.toJson(cacheItem).getBytes(StandardCharsets.UTF_8);
+        CacheItem item = decode(encoded);
 
         try {
-            fw = new FileWriter(file, false);
-            bw = new BufferedWriter(fw);
-
-            bw.write(Xeus.gson.toJson(cacheItem) + "\n");
+            cacheLog.put(key, item.getTime(), encoded, item);
         } catch (IOException e) {
             Xeus.getLogger().error("ERROR: ", e);
             return false;
-        } finally {
-            try {
-                if (bw != null) {
-                    bw.close();
+        }
+        return true;
+    }
+
+    /**
+     * Moves the cache files from the old layout, where each entry was stored in its own
+     * file at {@code <hash[0:2]>/<hash[2:4]>/<hash[4:]>}, into the cache log.
+     *
+     * @param cacheLog The cache log the entries should be moved into.
+     * @throws IOException If one of the cache files could not be moved into the log.
+     */
+    private void migrateLegacyCacheFiles(CacheLog cacheLog) throws IOException {
+        File[] folders = storagePath.listFiles(file -> file.isDirectory() && file.getName().length() == 2);
+        if (folders == null || folders.length == 0) {
+            return;
+        }
+
+        int migrated = 0;
+        for (File folder : folders) {
+            File[] subFolders = folder.listFiles(file -> file.isDirectory() && file.getName().length() == 2);
+            if (subFolders == null) {
+                continue;
+            }
+
+            for (File subFolder : subFolders) {
+                File[] files = subFolder.listFiles(File::isFile);
+                if (files == null) {
+                    continue;
                 }
 
-                if (fw != null) {
-                    fw.close();
+                for (File file : files) {
+                    String key = folder.getName() + subFolder.getName() + file.getName();
+                    if (cacheLog.contains(key)) {
+                        continue;
+                    }
+
+                    byte[] encoded = Files.readAllBytes(file.toPath());
+                    try {
+                        CacheItem item = decode(encoded);
+                        if (item != null) {
+                            cacheLog.put(key, item.getTime(), encoded, null);
+                            migrated++;
+                        }
+                    } catch (JsonParseException e) {
+                        log.warn("Skipping unreadable cache file {}: {}", file.getPath(), e.getMessage());
+                    }
                 }
-            } catch (IOException ex) {
-                ex.printStackTrace();
             }
         }
-        return true;
+
+        deleteRecursively(storagePath, true);
+        log.info("Moved {} cache entries from cache files into the cache log", migrated);
     }
 
-    private File generateCacheFile(String string) {
-        String cacheToken = encrypt(string);
-        if (cacheToken == null) {
-            return null;
+    private void deleteRecursively(File folder, boolean isRoot) {
+        File[] files = folder.listFiles();
+        if (files != null) { //some JVMs return null for empty dirs
+            for (File f : files) {
+                if (f.isDirectory()) {
+                    deleteRecursively(f, false);
+                } else if (!isRoot) {
+                    f.delete();
+                }
+            }
         }
 
-        File cachePath = new File(storagePath,
-            cacheToken.substring(0, 2) + File.separator
-                + cacheToken.substring(2, 4) + File.separator
-        );
-
-        if (!cachePath.exists()) {
-            cachePath.mkdirs();
+        if (!isRoot) {
+            folder.delete();
         }
-
-        return new File(cachePath, cacheToken.substring(4, cacheToken.length()));
     }
 
-    private String encrypt(String string) {
-        try {
-            MessageDigest md5 = MessageDigest.getInstance("SHA-256");
-            md5.update(string.trim().toLowerCase().getBytes());
+    private static CacheItem decode(byte[] encoded) {
+        return Xeus.gson.fromJson(new String(encoded, StandardCharsets.UTF_8).trim(), CacheItem.class);
+    }
 
-            byte[] digest = md5.digest();
+    private static String hash(String string) {
+        MessageDigest md5 = digest.get();
+        md5.update(string.trim().toLowerCase().getBytes());
 
-            StringBuilder sb = new StringBuilder();
-            for (byte aDigest : digest) {
-                sb.append(Integer.toString((aDigest & 0xff) + 0x100, 16).substring(1));
-            }
+        byte[] bytes = md5.digest();
 
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-            return null;
+        StringBuilder sb = new StringBuilder();
+        for (byte aDigest : bytes) {
+            sb.append(Integer.toString((aDigest & 0xff) + 0x100, 16).substring(1));
         }
+
+        return sb.toString();
     }
 }
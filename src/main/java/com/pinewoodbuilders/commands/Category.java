@@ -30,6 +30,7 @@ import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.TimeUnit;
 
 public class Category {
@@ -69,14 +70,28 @@ public class Category {
         }
 
         return (String) CacheUtil.getUncheckedUnwrapped(cache, asKey(message), () -> {
-            GuildTransformer transformer = GuildController.fetchGuild(avaire, message);
-
-            return transformer == null ? getPrefix() : transformer.getPrefixes().getOrDefault(
-                getName().toLowerCase(), getPrefix()
-            );
+            return getPrefix(GuildController.fetchGuild(avaire, message));
         });
     }
 
+    /**
+     * Gets the prefix for the category using the custom prefixes from the given guild
+     * transformer, if the category is global, no transformer is given, or the guild
+     * doesn't have a custom prefix set for the category, the default is returned.
+     *
+     * @param transformer The guild transformer the custom prefix should be loaded from, or {@code NULL}.
+     * @return The prefix used by the category for the given guild.
+     */
+    public String getPrefix(@Nullable GuildTransformer transformer) {
+        if (isGlobal || transformer == null) {
+            return getPrefix();
+        }
+
+        return transformer.getPrefixes().getOrDefault(
+            getName().toLowerCase(), getPrefix()
+        );
+    }
+
     public boolean hasCommands() {
         return CommandHandler.getCommands().stream().
             filter(container -> container.getCategory().equals(this))
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.commands;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The compiled command aliases for a single guild, each alias is resolved to its
+ * command container, with the alias arguments already split, so matching
+ * a message against the aliases is a single hash lookup.
+ * <p>
+ * The alias table is cached on the guild transformer, and is compiled
+ * against a single command dispatch index, if the registered
+ * commands changes, the table has to be compiled again.
+ */
+public final class CommandAliasTable {
+
+    /**
+     * The command dispatch index the aliases were resolved with.
+     */
+    private final CommandDispatchIndex index;
+
+    /**
+     * The lower cased aliases mapped to the command container they resolve to.
+     */
+    private final Map<String, CommandContainer> aliases;
+
+    /**
+     * Compiles the given aliases using the given command dispatch index,
+     * aliases that doesn't resolve to a command are left out.
+     *
+     * @param index   The command dispatch index that should be used to resolve the alias commands.
+     * @param aliases The aliases for the guild, mapped to the command string they should run.
+     */
+    CommandAliasTable(@Nonnull CommandDispatchIndex index, @Nonnull Map<String, String> aliases) {
+        this.index = index;
+
+        Map<String, CommandContainer> compiled = new HashMap<>();
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            String[] aliasArguments = entry.getValue().split(" ");
+
+            CommandContainer container = index.getRawCommand(aliasArguments[0]);
+            if (container == null) {
+                continue;
+            }
+
+            compiled.put(entry.getKey().toLowerCase(), aliasArguments.length == 1 ? container
+                : new AliasCommandContainer(container, Arrays.copyOfRange(aliasArguments, 1, aliasArguments.length))
+            );
+        }
+
+        this.aliases = Collections.unmodifiableMap(compiled);
+    }
+
+    /**
+     * Gets the command container the given alias resolves to.
+     *
+     * @param alias The alias that should be matched.
+     * @return Possibly-null, The command container the alias resolves to.
+     */
+    @Nullable
+    CommandContainer getCommand(@Nonnull String alias) {
+        return aliases.get(alias.toLowerCase());
+    }
+
+    /**
+     * Checks if the alias table was compiled using the given command dispatch index.
+     *
+     * @param index The command dispatch index that should be checked.
+     * @return {@code True} if the table was compiled using the given index, {@code False} otherwise.
+     */
+    boolean isCompiledWith(@Nonnull CommandDispatchIndex index) {
+        return this.index == index;
+    }
+}
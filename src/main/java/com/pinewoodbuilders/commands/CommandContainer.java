@@ -44,6 +44,7 @@ public class CommandContainer {
     private final String sourceUri;
     private final Set<String> triggers;
     private final List<String> middlewares;
+    private final int throttleFingerprint;
 
     /**
      * Creates a new {@link Command command} container instance.
@@ -61,6 +62,7 @@ public class CommandContainer {
         this.middlewares = new ArrayList<>(command.getMiddleware());
 
         this.registerThrottleMiddlewares();
+        this.throttleFingerprint = ThrottleMiddleware.getFingerprintId(command);
     }
 
     /**
@@ -120,6 +122,16 @@ public class CommandContainer {
         return triggers;
     }
 
+    /**
+     * Gets the fingerprint ID used by the {@link ThrottleMiddleware throttle middleware}
+     * to group the command with other commands sharing the same throttle limits.
+     *
+     * @return The throttle fingerprint ID for the command.
+     */
+    public int getThrottleFingerprint() {
+        return throttleFingerprint;
+    }
+
     /**
      * The source URI used by the {@link SourceCommand source code command}
      * to find out where the source code for a given command can be found.
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.commands;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable lookup table for the registered commands, the table resolves
+ * the highest priority command for every trigger once when it's built, so
+ * looking up a command is a hash lookup instead of comparing every trigger
+ * of every registered command.
+ * <p>
+ * The index is rebuilt by the {@link CommandHandler command handler} whenever
+ * a command is registered or unregistered, and swapped in as a whole.
+ */
+final class CommandDispatchIndex {
+
+    /**
+     * An empty index, used before any commands has been registered.
+     */
+    static final CommandDispatchIndex EMPTY = new CommandDispatchIndex(Collections.emptyList());
+
+    /**
+     * The lower cased command triggers mapped to their command
+     * container, grouped by the category of the commands.
+     */
+    private final Map<Category, Map<String, CommandContainer>> categories = new HashMap<>();
+
+    /**
+     * The lower cased command triggers prefixed with the default category
+     * prefix, mapped to the command container they belong to.
+     */
+    private final Map<String, CommandContainer> rawCommands = new HashMap<>();
+
+    /**
+     * The lower cased command triggers mapped to the command container
+     * they belong to, commands with an ignored priority are omitted.
+     */
+    private final Map<String, CommandContainer> lazyCommands = new HashMap<>();
+
+    /**
+     * Builds a new command index for the given command containers.
+     *
+     * @param containers The command containers that should be indexed.
+     */
+    CommandDispatchIndex(@Nonnull Collection<CommandContainer> containers) {
+        for (CommandContainer container : containers) {
+            Map<String, CommandContainer> categoryCommands = categories.computeIfAbsent(
+                container.getCategory(), category -> new HashMap<>()
+            );
+
+            for (String trigger : container.getTriggers()) {
+                String lowerTrigger = trigger.toLowerCase();
+
+                putIfHigherPriority(categoryCommands, lowerTrigger, container);
+                putIfHigherPriority(rawCommands, (container.getDefaultPrefix() + trigger).toLowerCase(), container);
+
+                if (!container.getPriority().equals(CommandPriority.IGNORED)) {
+                    putIfHigherPriority(lazyCommands, lowerTrigger, container);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the command matching the given command string, using the given prefix
+     * table to resolve the category prefixes, if the command doesn't start with
+     * any of the prefixes from the table, it's rejected without any lookups.
+     *
+     * @param prefixes The prefix table for the guild the command was used in.
+     * @param command  The command string that should be matched with the commands.
+     * @return Possibly-null, The command matching the given command with the highest priority.
+     */
+    @Nullable
+    CommandContainer getCommand(@Nonnull CommandPrefixTable prefixes, @Nonnull String command) {
+        if (!prefixes.hasPotentialPrefix(command)) {
+            return null;
+        }
+
+        CommandContainer result = null;
+        for (Map.Entry<String, Category[]> entry : prefixes.getPrefixes().entrySet()) {
+            String prefix = entry.getKey();
+            if (!command.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                continue;
+            }
+
+            String trigger = command.substring(prefix.length()).toLowerCase();
+            for (Category category : entry.getValue()) {
+                Map<String, CommandContainer> categoryCommands = categories.get(category);
+                if (categoryCommands == null) {
+                    continue;
+                }
+
+                result = getHighestPriority(result, categoryCommands.get(trigger));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the command matching the given command string using the default category prefixes.
+     *
+     * @param command The command string that should be matched with the commands.
+     * @return Possibly-null, The command matching the given command with the highest priority.
+     */
+    @Nullable
+    CommandContainer getRawCommand(@Nonnull String command) {
+        return rawCommands.get(command.toLowerCase());
+    }
+
+    /**
+     * Gets the command matching the given command trigger, ignoring the command prefix.
+     *
+     * @param trigger The command trigger that should be matched with the commands.
+     * @return Possibly-null, The command matching the given command trigger with the highest priority.
+     */
+    @Nullable
+    CommandContainer getLazyCommand(@Nonnull String trigger) {
+        return lazyCommands.get(trigger.toLowerCase());
+    }
+
+    private static void putIfHigherPriority(Map<String, CommandContainer> commands, String key, CommandContainer container) {
+        commands.put(key, getHighestPriority(commands.get(key), container));
+    }
+
+    private static CommandContainer getHighestPriority(@Nullable CommandContainer current, @Nullable CommandContainer container) {
+        if (current == null) {
+            return container;
+        }
+
+        if (container == null || !container.getPriority().isGreaterThan(current.getPriority())) {
+            return current;
+        }
+        return container;
+    }
+}
@@ -32,19 +32,40 @@ import com.pinewoodbuilders.exceptions.InvalidCommandPrefixException;
 import com.pinewoodbuilders.exceptions.MissingCommandDescriptionException;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.middleware.MiddlewareHandler;
+import com.pinewoodbuilders.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.internal.utils.Checks;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("WeakerAccess")
 public class CommandHandler {
 
+    /**
+     * The resolved category prefix tables, keyed by the ID of the guild they
+     * were resolved for, messages sent outside of guilds uses the
+     * default prefixes, which are cached with the ID zero.
+     */
+    public static final Cache<Long, CommandPrefixTable> prefixCache = CacheBuilder.newBuilder()
+        .recordStats()
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .build();
+
     private static final Set<CommandContainer> COMMANDS = new HashSet<>();
 
+    /**
+     * The dispatch index for the registered commands, the index is immutable
+     * and is replaced as a whole when a command is registered or
+     * unregistered, so lookups never see a partial index.
+     */
+    private static volatile CommandDispatchIndex index = CommandDispatchIndex.EMPTY;
+
     /**
      * Get command container from the given command instance.
      *
@@ -131,17 +152,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getCommand(Message message, @Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getCommand().generateCommandPrefix(message);
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return index.getCommand(getPrefixTable(message), command);
     }
 
     /**
@@ -157,17 +168,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getRawCommand(@Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getDefaultPrefix();
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return index.getRawCommand(command);
     }
 
     /**
@@ -185,29 +186,8 @@ public class CommandHandler {
             return null;
         }
 
-        String[] aliasArguments = null;
-        String commandString = command.split(" ")[0].toLowerCase();
-        List<CommandContainer> commands = new ArrayList<>();
-        for (Map.Entry<String, String> entry : transformer.getAliases().entrySet()) {
-            if (commandString.equalsIgnoreCase(entry.getKey())) {
-                CommandContainer commandContainer = getRawCommand(entry.getValue().split(" ")[0]);
-                if (commandContainer != null) {
-                    commands.add(commandContainer);
-                    aliasArguments = entry.getValue().split(" ");
-                }
-            }
-        }
-
-        CommandContainer commandContainer = getHighPriorityCommandFromCommands(commands);
-
-        if (commandContainer == null) {
-            return null;
-        }
-
-        if (aliasArguments == null || aliasArguments.length == 1) {
-            return commandContainer;
-        }
-        return new AliasCommandContainer(commandContainer, Arrays.copyOfRange(aliasArguments, 1, aliasArguments.length));
+        int space = command.indexOf(' ');
+        return getAliasTable(transformer).getCommand(space == -1 ? command : command.substring(0, space));
     }
 
     /**
@@ -221,20 +201,56 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command trigger with the highest priority.
      */
     public static CommandContainer getLazyCommand(@Nonnull String commandTrigger) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            if (container.getPriority().equals(CommandPriority.IGNORED)) {
-                continue;
-            }
+        return index.getLazyCommand(commandTrigger);
+    }
 
-            for (String trigger : container.getTriggers()) {
-                if (commandTrigger.equalsIgnoreCase(trigger)) {
-                    commands.add(container);
-                }
-            }
+    /**
+     * Forgets the resolved category prefixes for the given guild, this should be called
+     * whenever the custom prefixes for the guild is changed, so the next command
+     * used in the guild will be matched using the new prefixes.
+     *
+     * @param guildId The ID of the guild the prefixes should be forgotten for.
+     */
+    public static void forgetPrefixes(long guildId) {
+        prefixCache.invalidate(guildId);
+    }
+
+    /**
+     * Gets the compiled alias table for the given guild transformer, if the guild
+     * doesn't have a compiled alias table yet, or the table was compiled before
+     * the registered commands changed, the aliases will be compiled again.
+     *
+     * @param transformer The guild transformer the alias table should be loaded from.
+     * @return The compiled alias table for the guild.
+     */
+    private static CommandAliasTable getAliasTable(GuildTransformer transformer) {
+        CommandDispatchIndex currentIndex = index;
+
+        CommandAliasTable aliasTable = transformer.getAliasTable();
+        if (aliasTable == null || !aliasTable.isCompiledWith(currentIndex)) {
+            aliasTable = new CommandAliasTable(currentIndex, transformer.getAliases());
+            transformer.setAliasTable(aliasTable);
+        }
+        return aliasTable;
+    }
+
+    /**
+     * Gets the resolved category prefix table for the guild the given message was
+     * sent in, or the default prefixes if the message wasn't sent in a guild.
+     *
+     * @param message The JDA message object for the current message.
+     * @return The resolved category prefix table.
+     */
+    private static CommandPrefixTable getPrefixTable(Message message) {
+        if (!message.isFromGuild()) {
+            return (CommandPrefixTable) CacheUtil.getUncheckedUnwrapped(prefixCache, 0L, () ->
+                new CommandPrefixTable(CategoryHandler.getValues(), null)
+            );
         }
 
-        return getHighPriorityCommandFromCommands(commands);
+        return (CommandPrefixTable) CacheUtil.getUncheckedUnwrapped(prefixCache, message.getGuild().getIdLong(), () ->
+            new CommandPrefixTable(CategoryHandler.getValues(), GuildController.fetchGuild(Xeus.getInstance(), message))
+        );
     }
 
     /**
@@ -283,31 +299,6 @@ public class CommandHandler {
         return map;
     }
 
-    /**
-     * Gets the highest priority command from the given command
-     * list, if the list is empty null is returned instead.
-     *
-     * @param commands The list of commands matching some query.
-     * @return Possibly-null, The command container with the highest priority.
-     */
-    private static CommandContainer getHighPriorityCommandFromCommands(List<CommandContainer> commands) {
-        if (commands.isEmpty()) {
-            return null;
-        }
-
-        if (commands.size() == 1) {
-            return commands.get(0);
-        }
-
-        //noinspection ConstantConditions
-        return commands.stream().sorted((first, second) -> {
-            if (first.getPriority().equals(second.getPriority())) {
-                return 0;
-            }
-            return first.getPriority().isGreaterThan(second.getPriority()) ? -1 : 1;
-        }).findFirst().get();
-    }
-
     /**
      * Register the given command into the command handler, creating the
      * command container and saving it into the commands collection.
@@ -358,7 +349,10 @@ public class CommandHandler {
 
         Metrics.commandsExecuted.labels(command.getClass().getSimpleName()).inc(0D);
 
-        COMMANDS.add(new CommandContainer(command, category, commandUri));
+        synchronized (COMMANDS) {
+            COMMANDS.add(new CommandContainer(command, category, commandUri));
+            rebuildIndex();
+        }
     }
 
     /**
@@ -376,6 +370,7 @@ public class CommandHandler {
                 CommandContainer container = iterator.next();
                 if (container.getCommand().getClass().getTypeName().equals(commandClass.getTypeName())) {
                     iterator.remove();
+                    rebuildIndex();
 
                     return true;
                 }
@@ -384,6 +379,16 @@ public class CommandHandler {
         return false;
     }
 
+    /**
+     * Rebuilds the dispatch index from the registered commands, and forgets
+     * all the resolved prefix tables since the categories in use might
+     * have changed, this must be called while holding the commands lock.
+     */
+    private static void rebuildIndex() {
+        index = new CommandDispatchIndex(COMMANDS);
+        prefixCache.invalidateAll();
+    }
+
     /**
      * Gets a collection of all the commands
      * registered into the command handler.
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.commands;
+
+import com.pinewoodbuilders.database.transformers.GuildTransformer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The resolved category prefixes for a single guild, the categories are grouped
+ * by their lower cased prefix, so a command only has to be checked against
+ * each distinct prefix once, rather than once for every command.
+ */
+public final class CommandPrefixTable {
+
+    /**
+     * The lower cased prefixes mapped to the categories that are using them.
+     */
+    private final Map<String, Category[]> prefixes;
+
+    /**
+     * The lower cased first character of every prefix in the table, used
+     * to reject messages that can't possibly be a command right away.
+     */
+    private final String firstCharacters;
+
+    /**
+     * Resolves the prefixes for the given categories using the custom
+     * prefixes from the given guild transformer.
+     *
+     * @param categories  The categories the prefixes should be resolved for.
+     * @param transformer The guild transformer for the guild, or {@code NULL} to use the default prefixes.
+     */
+    CommandPrefixTable(@Nonnull Collection<Category> categories, @Nullable GuildTransformer transformer) {
+        Map<String, List<Category>> grouped = new LinkedHashMap<>();
+        for (Category category : categories) {
+            String prefix = category.getPrefix(transformer);
+            if (prefix == null || prefix.isEmpty()) {
+                continue;
+            }
+
+            grouped.computeIfAbsent(prefix.toLowerCase(), key -> new ArrayList<>()).add(category);
+        }
+
+        Map<String, Category[]> prefixes = new LinkedHashMap<>();
+        StringBuilder firstCharacters = new StringBuilder();
+        for (Map.Entry<String, List<Category>> entry : grouped.entrySet()) {
+            prefixes.put(entry.getKey(), entry.getValue().toArray(new Category[0]));
+
+            char character = entry.getKey().charAt(0);
+            if (firstCharacters.indexOf(String.valueOf(character)) == -1) {
+                firstCharacters.append(character);
+            }
+        }
+
+        this.prefixes = Collections.unmodifiableMap(prefixes);
+        this.firstCharacters = firstCharacters.toString();
+    }
+
+    /**
+     * Gets the lower cased prefixes mapped to the categories that are using them.
+     *
+     * @return The lower cased prefixes mapped to the categories that are using them.
+     */
+    Map<String, Category[]> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Checks if the given command starts with the first character of any
+     * of the prefixes in the table, the number of distinct first
+     * characters is bounded by the number of categories.
+     *
+     * @param command The command string that should be checked.
+     * @return {@code True} if the command could start with one of the prefixes, {@code False} otherwise.
+     */
+    boolean hasPotentialPrefix(@Nonnull String command) {
+        return !command.isEmpty()
+            && firstCharacters.indexOf(Character.toLowerCase(command.charAt(0))) != -1;
+    }
+}
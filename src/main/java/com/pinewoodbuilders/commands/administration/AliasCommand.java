@@ -133,6 +133,7 @@ public class AliasCommand extends Command {
             + String.join(" ", Arrays.copyOfRange(split, 1, split.length));
 
         transformer.getAliases().put(alias, container.getDefaultPrefix() + commandString);
+        transformer.setAliasTable(null);
 
         try {
             updateGuildAliases(context, transformer);
@@ -155,6 +156,7 @@ public class AliasCommand extends Command {
         }
 
         transformer.getAliases().remove(args[0].toLowerCase());
+        transformer.setAliasTable(null);
 
         try {
             updateGuildAliases(context, transformer);
@@ -146,6 +146,8 @@ public class AddAutoModWildcardCommand extends Command {
 
     private void updateGuildAutoModExact(CommandMessage message, GuildSettingsTransformer transformer)
             throws SQLException {
+        transformer.forgetWordFilter();
+
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).where("id", message.getGuild().getId())
                 .update(statement -> statement.set("filter_wildcard",
                         Xeus.gson.toJson(transformer.getBadWordsWildcard()), true));
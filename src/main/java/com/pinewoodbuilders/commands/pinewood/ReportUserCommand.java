@@ -3,6 +3,7 @@ package com.pinewoodbuilders.commands.pinewood;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.blacklist.features.FeatureScope;
+import com.pinewoodbuilders.blacklist.kronos.KronosDivision;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
@@ -209,11 +210,11 @@ public class ReportUserCommand extends Command {
     private boolean checkIfBlacklisted(Long requestedId, TextChannel c) {
 
         if (c.getGuild().getId().equalsIgnoreCase("438134543837560832")) {
-            return avaire.getBlacklistManager().getPBSTBlacklist().contains(requestedId);
+            return avaire.getBlacklistManager().isBlacklisted(KronosDivision.PBST, requestedId);
         } else if (c.getGuild().getId().equalsIgnoreCase("572104809973415943")) {
-            return avaire.getBlacklistManager().getTMSBlacklist().contains(requestedId);
+            return avaire.getBlacklistManager().isBlacklisted(KronosDivision.TMS, requestedId);
         } else if (c.getGuild().getId().equalsIgnoreCase("436670173777362944")) {
-            return avaire.getBlacklistManager().getPETBlacklist().contains(requestedId);
+            return avaire.getBlacklistManager().isBlacklisted(KronosDivision.PET, requestedId);
         } else {
             return false;
         }
@@ -6,6 +6,7 @@ import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
+import com.pinewoodbuilders.requests.HttpClientProvider;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
 import okhttp3.*;
@@ -23,7 +24,6 @@ public class GroupShoutCommand extends Command {
     }
 
     private static final MediaType json = MediaType.parse("application/json; charset=utf-8");
-    private final OkHttpClient client = new OkHttpClient();
 
     @Override
     public String getName() {
@@ -137,7 +137,7 @@ public class GroupShoutCommand extends Command {
             .url(avaire.getConfig().getString("URL.noblox").replace("%location%", "GroupShout"))
             .post(RequestBody.create(json, buildPayload(message, context.getGuildSettingsTransformer().getRobloxGroupId())));
 
-        try (Response response = client.newCall(request.build()).execute()) {
+        try (Response response = HttpClientProvider.getClient().newCall(request.build()).execute()) {
             if (response.code() == 500) {
                 context.makeError("[PB_Xbot doesn't have permissions to group shout to the group.](https://www.roblox.com/groups/:RobloxID). See response body here: \n```:message```").set("RobloxID", context.getGuildSettingsTransformer().getRobloxGroupId())
                     .set("message", response.body() != null ? response.body().string() : "[RESPONSE NOT FOUND/RECEIVED]").queue();
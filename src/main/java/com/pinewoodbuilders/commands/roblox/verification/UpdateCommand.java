@@ -2,35 +2,39 @@ package com.pinewoodbuilders.commands.roblox.verification;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.blacklist.kronos.KronosDivision;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.kronos.TrellobanLabels;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
-import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.transformers.VerificationTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
 import com.pinewoodbuilders.requests.service.user.inventory.RobloxGamePassService;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+import com.pinewoodbuilders.roblox.verification.update.RankBindingIndex;
+import com.pinewoodbuilders.roblox.verification.update.RoleDiff;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
 import com.pinewoodbuilders.utilities.MentionableUtil;
 import com.pinewoodbuilders.utilities.RoleUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import com.pinewoodbuilders.utilities.menu.Paginator;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.Refill;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.exceptions.PermissionException;
 import net.dv8tion.jda.internal.utils.PermissionUtil;
 
 import java.sql.SQLException;
-import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 public class UpdateCommand extends Command {
@@ -113,8 +117,17 @@ public class UpdateCommand extends Command {
         return false;
     }
 
-    boolean verificationRunning;
+    /**
+     * The maximum amount of members that are looked up at the same time during a guild-wide update.
+     */
+    private static final int MAX_CONCURRENT_UPDATES = 10;
 
+    /**
+     * The amount of seconds between each progress update during a guild-wide update.
+     */
+    private static final int PROGRESS_INTERVAL = 15;
+
+    private final AtomicBoolean verificationRunning = new AtomicBoolean(false);
 
     private boolean updateEveryone(CommandMessage context) {
         int level = XeusPermissionUtil.getPermissionLevel(context).getLevel();
@@ -123,17 +136,36 @@ public class UpdateCommand extends Command {
             return false;
         }
 
-        if (verificationRunning) {
+        if (!verificationRunning.compareAndSet(false, true)) {
             context.makeError("Somewhere, verification is already running. Please try again later...").queue();
             return false;
         }
 
+        try {
+            return runGuildUpdate(context);
+        } finally {
+            verificationRunning.set(false);
+        }
+    }
+
+    private boolean runGuildUpdate(CommandMessage context) {
+        VerificationTransformer verificationTransformer = context.getVerificationTransformer();
+        if (verificationTransformer == null) {
+            context.makeError("Verification transformer broke?").queue();
+            return false;
+        }
+
+        if (verificationTransformer.getRanks() == null) {
+            context.makeError(
+                "Ranks have not been setup on this guild yet. Please ask the admins to setup the roles on this server.")
+                .queue();
+            return false;
+        }
 
+        List <Member> members = context.getGuild().getMembers();
         context.makeWarning(
             "Running verification...\nDepending on the member total (:members) this might take a while. You will be mentioned once the time is over.")
-            .set("members", context.getGuild().getMembers().size()).queue();
-        AtomicInteger count = new AtomicInteger();
-
+            .set("members", members.size()).queue();
 
         HashMap <Long, List <TrellobanLabels>> trellobans = null;
 
@@ -145,364 +177,385 @@ public class UpdateCommand extends Command {
             }
         }
 
-        verificationRunning = true;
-        HashMap <Member, String> ignoredMembers = new HashMap <>();
         List <Guild> guild;
+        Set <Long> antiUnbanIds = new HashSet <>();
+        Set <String> antiUnbanNames = new HashSet <>();
         try {
             guild = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(avaire, context.getGuildSettingsTransformer().getMainGroupId());
+
+            for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.ANTI_UNBAN_TABLE_NAME)
+                .select("roblox_user_id", "roblox_username").get()) {
+                antiUnbanIds.add(row.getLong("roblox_user_id"));
+                if (row.getString("roblox_username") != null) {
+                    antiUnbanNames.add(row.getString("roblox_username").toLowerCase());
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             context.makeError("Error while pulling information").queue();
             return false;
         }
 
-        Bucket bucket = Bucket.builder()
-            .addLimit(Bandwidth.classic(45, Refill.intervally(45, Duration.ofMinutes(1))))
-            .build();
+        // The rank bindings are compiled once for the entire update, and only the bound roles
+        // the bot can interact with are managed, so the role changes for each member
+        // can be worked out without going through the bindings again.
+        RankBindingIndex bindings = RankBindingIndex.compile((GuildRobloxRanksService) avaire.getRobloxAPIManager()
+            .toService(verificationTransformer.getRanks(), GuildRobloxRanksService.class));
+
+        Set <Long> managedRoles = bindings.getBoundRoleIds().stream()
+            .map(roleId -> context.getGuild().getRoleById(roleId))
+            .filter(role -> role != null && RoleUtil.canBotInteractWithRole(context.getMessage(), role))
+            .map(Role::getIdLong)
+            .collect(Collectors.toSet());
+
+        Role verifiedRole = verificationTransformer.getVerifiedRole() != 0
+            ? context.getGuild().getRoleById(verificationTransformer.getVerifiedRole()) : null;
+
+        GuildUpdate update = new GuildUpdate(
+            context, verificationTransformer, bindings, managedRoles, verifiedRole, trellobans, guild,
+            antiUnbanIds, antiUnbanNames, KronosDivision.fromGuildId(context.getGuild().getIdLong()),
+            new ConcurrentHashMap <>(), new AtomicInteger(), new AtomicInteger()
+        );
+
+        AtomicReference <Message> progressMessage = new AtomicReference <>();
+        context.makeInfo(update.getProgress(members.size())).queue(progressMessage::set);
+
+        ScheduledFuture <?> progress = ScheduleHandler.getScheduler().scheduleAtFixedRate(() -> {
+            Message message = progressMessage.get();
+            if (message != null) {
+                message.editMessageEmbeds(context.makeInfo(update.getProgress(members.size())).buildEmbed()).queue();
+            }
+        }, PROGRESS_INTERVAL, PROGRESS_INTERVAL, TimeUnit.SECONDS);
 
-        for (Member member : context.getGuild().getMembers()) {
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-            if (!probe.isConsumed()) {
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_UPDATES);
+        try {
+            for (Member member : members) {
+                String ignoreReason = getIgnoreReason(context, member);
+                if (ignoreReason != null) {
+                    if (!ignoreReason.isEmpty()) {
+                        update.ignoredMembers().put(member, ignoreReason);
+                    }
+                    update.processed().incrementAndGet();
+                    continue;
+                }
+
+                permits.acquire();
+
+                // The permit is only released once the update completes, so an update that fails
+                // before it returns a future is turned into a failed future instead, otherwise
+                // the permit would never be released and the update would never finish.
+                CompletableFuture <Void> memberUpdate;
                 try {
-                    long timeUntilRefill = probe.getNanosToWaitForReset();
-                    long refillTime = timeUntilRefill != 0L ? timeUntilRefill : 0;
-                    long durationInMs = TimeUnit.MILLISECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-                    long durationInSeconds = TimeUnit.SECONDS.convert(refillTime, TimeUnit.NANOSECONDS);
-
-                    TimeUnit.NANOSECONDS.sleep(refillTime);
-                } catch (InterruptedException ignored) {
-                    context.makeError("Rate-limit interrupted, update cancelled.").queue();
-                    return false;
+                    memberUpdate = updateGuildMember(update, member);
+                } catch (RuntimeException e) {
+                    memberUpdate = CompletableFuture.failedFuture(e);
                 }
-            }
 
-            if (member == null) {
-                continue;
+                memberUpdate.whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        update.ignoredMembers().put(member, "Failed to update: " + throwable.getMessage());
+                    }
+                    update.processed().incrementAndGet();
+                    permits.release();
+                });
             }
 
-            if (member.getUser().isBot()) {
-                ignoredMembers.put(member, "Account is a bot, ignored.");
-                continue;
-            }
+            // Waits for the members that are still being updated to finish.
+            permits.acquire(MAX_CONCURRENT_UPDATES);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            context.makeError("Update interrupted, update cancelled.").queue();
+            return false;
+        } finally {
+            progress.cancel(false);
+        }
 
-            if (!PermissionUtil.canInteract(context.guild.getSelfMember(), member)) {
-                // ignoredMembers.put(member, "Cannot interact with user");
-                continue;
-            }
+        Message message = progressMessage.get();
+        if (message != null) {
+            message.editMessageEmbeds(context.makeInfo(update.getProgress(members.size())).buildEmbed()).queue();
+        }
 
-            if (member.getRoles().stream().anyMatch(
-                r -> r.getName().equalsIgnoreCase("Xeus Bypass") || r.getName().equalsIgnoreCase("RoVer Bypass"))) {
-                ignoredMembers.put(member, " has the Xeus/RoVer bypass role, this user cannot be verified/updated.");
-                continue;
-            }
+        context.getChannel().sendMessage(context.getMember().getAsMention())
+            .setEmbeds(context.makeSuccess("All members have been updated").buildEmbed()).queue();
 
-            VerificationEntity verificationEntity = avaire.getRobloxAPIManager().getVerification()
-                .fetchVerificationWithBackup(member.getId(), false);
-            if (verificationEntity == null) {
-                ignoredMembers.put(member, "Xeus coudn't find this profile anywhere, user was not verified");
-                continue;
-            }
+        List <String> failedMembers = new ArrayList <>();
+        update.ignoredMembers().forEach((m, r) -> {
+            failedMembers.add("`" + m.getEffectiveName() + "` - **" + r + "**");
+        });
 
-            //System.out.println("User " + verificationEntity.getRobloxUsername() + " with id " + verificationEntity.getRobloxId());
-
-            if (trellobans != null) {
-                if (trellobans
-                    .containsKey(verificationEntity.getRobloxId())) {
-                    List <TrellobanLabels> banLabels = trellobans
-                        .get(verificationEntity.getRobloxId());
-
-                    if (banLabels.size() > 0) {
-                        if (context.getMessage().getContentDisplay().contains("--pbac-trelloban-message")) {
-                            String canAppealRoleId = "834326360628658187";
-                            String trellobanRoleId = "875251061638701086";
-                            boolean canAppeal = true;
-                            boolean isPermenant = false;
-                            for (TrellobanLabels banLabel : banLabels) {
-                                if (banLabel.isPermban()) {
-                                    isPermenant = true;
-                                }
-                                if (!banLabel.isAppealable()) {
-                                    canAppeal = false;
-                                }
-                            }
-                            if (!context.getGuild().getId().equals("750471488095780966")) {
-                                if (canAppeal && isPermenant) {
-                                    member.getUser().openPrivateChannel()
-                                        .flatMap(u -> u.sendMessage("Please open this message..."))
-                                        .flatMap(m -> m.editMessage(member.getAsMention()).setEmbeds(MessageFactory
-                                            .makeSuccess(m,
-                                                "You have been trello-banned forever within Pinewood, however you are still allowed to appeal within the PBAC.\n\n"
-                                                    + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:)"
-                                                    + banLabels.stream().map(c -> "\n - " + c.getName())
-                                                    .collect(Collectors.joining()))
-                                            .buildEmbed()))
-                                        .queue();
-                                }
-
-                                if (canAppeal && !isPermenant) {
-                                    member.getUser().openPrivateChannel()
-                                        .flatMap(u -> u.sendMessage("Please open this message..."))
-                                        .flatMap(m -> m.editMessage(member.getAsMention()).setEmbeds(MessageFactory
-                                            .makeSuccess(m,
-                                                "You have been trello-banned within Pinewood, however you are still allowed to appeal within the PBAC.\n\n"
-                                                    + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:"
-                                                    + banLabels.stream().map(c -> "\n - " + c.getName())
-                                                    .collect(Collectors.joining()))
-                                            .buildEmbed()))
-                                        .queue();
-
-                                }
-
-                                if (!canAppeal && isPermenant) {
-                                    member.getUser().openPrivateChannel()
-                                        .flatMap(u -> u.sendMessage("Loading ban message..."))
-                                        .flatMap(m -> m.editMessage(member.getAsMention())
-                                            .setEmbeds(MessageFactory.makeSuccess(m,
-                                                "[You have been trello-banned forever within Pinewood, this ban is permenant, so you're not allowed to appeal it. We wish you a very good day sir, and goodbye.](https://www.youtube.com/watch?v=BXUhfoUJjuQ)")
-                                                .buildEmbed()))
-                                        .queue();
-                                    avaire.getShardManager().getTextChannelById("778853992704507945")
-                                        .sendMessage("Loading...")
-                                        .flatMap(message -> message.editMessage("Shut the fuck up.")
-                                            .setEmbeds(MessageFactory.makeInfo(message, member.getAsMention()
-                                                + " tried to verify in `" + context.guild.getName()
-                                                + "`. However, this person has a permenant trelloban to his name. He has been sent the STFU video (If his DM's are on) and have been global-banned.")
-                                                .buildEmbed()))
-                                        .queue();
-                                }
-                                long mgmLogs = context.getGuildSettingsTransformer().getGlobalSettings().getMgmLogsId();
-                                if (mgmLogs != 0) {
-                                    TextChannel tc = avaire.getShardManager().getTextChannelById(mgmLogs);
-                                    if (tc != null) {
-                                        tc.sendMessageEmbeds(context
-                                            .makeInfo("[``:global-unbanned-id`` has tried to verify in "
-                                                + context.getGuild().getName()
-                                                + " but was trello banned, and has been global-banned. His labels are:](:link):\n"
-                                                + "```:reason```")
-                                            .set("global-unbanned-id", verificationEntity.getRobloxId())
-                                            .set("reason",
-                                                banLabels.stream().map(c -> "\n - " + c.getName())
-                                                    .collect(Collectors.joining()))
-                                            .set("user", "XEUS AUTO BAN")
-                                            .set("link", context.getMessage().getJumpUrl()).buildEmbed()).queue();
-                                    }
-                                }
-                                ignoredMembers.put(member, "__*`User is TRELLO BANNED AND GLOBAL BANNED`*__");
-                                GlobalBanMember(context, String.valueOf(verificationEntity.getDiscordId()),
-                                    guild);
-
-                            } else if (canAppeal) {
-                                context.guild.modifyMemberRoles(member, context.guild.getRoleById(canAppealRoleId))
-                                    .queue();
-                                member.getUser().openPrivateChannel()
-                                    .flatMap(u -> u.sendMessage("Please open this message..."))
-                                    .flatMap(m -> m.editMessage(member.getAsMention())
-                                        .setEmbeds(MessageFactory.makeSuccess(m,
-                                            "You have been trello-banned within Pinewood, [however you are still allowed to appeal within the PBAC]().\n\n"
-                                                + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:"
-                                                + banLabels.stream().map(c -> "\n - " + c.getName())
-                                                .collect(Collectors.joining()))
-                                            .buildEmbed()))
-                                    .queue();
-                            }
-
-                            if (!canAppeal && isPermenant) {
-                                context.guild.modifyMemberRoles(member, context.guild.getRoleById(trellobanRoleId))
-                                    .queue();
-                                member.getUser().openPrivateChannel()
-                                    .flatMap(u -> u.sendMessage("Loading ban message..."))
-                                    .flatMap(m -> m.editMessage(member.getAsMention())
-                                        .setEmbeds(MessageFactory.makeSuccess(m,
-                                            "[You have been trello-banned forever within Pinewood, this ban is permenant, so you're not allowed to appeal it. We wish you a very good day sir, and goodbye.](https://www.youtube.com/watch?v=BXUhfoUJjuQ)")
-                                            .buildEmbed()))
-                                    .queue();
-                                avaire.getShardManager().getTextChannelById("778853992704507945")
-                                    .sendMessage("Loading...")
-                                    .flatMap(message -> message.editMessage("Shut the fuck up.")
-                                        .setEmbeds(MessageFactory.makeInfo(message, member.getAsMention()
-                                            + " has a permanent trelloban. They have been sent the STFU video (if their DMs are on).")
-                                            .buildEmbed()))
-                                    .queue();
-                            }
-
-                        } else {
-                            ignoredMembers.put(member, "__*`User is TRELLO BANNED`*__");
-                            continue;
-                        }
-                    }
-                }
-            }
+        builder.setText("All members that failed to update:").setItems(failedMembers);
+        builder.build().paginate(context.getChannel(), 0);
+        return true;
+    }
 
-            try {
-                Collection accounts = avaire.getDatabase().newQueryBuilder(Constants.ANTI_UNBAN_TABLE_NAME)
-                    .where("roblox_user_id", verificationEntity.getRobloxId())
-                    .orWhere("roblox_username", verificationEntity.getRobloxUsername()).get();
-                if (accounts.size() > 0) {
-                    ignoredMembers.put(member, "`User is banned in the MGM Anti-Unban database.`");
-                    continue;
-                }
-            } catch (SQLException throwables) {
-                ignoredMembers.put(member, "Database error");
-            }
+    /**
+     * Gets the reason the given member should be skipped during a guild-wide update.
+     *
+     * @param context The command message context.
+     * @param member  The member that should be checked.
+     * @return The reason the member should be skipped, an empty string if the member should be
+     *         skipped without a reason, or <code>null</code> if the member should be updated.
+     */
+    private String getIgnoreReason(CommandMessage context, Member member) {
+        if (member.getUser().isBot()) {
+            return "Account is a bot, ignored.";
+        }
 
-            if (context.getGuild().getId().equals("438134543837560832")) {
-                if (avaire.getBlacklistManager().getPBSTBlacklist().contains(verificationEntity.getRobloxId())) {
-                    ignoredMembers.put(member, "User is blacklisted from PBST.");
-                    continue;
-                }
-            } else if (context.getGuild().getId().equals("572104809973415943")) {
-                if (avaire.getBlacklistManager().getTMSBlacklist().contains(verificationEntity.getRobloxId())) {
-                    ignoredMembers.put(member, "User is blacklisted from TMS.");
-                    continue;
-                }
-            } else if (context.getGuild().getId().equalsIgnoreCase("498476405160673286")) {
-                if (avaire.getBlacklistManager().getPBMBlacklist().contains(verificationEntity.getRobloxId())) {
-                    ignoredMembers.put(member, "User is blacklisted from PBM.");
-                    continue;
+        if (!PermissionUtil.canInteract(context.guild.getSelfMember(), member)) {
+            return "";
+        }
+
+        if (member.getRoles().stream().anyMatch(
+            r -> r.getName().equalsIgnoreCase("Xeus Bypass") || r.getName().equalsIgnoreCase("RoVer Bypass"))) {
+            return " has the Xeus/RoVer bypass role, this user cannot be verified/updated.";
+        }
+        return null;
+    }
+
+    private CompletableFuture <Void> updateGuildMember(GuildUpdate update, Member member) {
+        return avaire.getRobloxAPIManager().getVerification()
+            .fetchVerificationWithBackupAsync(member.getIdLong(), false)
+            .thenCompose(verificationEntity -> {
+                if (verificationEntity == null) {
+                    update.ignoredMembers().put(member, "Xeus coudn't find this profile anywhere, user was not verified");
+                    return CompletableFuture.completedFuture(null);
                 }
-            } else if (context.getGuild().getId().equalsIgnoreCase("436670173777362944")) {
-                if (avaire.getBlacklistManager().getPETBlacklist().contains(verificationEntity.getRobloxId())) {
-                    ignoredMembers.put(member, "User is blacklisted from PET.");
-                    continue;
+
+                if (isRestricted(update, member, verificationEntity)) {
+                    return CompletableFuture.completedFuture(null);
                 }
-            }
 
-            VerificationTransformer verificationTransformer = context.getVerificationTransformer();
-            if (verificationTransformer == null) {
-                ignoredMembers.put(member, "Verification transformer broke?");
-                continue;
+                return fetchBoundRoleIds(update.bindings(), verificationEntity.getRobloxId()).thenAccept(roleIds -> {
+                    if (roleIds == null) {
+                        update.ignoredMembers().put(member, "User doesn't have any group ranks at all.");
+                        return;
+                    }
+                    applyRoles(update, member, verificationEntity, roleIds);
+                });
+            });
+    }
+
+    private boolean isRestricted(GuildUpdate update, Member member, VerificationEntity verificationEntity) {
+        if (update.trellobans() != null) {
+            List <TrellobanLabels> banLabels = update.trellobans().get(verificationEntity.getRobloxId());
+            if (banLabels != null && banLabels.size() > 0
+                && handleTrelloban(update.context(), member, verificationEntity, banLabels, update.guilds(), update.ignoredMembers())) {
+                return true;
             }
+        }
 
+        if (update.antiUnbanIds().contains(verificationEntity.getRobloxId()) || (verificationEntity.getRobloxUsername() != null
+            && update.antiUnbanNames().contains(verificationEntity.getRobloxUsername().toLowerCase()))) {
+            update.ignoredMembers().put(member, "`User is banned in the MGM Anti-Unban database.`");
+            return true;
+        }
 
-            if (verificationTransformer.getRanks() == null) {
-                context.makeError(
-                    "Ranks have not been setup on this guild yet. Please ask the admins to setup the roles on this server.")
-                    .queue();
-                return false;
-            }
+        if (update.division() != null && avaire.getBlacklistManager().isBlacklisted(update.division(), verificationEntity.getRobloxId())) {
+            update.ignoredMembers().put(member, "User is blacklisted from " + update.division().getName().toUpperCase() + ".");
+            return true;
+        }
+        return false;
+    }
 
-            List <RobloxUserGroupRankService.Data> robloxRanks = avaire.getRobloxAPIManager().getUserAPI()
-                .getUserRanks(verificationEntity.getRobloxId());
+    /**
+     * Fetches the group ranks and bound game passes for the given Roblox user in
+     * parallel, and looks up the bound roles the user should be given.
+     *
+     * @param bindings The compiled rank bindings for the guild.
+     * @param robloxId The ID of the Roblox user.
+     * @return The future that completes with the bound role IDs, or <code>null</code> if the user doesn't have any group ranks.
+     */
+    private CompletableFuture <Set <Long>> fetchBoundRoleIds(RankBindingIndex bindings, long robloxId) {
+        CompletableFuture <List <RobloxUserGroupRankService.Data>> ranks = avaire.getRobloxAPIManager().getUserAPI()
+            .getUserRanksAsync(robloxId);
+
+        Map <Long, CompletableFuture <List <RobloxGamePassService.Datum>>> gamePasses = new HashMap <>();
+        for (Long gamePassId : bindings.getGamePassIds()) {
+            gamePasses.put(gamePassId, avaire.getRobloxAPIManager().getUserAPI().getUserGamePassAsync(robloxId, gamePassId));
+        }
 
+        return CompletableFuture.allOf(gamePasses.values().toArray(new CompletableFuture[0])).thenCombine(ranks, (ignored, robloxRanks) -> {
             if (robloxRanks == null) {
-                ignoredMembers.put(member, "User doesn't have any group ranks at all.");
-                continue;
+                return null;
             }
 
-            GuildRobloxRanksService guildRanks = (GuildRobloxRanksService) avaire.getRobloxAPIManager()
-                .toService(verificationTransformer.getRanks(), GuildRobloxRanksService.class);
-
-            Map <GuildRobloxRanksService.GroupRankBinding, Role> bindingRoleMap = guildRanks.getGroupRankBindings()
-                .stream()
-                .collect(Collectors.toMap(Function.identity(),
-                    groupRankBinding -> context.guild.getRoleById(groupRankBinding.getRole()))),
-                bindingRoleAddMap = new HashMap <>();
-
-            // Loop through all the group-rank bindings
-            bindingRoleMap.forEach((groupRankBinding, role) -> {
-                List <String> robloxGroups = robloxRanks.stream()
-                    .map(data -> data.getGroup().getId() + ":" + data.getRole().getRank())
-                    .toList();
-
-                for (String groupRank : robloxGroups) {
-                    String[] rank = groupRank.split(":");
-                    String groupId = rank[0];
-                    String rankId = rank[1];
-
-                    if (groupRankBinding.getGroups().stream().filter(group -> !group.getId().equals("GamePass"))
-                        .anyMatch(group -> group.getId().equals(groupId)
-                            && group.getRanks().contains(Integer.valueOf(rankId)))) {
-                        bindingRoleAddMap.put(groupRankBinding, role);
+            Set <Long> roleIds = bindings.getRoleIds(robloxRanks);
+            gamePasses.forEach((gamePassId, pass) -> {
+                if (pass.join() != null) {
+                    for (long roleId : bindings.getGamePassRoleIds(gamePassId)) {
+                        roleIds.add(roleId);
                     }
-
                 }
             });
+            return roleIds;
+        });
+    }
 
-            bindingRoleMap.forEach((groupRankBinding, role) -> {
-                List <String> gamepassBinds = groupRankBinding.getGroups().stream()
-                    .map(data -> data.getId() + ":" + data.getRanks().get(0)).toList();
-
-                for (String groupRank : gamepassBinds) {
-                    // Loop through all the gamepass-bindings
-                    String[] rank = groupRank.split(":");
-                    String rankId = rank[1];
-                    gamepassBinds.stream().filter(
-                        group -> group.split(":")[0].equals("GamePass") && group.split(":")[1].equals(rankId))
-                        .forEach(gamepass -> {
-                            List <RobloxGamePassService.Datum> rgs = avaire.getRobloxAPIManager().getUserAPI()
-                                .getUserGamePass(verificationEntity.getRobloxId(), Long.valueOf(rankId));
-                            if (rgs != null) {
-                                bindingRoleAddMap.put(groupRankBinding, role);
-                            }
-                        });
+    private void applyRoles(GuildUpdate update, Member member, VerificationEntity verificationEntity, Set <Long> roleIds) {
+        Guild guild = update.context().getGuild();
 
-                }
-            });
+        Set <Long> desiredRoles = roleIds.stream()
+            .filter(update.managedRoles()::contains)
+            .collect(Collectors.toSet());
+        if (update.verifiedRole() != null) {
+            desiredRoles.add(update.verifiedRole().getIdLong());
+        }
 
-            // Collect the toAdd and toRemove roles from the previous maps
-            java.util.Collection <Role> rolesToAdd = bindingRoleAddMap.values().stream()
-                .filter(role -> RoleUtil.canBotInteractWithRole(context.getMessage(), role))
-                .collect(Collectors.toList()),
-                rolesToRemove = bindingRoleMap.values().stream()
-                    .filter(role -> !bindingRoleAddMap.containsValue(role)
-                        && RoleUtil.canBotInteractWithRole(context.getMessage(), role))
-                    .collect(Collectors.toList());
-
-            if (verificationTransformer.getVerifiedRole() != 0) {
-                Role r = context.getGuild().getRoleById(verificationTransformer.getVerifiedRole());
-                if (r != null) {
-                    rolesToAdd.add(r);
-                }
+        Set <Long> currentRoles = member.getRoles().stream()
+            .map(Role::getIdLong)
+            .collect(Collectors.toSet());
+
+        // Only members whose roles have actually changed are sent to Discord.
+        RoleDiff diff = RoleDiff.compute(currentRoles, desiredRoles, update.managedRoles());
+        if (!diff.isEmpty()) {
+            guild.modifyMemberRoles(member, toRoles(guild, diff.toAdd()), toRoles(guild, diff.toRemove()))
+                .queue(l -> update.updated().getAndIncrement(), null);
+        }
+
+        if (!verificationEntity.getRobloxUsername().equals(member.getEffectiveName())) {
+            if (PermissionUtil.canInteract(guild.getSelfMember(), member)) {
+                guild.modifyNickname(member, update.verificationTransformer().getNicknameFormat()
+                    .replace("%USERNAME%", verificationEntity.getRobloxUsername())).queue();
+            } else {
+                update.ignoredMembers().put(member,
+                    "I do not have the permission to modify their nickname, or their highest rank is above mine.");
             }
+        }
+    }
 
-            // Modify the roles of the member
-            context.getGuild().modifyMemberRoles(member, rolesToAdd, rolesToRemove).queue(l -> count.getAndIncrement(),
-                null);
-
-            String rolesToAddAsString = "\nRoles to add:\n" + (rolesToAdd.size() > 0
-                ? (rolesToAdd.stream().map(role -> "- `" + role.getName() + "`").collect(Collectors.joining("\n")))
-                : "No roles have been added");
-            // stringBuilder.append(rolesToAddAsString);
-
-            String rolesToRemoveAsString = "\nRoles to remove:\n"
-                + (bindingRoleMap.size() > 0
-                ? (rolesToRemove.stream().map(role -> "- `" + role.getName() + "`")
-                .collect(Collectors.joining("\n")))
-                : "No roles have been removed");
-            // stringBuilder.append(rolesToRemoveAsString);
-
-            if (!verificationEntity.getRobloxUsername().equals(member.getEffectiveName())) {
-                if (PermissionUtil.canInteract(context.guild.getSelfMember(), member)) {
-                    context.getGuild().modifyNickname(member, verificationTransformer.getNicknameFormat()
-                        .replace("%USERNAME%", verificationEntity.getRobloxUsername())).queue();
-                    // stringBuilder.append("\n\nNickname has been set to
-                    // `").append(verificationEntity.getRobloxUsername()).append("`");
-                } else {
-                    ignoredMembers.put(member,
-                        "I do not have the permission to modify their nickname, or their highest rank is above mine.");
-                    // stringBuilder.append("\n\nChanging nickname failed :(");
+    private List <Role> toRoles(Guild guild, Set <Long> roleIds) {
+        return roleIds.stream()
+            .map(guild::getRoleById)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Handles a trello-banned member during a guild-wide update.
+     *
+     * @return <code>True</code> if the member should be skipped, <code>False</code> otherwise.
+     */
+    private boolean handleTrelloban(CommandMessage context, Member member, VerificationEntity verificationEntity, List <TrellobanLabels> banLabels, List <Guild> guild, Map <Member, String> ignoredMembers) {
+        if (context.getMessage().getContentDisplay().contains("--pbac-trelloban-message")) {
+            String canAppealRoleId = "834326360628658187";
+            String trellobanRoleId = "875251061638701086";
+            boolean canAppeal = true;
+            boolean isPermenant = false;
+            for (TrellobanLabels banLabel : banLabels) {
+                if (banLabel.isPermban()) {
+                    isPermenant = true;
+                }
+                if (!banLabel.isAppealable()) {
+                    canAppeal = false;
                 }
             }
+            if (!context.getGuild().getId().equals("750471488095780966")) {
+                if (canAppeal && isPermenant) {
+                    member.getUser().openPrivateChannel()
+                        .flatMap(u -> u.sendMessage("Please open this message..."))
+                        .flatMap(m -> m.editMessage(member.getAsMention()).setEmbeds(MessageFactory
+                            .makeSuccess(m,
+                                "You have been trello-banned forever within Pinewood, however you are still allowed to appeal within the PBAC.\n\n"
+                                    + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:)"
+                                    + banLabels.stream().map(c -> "\n - " + c.getName())
+                                    .collect(Collectors.joining()))
+                            .buildEmbed()))
+                        .queue();
+                }
 
-            if (count.get() % 100 == 0) {
-                context.makeInfo("`" + count.get() + "`/`" + context.getGuild().getMembers().size() + "`").queue();
+                if (canAppeal && !isPermenant) {
+                    member.getUser().openPrivateChannel()
+                        .flatMap(u -> u.sendMessage("Please open this message..."))
+                        .flatMap(m -> m.editMessage(member.getAsMention()).setEmbeds(MessageFactory
+                            .makeSuccess(m,
+                                "You have been trello-banned within Pinewood, however you are still allowed to appeal within the PBAC.\n\n"
+                                    + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:"
+                                    + banLabels.stream().map(c -> "\n - " + c.getName())
+                                    .collect(Collectors.joining()))
+                            .buildEmbed()))
+                        .queue();
+
+                }
+
+                if (!canAppeal && isPermenant) {
+                    member.getUser().openPrivateChannel()
+                        .flatMap(u -> u.sendMessage("Loading ban message..."))
+                        .flatMap(m -> m.editMessage(member.getAsMention())
+                            .setEmbeds(MessageFactory.makeSuccess(m,
+                                "[You have been trello-banned forever within Pinewood, this ban is permenant, so you're not allowed to appeal it. We wish you a very good day sir, and goodbye.](https://www.youtube.com/watch?v=BXUhfoUJjuQ)")
+                                .buildEmbed()))
+                        .queue();
+                    avaire.getShardManager().getTextChannelById("778853992704507945")
+                        .sendMessage("Loading...")
+                        .flatMap(message -> message.editMessage("Shut the fuck up.")
+                            .setEmbeds(MessageFactory.makeInfo(message, member.getAsMention()
+                                + " tried to verify in `" + context.guild.getName()
+                                + "`. However, this person has a permenant trelloban to his name. He has been sent the STFU video (If his DM's are on) and have been global-banned.")
+                                .buildEmbed()))
+                        .queue();
+                }
+                long mgmLogs = context.getGuildSettingsTransformer().getGlobalSettings().getMgmLogsId();
+                if (mgmLogs != 0) {
+                    TextChannel tc = avaire.getShardManager().getTextChannelById(mgmLogs);
+                    if (tc != null) {
+                        tc.sendMessageEmbeds(context
+                            .makeInfo("[``:global-unbanned-id`` has tried to verify in "
+                                + context.getGuild().getName()
+                                + " but was trello banned, and has been global-banned. His labels are:](:link):\n"
+                                + "```:reason```")
+                            .set("global-unbanned-id", verificationEntity.getRobloxId())
+                            .set("reason",
+                                banLabels.stream().map(c -> "\n - " + c.getName())
+                                    .collect(Collectors.joining()))
+                            .set("user", "XEUS AUTO BAN")
+                            .set("link", context.getMessage().getJumpUrl()).buildEmbed()).queue();
+                    }
+                }
+                ignoredMembers.put(member, "__*`User is TRELLO BANNED AND GLOBAL BANNED`*__");
+                GlobalBanMember(context, String.valueOf(verificationEntity.getDiscordId()),
+                    guild);
+
+            } else if (canAppeal) {
+                context.guild.modifyMemberRoles(member, context.guild.getRoleById(canAppealRoleId))
+                    .queue();
+                member.getUser().openPrivateChannel()
+                    .flatMap(u -> u.sendMessage("Please open this message..."))
+                    .flatMap(m -> m.editMessage(member.getAsMention())
+                        .setEmbeds(MessageFactory.makeSuccess(m,
+                            "You have been trello-banned within Pinewood, [however you are still allowed to appeal within the PBAC]().\n\n"
+                                + "Your trello-ban has the following labels, I'd suggest sharing these with your ticket handler:"
+                                + banLabels.stream().map(c -> "\n - " + c.getName())
+                                .collect(Collectors.joining()))
+                            .buildEmbed()))
+                    .queue();
             }
-        }
-        context.getChannel().sendMessage(context.getMember().getAsMention())
-            .setEmbeds(context.makeSuccess("All members have been updated").buildEmbed()).queue();
 
-        List <String> failedMembers = new ArrayList <>();
-        ignoredMembers.forEach((m, r) -> {
-            failedMembers.add("`" + m.getEffectiveName() + "` - **" + r + "**");
-        });
+            if (!canAppeal && isPermenant) {
+                context.guild.modifyMemberRoles(member, context.guild.getRoleById(trellobanRoleId))
+                    .queue();
+                member.getUser().openPrivateChannel()
+                    .flatMap(u -> u.sendMessage("Loading ban message..."))
+                    .flatMap(m -> m.editMessage(member.getAsMention())
+                        .setEmbeds(MessageFactory.makeSuccess(m,
+                            "[You have been trello-banned forever within Pinewood, this ban is permenant, so you're not allowed to appeal it. We wish you a very good day sir, and goodbye.](https://www.youtube.com/watch?v=BXUhfoUJjuQ)")
+                            .buildEmbed()))
+                    .queue();
+                avaire.getShardManager().getTextChannelById("778853992704507945")
+                    .sendMessage("Loading...")
+                    .flatMap(message -> message.editMessage("Shut the fuck up.")
+                        .setEmbeds(MessageFactory.makeInfo(message, member.getAsMention()
+                            + " has a permanent trelloban. They have been sent the STFU video (if their DMs are on).")
+                            .buildEmbed()))
+                    .queue();
+            }
 
-        verificationRunning = false;
-        builder.setText("All members that failed to update:").setItems(failedMembers);
-        builder.build().paginate(context.getChannel(), 0);
-        return !verificationRunning;
+        } else {
+            ignoredMembers.put(member, "__*`User is TRELLO BANNED`*__");
+            return true;
+        }
+        return false;
     }
 
-
     private void GlobalBanMember(CommandMessage context, String arg, List<Guild> guilde) {
         StringBuilder sb = new StringBuilder();
         for (Guild g : guilde) {
@@ -515,4 +568,26 @@ public class UpdateCommand extends Command {
         }
     }
 
+    private record GuildUpdate(
+        CommandMessage context,
+        VerificationTransformer verificationTransformer,
+        RankBindingIndex bindings,
+        Set <Long> managedRoles,
+        Role verifiedRole,
+        HashMap <Long, List <TrellobanLabels>> trellobans,
+        List <Guild> guilds,
+        Set <Long> antiUnbanIds,
+        Set <String> antiUnbanNames,
+        KronosDivision division,
+        Map <Member, String> ignoredMembers,
+        AtomicInteger processed,
+        AtomicInteger updated
+    ) {
+
+        String getProgress(int total) {
+            return "`" + processed.get() + "`/`" + total + "` members processed, `"
+                + updated.get() + "` members had their roles changed and `"
+                + ignoredMembers.size() + "` members were skipped.";
+        }
+    }
 }
@@ -182,6 +182,8 @@ public class GlobalSettingsSubCommand extends SettingsSubCommand {
 
     private void updateGuildAutoModExact(CommandMessage message, GlobalSettingsTransformer transformer)
         throws SQLException {
+        transformer.forgetGlobalWordFilter();
+
         for (String id : Constants.guilds) {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).where("id", id)
                 .update(statement -> statement.set("global_filter_exact",
@@ -293,6 +295,7 @@ public class GlobalSettingsSubCommand extends SettingsSubCommand {
 
     private void updateGuildAutoModWildcard(CommandMessage message, GlobalSettingsTransformer transformer)
         throws SQLException {
+        transformer.forgetGlobalWordFilter();
 
         avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE).where("main_group_id", transformer.getMainGroupId())
             .update(statement -> statement.set("global_filter_wildcard",
@@ -24,7 +24,6 @@ import net.dv8tion.jda.api.exceptions.PermissionException;
 import java.awt.*;
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -144,9 +143,9 @@ public class ServerSettingsSubCommand extends SettingsSubCommand {
     }
 
     private boolean linkFilterList(CommandMessage context, GuildSettingsTransformer guildTransformer, String[] args) {
-        HashSet <LinkContainer> s = avaire.getLinkFilterManager().getLinks().get(guildTransformer.getMainGroupId());
+        Set <LinkContainer> s = avaire.getLinkFilterManager().getLinks(guildTransformer.getMainGroupId());
 
-        if (s != null) {
+        if (!s.isEmpty()) {
             for (LinkContainer linkContainer : s) {
                 LinkLevel level = LinkLevel.getLinkLevelFromId(linkContainer.getAction());
                 builder.addItems(linkContainer.getTopLevelDomain() + " (`" + level.name() + "`)");
@@ -580,6 +579,8 @@ public class ServerSettingsSubCommand extends SettingsSubCommand {
                 }
         }
 
+        XeusPermissionUtil.forgetPermissions(context.getGuild().getIdLong());
+
         boolean isEnabled = guildTransformer.getHRRoles().contains(role.getIdLong())
             || guildTransformer.getLeadRoles().contains(role.getIdLong())
             || guildTransformer.getLeadRoles().contains(role.getIdLong())
@@ -24,11 +24,9 @@ package com.pinewoodbuilders.commands.utility;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
+import com.pinewoodbuilders.moderation.global.filter.RedirectResolver;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -72,16 +70,25 @@ public class ExpandUrlCommand extends Command {
             return sendErrorMessage(context, "errors.missingArgument", "url");
         }
 
-        try {
-            List<String> redirects = fetchRedirect(args[0], new ArrayList<>());
+        avaire.getRedirectResolver().resolve(args[0]).whenComplete((redirects, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = RedirectResolver.unwrap(throwable);
+                if (cause instanceof MalformedURLException) {
+                    sendErrorMessage(context, "errors.invalidProperty", "URL", "URL");
+                } else if (cause instanceof UnknownHostException) {
+                    context.makeError("Unknown host for the provided `url`, does it actually go anywhere?").queue();
+                } else {
+                    Xeus.getLogger().error("ERROR: ", cause);
+                }
+                return;
+            }
 
             if (redirects.size() <= 1) {
                 context.makeInfo(context.i18n("noRedirect"))
                     .set("url", args[0]).queue();
-                return true;
+                return;
             }
 
-
             List<String> links = new ArrayList<>();
             links.add(context.i18n("redirects", args[0], redirects.get(redirects.size() - 1)));
 
@@ -93,30 +100,8 @@ public class ExpandUrlCommand extends Command {
             }
 
             context.makeInfo(String.join("\n", links)).queue();
+        });
 
-            return true;
-        } catch (MalformedURLException ex) {
-            return sendErrorMessage(context, "errors.invalidProperty", "URL", "URL");
-        } catch (UnknownHostException ex) {
-            context.makeError("Unknown host for the provided `url`, does it actually go anywhere?").queue();
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-        }
-        return false;
-    }
-
-    private List<String> fetchRedirect(String url, List<String> redirects) throws IOException {
-        redirects.add(url);
-
-        HttpURLConnection con = (HttpURLConnection) (new URL(url).openConnection());
-        con.setRequestMethod("GET");
-        con.setRequestProperty("User-Agent", "Mozilla/5.0");
-        con.setInstanceFollowRedirects(false);
-        con.connect();
-
-        if (con.getHeaderField("Location") == null) {
-            return redirects;
-        }
-        return fetchRedirect(con.getHeaderField("Location"), redirects);
+        return true;
     }
 }
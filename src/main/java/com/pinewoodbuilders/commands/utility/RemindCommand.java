@@ -26,8 +26,10 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.chat.SimplePaginator;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.Command;
+import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.controllers.RemindersController;
 import com.pinewoodbuilders.database.transformers.RemindersTransformer;
+import com.pinewoodbuilders.reminders.ScheduledReminder;
 import com.pinewoodbuilders.time.Carbon;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import org.slf4j.Logger;
@@ -161,6 +163,7 @@ public class RemindCommand extends Command {
                 .delete();
             if(deleted == 1)
             {
+                avaire.getReminderManager().unregister(id);
                 RemindersController.cache.invalidate(context.getAuthor().getIdLong());
                 context.makeSuccess(context.i18n("deletedReminder",id));
             }
@@ -226,15 +229,29 @@ public class RemindCommand extends Command {
     {
         try
         {
-
-                avaire.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
-                    .insert(statement -> {
-                        statement.set("user_id", context.getAuthor().getIdLong());
-                        statement.set("message", message, true);
-                        statement.set("channel_id", !respondInDM ? context.getMessageChannel().getId() : null);
-                        statement.set("stored_at",Carbon.now());
-                        statement.set("expires_at", time);
-                    });
+            Carbon storedAt = Carbon.now();
+            String channelId = !respondInDM ? context.getMessageChannel().getId() : null;
+
+            Collection collection = avaire.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
+                .insert(statement -> {
+                    statement.set("user_id", context.getAuthor().getIdLong());
+                    statement.set("message", message, true);
+                    statement.set("channel_id", channelId);
+                    statement.set("stored_at", storedAt);
+                    statement.set("expires_at", time);
+                });
+
+            if (!collection.isEmpty()) {
+                avaire.getReminderManager().register(new ScheduledReminder(
+                    collection.first().getInt("id"),
+                    context.getAuthor().getIdLong(),
+                    channelId,
+                    message,
+                    storedAt,
+                    time
+                ));
+            }
+            RemindersController.cache.invalidate(context.getAuthor().getIdLong());
 
         }
         catch(SQLException e)
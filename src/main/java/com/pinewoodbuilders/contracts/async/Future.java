@@ -24,17 +24,10 @@ package com.pinewoodbuilders.contracts.async;
 import com.pinewoodbuilders.requests.Response;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 public abstract class Future {
 
-    /**
-     * The thread executor service provider, all future requests will be added to the pool of threads.
-     */
-    private static final ExecutorService service = Executors.newFixedThreadPool(3);
-
     /**
      * The default success consumer that should be used if no success consumer is given.
      */
@@ -78,16 +71,17 @@ public abstract class Future {
      * @param failure The consumer that should be invoked on failure.
      */
     public void send(final Consumer success, final Consumer<Throwable> failure) {
-        service.submit(() -> handle(
+        handle(
             success == null ? defaultSuccess : success,
             failure == null ? defaultFailure : failure
-
-        ));
+        );
     }
 
 
     /**
-     * Handles the future request.
+     * Handles the future request, the request must be handled asynchronously
+     * without blocking the calling thread, invoking one of the given
+     * consumers once the request has finished.
      *
      * @param success Never-null success consumer.
      * @param failure Never-null failure consumer.
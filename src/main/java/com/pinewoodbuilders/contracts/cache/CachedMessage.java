@@ -9,6 +9,7 @@ import java.util.List;
 public class CachedMessage
 {
     private final long id;
+    private final long guildId;
     private final CachedUser author;
     private final OffsetDateTime timeCreated;
     private final String contentRaw;
@@ -20,6 +21,7 @@ public class CachedMessage
     public CachedMessage(Message message)
     {
         this.id = message.getIdLong();
+        this.guildId = message.isFromGuild() ? message.getGuild().getIdLong() : 0L;
         this.author = new CachedUser(message.getAuthor());
         this.timeCreated = message.getTimeCreated();
         this.contentRaw = message.getContentRaw();
@@ -33,6 +35,10 @@ public class CachedMessage
         return id;
     }
 
+    public long getGuildIdLong() {
+        return guildId;
+    }
+
     public CachedUser getAuthor() {
         return author;
     }
@@ -60,4 +66,21 @@ public class CachedMessage
     public List<MessageEmbed> getEmbedList() {
         return embedList;
     }
+
+    /**
+     * Estimates the amount of memory the cached message is using in bytes, the
+     * estimate covers the object headers and the strings held by the message,
+     * embeds are counted with a flat size since they're shared with JDA.
+     *
+     * @return The estimated size of the cached message in bytes.
+     */
+    public int getEstimatedSize()
+    {
+        int size = 256 + (embedList.size() * 512) + (contentRaw.length() * 2) + (channelId.length() * 2);
+        if(attachment != null)
+        {
+            size += attachment.length() * 2;
+        }
+        return size;
+    }
 }
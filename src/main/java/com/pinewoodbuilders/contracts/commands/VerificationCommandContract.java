@@ -84,6 +84,7 @@ public abstract class VerificationCommandContract extends Command {
                 });
             }
 
+            avaire.getRobloxAPIManager().getVerification().forgetVerification(context.getMember().getIdLong());
 
             VerificationResult vr = avaire.getRobloxAPIManager().getVerification().verify(context.getGuildSettingsTransformer(), context.member, context.guild, false);
             MessageEmbed embed1 = context.makeSuccess("Your profile has been verified and your account `:username` with id `:robloxId` has been linked to your discord account (`:id`). You will be verified on this discord in a few seconds.")
@@ -66,6 +66,8 @@ public abstract class SettingsSubCommand {
                          .set("is_global_lead", isGroupLead)
                          .set("is_global_admin", isGlobalAdmin);
             });
+
+        avaire.getGroupModeratorManager().addModerator(discordId, robloxId, mainGroupId, isGroupLead, isGlobalAdmin);
     }
 
     /**
@@ -76,6 +78,8 @@ public abstract class SettingsSubCommand {
      */
     protected final void removeUserFromModerationTable(Long discordId) throws SQLException {
         avaire.getDatabase().newQueryBuilder(Constants.GROUP_MODERATORS_TABLE).where("discord_id", discordId).delete();
+
+        avaire.getGroupModeratorManager().removeModerator(discordId);
     }
 
     protected final Collection getModeratorByDiscordId(Long discordId) {
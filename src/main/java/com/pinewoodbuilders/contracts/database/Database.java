@@ -25,7 +25,9 @@ import com.pinewoodbuilders.contracts.database.grammar.AlterGrammar;
 import com.pinewoodbuilders.contracts.database.grammar.Grammarable;
 import com.pinewoodbuilders.contracts.database.grammar.TableGrammar;
 import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.connections.PooledConnections;
 import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.query.StatementBinder;
 import com.pinewoodbuilders.database.schema.Blueprint;
 import com.pinewoodbuilders.metrics.Metrics;
 import org.slf4j.Logger;
@@ -36,10 +38,7 @@ import javax.annotation.WillClose;
 import javax.annotation.WillCloseWhenClosed;
 import javax.annotation.WillNotClose;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public abstract class Database implements DatabaseConnection, Grammarable {
 
@@ -53,14 +52,16 @@ public abstract class Database implements DatabaseConnection, Grammarable {
 
     /**
      * Represents our prepared query statements and their statement
-     * type, allowing us to quickly render and compile statements.
+     * type, allowing us to quickly render and compile statements,
+     * statements are weakly referenced so statements that are
+     * closed and discarded are dropped from the map again.
      */
-    protected Map<PreparedStatement, StatementInterface> preparedStatements = new HashMap<>();
+    protected Map<PreparedStatement, StatementInterface> preparedStatements = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
-     * Represents our current database connection, this is
-     * used to send queries to the database, as well as
-     * fetch, and persist data.
+     * Represents our current database connection, this is used by
+     * databases that share a single connection, pooled databases
+     * will leave this empty and borrow connections from the pool.
      */
     protected Connection connection;
 
@@ -133,7 +134,7 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      *                      <code>ResultSet</code> object, the method is called on a
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
-    public final boolean close() throws SQLException {
+    public boolean close() throws SQLException {
         if (connection == null) {
             log.warn("Could not close connection, it is null.");
             return false;
@@ -152,10 +153,13 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     /**
-     * Returns the current database connection, if the connection is not open/active, it
-     * will attempt to open the connection for you.
+     * Borrows a database connection, if the database is not open/active, it will attempt
+     * to open the database for you. The connection <strong>must</strong> be closed by
+     * the caller once it is done with it, for pooled databases this hands the
+     * connection back to the pool, while databases using a single shared
+     * connection will ignore the close call.
      *
-     * @return the database connection
+     * @return the borrowed database connection
      * @throws SQLException if a database access error occurs,
      *                      this method is called on a closed <code>Statement</code>, the given
      *                      SQL statement produces anything other than a single
@@ -168,7 +172,18 @@ public abstract class Database implements DatabaseConnection, Grammarable {
             lastState = true;
         }
 
-        return connection;
+        return PooledConnections.unclosable(connection);
+    }
+
+    /**
+     * Checks if the database borrows its connections from a connection pool,
+     * pooled connections are evicted by the pool itself when they break,
+     * so the database doesn't have to be closed and re-opened.
+     *
+     * @return <code>TRUE</code> if the database uses a connection pool, <code>FALSE</code> otherwise.
+     */
+    protected boolean isPooled() {
+        return false;
     }
 
     /**
@@ -188,7 +203,7 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      * @return either (1) <code>TRUE</code> if the database connection is open and valid
      * or (2) <code>FALSE</code> if the database connection is closed
      */
-    public final synchronized boolean isOpen(int seconds) {
+    public synchronized boolean isOpen(int seconds) {
         if (connection != null) {
             // Returns the last state if the connection was checked less than three seconds ago.
             if (System.currentTimeMillis() - 5000 < lastChecked) {
@@ -216,8 +231,8 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     /**
-     * Queries the database with the given query, the
-     * query should be a <code>SELECT</code> query.
+     * Queries the database with the given query, the query should be a <code>SELECT</code>
+     * query, the connection used for the query is released once the result is closed.
      *
      * @param query The query to run.
      * @return the current result as a <code>ResultSet</code> object or
@@ -231,12 +246,21 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return handleQuery(() -> {
             queryValidation(getStatement(query));
 
-            Statement statement = createPreparedStatement(query);
-            statement.closeOnCompletion();
+            Connection connection = getConnection();
+            try {
+                Statement statement = createPreparedStatement(connection, query);
+                statement.closeOnCompletion();
+
+                if (statement.execute(query)) {
+                    return PooledConnections.releaseOnClose(statement.getResultSet(), connection);
+                }
+            } catch (SQLException e) {
+                PooledConnections.closeQuietly(connection);
 
-            if (statement.execute(query)) {
-                return statement.getResultSet();
+                throw e;
             }
+
+            PooledConnections.closeQuietly(connection);
             throw new SQLException("The query failed to execute successfully: " + query);
         });
     }
@@ -257,6 +281,41 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return query(query.toSQL());
     }
 
+    /**
+     * Queries the database with the given query as a prepared statement, binding the given
+     * values to the placeholders in the query in order, the query should be a
+     * <code>SELECT</code> query, the connection used for the query is
+     * released once the result is closed.
+     *
+     * @param query    The query to run.
+     * @param bindings The ordered list of values that should be bound to the query.
+     * @return the current result as a <code>ResultSet</code> object or
+     * <code>null</code> if the result is an update count or there are no more results
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @Nullable
+    @WillCloseWhenClosed
+    public final ResultSet query(String query, List<Object> bindings) throws SQLException {
+        return handleQuery(() -> {
+            queryValidation(getStatement(query));
+
+            Connection connection = getConnection();
+            try {
+                PreparedStatement statement = createPreparedStatement(connection, query, Statement.NO_GENERATED_KEYS);
+                statement.closeOnCompletion();
+
+                StatementBinder.bind(statement, bindings);
+
+                return PooledConnections.releaseOnClose(statement.executeQuery(), connection);
+            } catch (SQLException e) {
+                PooledConnections.closeQuietly(connection);
+
+                throw e;
+            }
+        });
+    }
+
     /**
      * Queries the database with the given prepared statement.
      *
@@ -300,17 +359,19 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     /**
-     * Prepares a query as a prepared statement before executing it.
+     * Prepares a query as a prepared statement on the given
+     * borrowed connection before executing it.
      *
-     * @param query The query to prepare.
+     * @param connection The borrowed connection the statement should be prepared on.
+     * @param query      The query to prepare.
      * @return The JDBC prepared statement object for the given query.
      * @throws SQLException if a database access error occurs or this method is called on a
      *                      closed <code>Statement</code>
      */
     @WillNotClose
-    public final Statement prepare(String query) throws SQLException {
+    public final Statement prepare(Connection connection, String query) throws SQLException {
         StatementInterface statement = getStatement(query);
-        Statement ps = createPreparedStatement(query);
+        Statement ps = createPreparedStatement(connection, query);
 
         if (ps instanceof PreparedStatement) {
             preparedStatements.put((PreparedStatement) ps, statement);
@@ -343,7 +404,8 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     public final List<Long> insert(String query) throws SQLException {
         List<Long> keys = new ArrayList<>();
 
-        try (PreparedStatement pstmt = createPreparedStatement(query, 1)) {
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = createPreparedStatement(connection, query, 1)) {
             ResultSet key = pstmt.getGeneratedKeys();
             if (key.next()) {
                 keys.add(key.getLong(1));
@@ -397,22 +459,25 @@ public abstract class Database implements DatabaseConnection, Grammarable {
                 // The connection should already be closed, we're just forcefully close the
                 // connection here so that the database manage can see that connection is
                 // closed, and so the connection can be reopened on the next request.
-                close();
+                // Pooled connections are evicted by the pool, so the pool is left alone.
+                if (!isPooled()) {
+                    close();
+                }
             }
             return null;
         }
     }
 
-    protected Statement createPreparedStatement(String query) throws SQLException {
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        return getConnection().prepareStatement(query);
+        return connection.prepareStatement(query);
     }
 
-    private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException {
+    private PreparedStatement createPreparedStatement(Connection connection, String query, int autoGeneratedKeys) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        return getConnection().prepareStatement(query, autoGeneratedKeys);
+        return connection.prepareStatement(query, autoGeneratedKeys);
     }
 
     protected String setupAndRun(TableGrammar grammar, QueryBuilder builder, DatabaseManager manager, Map<String, Boolean> options) {
@@ -80,6 +80,18 @@ public abstract class Grammar {
         return string.matches("[-+]?\\d*\\.?\\d+");
     }
 
+    /**
+     * Checks to see if the grammar should generate placeholders for values, and
+     * add the values to the query builder bindings, instead of inlining the
+     * values directly into the query.
+     *
+     * @return either (1) <code>TRUE</code> if values should be bound as parameters
+     * or (2) <code>FALSE</code> if values should be inlined into the query
+     */
+    protected boolean useBindings() {
+        return options != null && options.getOrDefault("bindings", false);
+    }
+
     /**
      * Adds the given part to the query.
      *
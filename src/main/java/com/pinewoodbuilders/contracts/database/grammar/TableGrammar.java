@@ -67,7 +67,7 @@ public abstract class TableGrammar extends Grammar {
             if (obj instanceof Clause) {
                 Clause clause = (Clause) obj;
 
-                addClause(clause, first);
+                addClause(builder, clause, first);
                 first = false;
 
                 continue;
@@ -91,7 +91,7 @@ public abstract class TableGrammar extends Grammar {
 
                     Clause clause = (Clause) temp;
 
-                    addClause(clause, first);
+                    addClause(builder, clause, first);
                     first = false;
                 }
 
@@ -102,7 +102,24 @@ public abstract class TableGrammar extends Grammar {
         }
     }
 
-    private void addClause(Clause clause, boolean exemptOperator) {
+    /**
+     * Adds the given value to the query builder bindings, converting boolean
+     * strings to their numeric value the same way the inlined values are.
+     *
+     * @param builder The query builder the value should be bound to.
+     * @param value   The value that should be bound.
+     */
+    protected void addBinding(QueryBuilder builder, Object value) {
+        String string = value.toString();
+        if (string.equalsIgnoreCase("true") || string.equalsIgnoreCase("false")) {
+            builder.getBindings().add(string.equalsIgnoreCase("true") ? 1 : 0);
+            return;
+        }
+
+        builder.getBindings().add(value);
+    }
+
+    private void addClause(QueryBuilder builder, Clause clause, boolean exemptOperator) {
         if (clause.getOrder() == null) {
             clause.setOrder(OperatorType.AND);
         }
@@ -113,9 +130,15 @@ public abstract class TableGrammar extends Grammar {
             );
         }
 
-        String field = clause.getTwo().toString();
-        if (!isNumeric(field)) {
-            field = String.format("'%s'", field);
+        String field;
+        if (useBindings()) {
+            builder.getBindings().add(clause.getTwo());
+            field = "?";
+        } else {
+            field = clause.getTwo().toString();
+            if (!isNumeric(field)) {
+                field = String.format("'%s'", field);
+            }
         }
 
         String stringClause = String.format("%s %s %s", formatField(clause.getOne()), clause.getIdentifier(), field);
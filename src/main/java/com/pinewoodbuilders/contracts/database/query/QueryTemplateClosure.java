@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.contracts.database.query;
+
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.query.QueryTemplate;
+
+@FunctionalInterface
+public interface QueryTemplateClosure {
+
+    /**
+     * Builds the shape of the query that should be compiled into a query template by the
+     * {@link DatabaseManager#template(String, QueryTemplateClosure) template} method, values
+     * that changes between executions should use {@link QueryTemplate#parameter(String)}.
+     *
+     * @param builder The query builder the query shape should be built on.
+     */
+    void build(QueryBuilder builder);
+}
@@ -24,12 +24,15 @@ package com.pinewoodbuilders.database;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.BatchQueryFunction;
 import com.pinewoodbuilders.contracts.database.Database;
+import com.pinewoodbuilders.contracts.database.query.QueryTemplateClosure;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.connections.MySQL;
 import com.pinewoodbuilders.database.connections.SQLite;
 import com.pinewoodbuilders.database.exceptions.DatabaseException;
 import com.pinewoodbuilders.database.migrate.Migrations;
 import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.query.QueryTemplate;
+import com.pinewoodbuilders.database.query.StatementBinder;
 import com.pinewoodbuilders.database.schema.Schema;
 import com.pinewoodbuilders.database.seeder.SeederManager;
 import com.pinewoodbuilders.metrics.Metrics;
@@ -40,9 +43,12 @@ import org.slf4j.MDC;
 
 import javax.annotation.WillClose;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
@@ -56,9 +62,10 @@ public class DatabaseManager {
 
     private final AtomicInteger batchIncrementer;
     private final Set<Integer> runningBatchRequests;
+    private final Map<String, QueryTemplate> queryTemplates;
 
     private int queryRetries = 5;
-    private Database connection = null;
+    private volatile Database connection = null;
 
     public DatabaseManager(Xeus avaire) {
         this.avaire = avaire;
@@ -67,7 +74,8 @@ public class DatabaseManager {
         this.seeder = new SeederManager();
 
         this.batchIncrementer = new AtomicInteger(0);
-        this.runningBatchRequests = new HashSet<>();
+        this.runningBatchRequests = ConcurrentHashMap.newKeySet();
+        this.queryTemplates = new ConcurrentHashMap<>();
     }
 
     public Xeus getAvaire() {
@@ -87,6 +95,23 @@ public class DatabaseManager {
     }
 
     public Database getConnection() throws SQLException, DatabaseException {
+        Database connection = this.connection;
+        if (connection == null) {
+            connection = createConnection();
+        }
+
+        if (connection.isOpen()) {
+            return connection;
+        }
+
+        if (!connection.open()) {
+            throw new DatabaseException("Failed to connect to the database.");
+        }
+
+        return connection;
+    }
+
+    private synchronized Database createConnection() {
         if (connection == null) {
             switch (avaire.getConfig().getString("database.type", "invalid").toLowerCase()) {
                 case "mysql":
@@ -102,14 +127,6 @@ public class DatabaseManager {
             }
         }
 
-        if (connection.isOpen()) {
-            return connection;
-        }
-
-        if (!connection.open()) {
-            throw new DatabaseException("Failed to connect to the database.");
-        }
-
         return connection;
     }
 
@@ -124,6 +141,30 @@ public class DatabaseManager {
         return new QueryBuilder(this, table);
     }
 
+    /**
+     * Gets the query template with the given name, if the template doesn't exist yet, the
+     * query shape built by the given closure will be compiled into SQL once, and then
+     * stored in the template registry, allowing queries that never changes their
+     * shape to skip the query grammar, and only bind new values every time.
+     * <p>
+     * <strong>Example:</strong>
+     * <pre><code>
+     * QueryTemplate template = databaseManager.template("users.by-id", query -> query
+     *     .table("users")
+     *     .where("id", QueryTemplate.parameter("id"))
+     * );
+     *
+     * Collection result = template.get(userId);
+     * </code></pre>
+     *
+     * @param name    The name of the query template.
+     * @param closure The closure that builds the shape of the query, only called if the template doesn't exist yet.
+     * @return The compiled query template.
+     */
+    public QueryTemplate template(String name, QueryTemplateClosure closure) {
+        return queryTemplates.computeIfAbsent(name, key -> new QueryTemplate(this, key, closure));
+    }
+
     /**
      * Executes the given SQL statement, which returns a single
      * <code>Collection</code> object.
@@ -166,7 +207,40 @@ public class DatabaseManager {
      */
     @WillClose
     public Collection query(QueryBuilder query) throws SQLException {
-        return query(query.toSQL());
+        if (!query.isPreparedStatement()) {
+            return query(query.toSQL());
+        }
+
+        String sql = query.toSQL();
+
+        log.debug("query(QueryBuilder query) was called with the following SQL query.\nSQL: {}\nBindings: {}", sql, query.getBindings());
+        MDC.put("query", sql);
+
+        return runPreparedQuery(sql, new ArrayList<>(query.getBindings()), queryRetries);
+    }
+
+    /**
+     * Executes the given SQL statement as a prepared statement, binding the given values to the
+     * placeholders in the query in order, which returns a single <code>Collection</code> object.
+     *
+     * @param query    an SQL statement to be sent to the database, typically a
+     *                 static SQL <code>SELECT</code> statement using placeholders
+     * @param bindings the ordered list of values that should be bound to the query
+     * @return a <code>Collection</code> object that contains the data produced
+     * by the given query; never <code>null</code>
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object
+     */
+    @WillClose
+    public Collection query(String query, List<Object> bindings) throws SQLException {
+        if (log.isDebugEnabled()) {
+            log.debug("query(String query, List bindings) was called with the following SQL query.\nSQL: {}\nBindings: {}", query, bindings);
+        }
+        MDC.put("query", query);
+
+        return runPreparedQuery(query, bindings, queryRetries);
     }
 
     /**
@@ -212,7 +286,16 @@ public class DatabaseManager {
      */
     @WillClose
     public int queryUpdate(QueryBuilder query) throws SQLException {
-        return queryUpdate(query.toSQL());
+        if (!query.isPreparedStatement()) {
+            return queryUpdate(query.toSQL());
+        }
+
+        String sql = query.toSQL();
+
+        log.debug("queryUpdate(QueryBuilder query) was called with the following SQL query.\nSQL: {}\nBindings: {}", sql, query.getBindings());
+        MDC.put("query", sql);
+
+        return runPreparedQueryUpdate(sql, new ArrayList<>(query.getBindings()), queryRetries);
     }
 
     /**
@@ -340,9 +423,45 @@ public class DatabaseManager {
         }
     }
 
+    @WillClose
+    private Collection runPreparedQuery(String query, List<Object> bindings, int retriesLeft) throws SQLException {
+        try (ResultSet resultSet = getConnection().query(query, bindings)) {
+            return new Collection(resultSet);
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                return runPreparedQuery(query, bindings, retriesLeft);
+            }
+            throw new MySQLTransactionRollbackException(
+                e.getMessage(), e.getSQLState(), e.getErrorCode()
+            );
+        }
+    }
+
+    @WillClose
+    private int runPreparedQueryUpdate(String query, List<Object> bindings, int retriesLeft) throws SQLException {
+        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+
+        try (Connection connection = getConnection().getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            StatementBinder.bind(stmt, bindings);
+
+            return stmt.executeUpdate();
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                return runPreparedQueryUpdate(query, bindings, retriesLeft);
+            }
+            throw new MySQLTransactionRollbackException(
+                e.getMessage(), e.getSQLState(), e.getErrorCode()
+            );
+        }
+    }
+
     @WillClose
     private int runQueryUpdate(String query, int retriesLeft) throws SQLException {
-        try (Statement stmt = getConnection().prepare(query)) {
+        Database database = getConnection();
+
+        try (Connection connection = database.getConnection();
+             Statement stmt = database.prepare(connection, query)) {
             if (stmt instanceof PreparedStatement) {
                 return ((PreparedStatement) stmt).executeUpdate();
             }
@@ -360,7 +479,8 @@ public class DatabaseManager {
 
     @WillClose
     private Set<Integer> runQueryInsert(String query, int retriesLeft) throws SQLException {
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = getConnection().getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             stmt.executeUpdate();
 
             Set<Integer> ids = new HashSet<>();
@@ -385,25 +505,12 @@ public class DatabaseManager {
     private Set<Integer> runQueryInsert(QueryBuilder queryBuilder, int retriesLeft) throws SQLException {
         String query = queryBuilder.toSQL();
 
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            int preparedIndex = 1;
-            for (Map<String, Object> row : queryBuilder.getItems()) {
-                for (Map.Entry<String, Object> item : row.entrySet()) {
-                    if (item.getValue() == null) {
-                        continue;
-                    }
-
-                    String value = item.getValue().toString();
-
-                    if (value.startsWith("RAW:") ||
-                        value.equalsIgnoreCase("true") ||
-                        value.equalsIgnoreCase("false") ||
-                        value.matches("[-+]?\\d*\\.?\\d+")) {
-                        continue;
-                    }
-
-                    stmt.setString(preparedIndex++, value);
-                }
+        try (Connection connection = getConnection().getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            if (queryBuilder.isPreparedStatement()) {
+                StatementBinder.bind(stmt, queryBuilder.getBindings());
+            } else {
+                bindInsertValues(stmt, queryBuilder);
             }
 
             stmt.executeUpdate();
@@ -418,7 +525,7 @@ public class DatabaseManager {
             return ids;
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQueryInsert(query, retriesLeft);
+                return runQueryInsert(queryBuilder, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -426,46 +533,73 @@ public class DatabaseManager {
         }
     }
 
+    private void bindInsertValues(PreparedStatement stmt, QueryBuilder queryBuilder) throws SQLException {
+        int preparedIndex = 1;
+        for (Map<String, Object> row : queryBuilder.getItems()) {
+            for (Map.Entry<String, Object> item : row.entrySet()) {
+                if (item.getValue() == null) {
+                    continue;
+                }
+
+                String value = item.getValue().toString();
+
+                if (value.startsWith("RAW:") ||
+                    value.equalsIgnoreCase("true") ||
+                    value.equalsIgnoreCase("false") ||
+                    value.matches("[-+]?\\d*\\.?\\d+")) {
+                    continue;
+                }
+
+                stmt.setString(preparedIndex++, value);
+            }
+        }
+    }
+
     private void runQueryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction, int batchId, int retriesLeft) throws SQLException {
         log.debug("Running batch query with the following values:\n - Query: {}\n - Batch ID: {}\n - Retries Left: {}",
             query, batchId, retriesLeft
         );
 
-        Connection connection = getConnection().getConnection();
+        runningBatchRequests.add(batchId);
 
-        if (!runningBatchRequests.contains(batchId)) {
-            runningBatchRequests.add(batchId);
-        }
+        boolean shouldRetry = false;
 
-        try {
+        // Each batch request borrows its own connection for the duration of the
+        // transaction, so other queries never end up inside the transaction,
+        // and the connection is handed back to the pool with auto commit
+        // enabled again once the batch has been committed.
+        try (Connection connection = getConnection().getConnection()) {
             connection.setAutoCommit(false);
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                queryFunction.run(preparedStatement);
-
-                preparedStatement.executeBatch();
-            }
-        } catch (SQLException e) {
-            log.error("An SQL exception was thrown while running a batch query: {}", query, e);
-
             try {
-                connection.rollback();
-            } catch (SQLException e1) {
-                log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
-            }
-        } finally {
-            try {
-                connection.commit();
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    queryFunction.run(preparedStatement);
 
-                runningBatchRequests.remove(batchId);
-                if (runningBatchRequests.isEmpty()) {
-                    connection.setAutoCommit(true);
+                    preparedStatement.executeBatch();
                 }
-            } catch (MySQLTransactionRollbackException e) {
-                if (--retriesLeft > 0) {
-                    runQueryBatch(query, queryFunction, batchId, retriesLeft);
+            } catch (SQLException e) {
+                log.error("An SQL exception was thrown while running a batch query: {}", query, e);
+
+                try {
+                    connection.rollback();
+                } catch (SQLException e1) {
+                    log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
+                }
+            } finally {
+                try {
+                    connection.commit();
+                } catch (MySQLTransactionRollbackException e) {
+                    shouldRetry = --retriesLeft > 0;
+                } finally {
+                    connection.setAutoCommit(true);
                 }
             }
+        } finally {
+            runningBatchRequests.remove(batchId);
+        }
+
+        if (shouldRetry) {
+            runQueryBatch(query, queryFunction, batchId, retriesLeft);
         }
     }
 }
@@ -22,6 +22,7 @@
 package com.pinewoodbuilders.database.connections;
 
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.config.Configuration;
 import com.pinewoodbuilders.contracts.database.StatementInterface;
 import com.pinewoodbuilders.contracts.database.connections.HostnameDatabase;
 import com.pinewoodbuilders.database.DatabaseManager;
@@ -34,15 +35,18 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import javax.annotation.Nonnull;
-import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.*;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class MySQL extends HostnameDatabase {
 
+    /**
+     * The Hikari connection pool that connections are borrowed from, the
+     * pool is created when the database is opened, and shutdown again
+     * when the database connection is closed.
+     */
+    private volatile HikariDataSource dataSource;
+
     /**
      * Creates a MySQL database connection instance with the parsed information,
      * the port used will default to <code>3306</code>.
@@ -88,7 +92,11 @@ public class MySQL extends HostnameDatabase {
     }
 
     @Override
-    public boolean open() throws SQLException {
+    public synchronized boolean open() throws SQLException {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return true;
+        }
+
         try {
             String url = String.format("jdbc:mysql://%s:%d/%s?autoReconnect=true&verifyServerCertificate=%s&useSSL=false",
                 getHostname(), getPort(), getDatabase(),
@@ -96,25 +104,46 @@ public class MySQL extends HostnameDatabase {
             );
 
             if (initialize()) {
+                Configuration settings = dbm.getAvaire().getConfig();
+
                 HikariConfig config = new HikariConfig();
+                config.setPoolName("Xeus-MySQL");
                 config.setJdbcUrl(url);
                 config.setUsername(getUsername());
                 config.setPassword(getPassword());
                 config.setDriverClassName("com.mysql.jdbc.Driver");
-                HikariDataSource ds = new HikariDataSource(config);
-
-                connection = ds.getConnection();
 
+                config.setMaximumPoolSize(Math.max(1, settings.getInt("database.pool.maximumPoolSize", 10)));
+                config.setMinimumIdle(Math.max(0, settings.getInt("database.pool.minimumIdle", 2)));
+                config.setConnectionTimeout(settings.getLong("database.pool.connectionTimeout", 10000L));
+                config.setIdleTimeout(settings.getLong("database.pool.idleTimeout", 600000L));
+                config.setMaxLifetime(settings.getLong("database.pool.maxLifetime", 1800000L));
+                config.setLeakDetectionThreshold(settings.getLong("database.pool.leakDetectionThreshold", 0L));
 
-                // Sets a timeout of 20 seconds(This is an extremely long time, however the default
+                // Sets a socket timeout of 20 seconds(This is an extremely long time, however the default
                 // is around 10 minutes so this should give some improvements with the threads
                 // not being blocked for ages due to hanging database queries.
-                connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+                config.addDataSourceProperty("socketTimeout", String.valueOf(
+                    settings.getLong("database.pool.socketTimeout", 1000L * 20)
+                ));
+
+                // Caches prepared statements on both the client and the server, allowing queries
+                // using bound values to skip parsing and planning the query every time.
+                if (settings.getBoolean("database.pool.cachePreparedStatements", true)) {
+                    config.addDataSourceProperty("useServerPrepStmts", "true");
+                    config.addDataSourceProperty("cachePrepStmts", "true");
+                    config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(
+                        settings.getInt("database.pool.preparedStatementCacheSize", 250)
+                    ));
+                    config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                }
+
+                dataSource = new HikariDataSource(config);
 
                 return true;
             }
-        } catch (SQLException ex) {
-            String reason = "Could not establish a MySQL connection, SQLException: " + ex.getMessage();
+        } catch (RuntimeException ex) {
+            String reason = "Could not establish a MySQL connection pool, exception: " + ex.getMessage();
 
             Xeus.getLogger().error(reason, ex);
             throw new SQLException(reason);
@@ -123,6 +152,42 @@ public class MySQL extends HostnameDatabase {
         return false;
     }
 
+    @Override
+    public Connection getConnection() throws SQLException {
+        HikariDataSource pool = dataSource;
+        if (pool == null || pool.isClosed()) {
+            open();
+            pool = dataSource;
+        }
+
+        return pool.getConnection();
+    }
+
+    @Override
+    public boolean isOpen(int seconds) {
+        HikariDataSource pool = dataSource;
+
+        return pool != null && pool.isRunning();
+    }
+
+    @Override
+    public synchronized boolean close() throws SQLException {
+        if (dataSource == null) {
+            Xeus.getLogger().warn("Could not close the connection pool, it is null.");
+            return false;
+        }
+
+        dataSource.close();
+        dataSource = null;
+
+        return true;
+    }
+
+    @Override
+    protected boolean isPooled() {
+        return true;
+    }
+
     @Override
     protected void queryValidation(StatementInterface statement) throws SQLException {
         SQLException exception;
@@ -175,8 +240,8 @@ public class MySQL extends HostnameDatabase {
 
     @Override
     public boolean hasTable(String table) {
-        try {
-            DatabaseMetaData md = getConnection().getMetaData();
+        try (Connection connection = getConnection()) {
+            DatabaseMetaData md = connection.getMetaData();
 
             try (ResultSet tables = md.getTables(null, null, table, new String[]{"TABLE"})) {
                 if (tables.next()) {
@@ -199,7 +264,8 @@ public class MySQL extends HostnameDatabase {
                 return false;
             }
 
-            try (Statement statement = getConnection().createStatement()) {
+            try (Connection connection = getConnection();
+                 Statement statement = connection.createStatement()) {
                 statement.executeUpdate(String.format("DELETE FROM `%s`;", table));
             }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.connections;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PooledConnections {
+
+    /**
+     * Wraps the given connection in a proxy that ignores calls to {@link Connection#close()},
+     * this allows databases with a single shared connection, like SQLite, to hand out
+     * their connection using the same borrow-and-close contract pooled databases use.
+     *
+     * @param connection The shared connection that should never be closed by the borrower.
+     * @return The connection proxy that ignores close calls.
+     */
+    public static Connection unclosable(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class[]{Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close")) {
+                    return null;
+                }
+                return invoke(connection, method, args);
+            }
+        );
+    }
+
+    /**
+     * Wraps the given result set in a proxy that hands the connection the result set was
+     * created from back to its pool once the result set is closed, this keeps the
+     * {@link com.pinewoodbuilders.database.collection.Collection#Collection(ResultSet) Collection}
+     * ownership contract intact for queries that are executed on borrowed connections.
+     *
+     * @param resultSet  The result set that should be wrapped.
+     * @param connection The connection the result set belongs to.
+     * @return The result set proxy that releases the connection when closed.
+     */
+    public static ResultSet releaseOnClose(ResultSet resultSet, Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().equals("close")) {
+                return invoke(resultSet, method, args);
+            }
+
+            if (!released.compareAndSet(false, true)) {
+                return null;
+            }
+
+            try {
+                resultSet.close();
+            } finally {
+                connection.close();
+            }
+            return null;
+        };
+
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class[]{ResultSet.class},
+            handler
+        );
+    }
+
+    /**
+     * Closes the given connection, ignoring any exceptions thrown while doing
+     * so, this is used to release connections after a query has failed.
+     *
+     * @param connection The connection that should be closed.
+     */
+    public static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is already broken or closed, either way
+            // the pool will evict it so there is nothing left to do.
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
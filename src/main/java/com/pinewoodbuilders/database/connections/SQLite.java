@@ -116,13 +116,6 @@ public class SQLite extends FilenameDatabase {
         );
     }
 
-    @Override
-    public Connection getConnection() throws SQLException {
-        open();
-
-        return connection;
-    }
-
     @Override
     public StatementInterface getStatement(String query) throws SQLException {
         String[] statement = query.trim().split(" ", 2);
@@ -136,8 +129,8 @@ public class SQLite extends FilenameDatabase {
 
     @Override
     public boolean hasTable(String table) {
-        try {
-            DatabaseMetaData md = getConnection().getMetaData();
+        try (Connection connection = getConnection()) {
+            DatabaseMetaData md = connection.getMetaData();
 
             try (ResultSet tables = md.getTables(null, null, table, null)) {
                 if (tables.next()) {
@@ -160,7 +153,8 @@ public class SQLite extends FilenameDatabase {
                 return false;
             }
 
-            try (Statement statement = connection.createStatement()) {
+            try (Connection connection = getConnection();
+                 Statement statement = connection.createStatement()) {
                 statement.executeQuery(String.format("DELETE FROM `%s`;", table));
             }
 
@@ -175,10 +169,10 @@ public class SQLite extends FilenameDatabase {
     }
 
     @Override
-    protected Statement createPreparedStatement(String query) throws SQLException {
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        Statement statement = getConnection().createStatement();
+        Statement statement = connection.createStatement();
 
         statement.setQueryTimeout(5);
         statement.setMaxRows(25000);
@@ -23,6 +23,8 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.commands.CommandHandler;
+import com.pinewoodbuilders.database.query.QueryTemplate;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.utilities.CacheUtil;
 import com.google.common.cache.Cache;
@@ -123,6 +125,7 @@ public class GuildController {
 
     public static void forgetCache(long guildId) {
         cache.invalidate(guildId);
+        CommandHandler.forgetPrefixes(guildId);
     }
 
     private static GuildTransformer loadGuildFromDatabase(Xeus avaire, Guild guild) {
@@ -131,11 +134,12 @@ public class GuildController {
         }
         try {
             GuildTransformer transformer = new GuildTransformer(guild, avaire.getDatabase()
-                .newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                .select(requiredGuildColumns)
-                .leftJoin("guild_types", "guilds.type", "guild_types.id")
-                .where("guilds.id", guild.getId())
-                .get().first());
+                .template("guilds.fetch-by-id", query -> query
+                    .table(Constants.GUILD_TABLE_NAME)
+                    .select(requiredGuildColumns)
+                    .leftJoin("guild_types", "guilds.type", "guild_types.id")
+                    .where("guilds.id", QueryTemplate.parameter("id")))
+                .get(guild.getIdLong()).first());
 
                 if (!transformer.hasData()) {
                     guild.retrieveOwner().queue(
@@ -25,8 +25,10 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.query.QueryTemplate;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import org.slf4j.Logger;
@@ -99,6 +101,7 @@ public class GuildSettingsController {
 
     public static void forgetCache(long guildId) {
         cache.invalidate(guildId);
+        XeusPermissionUtil.forgetPermissions(guildId);
     }
 
     private static GuildSettingsTransformer loadGuildSettingsFromDatabase(Xeus avaire, Guild guild) {
@@ -106,10 +109,13 @@ public class GuildSettingsController {
             log.debug("Settings cache for " + guild.getId() + " was refreshed");
         }
         try {
+            QueryTemplate template = avaire.getDatabase().template("guild_settings.fetch-by-id", query -> query
+                .table(Constants.GUILD_SETTINGS_TABLE)
+                .select(requiredSettingsColumns)
+                .where("guild_settings.id", QueryTemplate.parameter("id")));
+
             GuildSettingsTransformer transformer = new GuildSettingsTransformer(
-                avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-                    .select(requiredSettingsColumns).where("guild_settings.id", guild.getId()).get()
-                    .first());
+                template.get(guild.getIdLong()).first());
 
             if (!transformer.hasData()) {
                 avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).insert(statement -> {
@@ -117,9 +123,7 @@ public class GuildSettingsController {
                 });
 
 
-                return new GuildSettingsTransformer(avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-                    .select(requiredSettingsColumns).where("guild_settings.id", guild.getId()).get()
-                    .first());
+                return new GuildSettingsTransformer(template.get(guild.getIdLong()).first());
             }
 
             return transformer;
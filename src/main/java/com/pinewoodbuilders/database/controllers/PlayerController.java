@@ -23,6 +23,7 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.database.query.QueryTemplate;
 import com.pinewoodbuilders.database.transformers.PlayerTransformer;
 import com.pinewoodbuilders.level.ExperienceEntity;
 import com.pinewoodbuilders.utilities.CacheUtil;
@@ -74,11 +75,12 @@ public class PlayerController {
                     user.getIdLong(),
                     message.getGuild().getIdLong(),
                     avaire.getDatabase()
-                        .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                        .select(requiredPlayerColumns)
-                        .where("experiences.user_id", user.getId())
-                        .andWhere("experiences.guild_id", message.getGuild().getId())
-                        .get().first()
+                        .template("experiences.fetch-by-user-and-guild", query -> query
+                            .table(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+                            .select(requiredPlayerColumns)
+                            .where("experiences.user_id", QueryTemplate.parameter("user_id"))
+                            .andWhere("experiences.guild_id", QueryTemplate.parameter("guild_id")))
+                        .get(user.getIdLong(), message.getGuild().getIdLong()).first()
                 );
 
                 if (!transformer.hasData()) {
@@ -129,14 +131,12 @@ public class PlayerController {
     }
 
     private static PlayerTransformer mergeWithExperienceEntity(Xeus avaire, PlayerTransformer transformer) {
-        List<ExperienceEntity> entities = avaire.getLevelManager().getExperienceEntities(transformer);
-        if (entities.isEmpty()) {
+        ExperienceEntity entity = avaire.getLevelManager().getExperienceEntity(transformer);
+        if (entity == null) {
             return transformer;
         }
 
-        transformer.incrementExperienceBy(
-            entities.stream().mapToInt(ExperienceEntity::getExperience).sum()
-        );
+        transformer.incrementExperienceBy(entity.getLocalExperience());
 
         return transformer;
     }
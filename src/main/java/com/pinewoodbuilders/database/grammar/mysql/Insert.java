@@ -86,6 +86,13 @@ public class Insert extends InsertGrammar {
                     continue;
                 }
 
+                if (useBindings()) {
+                    addPart("?, ");
+                    addBinding(builder, row.get(key));
+
+                    continue;
+                }
+
                 if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
                     addPart(String.format("%s, ", value.equalsIgnoreCase("true") ? 1 : 0));
 
@@ -79,6 +79,13 @@ public class Update extends UpdateGrammar {
                     continue;
                 }
 
+                if (useBindings()) {
+                    addPart(" %s = ?, ", formatKey);
+                    addBinding(builder, row.get(key));
+
+                    continue;
+                }
+
                 if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
                     addPart(String.format(" %s = %s, ", formatKey, value.equalsIgnoreCase("true") ? 1 : 0));
 
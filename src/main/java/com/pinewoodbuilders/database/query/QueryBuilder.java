@@ -34,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -41,6 +42,11 @@ public final class QueryBuilder {
 
     private static final Logger log = LoggerFactory.getLogger(QueryBuilder.class);
 
+    /**
+     * The grammar options used when generating queries with placeholders.
+     */
+    private static final Map<String, Boolean> bindingOptions = Collections.singletonMap("bindings", true);
+
     /**
      * The instance of the {@link DatabaseManager}.
      */
@@ -72,6 +78,12 @@ public final class QueryBuilder {
      */
     private final List<Map<String, Object>> items = new ArrayList<>();
 
+    /**
+     * The ordered list of values bound to the placeholders in the generated
+     * query, the list is only populated when prepared statements are used.
+     */
+    private final List<Object> bindings = new ArrayList<>();
+
     /**
      * The query type that's being preformed.
      */
@@ -100,6 +112,13 @@ public final class QueryBuilder {
      */
     private boolean async = false;
 
+    /**
+     * Determines if the query should be generated using placeholders, and executed
+     * as a prepared statement with the values bound to it, instead of having
+     * the values inlined directly into the generated query.
+     */
+    private boolean prepared = false;
+
     /**
      * Creates a new Query Builder instance.
      *
@@ -721,6 +740,44 @@ public final class QueryBuilder {
         return this;
     }
 
+    /**
+     * Sets the prepared statement status for the query, if enabled, the values used in
+     * <code>where</code> clauses, and the values that are updated or inserted, are
+     * replaced by placeholders in the generated query, and bound to the prepared
+     * statement in order when the query is executed.
+     * <p>
+     * Bound values are sent with their Java type, so values compared against numeric
+     * columns, like Discord IDs, should be given as numbers rather than strings.
+     *
+     * @param prepared The query prepared statement value.
+     * @return the query builder instance.
+     */
+    public QueryBuilder usePreparedStatement(boolean prepared) {
+        this.prepared = prepared;
+
+        return this;
+    }
+
+    /**
+     * Checks if the query should be executed as a prepared statement with bound values.
+     *
+     * @return <code>TRUE</code> if the query uses bound values, <code>FALSE</code> otherwise.
+     */
+    public boolean isPreparedStatement() {
+        return prepared;
+    }
+
+    /**
+     * Gets the ordered list of values that are bound to the placeholders in the generated
+     * query, the list is populated every time the query is generated by {@link #toSQL()}
+     * while the prepared statement status is enabled.
+     *
+     * @return the ordered list of bound values.
+     */
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
     /**
      * Creates the grammar instance and builds the SQL query, if an error occurs
      * while building the query <code>NULL</code> will be returned instead.
@@ -740,16 +797,22 @@ public final class QueryBuilder {
      * or (2) <code>NULL</code> if an error occurred.
      */
     public String toSQL(QueryType type) {
+        Map<String, Boolean> options = null;
+        if (prepared) {
+            options = bindingOptions;
+            bindings.clear();
+        }
+
         try {
             switch (type) {
                 case SELECT:
-                    return dbm.getConnection().select(dbm, this, null);
+                    return dbm.getConnection().select(dbm, this, options);
                 case INSERT:
-                    return dbm.getConnection().insert(dbm, this, null);
+                    return dbm.getConnection().insert(dbm, this, options);
                 case UPDATE:
-                    return dbm.getConnection().update(dbm, this, null);
+                    return dbm.getConnection().update(dbm, this, options);
                 case DELETE:
-                    return dbm.getConnection().delete(dbm, this, null);
+                    return dbm.getConnection().delete(dbm, this, options);
             }
         } catch (SQLException e) {
             Xeus.getLogger().error("ERROR: ", e);
@@ -774,11 +837,20 @@ public final class QueryBuilder {
         log.debug("QueryBuilder#get() was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
+        if (prepared) {
+            try (ResultSet result = dbm.getConnection().query(query, bindings)) {
+                return new Collection(result);
+            }
+        }
+
         // Note: When parsing the result to a collection, we can't use the DBM query method since it auto closes the result,
         // and the collection still needs to communicated with the result set to get meta data so it can build the keysets
         // for the column names, this isn't possible if we close the result before parsing it to the collection, instead
-        // we use the direct connection and have the collection close the connection instead.
-        return new Collection(dbm.getConnection().query(query));
+        // we use the direct connection and have the collection close the result, which also hands the borrowed
+        // connection back to the pool, the try-with-resources makes sure it's released if the collection fails.
+        try (ResultSet result = dbm.getConnection().query(query)) {
+            return new Collection(result);
+        }
     }
 
     /**
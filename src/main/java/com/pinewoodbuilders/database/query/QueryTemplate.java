@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.query;
+
+import com.pinewoodbuilders.contracts.database.query.QueryTemplateClosure;
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.exceptions.DatabaseException;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.*;
+
+public class QueryTemplate {
+
+    /**
+     * The instance of the {@link DatabaseManager}.
+     */
+    private final DatabaseManager dbm;
+
+    /**
+     * The name of the query template.
+     */
+    private final String name;
+
+    /**
+     * The compiled SQL query, using placeholders for all the values.
+     */
+    private final String query;
+
+    /**
+     * The names of the template parameters, in the order
+     * they have to be given when executing the template.
+     */
+    private final List<String> parameters;
+
+    /**
+     * The parameter layout for the query placeholders, each index refers to the
+     * placeholder at the same position in the query, holding either the index
+     * of the template parameter that should be bound to the placeholder,
+     * or <code>-1</code> if a constant value should be bound instead.
+     */
+    private final int[] layout;
+
+    /**
+     * The constant values that were used in the query shape, each index refers
+     * to the placeholder at the same position in the query, the values are
+     * only used for placeholders that doesn't belong to a parameter.
+     */
+    private final Object[] constants;
+
+    /**
+     * Compiles the query shape built by the given closure into a query template.
+     *
+     * @param dbm     The database manager instance.
+     * @param name    The name of the query template.
+     * @param closure The closure that builds the shape of the query.
+     */
+    public QueryTemplate(DatabaseManager dbm, String name, QueryTemplateClosure closure) {
+        this.dbm = dbm;
+        this.name = name;
+
+        QueryBuilder builder = dbm.newQueryBuilder().usePreparedStatement(true);
+        closure.build(builder);
+
+        query = builder.toSQL();
+        if (query == null) {
+            throw new DatabaseException("Failed to compile the \"" + name + "\" query template, no query was generated.");
+        }
+
+        List<Object> bindings = builder.getBindings();
+        List<String> names = new ArrayList<>();
+
+        layout = new int[bindings.size()];
+        constants = new Object[bindings.size()];
+
+        for (int i = 0; i < bindings.size(); i++) {
+            Object binding = bindings.get(i);
+
+            if (!(binding instanceof Parameter)) {
+                layout[i] = -1;
+                constants[i] = binding;
+                continue;
+            }
+
+            String parameter = ((Parameter) binding).getName();
+            if (!names.contains(parameter)) {
+                names.add(parameter);
+            }
+            layout[i] = names.indexOf(parameter);
+        }
+
+        parameters = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Creates a named parameter that can be used as a value in the query shape given to
+     * the {@link DatabaseManager#template(String, QueryTemplateClosure) template} method,
+     * the parameter will be replaced by the value given when the template is executed,
+     * using the same parameter name more than once will bind the same value.
+     *
+     * @param name The name of the parameter.
+     * @return The parameter placeholder for the query shape.
+     */
+    public static Parameter parameter(@Nonnull String name) {
+        return new Parameter(name);
+    }
+
+    /**
+     * Gets the name of the query template.
+     *
+     * @return The name of the query template.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the compiled SQL query for the template.
+     *
+     * @return The compiled SQL query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the names of the template parameters, in the order
+     * the values has to be given when executing the template.
+     *
+     * @return The names of the template parameters.
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Builds the ordered list of values that should be bound to the query
+     * placeholders, using the parameter layout and the given values.
+     *
+     * @param values The values for the template parameters, in the same order as {@link #getParameters()}.
+     * @return The ordered list of values that should be bound to the query.
+     */
+    public List<Object> bind(Object... values) {
+        if (values.length != parameters.size()) {
+            throw new DatabaseException(String.format(
+                "The \"%s\" query template expects %d parameters %s, but %d values were given.",
+                name, parameters.size(), parameters, values.length
+            ));
+        }
+
+        Object[] bindings = new Object[layout.length];
+        for (int i = 0; i < layout.length; i++) {
+            bindings[i] = layout[i] == -1 ? constants[i] : values[layout[i]];
+        }
+
+        return Arrays.asList(bindings);
+    }
+
+    /**
+     * Executes the query template with the given values bound to the template parameters.
+     *
+     * @param values The values for the template parameters, in the same order as {@link #getParameters()}.
+     * @return a <code>Collection</code> object that contains the data produced
+     * by the given query; never <code>null</code>
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object
+     */
+    public Collection get(Object... values) throws SQLException {
+        return dbm.query(query, bind(values));
+    }
+
+    @Override
+    public String toString() {
+        return query;
+    }
+
+    public static class Parameter {
+
+        private final String name;
+
+        Parameter(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the parameter.
+         *
+         * @return The name of the parameter.
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return ":" + name;
+        }
+    }
+}
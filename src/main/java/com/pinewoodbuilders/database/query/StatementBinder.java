@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.query;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class StatementBinder {
+
+    private static final Pattern NUMERIC = Pattern.compile("[-+]?\\d*\\.?\\d+");
+
+    /**
+     * Binds the given list of values to the prepared statement placeholders,
+     * the values are bound in order, starting from the first placeholder.
+     *
+     * @param statement The prepared statement the values should be bound to.
+     * @param bindings  The ordered list of values that should be bound.
+     * @throws SQLException if a placeholder doesn't exist for one of the values, or
+     *                      this method is called on a closed <code>PreparedStatement</code>
+     */
+    public static void bind(PreparedStatement statement, List<Object> bindings) throws SQLException {
+        for (int i = 0; i < bindings.size(); i++) {
+            bind(statement, i + 1, bindings.get(i));
+        }
+    }
+
+    /**
+     * Binds the given value to the placeholder at the given index, numbers and booleans are
+     * bound using their native SQL types, strings that only contains a number are bound as
+     * numbers, while everything else is bound as a string using the values
+     * {@link Object#toString() toString} method, which matches the value
+     * the query grammars would have inlined into the query.
+     * <p>
+     * Numeric strings are most commonly Discord snowflakes from methods like {@code getId()},
+     * binding them as strings would make MySQL compare them to the BIGINT ID columns
+     * as doubles, which loses precision on IDs that are above 2^53.
+     *
+     * @param statement The prepared statement the value should be bound to.
+     * @param index     The index of the placeholder, starting from 1.
+     * @param value     The value that should be bound.
+     * @throws SQLException if the placeholder doesn't exist, or this method
+     *                      is called on a closed <code>PreparedStatement</code>
+     */
+    public static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            statement.setLong(index, ((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            statement.setDouble(index, ((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        } else if (value instanceof Boolean) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (value instanceof String string && NUMERIC.matcher(string).matches()) {
+            bindNumericString(statement, index, string);
+        } else {
+            statement.setString(index, value.toString());
+        }
+    }
+
+    private static void bindNumericString(PreparedStatement statement, int index, String value) throws SQLException {
+        BigDecimal number = new BigDecimal(value);
+        try {
+            statement.setLong(index, number.longValueExact());
+        } catch (ArithmeticException e) {
+            // The number either has a fraction, or it's too big to fit in a long.
+            statement.setBigDecimal(index, number);
+        }
+    }
+}
@@ -21,16 +21,14 @@
 
 package com.pinewoodbuilders.database.schema;
 
+import com.pinewoodbuilders.contracts.database.Database;
 import com.pinewoodbuilders.contracts.database.schema.DatabaseClosure;
 import com.pinewoodbuilders.database.DatabaseManager;
 import com.pinewoodbuilders.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.DatabaseMetaData;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.*;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -86,7 +84,10 @@ public class Schema {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public boolean hasColumn(String table, String column) throws SQLException {
-        return getMetaData().getColumns(null, null, table, column).next();
+        try (Connection connection = dbm.getConnection().getConnection();
+             ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next();
+        }
     }
 
     /**
@@ -106,16 +107,19 @@ public class Schema {
 
         Map<String, Boolean> options = new HashMap<>();
         options.put("ignoreExistingTable", true);
-        String query = dbm.getConnection().create(dbm, blueprint, options);
-        Statement stmt = dbm.getConnection().prepare(query);
+        Database database = dbm.getConnection();
+        String query = database.create(dbm, blueprint, options);
 
         log.debug("Schema create was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
+        try (Connection connection = database.getConnection();
+             Statement stmt = database.prepare(connection, query)) {
+            if (stmt instanceof PreparedStatement) {
+                return !((PreparedStatement) stmt).execute();
+            }
 
-        return !stmt.execute(query);
+            return !stmt.execute(query);
+        }
     }
 
     /**
@@ -138,16 +142,19 @@ public class Schema {
         Blueprint blueprint = createAndRunBlueprint(table, closure);
         Map<String, Boolean> options = new HashMap<>();
         options.put("ignoreExistingTable", false);
-        String query = dbm.getConnection().create(dbm, blueprint, options);
-        Statement stmt = dbm.getConnection().prepare(query);
+        Database database = dbm.getConnection();
+        String query = database.create(dbm, blueprint, options);
 
         log.debug("Schema createIfNotExists was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
+        try (Connection connection = database.getConnection();
+             Statement stmt = database.prepare(connection, query)) {
+            if (stmt instanceof PreparedStatement) {
+                return !((PreparedStatement) stmt).execute();
+            }
 
-        return !stmt.execute(query);
+            return !stmt.execute(query);
+        }
     }
 
     /**
@@ -258,9 +265,10 @@ public class Schema {
     public boolean alterQuery(String query) throws SQLException {
         log.debug("alertQuery(String query) was called with the following SQL query.\nSQL: " + query);
 
-        Statement stmt = dbm.getConnection().getConnection().createStatement();
-
-        return !stmt.execute(query);
+        try (Connection connection = dbm.getConnection().getConnection();
+             Statement stmt = connection.createStatement()) {
+            return !stmt.execute(query);
+        }
     }
 
     /**
@@ -274,14 +282,4 @@ public class Schema {
     private String format(String query, Object... items) {
         return String.format(query, items);
     }
-
-    /**
-     * Gets the database meta data object from the default database connection.
-     *
-     * @return The database meta data object.
-     * @throws SQLException
-     */
-    private DatabaseMetaData getMetaData() throws SQLException {
-        return dbm.getConnection().getConnection().getMetaData();
-    }
 }
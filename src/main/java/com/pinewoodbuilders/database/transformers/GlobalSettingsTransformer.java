@@ -25,6 +25,7 @@ import com.google.gson.reflect.TypeToken;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +38,7 @@ public class GlobalSettingsTransformer extends Transformer {
 
     private final List<String> globalFilterExact = new ArrayList<>();
     private final List<String> globalFilterWildcard = new ArrayList<>();
+    private volatile WordFilter globalWordFilter = null;
     private long globalFilterLogChannel;
 
     // Global Settings
@@ -44,7 +46,7 @@ public class GlobalSettingsTransformer extends Transformer {
     private long mgmLogsId = 0;
 
     private String globalModlogChannel = null;
-    private int globalModlogCase = 0;
+    private volatile int globalModlogCase = 0;
     private boolean newWarnSystem = false;
     private long moderationServerId = 0;
 
@@ -108,6 +110,29 @@ public class GlobalSettingsTransformer extends Transformer {
         return this.globalFilterWildcard;
     }
 
+    /**
+     * Gets the compiled word filter for the global filter, the filter is compiled
+     * the first time it's used and kept until the filter lists are changed.
+     *
+     * @return The compiled word filter.
+     */
+    public WordFilter getGlobalWordFilter() {
+        WordFilter filter = globalWordFilter;
+        if (filter == null) {
+            filter = WordFilter.compile(globalFilterExact, globalFilterWildcard);
+            globalWordFilter = filter;
+        }
+        return filter;
+    }
+
+    /**
+     * Forgets the compiled word filter, this must be called whenever the
+     * global filter lists are changed, so the filter is compiled again.
+     */
+    public void forgetGlobalWordFilter() {
+        globalWordFilter = null;
+    }
+
     public long getGlobalFilterLogChannel() {
         return this.globalFilterLogChannel;
     }
@@ -149,6 +174,12 @@ public class GlobalSettingsTransformer extends Transformer {
         this.globalModlogCase = globalModlogCase;
     }
 
+    public synchronized void raiseGlobalModlogCase(int globalModlogCase) {
+        if (globalModlogCase > this.globalModlogCase) {
+            this.globalModlogCase = globalModlogCase;
+        }
+    }
+
     public boolean getNewWarnSystem() {
         return newWarnSystem;
     }
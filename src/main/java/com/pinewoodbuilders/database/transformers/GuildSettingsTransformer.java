@@ -26,6 +26,8 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
+import com.pinewoodbuilders.moderation.global.automod.AutomodRules;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -70,10 +72,12 @@ public class GuildSettingsTransformer extends Transformer {
     private int automodMessageSpam;
     private int automodImageSpam;
     private int automodCharacterSpam;
+    private volatile AutomodRules automodRules = null;
 
     // Guild Settings
     private final List<String> badWordsExact = new ArrayList<>();
     private final List<String> badWordsWildcard = new ArrayList <>();
+    private volatile WordFilter wordFilter = null;
     private final List<String> evalQuestions = new ArrayList<>();
     private long emojiId = 0;
     private long onWatchChannel = 0;
@@ -386,6 +390,29 @@ public class GuildSettingsTransformer extends Transformer {
         return this.badWordsWildcard;
     }
 
+    /**
+     * Gets the compiled word filter for the local filter, the filter is compiled
+     * the first time it's used and kept until the filter lists are changed.
+     *
+     * @return The compiled word filter.
+     */
+    public WordFilter getWordFilter() {
+        WordFilter filter = wordFilter;
+        if (filter == null) {
+            filter = WordFilter.compile(badWordsExact, badWordsWildcard);
+            wordFilter = filter;
+        }
+        return filter;
+    }
+
+    /**
+     * Forgets the compiled word filter, this must be called whenever the
+     * local filter lists are changed, so the filter is compiled again.
+     */
+    public void forgetWordFilter() {
+        wordFilter = null;
+    }
+
     public List<String> getEvalQuestions() {
         return this.evalQuestions;
     }
@@ -510,12 +537,29 @@ public class GuildSettingsTransformer extends Transformer {
         this.globalAutomod = globalAutomod;
     }
 
+    /**
+     * Gets the compiled automod rules for the guild, the rules are compiled the
+     * first time they're used, and forgotten again whenever one of the
+     * automod thresholds are changed through their setters.
+     *
+     * @return The compiled automod rules.
+     */
+    public AutomodRules getAutomodRules() {
+        AutomodRules rules = automodRules;
+        if (rules == null) {
+            rules = AutomodRules.compile(this);
+            automodRules = rules;
+        }
+        return rules;
+    }
+
     public int getMassMention() {
         return this.automodMassMention;
     }
 
     public void setMassMention(int automodMassMention) {
         this.automodMassMention = automodMassMention;
+        this.automodRules = null;
     }
 
     public int getEmojiSpam() {
@@ -524,6 +568,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setEmojiSpam(int automodEmojiSpam) {
         this.automodEmojiSpam = automodEmojiSpam;
+        this.automodRules = null;
     }
 
     public int getLinkSpam() {
@@ -532,6 +577,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setLinkSpam(int automodLinkSpam) {
         this.automodLinkSpam = automodLinkSpam;
+        this.automodRules = null;
     }
 
     public int getMessageSpam() {
@@ -540,6 +586,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setMessageSpam(int automodMessageSpam) {
         this.automodMessageSpam = automodMessageSpam;
+        this.automodRules = null;
     }
 
     public int getImageSpam() {
@@ -548,6 +595,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setImageSpam(int automodImageSpam) {
         this.automodImageSpam = automodImageSpam;
+        this.automodRules = null;
     }
 
     public int getCharacterSpam() {
@@ -556,6 +604,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setCharacterSpam(int automodCharacterSpam) {
         this.automodCharacterSpam = automodCharacterSpam;
+        this.automodRules = null;
     }
 
     public long getSuggestionChannelId() {
@@ -24,6 +24,7 @@ package com.pinewoodbuilders.database.transformers;
 import com.google.gson.internal.LinkedTreeMap;
 import com.google.gson.reflect.TypeToken;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.commands.CommandAliasTable;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.utilities.NumberUtil;
@@ -33,6 +34,7 @@ import net.dv8tion.jda.api.entities.VoiceChannel;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
 
 public class GuildTransformer extends Transformer {
@@ -72,10 +74,12 @@ public class GuildTransformer extends Transformer {
     private String modlog = null;
     private String muteRole = null;
 
-    private int modlogCase = 0;
-    private int onWatchCase = 0;
+    private volatile int modlogCase = 0;
+    private volatile int onWatchCase = 0;
     private double levelModifier = -1;
 
+    private volatile CommandAliasTable aliasTable = null;
+
 
     public GuildTransformer(Guild guild) {
         super(null);
@@ -403,6 +407,18 @@ public class GuildTransformer extends Transformer {
         this.onWatchCase = onWatchCase;
     }
 
+    public synchronized void raiseModlogCase(int modlogCase) {
+        if (modlogCase > this.modlogCase) {
+            this.modlogCase = modlogCase;
+        }
+    }
+
+    public synchronized void raiseOnWatchCase(int onWatchCase) {
+        if (onWatchCase > this.onWatchCase) {
+            this.onWatchCase = onWatchCase;
+        }
+    }
+
     public String getMuteRole() {
         return muteRole;
     }
@@ -424,6 +440,22 @@ public class GuildTransformer extends Transformer {
         return aliases;
     }
 
+    @Nullable
+    public CommandAliasTable getAliasTable() {
+        return aliasTable;
+    }
+
+    /**
+     * Sets the compiled alias table for the guild, the alias table must be forgotten
+     * by setting it to {@code NULL} whenever the aliases for the guild are
+     * changed, so the aliases are compiled again the next time they're used.
+     *
+     * @param aliasTable The compiled alias table, or {@code NULL}.
+     */
+    public void setAliasTable(@Nullable CommandAliasTable aliasTable) {
+        this.aliasTable = aliasTable;
+    }
+
     public List <ChannelTransformer> getChannels() {
         return channels;
     }
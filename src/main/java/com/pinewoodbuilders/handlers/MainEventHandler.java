@@ -32,6 +32,7 @@ import com.pinewoodbuilders.handlers.adapter.*;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.pinewood.adapter.WhitelistEventAdapter;
 import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -53,6 +54,8 @@ import net.dv8tion.jda.api.events.guild.invite.GuildInviteCreateEvent;
 import net.dv8tion.jda.api.events.guild.invite.GuildInviteDeleteEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
 import net.dv8tion.jda.api.events.guild.update.GuildUpdateNameEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceJoinEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceLeaveEvent;
@@ -309,7 +312,17 @@ public class MainEventHandler extends EventHandler {
     @Override
     public void onGuildMemberRemove(@Nonnull GuildMemberRemoveEvent event) {
         memberEvent.onGuildMemberRemove(event);
+        XeusPermissionUtil.forgetPermissions(event.getGuild().getIdLong(), event.getUser().getIdLong());
+    }
+
+    @Override
+    public void onGuildMemberRoleAdd(@Nonnull GuildMemberRoleAddEvent event) {
+        XeusPermissionUtil.forgetPermissions(event.getGuild().getIdLong(), event.getMember().getIdLong());
+    }
 
+    @Override
+    public void onGuildMemberRoleRemove(@Nonnull GuildMemberRoleRemoveEvent event) {
+        XeusPermissionUtil.forgetPermissions(event.getGuild().getIdLong(), event.getMember().getIdLong());
     }
 
 
@@ -323,7 +336,7 @@ public class MainEventHandler extends EventHandler {
         if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
             changelogEventAdapter.onMessageReceived(event);
         }
-        messageEvent.onMessageReceived(event);
+        messageEvent.onMessageReceived(event, shouldApplyMessageFilters(event));
 
         if (event.getChannel().getId().equals("691337332661420082")) {
             if (!event.getMessage().getContentRaw().contains("img.pizzabyte.xyz")) {
@@ -344,10 +357,6 @@ public class MainEventHandler extends EventHandler {
         if (event.isFromGuild()) {
             if (Constants.guilds.contains(event.getGuild().getId())) {
                 if (!event.getAuthor().isBot()) {
-                    messageEvent.onLocalFilterMessageReceived(event);
-                    messageEvent.onGlobalFilterMessageReceived(event);
-                    messageEvent.onNoLinksFilterMessageReceived(event);
-
                     if (event.getChannel().getId().equals("769274801768235028") || event.getChannel().getId().equals("777903149511082005")) {
                         messageEvent.onEventGalleryMessageSent(event);
                     }
@@ -361,6 +370,20 @@ public class MainEventHandler extends EventHandler {
 
     }
 
+    private boolean shouldApplyMessageFilters(MessageReceivedEvent event) {
+        if (event.getChannel().getId().equals("691337332661420082")) {
+            return false;
+        }
+
+        if (Xeus.getEnvironment().getName().equals(Environment.DEVELOPMENT.getName())) {
+            return false;
+        }
+
+        return event.isFromGuild()
+            && Constants.guilds.contains(event.getGuild().getId())
+            && !event.getAuthor().isBot();
+    }
+
     @Override
     public void onGuildMessageDelete(GuildMessageDeleteEvent event) {
         if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
@@ -388,8 +411,6 @@ public class MainEventHandler extends EventHandler {
         if (event.isFromGuild()) {
             if (Constants.guilds.contains(event.getGuild().getId())) {
                 messageEvent.onGuildMessageUpdate(event);
-                messageEvent.onGlobalFilterEditReceived(event);
-                messageEvent.onLocalFilterEditReceived(event);
             }
         }
     }
@@ -403,6 +424,7 @@ public class MainEventHandler extends EventHandler {
     @Override
     public void onRoleDelete(RoleDeleteEvent event) {
         roleEvent.updateRoleData(event.getGuild());
+        XeusPermissionUtil.forgetPermissions(event.getGuild().getIdLong());
         roleEvent.onRoleDelete(event);
     }
 
@@ -39,6 +39,7 @@ import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.factories.RequestFactory;
 import com.pinewoodbuilders.handlers.DatabaseEventHolder;
+import com.pinewoodbuilders.requests.HttpClientProvider;
 import com.pinewoodbuilders.requests.Response;
 import com.pinewoodbuilders.requests.service.kronos.database.GetUsersPoints;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
@@ -53,7 +54,6 @@ import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.api.interactions.InteractionHook;
 import net.dv8tion.jda.api.interactions.components.Button;
 import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import org.jetbrains.annotations.NotNull;
@@ -73,7 +73,6 @@ import java.util.function.Consumer;
 public class ButtonClickEventAdapter extends EventAdapter {
 
     private static final MediaType json = MediaType.parse("application/json; charset=utf-8");
-    private final OkHttpClient client = new OkHttpClient();
 
     /**
      * Instantiates the event adapter and sets the avaire class instance.
@@ -165,7 +164,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                                                             .url("https://www.pb-kronos.dev/api/v2/smartlog/pbst/single")
                                                                             .post(RequestBody.create(json, buildPayload(username, userId, -Long.parseLong(run.getMessage().getContentRaw()))));
 
-                                                                        try (okhttp3.Response exportResponse = client.newCall(request.build()).execute()) {
+                                                                        try (okhttp3.Response exportResponse = HttpClientProvider.getClient().newCall(request.build()).execute()) {
                                                                             e.getChannel().sendMessageEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel())
                                                                                 .requestedBy(e.getMember()).setDescription("Sent point export to the database, please use ``;smartlogs`` in a bot commands channel to update the smartlog that was just sent to Kronos. Debugging info: \n```json\n" +
                                                                                     ":info```").set("info", exportResponse.body() != null ? exportResponse.body().string() : "Empty Body").setFooter("This message self-destructs after 25 seconds").buildEmbed()).queue(b -> {
@@ -355,7 +354,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                                                                 .url("https://www.pb-kronos.dev/api/v2/smartlog/pbst/single")
                                                                 .post(RequestBody.create(json, buildPayload(username, avaire.getRobloxAPIManager().getUserAPI().getIdFromUsername(username), Long.valueOf(run.getMessage().getContentRaw()))));
 
-                                                            try (okhttp3.Response exportResponse = client.newCall(request.build()).execute()) {
+                                                            try (okhttp3.Response exportResponse = HttpClientProvider.getClient().newCall(request.build()).execute()) {
                                                                 e.getChannel().sendMessageEmbeds(MessageFactory.makeEmbeddedMessage(e.getChannel())
                                                                     .setDescription("Sent point export to the database, please use ``;smartlogs`` in a bot commands channel to update the smartlog that was just sent to Kronos. Debugging info: \n```json\n" +
                                                                         ":info```").set("info", exportResponse.body() != null ? exportResponse.body().string() : "Empty Body").setFooter("This message self-destructs after 25 seconds").buildEmbed()).queue(b -> {
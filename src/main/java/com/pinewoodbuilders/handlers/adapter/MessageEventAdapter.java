@@ -47,7 +47,10 @@ import com.pinewoodbuilders.handlers.DatabaseEventHolder;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.middleware.MiddlewareStack;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
-import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
+import com.pinewoodbuilders.moderation.global.filter.RedirectResolver;
+import com.pinewoodbuilders.moderation.global.automod.AutomodRules;
+import com.pinewoodbuilders.moderation.global.automod.ChannelActivity;
+import com.pinewoodbuilders.moderation.global.automod.MessageActivity;
 import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
@@ -55,7 +58,6 @@ import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.utilities.ArrayUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
-import com.vdurmont.emoji.EmojiParser;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
@@ -71,18 +73,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.*;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -94,7 +95,19 @@ public class MessageEventAdapter extends EventAdapter {
             .setNameFormat("avaire-command-thread-%d")
             .build()
     );
+
+    /**
+     * The executor used to load the database properties for message events, and
+     * then run the filter, leveling, and command stages for the message. The pool
+     * is bounded so a burst of messages can't starve the common fork join pool,
+     * once the queue is full the event thread runs the pipeline itself, which
+     * slows down how fast JDA hands us new events until the pool catches up.
+     */
+    private static final ExecutorService messagePipelineService = createMessagePipelineService();
     private static final Logger log = LoggerFactory.getLogger(MessageEventAdapter.class);
+    private static final LinkExtractor linkExtractor = LinkExtractor.builder()
+        .linkTypes(EnumSet.of(LinkType.URL, LinkType.WWW)) // limit to URLs
+        .build();
     private static final Pattern userRegEX = Pattern.compile("<@(!|)+[0-9]{16,}+>", Pattern.CASE_INSENSITIVE);
     private static final String mentionMessage = String.join("\n", Arrays.asList(
         "Hi there! I'm **%s**, a multipurpose Discord bot built for fun by %s!",
@@ -116,21 +129,87 @@ public class MessageEventAdapter extends EventAdapter {
         super(avaire);
     }
 
-    public static List <String> replace(List <String> strings) {
-        ListIterator <String> iterator = strings.listIterator();
-        while (iterator.hasNext()) {
-            iterator.set(iterator.next().toLowerCase());
+    private static ExecutorService createMessagePipelineService() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue <>(threads * 256),
+            new ThreadFactoryBuilder()
+                .setNameFormat("avaire-message-pipeline-%d")
+                .build(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    /**
+     * Handles the received message, the database properties for the message are
+     * loaded once and shared between the filter stages, leveling, and commands.
+     *
+     * @param event        The message received event.
+     * @param applyFilters {@code true} if the local, global, and no-links filters should be applied to the message.
+     */
+    public void onMessageReceived(MessageReceivedEvent event, boolean applyFilters) {
+        boolean handleCommands = canHandleCommands(event);
+        if (!handleCommands && !applyFilters) {
+            return;
+        }
+
+        if (applyFilters && event.isFromType(ChannelType.TEXT)) {
+            ChannelActivity.record(event.getMessage());
         }
-        return strings;
+
+        loadDatabasePropertiesIntoMemory(event.getMessage()).thenAccept(databaseEventHolder -> {
+            if (applyFilters) {
+                runStage("local filter", event, databaseEventHolder, this::checkFilters);
+                runStage("global filter", event, databaseEventHolder, this::checkPublicFilter);
+                runStage("no-links filter", event, databaseEventHolder, this::checkNoLinksFilter);
+            }
+
+            if (handleCommands) {
+                runStage("command", event, databaseEventHolder, this::handleCommands);
+            }
+        }).exceptionally(throwable -> {
+            log.error("Failed to load the database properties for message {}", event.getMessageId(), throwable);
+            return null;
+        });
     }
 
-    public void onMessageReceived(MessageReceivedEvent event) {
+    /**
+     * Handles the edited guild message, the database properties for the message
+     * are loaded once and shared between the watch, global, and local filters.
+     *
+     * @param event The message update event.
+     */
+    public void onGuildMessageUpdate(MessageUpdateEvent event) {
+        loadDatabasePropertiesIntoMemory(event.getMessage()).thenAccept(databaseEventHolder -> {
+            runStage("watch filter", event, databaseEventHolder, this::checkWatchFilter);
+            runStage("global filter", event, databaseEventHolder, this::checkPublicFilter);
+            runStage("local filter", event, databaseEventHolder, this::checkFilters);
+        }).exceptionally(throwable -> {
+            log.error("Failed to load the database properties for message {}", event.getMessageId(), throwable);
+            return null;
+        });
+    }
+
+    private <T extends GenericMessageEvent> void runStage(String name, T event, DatabaseEventHolder databaseEventHolder, BiConsumer <T, DatabaseEventHolder> stage) {
+        try {
+            stage.accept(event, databaseEventHolder);
+        } catch (Exception e) {
+            log.error("The {} stage failed for message {}: {}", name, event.getMessageId(), e.getMessage(), e);
+        }
+    }
+
+    private boolean canHandleCommands(MessageReceivedEvent event) {
         if (!isValidMessage(event.getAuthor())) {
-            return;
+            return false;
         }
 
         if (event.getChannelType().isGuild() && !event.getTextChannel().canTalk()) {
-            return;
+            return false;
         }
 
         if (!event.getAuthor().isBot()) {
@@ -139,99 +218,72 @@ public class MessageEventAdapter extends EventAdapter {
             }
         }
 
-        if (avaire.getBlacklist().isBlacklisted(event.getMessage())) {
-            return;
+        return !avaire.getBlacklist().isBlacklisted(event.getMessage());
+    }
+
+    private void handleCommands(MessageReceivedEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (databaseEventHolder.getGuild() != null && databaseEventHolder.getPlayer() != null) {
+            avaire.getLevelManager().rewardPlayer(event, databaseEventHolder.getGuild(), databaseEventHolder.getPlayer());
         }
 
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuild() != null && databaseEventHolder.getPlayer() != null) {
-                avaire.getLevelManager().rewardPlayer(event, databaseEventHolder.getGuild(), databaseEventHolder.getPlayer());
-            }
+        CommandContainer container = CommandHandler.getCommand(avaire, event.getMessage(), event.getMessage().getContentRaw());
+        if (container != null && canExecuteCommand(event, container)) {
+            invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder));
+            return;
+        }
 
-            CommandContainer container = CommandHandler.getCommand(avaire, event.getMessage(), event.getMessage().getContentRaw());
+        if (isMentionableAction(event)) {
+            container = CommandHandler.getLazyCommand(ArrayUtil.toArguments(event.getMessage().getContentRaw())[1]);
             if (container != null && canExecuteCommand(event, container)) {
-                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder));
-                return;
-            }
-
-            if (isMentionableAction(event)) {
-                container = CommandHandler.getLazyCommand(ArrayUtil.toArguments(event.getMessage().getContentRaw())[1]);
-                if (container != null && canExecuteCommand(event, container)) {
-                    invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true));
-                    return;
-                }
-            }
-
-            if (isSingleBotMention(event.getMessage().getContentRaw().trim())) {
-                sendTagInformationMessage(event);
+                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true));
                 return;
             }
+        }
 
-            if (!event.getChannelType().isGuild()) {
-                sendInformationMessage(event);
-            }
-        });
+        if (isSingleBotMention(event.getMessage().getContentRaw().trim())) {
+            sendTagInformationMessage(event);
+            return;
+        }
 
+        if (!event.getChannelType().isGuild()) {
+            sendInformationMessage(event);
+        }
     }
 
     private boolean checkWildcardFilter(String contentStripped, GuildSettingsTransformer guild, Message messageId) {
-        String words = contentStripped.toLowerCase();
-        List <String> badWordsList = replace(guild.getBadWordsWildcard());
-        // system.out.println("UFWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        for (String word : badWordsList) {
-            if (words.contains(word)) {
-                warnUser(messageId, guild, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``WILDCARD``\n**Word Filtered**: " + word);
-                return true;
-            }
+        String word = guild.getWordFilter().findWildcardMatch(contentStripped);
+        if (word == null) {
+            return false;
         }
-        return false;
+
+        warnUser(messageId, guild, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``WILDCARD``\n**Word Filtered**: " + word);
+        return true;
     }
 
     private boolean checkExactFilter(String contentRaw, GuildSettingsTransformer databaseEventHolder, Message messageId) {
-        // system.out.println("FILTER ENABLED");
-        List <String> words = replace(Arrays.asList(contentRaw.split(" ")));
-        List <String> badWordsList = replace(databaseEventHolder.getBadWordsExact());
-
-        // system.out.println("UWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        boolean b = words.stream().anyMatch(badWordsList::contains);
-        if (b) {
-            warnUser(messageId, databaseEventHolder, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw);
+        if (databaseEventHolder.getWordFilter().findExactMatch(contentRaw) == null) {
+            return false;
         }
-        return b;
+
+        warnUser(messageId, databaseEventHolder, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw);
+        return true;
     }
 
     private boolean checkGlobalWildcardFilter(String contentStripped, GlobalSettingsTransformer guild, Message messageId, GuildSettingsTransformer settings) {
-        String words = contentStripped.toLowerCase();
-        List <String> badWordsList = replace(guild.getGlobalFilterWildcard());
-        //System.out.println("UFWords: " + words);
-        //System.out.println("FWords: " + badWordsList);
-
-        for (String word : badWordsList) {
-            if (words.contains(word)) {
-                warnUserColor(messageId, settings, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``WILDCARD``\n**Sentence Filtered**: " + contentStripped, new Color(0, 0, 0), messageId.getTextChannel());
-                return true;
-            }
+        if (guild.getGlobalWordFilter().findWildcardMatch(contentStripped) == null) {
+            return false;
         }
-        return false;
+
+        warnUserColor(messageId, settings, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``WILDCARD``\n**Sentence Filtered**: " + contentStripped, new Color(0, 0, 0), messageId.getTextChannel());
+        return true;
     }
 
     private boolean checkGlobalExactFilter(String contentRaw, GlobalSettingsTransformer databaseEventHolder, Message messageId, GuildSettingsTransformer guild) {
-        // system.out.println("FILTER ENABLED");
-        List <String> words = replace(Arrays.asList(contentRaw.split(" ")));
-        List <String> badWordsList = replace(databaseEventHolder.getGlobalFilterExact());
-
-        // system.out.println("UWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        boolean b = words.stream().anyMatch(badWordsList::contains);
-        if (b) {
-            return warnUserColor(messageId, guild, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw, new Color(0, 0, 0), messageId.getTextChannel());
+        if (databaseEventHolder.getGlobalWordFilter().findExactMatch(contentRaw) == null) {
+            return false;
         }
-        return b;
+
+        return warnUserColor(messageId, guild, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw, new Color(0, 0, 0), messageId.getTextChannel());
     }
 
     private boolean checkLinkFilter(String m) {
@@ -239,50 +291,16 @@ public class MessageEventAdapter extends EventAdapter {
             m.startsWith("http") || m.startsWith("https") || m.contains("http//") || m.contains("https//") || m.matches("[-a-zA-Z0-9@:%._\\+~#=]{1,256}\\.[a-zA-Z0-9()]{1,6}\\b([-a-zA-Z0-9()@:%_\\+.~#?&//=]*)") || m.contains("%E2");
     }
 
-    public void onGuildMessageUpdate(MessageUpdateEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (checkLinkFilter(event.getMessage().getContentRaw())) {
-                if (databaseEventHolder.getGuildSettings() == null) return;
-                if (databaseEventHolder.getGuildSettings().getOnWatchRole() != 0) {
-                    Role watchRole = event.getGuild().getRoleById(databaseEventHolder.getGuildSettings().getOnWatchRole());
-                    if (event.getMember().getRoles().contains(watchRole)) {
-                        event.getMessage().delete().queue();
-                    }
+    private void checkWatchFilter(MessageUpdateEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (checkLinkFilter(event.getMessage().getContentRaw())) {
+            if (databaseEventHolder.getGuildSettings() == null) return;
+            if (databaseEventHolder.getGuildSettings().getOnWatchRole() != 0) {
+                Role watchRole = event.getGuild().getRoleById(databaseEventHolder.getGuildSettings().getOnWatchRole());
+                if (event.getMember().getRoles().contains(watchRole)) {
+                    event.getMessage().delete().queue();
                 }
             }
-        });
-    }
-
-
-    public void onLocalFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (Constants.guilds.contains(event.getGuild().getId())) {
-                checkFilters(event, databaseEventHolder);
-            }
-        });
-    }
-
-
-    public void onLocalFilterEditReceived(MessageUpdateEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (Constants.guilds.contains(event.getGuild().getId())) {
-                checkFilters(event, databaseEventHolder);
-            }
-        });
-    }
-
-    public void onGlobalFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-                checkPublicFilter(event, databaseEventHolder);
-            }
-        );
-    }
-
-    public void onGlobalFilterEditReceived(MessageUpdateEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            checkPublicFilter(event, databaseEventHolder);
-        });
-
+        }
     }
 
     private void checkPublicFilter(GenericMessageEvent genericMessageEvent, DatabaseEventHolder databaseEventHolder) {
@@ -344,163 +362,125 @@ public class MessageEventAdapter extends EventAdapter {
         if (databaseEventHolder.getGuildSettings().getMainGroupId() == 0) {return;}
 
         String input = message.getContentRaw();
-        LinkExtractor linkExtractor = LinkExtractor.builder()
-            .linkTypes(EnumSet.of(LinkType.URL, LinkType.WWW)) // limit to URLs
-            .build();
-
         Iterable <LinkSpan> links = linkExtractor.extractLinks(input);
 
         for (LinkSpan link : links) {
             String validLink = input.substring(link.getBeginIndex(), link.getEndIndex());
             HttpUrl url = HttpUrl.parse(validLink);
             if (url != null) {
-                LinkContainer lc = avaire.getLinkFilterManager().getLinkContainer(databaseEventHolder.getGuildSettings().getMainGroupId(), url.topPrivateDomain());
-                if (lc != null) {
-                    LinkLevel level = LinkLevel.getLinkLevelFromId(lc.getAction());
-
-                    if (level.isWarn()) {
-                        if (databaseEventHolder.getGuildSettings().getLinkFilterLog() == 0) {continue;}
-                        if (message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()) == null) {continue;}
-
-                        List<MessageEmbed> lme = new ArrayList <>();
-
-                        PlaceholderMessage phm = MessageFactory.makeEmbeddedMessage(message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()))
-                            .setTitle("Link Found - Level " + level.name())
-                            .setDescription("""
-                                **• Offender**: :offender in :channel
-                                **• Deleted**: :hasDeleted
-                                **Original Message**:
-                                ```:message```
-                                **Link**:
-                                :link
-                                """)
-                            .set("offender", message.getAuthor().getAsTag() + " " + message.getAuthor().getAsMention())
-                            .set("channel", message.getTextChannel().getAsMention())
-                            .set("hasDeleted", level.isDelete() ? "<:yes:694268114803621908>" : "<:no:694270050257076304>")
-                            .set("message", message.getContentRaw())
-                            .set("link", validLink)
-                            .setFooter("Offender ID: " + message.getAuthor().getId())
-                            .setTimestamp(Instant.now())
-                            .setColor(level.getColor());
-
-                        lme.add(phm.buildEmbed());
-
-                        if (level.isCheckRedirect()) {
-                            try {
-                                List <String> redirects = fetchRedirect(validLink, new ArrayList <>());
-                                if (redirects.size() > 1) {
-                                    lme.add(new EmbedBuilder()
-                                        .setDescription(redirects.stream().map(l -> " - " + l + "\n" ).collect(Collectors.joining())).setColor(level.getColor()).build());
-                                }
-                            } catch (IOException e) {
-                                e.printStackTrace();
+                LinkLevel level = avaire.getLinkFilterManager().getLinkLevel(databaseEventHolder.getGuildSettings().getMainGroupId(), url.host());
+
+                if (level.isWarn()) {
+                    if (databaseEventHolder.getGuildSettings().getLinkFilterLog() == 0) {continue;}
+                    if (message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()) == null) {continue;}
+
+                    List<MessageEmbed> lme = new ArrayList <>();
+
+                    PlaceholderMessage phm = MessageFactory.makeEmbeddedMessage(message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()))
+                        .setTitle("Link Found - Level " + level.name())
+                        .setDescription("""
+                            **• Offender**: :offender in :channel
+                            **• Deleted**: :hasDeleted
+                            **Original Message**:
+                            ```:message```
+                            **Link**:
+                            :link
+                            """)
+                        .set("offender", message.getAuthor().getAsTag() + " " + message.getAuthor().getAsMention())
+                        .set("channel", message.getTextChannel().getAsMention())
+                        .set("hasDeleted", level.isDelete() ? "<:yes:694268114803621908>" : "<:no:694270050257076304>")
+                        .set("message", message.getContentRaw())
+                        .set("link", validLink)
+                        .setFooter("Offender ID: " + message.getAuthor().getId())
+                        .setTimestamp(Instant.now())
+                        .setColor(level.getColor());
+
+                    lme.add(phm.buildEmbed());
+
+                    TextChannel logChannel = message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog());
+                    if (!level.isCheckRedirect()) {
+                        logChannel.sendMessageEmbeds(lme).queue();
+                    } else {
+                        avaire.getRedirectResolver().resolve(validLink).whenComplete((redirects, throwable) -> {
+                            if (throwable != null) {
+                                log.debug("Failed to resolve the redirects for {}: {}", validLink, RedirectResolver.unwrap(throwable).getMessage());
+                            } else if (redirects.size() > 1) {
+                                lme.add(new EmbedBuilder()
+                                    .setDescription(redirects.stream().map(l -> " - " + l + "\n" ).collect(Collectors.joining())).setColor(level.getColor()).build());
                             }
-                        }
-
-                        message.getGuild()
-                            .getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog())
-                            .sendMessageEmbeds(lme)
-                            .queue();
-                    }
-
-                    if (level.isDelete()) {
-                        message.delete().queue();
+                            logChannel.sendMessageEmbeds(lme).queue();
+                        });
                     }
-
-                    return;
                 }
-            }
-        }
-    }
 
-    private List<String> fetchRedirect(String url, List<String> redirects) throws IOException {
-        redirects.add(url);
-
-        HttpURLConnection con = (HttpURLConnection) (new URL(url).openConnection());
-        con.setRequestMethod("GET");
-        con.setRequestProperty("User-Agent", "Mozilla/5.0");
-        con.setInstanceFollowRedirects(false);
-        con.connect();
+                if (level.isDelete()) {
+                    message.delete().queue();
+                }
 
-        if (con.getHeaderField("Location") == null) {
-            return redirects;
+                return;
+            }
         }
-        return fetchRedirect(con.getHeaderField("Location"), redirects);
     }
 
     private boolean checkAutomodFilters(Message message, GuildSettingsTransformer guild) {
-        if (guild.getMassMention() > 0) {
-            if (message.getMentionedMembers().size() >= guild.getMassMention()) {
+        AutomodRules rules = guild.getAutomodRules();
+        if (rules.getMassMention() > 0) {
+            if (message.getMentionedMembers().size() >= rules.getMassMention()) {
                 warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Mass Mention``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
                 message.getChannel().sendMessage("Please do not mass mention multiple people. " + message.getMember().getAsMention()).queue();
                 return false;
             }
         }
-        if (guild.getCharacterSpam() > 0) {
-            Pattern pattern = Pattern.compile("(.)\\1{" + (guild.getCharacterSpam() - 1) + ",}", Pattern.CASE_INSENSITIVE);
-            Matcher m = pattern.matcher(message.getContentRaw());
-            if (m.find()) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Character Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                return true;
-            }
+
+        AutomodRules.ContentViolation violation = rules.checkContent(message.getContentRaw());
+        if (violation == AutomodRules.ContentViolation.CHARACTER_SPAM) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Character Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            return true;
+        }
+        if (violation == AutomodRules.ContentViolation.EMOJI_SPAM) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Emoji Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            message.delete().queue();
+            return true;
         }
-        if (guild.getEmojiSpam() > 0) {
-            Pattern pattern = Pattern.compile("(:[^:\\s]*(?:::[^:\\s]*)*:)", Pattern.CASE_INSENSITIVE);
-            Matcher m = pattern.matcher(message.getContentRaw());
 
-            int count = EmojiParser.extractEmojis(message.getContentRaw()).size();
-            while (m.find()) {
-                count++;
-            }
+        if (!rules.hasSpamRules()) {
+            return false;
+        }
 
-            if (count >= guild.getEmojiSpam()) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Emoji Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                message.delete().queue();
-                return true;
-            }
+        if (message.getAuthor().isBot() || message.getMember().equals(message.getGuild().getOwner())) {
+            return false;
         }
-        if (guild.getMessageSpam() > 0) {
-            List <Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10).count();
 
-            if (spam >= guild.getMessageSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Message Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, null);
-                }
-                return true;
+        MessageActivity current = MessageActivity.of(message);
+
+        List <String> messages = new ArrayList <>();
+        List <String> images = new ArrayList <>();
+        List <String> links = new ArrayList <>();
+        for (MessageActivity activity : ChannelActivity.getRecentActivity(message)) {
+            String messageId = Long.toString(activity.messageId());
+
+            messages.add(messageId);
+            if (current.hasAttachments() && activity.hasAttachments()) {
+                images.add(messageId);
             }
-        }
-        if (guild.getImageSpam() > 0) {
-            List <Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10 && (msg.getAttachments().size() > 0 && message.getAttachments().size() > 0)).count();
-            if (spam >= guild.getImageSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Image Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, failure -> {
-
-                    });
-                }
-                return true;
+            if (current.hasLinks() && activity.hasLinks()) {
+                links.add(messageId);
             }
         }
-        if (guild.getLinkSpam() > 0) {
-            List <Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10 && (message.getContentRaw().contains("http://") || message.getContentRaw().contains("https://"))).count();
-            if (spam >= guild.getLinkSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, failure -> {
 
-                    });
-                }
-                return true;
-            }
+        if (rules.getMessageSpam() > 0 && messages.size() >= rules.getMessageSpam()) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Message Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            message.getTextChannel().purgeMessagesById(messages);
+            return true;
+        }
+        if (rules.getImageSpam() > 0 && images.size() >= rules.getImageSpam()) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Image Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            message.getTextChannel().purgeMessagesById(images);
+            return true;
+        }
+        if (rules.getLinkSpam() > 0 && links.size() >= rules.getLinkSpam()) {
+            message.getTextChannel().purgeMessagesById(links);
+            return true;
         }
         return false;
     }
@@ -515,7 +495,7 @@ public class MessageEventAdapter extends EventAdapter {
 
 
     private void checkFilters(GenericMessageEvent event, DatabaseEventHolder databaseEventHolder) {
-        MessageReceivedEvent messageId = (MessageReceivedEvent) event;
+        Message message = getActualMessage(event);
         if (!guilds.contains(event.getGuild().getId())) {
             return;
         }
@@ -531,26 +511,26 @@ public class MessageEventAdapter extends EventAdapter {
                 return;
             }
 
-            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), event.getGuild(), messageId.getMember()).getLevel();
+            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), event.getGuild(), message.getMember()).getLevel();
             if (permissionLevel >= GuildPermissionCheckType.LOCAL_GROUP_HR.getLevel()) {
                 return;
             }
 
-            String message = messageId.getMessage().getContentStripped().replaceAll("[,.!@#$%^&*()\\[\\]\\-=';/\\\\{}:\"><?|+_`~]", "");
-            if (checkExactFilter(message, guild, messageId.getMessage())) {
-                System.out.println("[EF] Exact Filter removed: " + message);
-                messageId.getMessage().delete().queue();
-
-            } else if (checkWildcardFilter(message, guild, messageId.getMessage())) {
-                System.out.println("[WCF] Wildcard Filter removed: " + message);
-                messageId.getMessage().delete().queue();
-
-            } else if (checkExactFilter(messageId.getMessage().getContentStripped(), guild, messageId.getMessage())) {
-                System.out.println("[EEF] Exact Filter removed: " + message);
-                messageId.getMessage().delete().queue();
-            } else if (checkWildcardFilter(messageId.getMessage().getContentStripped(), guild, messageId.getMessage())) {
-                System.out.println("[EWCF] Wildcard Filter removed: " + message);
-                messageId.getMessage().delete().queue();
+            String content = message.getContentStripped().replaceAll("[,.!@#$%^&*()\\[\\]\\-=';/\\\\{}:\"><?|+_`~]", "");
+            if (checkExactFilter(content, guild, message)) {
+                System.out.println("[EF] Exact Filter removed: " + content);
+                message.delete().queue();
+
+            } else if (checkWildcardFilter(content, guild, message)) {
+                System.out.println("[WCF] Wildcard Filter removed: " + content);
+                message.delete().queue();
+
+            } else if (checkExactFilter(message.getContentStripped(), guild, message)) {
+                System.out.println("[EEF] Exact Filter removed: " + content);
+                message.delete().queue();
+            } else if (checkWildcardFilter(message.getContentStripped(), guild, message)) {
+                System.out.println("[EWCF] Wildcard Filter removed: " + content);
+                message.delete().queue();
             }
         }
     }
@@ -746,38 +726,21 @@ public class MessageEventAdapter extends EventAdapter {
         }
     }
 
-    private CompletableFuture <DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final MessageReceivedEvent event) {
+    private CompletableFuture <DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final Message message) {
         return CompletableFuture.supplyAsync(() -> {
-            if (!event.getChannelType().isGuild()) {
+            if (!message.isFromGuild()) {
                 return new DatabaseEventHolder(null, null, null, null);
             }
 
-            GuildTransformer guild = GuildController.fetchGuild(avaire, event.getMessage());
-            GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild());
+            GuildTransformer guild = GuildController.fetchGuild(avaire, message);
+            GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, message.getGuild());
 
             if (settings.getMainGroupId() == 0) {
-                return new DatabaseEventHolder(guild, null, VerificationController.fetchGuild(avaire, event.getMessage()), settings);
+                return new DatabaseEventHolder(guild, null, VerificationController.fetchGuild(avaire, message), settings);
             }
 
-            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
-    }
-
-    private CompletableFuture <DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final MessageUpdateEvent event) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!event.getChannelType().isGuild()) {
-                return new DatabaseEventHolder(null, null, null, null);
-            }
-
-            GuildTransformer guild = GuildController.fetchGuild(avaire, event.getMessage());
-            GuildSettingsTransformer settings = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild());
-
-            if (settings.getMainGroupId() == 0) {
-                return new DatabaseEventHolder(guild, null, VerificationController.fetchGuild(avaire, event.getMessage()), settings);
-            }
-
-            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
+            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, message), VerificationController.fetchGuild(avaire, message), settings);
+        }, messagePipelineService);
     }
 
     public void onMessageDelete(TextChannel channel, List <String> messageIds) {
@@ -855,36 +818,34 @@ public class MessageEventAdapter extends EventAdapter {
         }
     }
 
-    public void onNoLinksFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuildSettings().getNoLinksRoles().size() < 1) {
-                return;
-            }
+    private void checkNoLinksFilter(MessageReceivedEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (databaseEventHolder.getGuildSettings().getNoLinksRoles().size() < 1) {
+            return;
+        }
 
-            ArrayList <Role> list = new ArrayList <>();
+        ArrayList <Role> list = new ArrayList <>();
 
-            for (Long r : databaseEventHolder.getGuildSettings().getNoLinksRoles()) {
-                if (event.getGuild().getRoleById(r) != null) {
-                    list.add(event.getGuild().getRoleById(r));
-                }
+        for (Long r : databaseEventHolder.getGuildSettings().getNoLinksRoles()) {
+            if (event.getGuild().getRoleById(r) != null) {
+                list.add(event.getGuild().getRoleById(r));
             }
+        }
 
-            if (event.getMember().getRoles().stream().anyMatch(list::contains)) {
-                if (event.getGuild().getId().equals("438134543837560832")) {
-                    if (event.getMember().getRoles().contains(event.getGuild().getRoleById("768310651768537099"))) {
-                        return;
-                    } else {
-                        if (checkLinkFilter(event.getMessage().getContentStripped())) {
-                            cadetRemoveLinksMessage(event.getMessage(), event.getMessage(),
-                                "Hey there! It seems like you just tried to send a link in the PBST discord. However this is not possible due to [this recent change](https://discordapp.com/channels/438134543837560832/459764670782504961/768310524927672380).\n" +
-                                    "If you'd like to send a link in the discord. Please earn 10 points, and then run ``k!mp`` in the PBST discord.");
-                        }
-                    }
+        if (event.getMember().getRoles().stream().anyMatch(list::contains)) {
+            if (event.getGuild().getId().equals("438134543837560832")) {
+                if (event.getMember().getRoles().contains(event.getGuild().getRoleById("768310651768537099"))) {
+                    return;
                 } else {
-                    event.getMessage().delete().queue();
+                    if (checkLinkFilter(event.getMessage().getContentStripped())) {
+                        cadetRemoveLinksMessage(event.getMessage(), event.getMessage(),
+                            "Hey there! It seems like you just tried to send a link in the PBST discord. However this is not possible due to [this recent change](https://discordapp.com/channels/438134543837560832/459764670782504961/768310524927672380).\n" +
+                                "If you'd like to send a link in the discord. Please earn 10 points, and then run ``k!mp`` in the PBST discord.");
+                    }
                 }
+            } else {
+                event.getMessage().delete().queue();
             }
-        });
+        }
     }
 
     private void cadetRemoveLinksMessage(Message message, Message event, String sendMessage) {
@@ -25,18 +25,12 @@ public class ExperienceEntity {
 
     private final long userId;
     private final long guildId;
-    private final boolean excludeLocal;
-    private int experience;
+    private volatile long experience;
+    private volatile long localExperience;
 
-    ExperienceEntity(long userId, long guildId, int experience, boolean excludeLocal) {
+    ExperienceEntity(long userId, long guildId) {
         this.userId = userId;
         this.guildId = guildId;
-        this.experience = experience;
-        this.excludeLocal = excludeLocal;
-    }
-
-    ExperienceEntity(long userId, long guildId, int experience) {
-        this(userId, guildId, experience, false);
     }
 
     /**
@@ -58,40 +52,46 @@ public class ExperienceEntity {
     }
 
     /**
-     * The amount of experience the user has in total for the set guild.
+     * The amount of global experience the user has been rewarded since the
+     * entity was created, the experience is added to the global XP
+     * of the user when the entity is synced with the database.
      *
-     * @return The total amount of experience the user has for the set guild.
+     * @return The amount of global experience the user has been rewarded.
      */
-    public int getExperience() {
+    public long getExperience() {
         return experience;
     }
 
     /**
-     * Sets the amount of experience that the user should be have after
-     * the experience entity is consumed and synced with the database.
+     * The amount of server based experience the user has been rewarded since
+     * the entity was created, rewards that were given after the user had
+     * reached the max amount of XP are excluded from the local XP.
      *
-     * @param experience The amount of experience the user should have after
-     *                   the entity is synced with the database.
+     * @return The amount of server based experience the user has been rewarded.
      */
-    public void setExperience(int experience) {
-        this.experience = experience;
+    public long getLocalExperience() {
+        return localExperience;
     }
 
     /**
-     * Determines if the local server based XP should be excluded from
-     * the update or not, if the user has reached the max amount of
-     * XP, there are no idea is giving them any more XP.
+     * Adds the given amount of experience to the entity, the method is only
+     * called while the entity is locked by the experience queue, so
+     * the increments can't race with the queue being drained.
      *
-     * @return Determins if the local server based XP should be excluded or not.
+     * @param amount       The amount of experience that should be added.
+     * @param excludeLocal Determines if the experience should be excluded from the local server based XP.
      */
-    public boolean isExcludeLocal() {
-        return excludeLocal;
+    void increment(int amount, boolean excludeLocal) {
+        experience += amount;
+        if (!excludeLocal) {
+            localExperience += amount;
+        }
     }
 
     @Override
     public String toString() {
-        return String.format("[userId:%s, guildId:%s, experience:%s]",
-            userId, guildId, experience
+        return String.format("[userId:%s, guildId:%s, experience:%s, localExperience:%s]",
+            userId, guildId, experience, localExperience
         );
     }
 }
@@ -49,9 +49,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class LevelManager {
@@ -73,8 +72,12 @@ public class LevelManager {
      * The experience queue, users who have been rewarded experience will
      * be added to the queue, the queue is then consumed once a minute
      * to sync the database with the user data.
+     * <p>
+     * Each user has a single entity per guild that the rewarded experience is
+     * added to, so the queue only grows with the number of active users,
+     * rather than the number of messages that were sent.
      */
-    private static final List<ExperienceEntity> experienceQueue = new CopyOnWriteArrayList<>();
+    private static final Map<ExperienceKey, ExperienceEntity> experienceQueue = new ConcurrentHashMap<>();
 
     /**
      * The experience modifier as an percentage.
@@ -305,12 +308,14 @@ public class LevelManager {
             player.setExperience(getHardCap());
         }
 
-        experienceQueue.add(new ExperienceEntity(
-            user.getIdLong(),
-            message.getGuild().getIdLong(),
-            amount,
-            exclude
-        ));
+        experienceQueue.compute(new ExperienceKey(message.getGuild().getIdLong(), user.getIdLong()), (key, entity) -> {
+            if (entity == null) {
+                entity = new ExperienceEntity(key.userId(), key.guildId());
+            }
+            entity.increment(amount, exclude);
+
+            return entity;
+        });
 
         if (getLevelFromExperience(guild, player.getExperience() + zxp) > lvl) {
             long newLevel = getLevelFromExperience(guild, player.getExperience() + zxp);
@@ -392,26 +397,44 @@ public class LevelManager {
     }
 
     /**
-     * Gets the experience queue, any user who has received experience and
-     * have yet to be updated in the database are stored in this queue.
+     * Checks if the experience queue is empty, any user who has received
+     * experience and have yet to be updated in the database are
+     * stored in the queue.
      *
-     * @return The experience queue.
+     * @return <code>True</code> if the experience queue is empty, <code>False</code> otherwise.
      */
-    public List<ExperienceEntity> getExperienceQueue() {
-        return experienceQueue;
+    public boolean isExperienceQueueEmpty() {
+        return experienceQueue.isEmpty();
+    }
+
+    /**
+     * Removes all the experience entities from the experience queue, each entity is removed
+     * atomically, so experience rewarded while the queue is being drained will either
+     * be part of the returned entities, or be left in the queue for the next sync.
+     *
+     * @return The list of experience entities that were removed from the queue.
+     */
+    public List<ExperienceEntity> drainExperienceQueue() {
+        List<ExperienceEntity> entities = new ArrayList<>(experienceQueue.size());
+        for (ExperienceKey key : experienceQueue.keySet()) {
+            ExperienceEntity entity = experienceQueue.remove(key);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
     }
 
     /**
-     * Gets all the experience entities that belongs to the given player
-     * transformer, or an empty list of no entities were found.
+     * Gets the experience entity that belongs to the given player
+     * transformer, or <code>null</code> if no entity was found.
      *
-     * @param transformer The transformer that should be matched with the experience eateries.
-     * @return A list of experience entities that belongs to the given player transformer.
+     * @param transformer The transformer that should be matched with the experience entity.
+     * @return The experience entity that belongs to the given player transformer, or <code>null</code>.
      */
-    public List<ExperienceEntity> getExperienceEntities(@Nonnull PlayerTransformer transformer) {
-        return experienceQueue.stream()
-            .filter(entity -> entity.getUserId() == transformer.getUserId() && entity.getGuildId() == transformer.getGuildId())
-            .collect(Collectors.toList());
+    @Nullable
+    public ExperienceEntity getExperienceEntity(@Nonnull PlayerTransformer transformer) {
+        return experienceQueue.get(new ExperienceKey(transformer.getGuildId(), transformer.getUserId()));
     }
 
     /**
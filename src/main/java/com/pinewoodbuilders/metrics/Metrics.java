@@ -23,8 +23,9 @@ package com.pinewoodbuilders.metrics;
 
 import ch.qos.logback.classic.LoggerContext;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.blacklist.bot.Ratelimit;
+import com.pinewoodbuilders.cache.MessageCache;
 import com.pinewoodbuilders.commands.Category;
+import com.pinewoodbuilders.commands.CommandHandler;
 import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
 import com.pinewoodbuilders.commands.utility.GlobalLeaderboardCommand;
 import com.pinewoodbuilders.commands.utility.LeaderboardCommand;
@@ -34,7 +35,8 @@ import com.pinewoodbuilders.database.controllers.*;
 import com.pinewoodbuilders.handlers.adapter.JDAStateEventAdapter;
 import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.routes.GetMetrics;
-import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.moderation.global.automod.ChannelActivity;
+import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -174,6 +176,29 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // HTTP requests
+
+    public static final Histogram httpRequestDuration = Histogram.build()
+        .name("avaire_http_request_duration_seconds")
+        .help("Outgoing HTTP request time until the response headers are received, by host")
+        .labelNames("host")
+        .register();
+
+    // Moderation expiry
+
+    public static final Gauge moderationExpiryPending = Gauge.build()
+        .name("avaire_moderation_expiry_pending")
+        .help("The amount of temporary moderation entries waiting to expire, by kind")
+        .labelNames("kind")
+        .register();
+
+    public static final Histogram moderationExpiryLag = Histogram.build()
+        .name("avaire_moderation_expiry_lag_seconds")
+        .help("Time from a moderation entry expiring until its expiry is handled, by kind")
+        .labelNames("kind")
+        .buckets(0.5, 1, 2, 5, 10, 30, 60, 300)
+        .register();
+
     // Vote statistics
 
     public static final Counter dblVotes = Counter.build()
@@ -195,6 +220,10 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // Caches
+
+    public static final CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
+
     // ################################################################################
     // ##                           Method Stuff
     // ################################################################################
@@ -221,21 +250,22 @@ public class Metrics {
         DefaultExports.initialize();
         Metrics.initializeEventMetrics();
 
-        CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
         cacheMetrics.addCache("levels", LevelManager.cache);
         cacheMetrics.addCache("guilds", GuildController.cache);
         cacheMetrics.addCache("players", PlayerController.cache);
         cacheMetrics.addCache("purchases", PurchaseController.cache);
         cacheMetrics.addCache("categoryPrefixes", Category.cache);
+        cacheMetrics.addCache("commandPrefixTables", CommandHandler.prefixCache);
         cacheMetrics.addCache("reaction-roles", ReactionController.cache);
-        cacheMetrics.addCache("throttleCommands", ThrottleMiddleware.cache);
         cacheMetrics.addCache("middlewareThrottleMessages", Middleware.messageCache);
         cacheMetrics.addCache("autorole", JDAStateEventAdapter.cache);
         cacheMetrics.addCache("muterole", MuteRoleCommand.cache);
         cacheMetrics.addCache("rankScores", RankCommand.cache);
         cacheMetrics.addCache("leaderboard", LeaderboardCommand.cache);
         cacheMetrics.addCache("global-leaderboard", GlobalLeaderboardCommand.cache);
-        cacheMetrics.addCache("blacklist-ratelimit", Ratelimit.cache);
+        cacheMetrics.addCache("messages", MessageCache.cache);
+        cacheMetrics.addCache("permission-levels", XeusPermissionUtil.cache);
+        cacheMetrics.addCache("channel-activity", ChannelActivity.cache);
 
         if (!avaire.getConfig().getBoolean("web-servlet.metrics",
             avaire.getConfig().getBoolean("metrics.enabled", true)
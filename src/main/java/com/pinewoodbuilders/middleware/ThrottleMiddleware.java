@@ -21,32 +21,42 @@
 
 package com.pinewoodbuilders.middleware;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.CacheFingerprint;
+import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.middleware.Middleware;
 import com.pinewoodbuilders.contracts.middleware.ThrottleMessage;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.ratelimit.FixedWindowCounter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ThrottleMiddleware extends Middleware {
 
-    public static final Cache<String, ThrottleEntity> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
+    /**
+     * The throttle counters, keyed by the throttle type, the IDs
+     * being throttled, and the command fingerprint ID.
+     */
+    private static final Map<ThrottleKey, FixedWindowCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * The fingerprint IDs for the cache fingerprint names, commands that share
+     * the same {@link CacheFingerprint cache fingerprint} share the same ID.
+     */
+    private static final Map<String, Integer> fingerprints = new ConcurrentHashMap<>();
+    private static final AtomicInteger fingerprintCounter = new AtomicInteger();
 
     public ThrottleMiddleware(Xeus avaire) {
         super(avaire);
@@ -81,10 +91,13 @@ public class ThrottleMiddleware extends Middleware {
             int maxAttempts = NumberUtil.parseInt(args[1], 2);
             int decaySeconds = NumberUtil.parseInt(args[2], 5);
 
-            String fingerprint = type.generateCacheString(message, stack);
+            long now = System.currentTimeMillis();
+            FixedWindowCounter counter = counters.computeIfAbsent(
+                type.generateKey(message, stack.getCommandContainer().getThrottleFingerprint()),
+                ignored -> new FixedWindowCounter()
+            );
 
-            ThrottleEntity entity = getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-            if (entity.getHits() >= maxAttempts) {
+            if (counter.getHits(now) >= maxAttempts) {
                 Carbon expires = type.equals(ThrottleType.USER)
                     ? avaire.getBlacklist().getRatelimit().hit(type, message.getAuthor().getIdLong())
                     : avaire.getBlacklist().getRatelimit().hit(type, message.getGuild().getIdLong());
@@ -95,13 +108,13 @@ public class ThrottleMiddleware extends Middleware {
                     );
                     return false;
                 }
-                return cancelCommandThrottleRequest(message, stack, entity);
+                return cancelCommandThrottleRequest(message, stack, counter);
             }
 
             boolean response = stack.next();
 
             if (response) {
-                entity.incrementHit();
+                counter.hit(System.currentTimeMillis(), decaySeconds * 1000L);
             }
 
             return response;
@@ -113,7 +126,33 @@ public class ThrottleMiddleware extends Middleware {
         return false;
     }
 
-    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, ThrottleEntity entity) {
+    /**
+     * Gets the fingerprint ID for the given command, commands using the same
+     * {@link CacheFingerprint cache fingerprint} will get the same ID, this
+     * should be resolved once when the command is registered.
+     *
+     * @param command The command that the fingerprint ID should be resolved for.
+     * @return The fingerprint ID for the given command.
+     */
+    public static int getFingerprintId(@Nonnull Command command) {
+        CacheFingerprint annotation = command.getClass().getAnnotation(CacheFingerprint.class);
+
+        String name = annotation == null || annotation.name().length() == 0
+            ? command.getName() : annotation.name();
+
+        return fingerprints.computeIfAbsent(name, ignored -> fingerprintCounter.getAndIncrement());
+    }
+
+    /**
+     * Removes the throttle counters whose window has ended.
+     */
+    public static void purgeExpired() {
+        long now = System.currentTimeMillis();
+
+        counters.values().removeIf(counter -> counter.hasExpired(now));
+    }
+
+    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, FixedWindowCounter counter) {
         Metrics.commandsRatelimited.labels(stack.getCommand().getClass().getSimpleName()).inc();
 
         return runMessageCheck(message, () -> {
@@ -130,7 +169,7 @@ public class ThrottleMiddleware extends Middleware {
 
             MessageFactory.makeWarning(message, throttleMessage)
                 .set("command", stack.getCommand().getName())
-                .set("time", ((entity.getTime() - System.currentTimeMillis()) / 1000) + 1)
+                .set("time", ((counter.getWindowEnd() - System.currentTimeMillis()) / 1000) + 1)
                 .set("prefix", stack.getCommand().generateCommandPrefix(message))
                 .queue(newMessage -> newMessage.delete().queueAfter(45, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
@@ -138,31 +177,16 @@ public class ThrottleMiddleware extends Middleware {
         });
     }
 
-    private ThrottleEntity getEntityFromCache(String fingerprint, int maxAttempts, int decaySeconds) {
-        ThrottleEntity entity = (ThrottleEntity) CacheUtil.getUncheckedUnwrapped(cache, fingerprint,
-            () -> new ThrottleEntity(maxAttempts, decaySeconds)
-        );
-
-        if (entity.hasExpired()) {
-            cache.invalidate(fingerprint);
-            return getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-        }
-
-        return entity;
-    }
-
     public enum ThrottleType {
 
-        USER("user", "throttle.user.%s.%s.%s"),
-        CHANNEL("channel", "throttle.channel.%s.%s.%s"),
-        GUILD("guild", "throttle.guild.%s.%s");
+        USER("user"),
+        CHANNEL("channel"),
+        GUILD("guild");
 
         private final String name;
-        private final String cache;
 
-        ThrottleType(String name, String cache) {
+        ThrottleType(String name) {
             this.name = name;
-            this.cache = cache;
         }
 
         public static ThrottleType fromName(String name) {
@@ -178,77 +202,28 @@ public class ThrottleMiddleware extends Middleware {
             return name;
         }
 
-        public String generateCacheString(Message message, MiddlewareStack stack) {
+        ThrottleKey generateKey(Message message, int fingerprint) {
             if (!this.equals(ThrottleType.USER) && !message.isFromGuild()) {
-                return USER.generateCacheString(message, stack);
+                return USER.generateKey(message, fingerprint);
             }
 
-            String cacheFingerprint = generateCacheFingerprint(stack);
-
             switch (this) {
-                case USER:
-                    return String.format(cache,
-                        message.isFromGuild() ? message.getGuild().getId() : "private",
-                        message.getAuthor().getId(),
-                        cacheFingerprint);
-
                 case CHANNEL:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        message.getChannel().getId(),
-                        cacheFingerprint);
+                    return new ThrottleKey(this, message.getGuild().getIdLong(), message.getChannel().getIdLong(), fingerprint);
 
                 case GUILD:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        cacheFingerprint);
+                    return new ThrottleKey(this, message.getGuild().getIdLong(), 0L, fingerprint);
 
                 default:
-                    return ThrottleType.USER.generateCacheString(message, stack);
-            }
-        }
-
-        private String generateCacheFingerprint(MiddlewareStack stack) {
-            CacheFingerprint annotation = stack.getCommand().getClass().getAnnotation(CacheFingerprint.class);
-
-            if (annotation == null || annotation.name().length() == 0) {
-                return stack.getCommand().getName();
+                    return new ThrottleKey(USER,
+                        message.isFromGuild() ? message.getGuild().getIdLong() : 0L,
+                        message.getAuthor().getIdLong(),
+                        fingerprint
+                    );
             }
-
-            return annotation.name();
         }
     }
 
-    private static class ThrottleEntity {
-
-        private final int maxAttempts;
-        private final long time;
-        private int hit;
-
-        ThrottleEntity(int maxAttempts, int decaySeconds) {
-            this.time = System.currentTimeMillis() + (decaySeconds * 1000L);
-            this.maxAttempts = maxAttempts;
-            this.hit = 0;
-        }
-
-        public int getHits() {
-            return hit;
-        }
-
-        public void incrementHit() {
-            hit++;
-        }
-
-        public int getMaxAttempts() {
-            return maxAttempts;
-        }
-
-        public long getTime() {
-            return time;
-        }
-
-        public boolean hasExpired() {
-            return System.currentTimeMillis() > time;
-        }
+    private record ThrottleKey(ThrottleType type, long scopeId, long targetId, int fingerprint) {
     }
 }
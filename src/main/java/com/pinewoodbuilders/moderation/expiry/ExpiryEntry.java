@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.expiry;
+
+import javax.annotation.Nonnull;
+
+public final class ExpiryEntry<T> {
+
+    private final ExpiryService service;
+    private final ExpiryKind kind;
+    private final long guildId;
+    private final long userId;
+    private final long expiresAt;
+    private final T container;
+
+    HierarchicalTimingWheel.Timeout<ExpiryEntry<?>> timeout;
+    volatile boolean cancelled = false;
+
+    ExpiryEntry(ExpiryService service, ExpiryKind kind, long guildId, long userId, long expiresAt, @Nonnull T container) {
+        this.service = service;
+        this.kind = kind;
+        this.guildId = guildId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.container = container;
+    }
+
+    /**
+     * Gets the kind of moderation entry that expires.
+     *
+     * @return The expiry kind for the entry.
+     */
+    public ExpiryKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the ID of the guild the entry is registered to, for
+     * global entries this is the ID of the main group.
+     *
+     * @return The guild ID the entry is registered to.
+     */
+    public long getGuildId() {
+        return guildId;
+    }
+
+    /**
+     * Gets the ID of the user the entry is registered for.
+     *
+     * @return The user ID the entry is registered for.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the time in milliseconds the entry expires at.
+     *
+     * @return The time the entry expires at.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Gets the manager container the entry was registered for.
+     *
+     * @return The container for the entry.
+     */
+    public T getContainer() {
+        return container;
+    }
+
+    /**
+     * Cancels the entry, so it won't be handed to the expiry handler.
+     *
+     * @return {@code True} if the entry was still pending, {@code False} otherwise.
+     */
+    public boolean cancel() {
+        return service.cancel(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExpiryEntry={kind=%s, guildId=%s, userId=%s, expiresAt=%s}",
+            kind.getName(), guildId, userId, expiresAt
+        );
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.expiry;
+
+@FunctionalInterface
+public interface ExpiryHandler<T> {
+
+    /**
+     * Handles the expired moderation entry, reversing the punishment
+     * and removing the entry from its manager.
+     *
+     * @param entry The expiry entry that has expired.
+     * @return {@code True} if the entry was handled, or {@code False} if the entry
+     *         couldn't be handled yet and should be retried a bit later.
+     */
+    boolean handle(ExpiryEntry<T> entry);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.expiry;
+
+public enum ExpiryKind {
+
+    MUTE("mute"),
+    BAN("ban"),
+    WARN("warn"),
+    WATCH("watch"),
+    GLOBAL_MUTE("global-mute"),
+    GLOBAL_WATCH("global-watch");
+
+    private final String name;
+
+    ExpiryKind(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the expiry kind, used as the label for the expiry metrics.
+     *
+     * @return The name of the expiry kind.
+     */
+    public String getName() {
+        return name;
+    }
+}
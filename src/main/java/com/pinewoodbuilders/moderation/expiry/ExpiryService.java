@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.expiry;
+
+import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.time.Carbon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class ExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryService.class);
+
+    /**
+     * The amount of milliseconds each bucket on the finest wheel covers.
+     */
+    private static final long TICK_DURATION = 1000;
+
+    /**
+     * The amount of buckets on each wheel, with one second ticks the wheels
+     * covers about a minute, an hour, three days, and so on.
+     */
+    private static final int WHEEL_SIZE = 64;
+
+    /**
+     * The amount of milliseconds to wait before handing an entry to its handler
+     * again, if the handler wasn't able to handle the entry yet.
+     */
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final Executor executor;
+    private final HierarchicalTimingWheel<ExpiryEntry<?>> wheel;
+    private final Map<ExpiryKind, ExpiryHandler<?>> handlers = new ConcurrentHashMap<>();
+    private final int[] pending = new int[ExpiryKind.values().length];
+
+    /**
+     * Creates the expiry service, expired entries are handed to
+     * their handlers on the given executor.
+     *
+     * @param executor The executor the expiry handlers should be invoked on.
+     */
+    public ExpiryService(@Nonnull Executor executor) {
+        this.executor = executor;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_DURATION, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Registers the handler that should be invoked when entries of the given kind expires,
+     * replacing any handler that was previously registered for the kind.
+     *
+     * @param kind    The kind of entries the handler handles.
+     * @param handler The handler that should be invoked for expired entries.
+     * @param <T>     The type of container the entries of the given kind holds.
+     */
+    public <T> void registerHandler(@Nonnull ExpiryKind kind, @Nonnull ExpiryHandler<T> handler) {
+        handlers.put(kind, handler);
+    }
+
+    /**
+     * Schedules the given container to expire at the given time, if the expire
+     * time is {@code NULL} the container is permanent and nothing is scheduled.
+     *
+     * @param kind      The kind of entry that should be scheduled.
+     * @param guildId   The ID of the guild, or main group, the entry is registered to.
+     * @param userId    The ID of the user the entry is registered for.
+     * @param expiresAt The time the entry should expire, or {@code NULL} for permanent entries.
+     * @param container The manager container the entry is registered for.
+     * @param <T>       The type of the container.
+     * @return The scheduled entry, or {@code NULL} if the container is permanent.
+     */
+    @Nullable
+    public <T> ExpiryEntry<T> schedule(@Nonnull ExpiryKind kind, long guildId, long userId, @Nullable Carbon expiresAt, @Nonnull T container) {
+        if (expiresAt == null) {
+            return null;
+        }
+        return schedule(kind, guildId, userId, expiresAt.getTime().getTimeInMillis(), container);
+    }
+
+    /**
+     * Schedules the given container to expire at the given time.
+     *
+     * @param kind      The kind of entry that should be scheduled.
+     * @param guildId   The ID of the guild, or main group, the entry is registered to.
+     * @param userId    The ID of the user the entry is registered for.
+     * @param expiresAt The time in milliseconds the entry should expire.
+     * @param container The manager container the entry is registered for.
+     * @param <T>       The type of the container.
+     * @return The scheduled entry.
+     */
+    public <T> ExpiryEntry<T> schedule(@Nonnull ExpiryKind kind, long guildId, long userId, long expiresAt, @Nonnull T container) {
+        ExpiryEntry<T> entry = new ExpiryEntry<>(this, kind, guildId, userId, expiresAt, container);
+
+        synchronized (wheel) {
+            entry.timeout = wheel.schedule(entry, expiresAt);
+            updatePending(kind, 1);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Advances the timing wheel to the current time, handing every
+     * entry that has expired to the handler for its kind.
+     */
+    public void advance() {
+        advance(System.currentTimeMillis());
+    }
+
+    /**
+     * Advances the timing wheel to the given time, handing every
+     * entry that has expired to the handler for its kind.
+     *
+     * @param now The time in milliseconds the wheel should be advanced to.
+     */
+    public void advance(long now) {
+        List<ExpiryEntry<?>> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(now);
+            for (ExpiryEntry<?> entry : expired) {
+                updatePending(entry.getKind(), -1);
+            }
+        }
+
+        for (ExpiryEntry<?> entry : expired) {
+            executor.execute(() -> dispatch(entry));
+        }
+    }
+
+    /**
+     * Gets the total amount of entries waiting to expire.
+     *
+     * @return The amount of pending entries.
+     */
+    public int getPendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Gets the amount of entries of the given kind waiting to expire.
+     *
+     * @param kind The kind of entries that should be counted.
+     * @return The amount of pending entries of the given kind.
+     */
+    public int getPendingCount(@Nonnull ExpiryKind kind) {
+        synchronized (wheel) {
+            return pending[kind.ordinal()];
+        }
+    }
+
+    boolean cancel(ExpiryEntry<?> entry) {
+        synchronized (wheel) {
+            entry.cancelled = true;
+            if (entry.timeout == null || !entry.timeout.cancel()) {
+                return false;
+            }
+
+            updatePending(entry.getKind(), -1);
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void dispatch(ExpiryEntry<T> entry) {
+        if (entry.cancelled) {
+            return;
+        }
+
+        ExpiryHandler<T> handler = (ExpiryHandler<T>) handlers.get(entry.getKind());
+        if (handler == null) {
+            log.warn("No expiry handler has been registered for {} entries, dropping {}", entry.getKind().getName(), entry);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Metrics.moderationExpiryLag.labels(entry.getKind().getName())
+            .observe(Math.max(0, now - entry.getExpiresAt()) / 1000D);
+
+        log.debug("Handling expired {}", entry);
+
+        boolean handled;
+        try {
+            handled = handler.handle(entry);
+        } catch (Exception e) {
+            log.error("Failed to handle expired {}: {}", entry, e.getMessage(), e);
+            return;
+        }
+
+        if (handled) {
+            return;
+        }
+
+        synchronized (wheel) {
+            // The entry may have been unregistered while the handler was running, in
+            // which case it's no longer tracked and shouldn't be retried.
+            if (!entry.cancelled) {
+                entry.timeout = wheel.schedule(entry, now + RETRY_DELAY);
+                updatePending(entry.getKind(), 1);
+            }
+        }
+    }
+
+    private void updatePending(ExpiryKind kind, int delta) {
+        pending[kind.ordinal()] += delta;
+        Metrics.moderationExpiryPending.labels(kind.getName()).set(pending[kind.ordinal()]);
+    }
+}
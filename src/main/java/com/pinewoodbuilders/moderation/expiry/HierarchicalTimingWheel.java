@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.expiry;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A hierarchical timing wheel, timeouts are placed into a bucket on the finest
+ * wheel that covers their deadline, and are cascaded down into the finer
+ * wheels as time moves forward, so scheduling, cancelling, and advancing
+ * the wheel costs the same no matter how many timeouts are pending.
+ * <p>
+ * The timing wheel is not thread safe, callers must synchronize access to it.
+ *
+ * @param <T> The type of the values that are scheduled on the wheel.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Set<Timeout<T>> overdue = new LinkedHashSet<>();
+
+    private int size = 0;
+
+    /**
+     * Creates a new timing wheel with the given tick duration and wheel size.
+     *
+     * @param tickMillis The amount of milliseconds each bucket on the finest wheel covers.
+     * @param wheelSize  The amount of buckets on each wheel.
+     * @param startTime  The time in milliseconds the wheel should start at.
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The tick duration must be greater than zero");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("The wheel size must be at least two");
+        }
+
+        this.wheelSize = wheelSize;
+
+        levels.add(new Level(tickMillis, startTime));
+    }
+
+    /**
+     * Schedules the given value to expire at the given deadline, values with
+     * a deadline that has already passed will be returned the next
+     * time the wheel is advanced, values are never returned
+     * before their deadline, but may be up to a tick late.
+     *
+     * @param value    The value that should be scheduled.
+     * @param deadline The time in milliseconds the value should expire at.
+     * @return The timeout for the scheduled value, which can be used to cancel it.
+     */
+    public Timeout<T> schedule(@Nonnull T value, long deadline) {
+        long tick = levels.get(0).tick;
+        long expiration = deadline > Long.MAX_VALUE - tick
+            ? deadline : deadline + Math.floorMod(-deadline, tick);
+
+        Timeout<T> timeout = new Timeout<>(this, value, deadline, expiration);
+        place(timeout);
+        size++;
+
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the given time, cascading timeouts on the coarser
+     * wheels down into the finer wheels, and returning every value
+     * whose deadline has passed, in no particular order.
+     *
+     * @param now The time in milliseconds the wheel should be advanced to.
+     * @return The values that expired, or an empty list if nothing expired.
+     */
+    public List<T> advance(long now) {
+        for (int i = 0; i < levels.size(); i++) {
+            Level level = levels.get(i);
+
+            long target = now - Math.floorMod(now, level.tick);
+            if (target <= level.currentTime) {
+                // The coarser wheels only move once the finer wheels have
+                // moved, so there's nothing left to advance.
+                break;
+            }
+
+            if ((target - level.currentTime) / level.tick >= wheelSize) {
+                level.currentTime = target;
+                for (Set<Timeout<T>> bucket : level.buckets) {
+                    cascade(bucket);
+                }
+                continue;
+            }
+
+            while (level.currentTime < target) {
+                level.currentTime += level.tick;
+                cascade(level.bucketFor(level.currentTime));
+            }
+        }
+
+        if (overdue.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<T> expired = new ArrayList<>(overdue.size());
+        for (Timeout<T> timeout : overdue) {
+            timeout.bucket = null;
+            expired.add(timeout.value);
+        }
+        size -= overdue.size();
+        overdue.clear();
+
+        return expired;
+    }
+
+    /**
+     * Gets the amount of timeouts that are currently pending on the wheel.
+     *
+     * @return The amount of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+
+        timeout.bucket.remove(timeout);
+        timeout.bucket = null;
+        size--;
+
+        return true;
+    }
+
+    private void cascade(Set<Timeout<T>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        List<Timeout<T>> timeouts = new ArrayList<>(bucket);
+        bucket.clear();
+
+        for (Timeout<T> timeout : timeouts) {
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        Level first = levels.get(0);
+        if (timeout.expiration < first.currentTime + first.tick) {
+            overdue.add(timeout);
+            timeout.bucket = overdue;
+            return;
+        }
+
+        for (int i = 0; ; i++) {
+            Level level = levels.get(i);
+            boolean isLast = i == levels.size() - 1;
+
+            boolean fits = timeout.expiration < level.currentTime + level.interval;
+            if (fits || (isLast && !level.canGrow())) {
+                // Deadlines too far away for even the coarsest wheel are parked in its
+                // last bucket, and are placed again once that bucket is reached.
+                Set<Timeout<T>> bucket = fits
+                    ? level.bucketFor(timeout.expiration)
+                    : level.bucketFor(level.currentTime + level.interval - level.tick);
+
+                bucket.add(timeout);
+                timeout.bucket = bucket;
+                return;
+            }
+
+            if (isLast) {
+                levels.add(new Level(level.interval, level.currentTime));
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T value;
+        private final long deadline;
+        private final long expiration;
+
+        private Set<Timeout<T>> bucket;
+
+        Timeout(HierarchicalTimingWheel<T> wheel, T value, long deadline, long expiration) {
+            this.wheel = wheel;
+            this.value = value;
+            this.deadline = deadline;
+            this.expiration = expiration;
+        }
+
+        /**
+         * Gets the value that was scheduled.
+         *
+         * @return The scheduled value.
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the time in milliseconds the value expires at.
+         *
+         * @return The deadline for the timeout.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Checks if the timeout is still waiting on the wheel.
+         *
+         * @return {@code True} if the timeout hasn't expired or been cancelled yet, {@code False} otherwise.
+         */
+        public boolean isPending() {
+            return bucket != null;
+        }
+
+        /**
+         * Removes the timeout from the wheel.
+         *
+         * @return {@code True} if the timeout was still pending, {@code False} otherwise.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    private final class Level {
+
+        private final long tick;
+        private final long interval;
+        private final List<Set<Timeout<T>>> buckets;
+
+        private long currentTime;
+
+        Level(long tick, long startTime) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.currentTime = startTime - Math.floorMod(startTime, tick);
+
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+        }
+
+        Set<Timeout<T>> bucketFor(long time) {
+            return buckets.get((int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize));
+        }
+
+        boolean canGrow() {
+            return interval <= (Long.MAX_VALUE - currentTime) / wheelSize / wheelSize;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.filter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * An Aho-Corasick automaton used to find any of a set of terms inside of a
+ * piece of text in a single pass, no matter how many terms are being
+ * searched for, the matcher is immutable and safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(new ArrayList <>());
+
+    private final char[][] transitionKeys;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    private final String[] matches;
+    private final int size;
+
+    private AhoCorasickMatcher(Collection <String> terms) {
+        List <TreeMap <Character, Integer>> trie = new ArrayList <>();
+        List <String> terminals = new ArrayList <>();
+        trie.add(new TreeMap <>());
+        terminals.add(null);
+
+        int size = 0;
+        for (String term : terms) {
+            if (term == null || term.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = trie.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap <>());
+                    terminals.add(null);
+                    trie.get(state).put(term.charAt(i), next);
+                }
+                state = next;
+            }
+
+            if (terminals.get(state) == null) {
+                terminals.set(state, term);
+                size++;
+            }
+        }
+
+        this.size = size;
+        this.transitionKeys = new char[trie.size()][];
+        this.transitionTargets = new int[trie.size()][];
+        this.failure = new int[trie.size()];
+        this.matches = new String[trie.size()];
+
+        for (int state = 0; state < trie.size(); state++) {
+            TreeMap <Character, Integer> transitions = trie.get(state);
+
+            char[] keys = new char[transitions.size()];
+            int[] targets = new int[transitions.size()];
+
+            int index = 0;
+            for (var entry : transitions.entrySet()) {
+                keys[index] = entry.getKey();
+                targets[index++] = entry.getValue();
+            }
+
+            transitionKeys[state] = keys;
+            transitionTargets[state] = targets;
+        }
+
+        // Builds the failure links breadth first, so the failure state for every node has
+        // already been resolved by the time its children are visited, every state
+        // also inherits the match from its failure state if it has none itself.
+        Queue <Integer> queue = new ArrayDeque <>();
+        for (int target : transitionTargets[0]) {
+            queue.add(target);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches[state] = terminals.get(state) != null
+                ? terminals.get(state)
+                : matches[failure[state]];
+
+            for (int i = 0; i < transitionKeys[state].length; i++) {
+                int child = transitionTargets[state][i];
+                failure[child] = next(failure[state], transitionKeys[state][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Compiles the given terms into a matcher, {@code NULL} and empty terms are ignored.
+     *
+     * @param terms The terms that should be matched.
+     * @return The compiled matcher.
+     */
+    public static AhoCorasickMatcher compile(Collection <String> terms) {
+        if (terms.isEmpty()) {
+            return EMPTY;
+        }
+        return new AhoCorasickMatcher(terms);
+    }
+
+    /**
+     * Finds the first term that occurs in the given text, terms are matched
+     * case-sensitively, so the text and the terms should be normalized
+     * the same way before they're given to the matcher.
+     *
+     * @param text The text that should be searched.
+     * @return The term that ends first in the text, or {@code NULL} if no terms occur in the text.
+     */
+    @Nullable
+    public String findFirst(CharSequence text) {
+        if (size == 0) {
+            return null;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (matches[state] != null) {
+                return matches[state];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the amount of unique terms the matcher was compiled with.
+     *
+     * @return The amount of unique terms in the matcher.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int next(int state, char character) {
+        while (true) {
+            int index = Arrays.binarySearch(transitionKeys[state], character);
+            if (index >= 0) {
+                return transitionTargets[state][index];
+            }
+
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.filter;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The compiled form of the exact and wildcard word filters for a guild, or
+ * for the global filter, the filter lists are lowercased once when the filter
+ * is compiled so messages only have to be lowercased when they're checked.
+ */
+public final class WordFilter {
+
+    private final Set <String> exact;
+    private final AhoCorasickMatcher wildcard;
+
+    private WordFilter(Set <String> exact, AhoCorasickMatcher wildcard) {
+        this.exact = exact;
+        this.wildcard = wildcard;
+    }
+
+    /**
+     * Compiles the given exact and wildcard filter lists into a word filter,
+     * any null or blank entries in the lists are ignored.
+     *
+     * @param exact    The words that should be matched when they appear as a whole word in a message.
+     * @param wildcard The words that should be matched anywhere in a message.
+     * @return The compiled word filter.
+     */
+    public static WordFilter compile(List <String> exact, List <String> wildcard) {
+        Set <String> exactWords = new HashSet <>();
+        for (String word : exact) {
+            if (word != null && !word.isBlank()) {
+                exactWords.add(word.toLowerCase());
+            }
+        }
+
+        Set <String> wildcardWords = new HashSet <>();
+        for (String word : wildcard) {
+            if (word != null && !word.isBlank()) {
+                wildcardWords.add(word.toLowerCase());
+            }
+        }
+
+        return new WordFilter(exactWords, AhoCorasickMatcher.compile(wildcardWords));
+    }
+
+    /**
+     * Finds the first word in the given message that is on the exact filter,
+     * the message is split into words by spaces like the filter commands
+     * do, and every word is compared without case sensitivity.
+     *
+     * @param message The message that should be checked.
+     * @return The filtered word that was found, or {@code NULL} if the message doesn't contain any.
+     */
+    @Nullable
+    public String findExactMatch(String message) {
+        if (exact.isEmpty()) {
+            return null;
+        }
+
+        String lowercase = message.toLowerCase();
+
+        int start = 0;
+        while (start <= lowercase.length()) {
+            int end = lowercase.indexOf(' ', start);
+            if (end < 0) {
+                end = lowercase.length();
+            }
+
+            String word = lowercase.substring(start, end);
+            if (exact.contains(word)) {
+                return word;
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first word from the wildcard filter that appears anywhere
+     * in the given message, compared without case sensitivity.
+     *
+     * @param message The message that should be checked.
+     * @return The filtered word that was found, or {@code NULL} if the message doesn't contain any.
+     */
+    @Nullable
+    public String findWildcardMatch(String message) {
+        if (wildcard.size() == 0) {
+            return null;
+        }
+        return wildcard.findFirst(message.toLowerCase());
+    }
+
+}
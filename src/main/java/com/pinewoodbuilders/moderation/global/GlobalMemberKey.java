@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global;
+
+/**
+ * The key used to index global moderation containers, which are registered
+ * to a user in a main group, from the guild the action was ran in.
+ *
+ * @param mainGroupId The ID of the main group the container is registered to.
+ * @param userId      The ID of the user the container is registered for.
+ * @param ranGuildId  The ID of the guild the action was ran in.
+ */
+public record GlobalMemberKey(long mainGroupId, long userId, long ranGuildId) {
+}
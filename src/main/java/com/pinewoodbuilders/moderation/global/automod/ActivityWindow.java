@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.automod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded ring buffer of the most recent message activity for a single
+ * author in a single channel, once the buffer is full the oldest activity
+ * is overwritten by the newest activity.
+ */
+public class ActivityWindow {
+
+    private final MessageActivity[] entries;
+    private int next = 0;
+    private int size = 0;
+
+    ActivityWindow(int capacity) {
+        this.entries = new MessageActivity[capacity];
+    }
+
+    /**
+     * Adds the given message activity to the window.
+     *
+     * @param activity The message activity that should be added.
+     */
+    public synchronized void add(MessageActivity activity) {
+        entries[next] = activity;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    /**
+     * Gets all the message activity in the window that was created after the given
+     * time, the activity is sorted from oldest to newest, and any activity that
+     * is older than the given time is dropped from the window.
+     *
+     * @param after The time in milliseconds since the epoch the activity must be newer than.
+     * @return The message activity created after the given time.
+     */
+    public synchronized List <MessageActivity> getActivityAfter(long after) {
+        List <MessageActivity> activity = new ArrayList <>(size);
+
+        int start = (next - size + entries.length) % entries.length;
+        for (int i = 0; i < size; i++) {
+            MessageActivity entry = entries[(start + i) % entries.length];
+            if (entry.timestamp() > after) {
+                activity.add(entry);
+            }
+        }
+
+        size = activity.size();
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = i < size ? activity.get(i) : null;
+        }
+        next = size % entries.length;
+
+        return activity;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.automod;
+
+import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.vdurmont.emoji.EmojiParser;
+
+/**
+ * The compiled automod rules for a guild, the character and emoji spam
+ * checks share a single pass over the message content, and replicate
+ * the patterns the checks used to compile for every message.
+ */
+public final class AutomodRules {
+
+    private static final int OUTSIDE_SHORTCODE = 0;
+    private static final int INSIDE_SHORTCODE = 1;
+    private static final int SHORTCODE_GROUP = 2;
+
+    private final int massMention;
+    private final int characterSpam;
+    private final int emojiSpam;
+    private final int messageSpam;
+    private final int imageSpam;
+    private final int linkSpam;
+
+    private AutomodRules(GuildSettingsTransformer settings) {
+        this.massMention = settings.getMassMention();
+        this.characterSpam = settings.getCharacterSpam();
+        this.emojiSpam = settings.getEmojiSpam();
+        this.messageSpam = settings.getMessageSpam();
+        this.imageSpam = settings.getImageSpam();
+        this.linkSpam = settings.getLinkSpam();
+    }
+
+    /**
+     * Compiles the automod thresholds from the given guild settings into automod rules.
+     *
+     * @param settings The guild settings the rules should be compiled from.
+     * @return The compiled automod rules.
+     */
+    public static AutomodRules compile(GuildSettingsTransformer settings) {
+        return new AutomodRules(settings);
+    }
+
+    public int getMassMention() {
+        return massMention;
+    }
+
+    public int getMessageSpam() {
+        return messageSpam;
+    }
+
+    public int getImageSpam() {
+        return imageSpam;
+    }
+
+    public int getLinkSpam() {
+        return linkSpam;
+    }
+
+    /**
+     * Checks if any of the message, image, or link spam rules are enabled.
+     *
+     * @return {@code True} if any of the spam rules are enabled, {@code False} otherwise.
+     */
+    public boolean hasSpamRules() {
+        return messageSpam > 0 || imageSpam > 0 || linkSpam > 0;
+    }
+
+    /**
+     * Checks the given message content against the character and emoji spam rules.
+     * <p>
+     * Character spam is a run of the same character, compared with ASCII case
+     * folding and ignoring line terminators, the emoji count is the amount of
+     * {@code :shortcode:} emojis plus the amount of unicode emojis, unicode
+     * emojis are only looked up when the content has non-ASCII characters,
+     * and the shortcode emojis don't already exceed the threshold.
+     *
+     * @param content The raw message content that should be checked.
+     * @return The violation the content triggered, character spam takes priority over emoji spam.
+     */
+    public ContentViolation checkContent(String content) {
+        if (characterSpam <= 0 && emojiSpam <= 0) {
+            return ContentViolation.NONE;
+        }
+
+        int run = 0;
+        int previous = -1;
+        int emojis = 0;
+        int shortcodeState = OUTSIDE_SHORTCODE;
+        int shortcodeGroups = 0;
+        boolean hasNonAscii = false;
+
+        int length = content.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = content.codePointAt(i);
+            if (codePoint > 0x7F) {
+                hasNonAscii = true;
+            }
+
+            if (characterSpam > 0) {
+                if (isLineTerminator(codePoint)) {
+                    run = 0;
+                    previous = -1;
+                } else {
+                    int folded = codePoint >= 'A' && codePoint <= 'Z' ? codePoint + 32 : codePoint;
+                    run = folded == previous ? run + 1 : 1;
+                    previous = folded;
+
+                    if (run >= characterSpam) {
+                        return ContentViolation.CHARACTER_SPAM;
+                    }
+                }
+            }
+
+            // Mirrors the greedy (:[^:\s]*(?:::[^:\s]*)*:) pattern, a "::" inside of a shortcode
+            // starts a new group, and if the shortcode is cut off by whitespace after at
+            // least one group the pattern backtracks to end at the last group instead.
+            if (emojiSpam > 0) {
+                switch (shortcodeState) {
+                    case OUTSIDE_SHORTCODE:
+                        if (codePoint == ':') {
+                            shortcodeState = INSIDE_SHORTCODE;
+                            shortcodeGroups = 0;
+                        }
+                        break;
+
+                    case INSIDE_SHORTCODE:
+                        if (codePoint == ':') {
+                            if (i + 1 < length && content.charAt(i + 1) == ':') {
+                                shortcodeState = SHORTCODE_GROUP;
+                                shortcodeGroups++;
+                            } else {
+                                shortcodeState = OUTSIDE_SHORTCODE;
+                                emojis++;
+                            }
+                        } else if (isWhitespace(codePoint)) {
+                            shortcodeState = OUTSIDE_SHORTCODE;
+                            if (shortcodeGroups > 0) {
+                                emojis++;
+                            }
+                        }
+                        break;
+
+                    case SHORTCODE_GROUP:
+                        shortcodeState = INSIDE_SHORTCODE;
+                        break;
+                }
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        if (emojiSpam <= 0) {
+            return ContentViolation.NONE;
+        }
+
+        if (shortcodeState == INSIDE_SHORTCODE && shortcodeGroups > 0) {
+            emojis++;
+        }
+
+        if (emojis < emojiSpam && hasNonAscii) {
+            emojis += EmojiParser.extractEmojis(content).size();
+        }
+
+        return emojis >= emojiSpam ? ContentViolation.EMOJI_SPAM : ContentViolation.NONE;
+    }
+
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085'
+            || codePoint == '\u2028' || codePoint == '\u2029';
+    }
+
+    private static boolean isWhitespace(int codePoint) {
+        return codePoint == ' ' || codePoint == '\t' || codePoint == '\n'
+            || codePoint == '\u000B' || codePoint == '\f' || codePoint == '\r';
+    }
+
+    public enum ContentViolation {
+        NONE, CHARACTER_SPAM, EMOJI_SPAM
+    }
+}
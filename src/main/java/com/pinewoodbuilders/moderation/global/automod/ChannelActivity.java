@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.automod;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.pinewoodbuilders.utilities.CacheUtil;
+import net.dv8tion.jda.api.entities.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ChannelActivity {
+
+    /**
+     * This represents the amount of time in milliseconds that message
+     * activity is kept for, any message older than this is no longer
+     * considered by the automod spam checks.
+     */
+    public static final long activityTime = 10 * 1000;
+
+    /**
+     * This represents the maximum amount of messages that are kept
+     * per author in each channel, the automod spam checks used to
+     * look at the last ten messages sent in the channel.
+     */
+    static final int activityLimit = 10;
+
+    /**
+     * The cache holding the recent message activity windows, mapped by
+     * the channel and author that the messages were sent by.
+     */
+    public static final LoadingCache <ActivityKey, ActivityWindow> cache = createCache(Ticker.systemTicker());
+
+    /**
+     * Creates the cache for the message activity windows, the windows are updated in
+     * place when messages are recorded, so they're only expired once the author
+     * has been quiet in the channel for the {@link #activityTime activity timeframe}.
+     *
+     * @param ticker The ticker the cache should use to measure the time since a window was last used.
+     * @return The cache for the message activity windows.
+     */
+    public static LoadingCache <ActivityKey, ActivityWindow> createCache(Ticker ticker) {
+        return CacheBuilder.newBuilder()
+            .recordStats()
+            .ticker(ticker)
+            .expireAfterAccess(activityTime, TimeUnit.MILLISECONDS)
+            .build(CacheLoader.from(key -> new ActivityWindow(activityLimit)));
+    }
+
+    /**
+     * Records the given message in the activity window for the channel and author of the message.
+     *
+     * @param message The message that should be recorded.
+     */
+    public static void record(Message message) {
+        ActivityWindow window = CacheUtil.getUncheckedUnwrapped(cache, ActivityKey.of(message));
+        if (window != null) {
+            window.add(MessageActivity.of(message));
+        }
+    }
+
+    /**
+     * Gets the recent message activity for the author of the given message in the same
+     * channel, sent within the {@link #activityTime activity timeframe} before the
+     * given message, the given message itself is never included.
+     *
+     * @param message The message the recent activity should be fetched for.
+     * @return The recent message activity, sorted from oldest to newest.
+     */
+    public static List <MessageActivity> getRecentActivity(Message message) {
+        ActivityWindow window = cache.getIfPresent(ActivityKey.of(message));
+        if (window == null) {
+            return Collections.emptyList();
+        }
+
+        long created = message.getTimeCreated().toInstant().toEpochMilli();
+
+        List <MessageActivity> activity = new ArrayList <>();
+        for (MessageActivity entry : window.getActivityAfter(created - activityTime)) {
+            if (entry.messageId() != message.getIdLong() && entry.timestamp() <= created) {
+                activity.add(entry);
+            }
+        }
+        return activity;
+    }
+
+    public record ActivityKey(long channelId, long authorId) {
+
+        static ActivityKey of(Message message) {
+            return new ActivityKey(message.getChannel().getIdLong(), message.getAuthor().getIdLong());
+        }
+    }
+}
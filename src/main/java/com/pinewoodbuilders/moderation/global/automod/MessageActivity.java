@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.automod;
+
+import net.dv8tion.jda.api.entities.Message;
+
+/**
+ * The metadata the automod spam checks need about a recently sent message,
+ * kept in memory so the checks don't have to fetch the channel history.
+ *
+ * @param messageId      The ID of the message.
+ * @param authorId       The ID of the author of the message.
+ * @param timestamp      The time the message was created at, in milliseconds since the epoch.
+ * @param hasAttachments {@code True} if the message has any attachments.
+ * @param hasLinks       {@code True} if the message contains any links.
+ */
+public record MessageActivity(long messageId, long authorId, long timestamp, boolean hasAttachments, boolean hasLinks) {
+
+    /**
+     * Creates the message activity for the given message.
+     *
+     * @param message The message the activity should be created for.
+     * @return The message activity for the given message.
+     */
+    public static MessageActivity of(Message message) {
+        String content = message.getContentRaw();
+
+        return new MessageActivity(
+            message.getIdLong(),
+            message.getAuthor().getIdLong(),
+            message.getTimeCreated().toInstant().toEpochMilli(),
+            !message.getAttachments().isEmpty(),
+            content.contains("http://") || content.contains("https://")
+        );
+    }
+}
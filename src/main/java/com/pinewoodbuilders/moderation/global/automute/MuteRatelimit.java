@@ -31,12 +31,9 @@ import com.pinewoodbuilders.middleware.ThrottleMiddleware;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
+import com.pinewoodbuilders.ratelimit.PunishmentRatelimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +43,6 @@ import java.awt.*;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 public class MuteRatelimit {
 
@@ -66,27 +62,11 @@ public class MuteRatelimit {
      */
     static final long hitTime = 480 * 1000;
 
-    /**
-     * The cache loader for holding all the ratelimiter rates.
-     */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(userId -> userId != null ? new Rate(userId) : null));
-
     /**
      * The slf4j logger instance.
      */
     private static final Logger log = LoggerFactory.getLogger(MuteRatelimit.class);
 
-    /**
-     * The punishment level holder, this m
-     * 9ap holds all the users and their current
-     * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
-     */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
-
     /**
      * The punishment levels, each index of the levels list should be an
      * increasingly harsher punishment for repeating offenders.
@@ -108,6 +88,11 @@ public class MuteRatelimit {
         () -> Carbon.now().addYear()
     );
 
+    /**
+     * The ratelimiter holding all the rates and punishment levels.
+     */
+    public static final PunishmentRatelimiter ratelimiter = new PunishmentRatelimiter(hitLimit, hitTime, levels);
+
 
     /**
      * Sends the blacklist message to the given use in a direct
@@ -178,35 +163,11 @@ public class MuteRatelimit {
      */
     @Nullable
     public static Carbon hit(ThrottleMiddleware.ThrottleType type, long id, Message e) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        Carbon punishment = ratelimiter.hit(id);
+        if (punishment == null) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
-            return null;
-        }
-
-        Carbon punishment = getPunishment(id);
-
         log.info("{}:{} has been detected to be added to the mute list for excessive filter triggers, it shall expire on {}.",
             type.getName(), id, punishment.toDayDateTimeString()
         );
@@ -268,33 +229,4 @@ public class MuteRatelimit {
         }
         MuteRatelimit.sendMuteMessage(context.getAuthor(), punishment);
     }
-
-    /**
-     * Gets the punishment for the given user ID, as well as
-     * increasing their punishment level in the process.
-     *
-     * @param userId The ID of the user that the punishment should be fetched for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private static Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
-    }
-
-    /**
-     * Gets the {@link Carbon} punishment object, representing
-     * the time that the punishment should expire.
-     *
-     * @param level The level to get the punishment for.
-     * @return The Carbon instance with the punishment expire time.
-     */
-    private static Carbon getPunishment(int level) {
-        if (level < 0) {
-            return levels.get(0).generateTime();
-        }
-        return levels.get(level >= levels.size() ? levels.size() - 1 : level).generateTime();
-    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.filter;
+
+import com.pinewoodbuilders.contracts.moderation.LinkLevel;
+import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * An immutable two level index from main group ID to domain to link level, the main
+ * group IDs are kept in a sorted primitive array so lookups don't have to box
+ * the ID, and the domain maps are immutable maps keyed by the domain.
+ */
+public final class LinkFilterIndex {
+
+    /**
+     * The index without any links.
+     */
+    public static final LinkFilterIndex EMPTY = new LinkFilterIndex(Collections.emptyMap());
+
+    private final long[] mainGroupIds;
+    private final Map <String, LinkLevel>[] domains;
+    private final int size;
+
+    @SuppressWarnings("unchecked")
+    private LinkFilterIndex(Map <Long, Map <String, LinkContainer>> links) {
+        mainGroupIds = new long[links.size()];
+        domains = new Map[links.size()];
+
+        List <Long> ids = new ArrayList <>(links.keySet());
+        Collections.sort(ids);
+
+        int total = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Map <String, LinkLevel> levels = new HashMap <>();
+            for (Map.Entry <String, LinkContainer> entry : links.get(ids.get(i)).entrySet()) {
+                levels.put(entry.getKey(), LinkLevel.getLinkLevelFromId(entry.getValue().getAction()));
+            }
+
+            mainGroupIds[i] = ids.get(i);
+            domains[i] = Map.copyOf(levels);
+            total += levels.size();
+        }
+        size = total;
+    }
+
+    /**
+     * Compiles the given links into a link filter index.
+     *
+     * @param links The links mapped by the main group ID, and then by the lowercase domain of the link.
+     * @return The compiled link filter index.
+     */
+    public static LinkFilterIndex compile(Map <Long, Map <String, LinkContainer>> links) {
+        return new LinkFilterIndex(links);
+    }
+
+    /**
+     * Gets the total amount of links in the index.
+     *
+     * @return The total amount of links in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the link level registered for exactly the given domain.
+     *
+     * @param mainGroupId The main group ID the domain should be looked up for.
+     * @param domain      The lowercase domain that should be looked up.
+     * @return The link level for the domain, or {@code NULL} if the domain has no rule.
+     */
+    @Nullable
+    public LinkLevel find(long mainGroupId, String domain) {
+        Map <String, LinkLevel> levels = get(mainGroupId);
+        return levels == null ? null : levels.get(domain);
+    }
+
+    /**
+     * Gets the link level for the given host, the host itself is checked first, followed
+     * by every parent domain of the host, so a rule for {@code bad.com} also applies
+     * to {@code sub.bad.com}, while the most specific rule always wins.
+     * <p>
+     * Links that doesn't match any rule use the {@link LinkLevel#DELETE delete} level.
+     *
+     * @param mainGroupId The main group ID the link was sent in.
+     * @param host        The lowercase host of the link.
+     * @return The link level for the given host.
+     */
+    public LinkLevel getLinkLevel(long mainGroupId, String host) {
+        Map <String, LinkLevel> levels = get(mainGroupId);
+        if (levels == null) {
+            return LinkLevel.DELETE;
+        }
+
+        LinkLevel level = levels.get(host);
+        if (level != null) {
+            return level;
+        }
+
+        for (int i = host.indexOf('.'); i >= 0 && i < host.length() - 1; i = host.indexOf('.', i + 1)) {
+            level = levels.get(host.substring(i + 1));
+            if (level != null) {
+                return level;
+            }
+        }
+        return LinkLevel.DELETE;
+    }
+
+    @Nullable
+    private Map <String, LinkLevel> get(long mainGroupId) {
+        int position = Arrays.binarySearch(mainGroupIds, mainGroupId);
+        return position < 0 ? null : domains[position];
+    }
+}
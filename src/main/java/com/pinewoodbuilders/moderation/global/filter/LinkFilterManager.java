@@ -2,6 +2,8 @@ package com.pinewoodbuilders.moderation.global.filter;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.moderation.LinkLevel;
+import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
@@ -9,14 +11,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.*;
 
 public class LinkFilterManager {
 
     private final Logger log = LoggerFactory.getLogger(LinkFilterManager.class);
-    private final HashMap <Long, HashSet <LinkContainer>> links = new HashMap<>();
+
+    /**
+     * The links that have been registered, mapped by the main group ID, and then
+     * by the lowercase domain of the link, this map is only ever changed while
+     * holding its lock, and a new lookup index is published after every change.
+     */
+    private final Map <Long, Map <String, LinkContainer>> links = new HashMap <>();
+
+    /**
+     * The copy-on-write lookup index built from the registered links,
+     * readers always see a complete index without having to lock.
+     */
+    private volatile LinkFilterIndex index = LinkFilterIndex.EMPTY;
 
     private final Xeus avaire;
 
@@ -31,13 +43,8 @@ public class LinkFilterManager {
 
         syncWithDatabase();
     }
-    
-    public void registerLink(Long mainGroupId, String topLevelDomain, int action) throws SQLException {
-        if (!links.containsKey(mainGroupId)) {
-            links.put(mainGroupId, new HashSet<>());
-        }
-
 
+    public void registerLink(Long mainGroupId, String topLevelDomain, int action) throws SQLException {
         if (hasLink(mainGroupId, topLevelDomain)) {
             removeLink(mainGroupId, topLevelDomain);
         }
@@ -48,48 +55,34 @@ public class LinkFilterManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        links.get(mainGroupId).add(new LinkContainer(mainGroupId, topLevelDomain, action));
-    }
+        synchronized (links) {
+            links.computeIfAbsent(mainGroupId, id -> new HashMap <>())
+                .put(topLevelDomain.toLowerCase(), new LinkContainer(mainGroupId, topLevelDomain, action));
 
-    public void removeLink(long mainGroupId, String topLevelDomain) throws SQLException {
-        if (!links.containsKey(mainGroupId)) {
-            return;
+            publish();
         }
+    }
 
-        final boolean[] removedEntities = { false };
+    public void removeLink(long mainGroupId, String topLevelDomain) throws SQLException {
+        LinkContainer removed;
         synchronized (links) {
-            links.get(mainGroupId).removeIf(next -> {
+            Map <String, LinkContainer> domains = links.get(mainGroupId);
+            removed = domains == null ? null : domains.remove(topLevelDomain.toLowerCase());
 
-                if (!next.isSame(mainGroupId, topLevelDomain)) {
-                    return false;
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
+            if (removed != null) {
+                publish();
+            }
         }
 
-        if (removedEntities[0]) {
-            avaire.getDatabase().newQueryBuilder(Constants.LINK_FILTER_TABLE_NAME).where("main_group_id", mainGroupId).andWhere("hostname", topLevelDomain).delete();
+        if (removed != null) {
+            avaire.getDatabase().newQueryBuilder(Constants.LINK_FILTER_TABLE_NAME).where("main_group_id", mainGroupId).andWhere("hostname", removed.getTopLevelDomain()).delete();
         }
     }
 
-
-
     public boolean hasLink(long mainGroupId, String topLevelDomain) {
-        if (!links.containsKey(mainGroupId)) {
-            return false;
-        }
-
-        for (LinkContainer link : links.get(mainGroupId)) {
-            if (link.getTopLevelDomain().equals(topLevelDomain)) {
-                return true;
-            }
-        }
-        return false;
+        return index.find(mainGroupId, topLevelDomain.toLowerCase()) != null;
     }
 
-
     /**
      * Gets the total amount of links currently stored in memory, this includes
      * permanent and temporary links.
@@ -97,37 +90,39 @@ public class LinkFilterManager {
      * @return The total amount of links stored.
      */
     public int getTotalAmountOfLinks() {
-        int totalLinks = 0;
-        for (Map.Entry <Long, HashSet <LinkContainer>> entry : links.entrySet()) {
-            totalLinks += entry.getValue().size();
-        }
-        return totalLinks;
+        return index.size();
     }
 
-
-
     /**
-     * Gets the map of links currently stored, where the key is the guild ID for the
-     * links, and the value is a set of mute containers, which holds the information
-     * about each individual mute.
+     * Gets a snapshot of the links registered for the given main group.
      *
-     * @return The complete map of links currently stored.
+     * @param mainGroupId The main group ID the links should be fetched for.
+     * @return The links registered for the main group, or an empty set if the group has no links.
      */
-    public HashMap<Long, HashSet<LinkContainer>> getLinks() {
-        return links;
+    public Set <LinkContainer> getLinks(long mainGroupId) {
+        synchronized (links) {
+            Map <String, LinkContainer> domains = links.get(mainGroupId);
+            if (domains == null) {
+                return Collections.emptySet();
+            }
+            return new HashSet <>(domains.values());
+        }
     }
 
-    public LinkContainer getLinkContainer(long mainGroupId, String topLevelDomain) {
-        if (!links.containsKey(mainGroupId)) {
-            return new LinkContainer(mainGroupId, topLevelDomain, 0);
-        }
+    /**
+     * Gets the link level for the given host from the current lookup index.
+     *
+     * @param mainGroupId The main group ID the link was sent in.
+     * @param host        The lowercase host of the link.
+     * @return The link level for the given host.
+     * @see LinkFilterIndex#getLinkLevel(long, String)
+     */
+    public LinkLevel getLinkLevel(long mainGroupId, String host) {
+        return index.getLinkLevel(mainGroupId, host);
+    }
 
-        for (LinkContainer link : links.get(mainGroupId)) {
-            if (link.getTopLevelDomain().equals(topLevelDomain)) {
-                return link;
-            }
-        }
-        return new LinkContainer(mainGroupId, topLevelDomain, 0);
+    private void publish() {
+        index = LinkFilterIndex.compile(links);
     }
 
     private void syncWithDatabase() {
@@ -139,14 +134,18 @@ public class LinkFilterManager {
 
         try {
             int size = getTotalAmountOfLinks();
-            for (DataRow row : avaire.getDatabase().query(query)) {
-                long mgi = row.getLong("main_group_id");
+            Collection rows = avaire.getDatabase().query(query);
 
-                if (!links.containsKey(mgi)) {
-                    links.put(mgi, new HashSet<>());
+            synchronized (links) {
+                for (DataRow row : rows) {
+                    long mgi = row.getLong("main_group_id");
+                    String hostname = row.getString("hostname");
+
+                    links.computeIfAbsent(mgi, id -> new HashMap <>())
+                        .put(hostname.toLowerCase(), new LinkContainer(mgi, hostname, row.getInt("action")));
                 }
 
-                links.get(mgi).add(new LinkContainer(mgi, row.getString("hostname"), row.getInt("action")));
+                publish();
             }
 
             log.info("Syncing complete! {} links entries found.",
@@ -155,5 +154,4 @@ public class LinkFilterManager {
             Xeus.getLogger().error("ERROR: ", e);
         }
     }
-
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.filter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class RedirectResolver {
+
+    /**
+     * The maximum amount of redirects that are followed for a single URL,
+     * once the limit is reached the chain resolved so far is returned.
+     */
+    public static final int defaultMaxHops = 10;
+
+    /**
+     * The connect and read timeout used for every redirect hop.
+     */
+    public static final Duration defaultHopTimeout = Duration.ofSeconds(3);
+
+    /**
+     * The amount of time resolved redirect chains are cached for.
+     */
+    public static final Duration defaultCacheTime = Duration.ofMinutes(30);
+
+    private final ThreadPoolExecutor executor;
+    private final Cache <String, CompletableFuture <List <String>>> cache;
+    private final int maxHops;
+    private final int hopTimeout;
+
+    /**
+     * Creates the redirect resolver with the default hop limit, hop timeout, and cache settings.
+     */
+    public RedirectResolver() {
+        this(4, 256, defaultMaxHops, defaultHopTimeout, 2048, defaultCacheTime);
+    }
+
+    /**
+     * Creates a redirect resolver.
+     *
+     * @param threads    The amount of threads used to resolve redirects.
+     * @param queueSize  The amount of resolves that can be queued before new resolves are rejected.
+     * @param maxHops    The maximum amount of redirects that are followed for a single URL.
+     * @param hopTimeout The connect and read timeout for every redirect hop.
+     * @param cacheSize  The maximum amount of resolved redirect chains that are cached.
+     * @param cacheTime  The amount of time resolved redirect chains are cached for.
+     */
+    public RedirectResolver(int threads, int queueSize, int maxHops, Duration hopTimeout, long cacheSize, Duration cacheTime) {
+        this.maxHops = maxHops;
+        this.hopTimeout = (int) hopTimeout.toMillis();
+
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue <>(queueSize),
+            new ThreadFactoryBuilder()
+                .setNameFormat("avaire-redirect-resolver-%d")
+                .setDaemon(true)
+                .build()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(cacheTime.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Resolves the redirect chain for the given URL, the chain starts with the given URL and
+     * contains every URL the request was redirected through, so a chain with a single
+     * entry means the URL doesn't redirect anywhere. Chains are cached by the URL
+     * they started from, and concurrent resolves for the same URL share the
+     * same request, failed resolves are never cached.
+     *
+     * @param url The URL that should be resolved.
+     * @return A future completed with the redirect chain, or completed exceptionally
+     *         if any of the hops failed, or if the resolver is too busy.
+     */
+    public CompletableFuture <List <String>> resolve(String url) {
+        try {
+            CompletableFuture <List <String>> future = cache.get(url, () -> submit(url));
+            if (future.isCompletedExceptionally()) {
+                cache.asMap().remove(url, future);
+            }
+            return future;
+        } catch (ExecutionException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the cache holding the resolved redirect chains.
+     *
+     * @return The redirect chain cache.
+     */
+    public Cache <String, CompletableFuture <List <String>>> getCache() {
+        return cache;
+    }
+
+    private CompletableFuture <List <String>> submit(String url) {
+        CompletableFuture <List <String>> future = new CompletableFuture <>();
+        future.whenComplete((redirects, throwable) -> {
+            if (throwable != null) {
+                cache.asMap().remove(url, future);
+            }
+        });
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(fetchRedirects(url));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private List <String> fetchRedirects(String url) throws IOException {
+        List <String> redirects = new ArrayList <>();
+        URL current = new URL(url);
+        redirects.add(url);
+
+        while (redirects.size() <= maxHops) {
+            HttpURLConnection connection = (HttpURLConnection) current.openConnection();
+            try {
+                connection.setRequestMethod("GET");
+                connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+                connection.setInstanceFollowRedirects(false);
+                connection.setConnectTimeout(hopTimeout);
+                connection.setReadTimeout(hopTimeout);
+                // Reading the response code forces the response to be read, so a timeout or
+                // connection error fails the resolve instead of looking like no redirect.
+                connection.getResponseCode();
+
+                String location = connection.getHeaderField("Location");
+                if (location == null) {
+                    break;
+                }
+
+                current = new URL(current, location);
+                redirects.add(current.toString());
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        return Collections.unmodifiableList(redirects);
+    }
+
+    /**
+     * Unwraps the cause of a failed resolve, so callers can react to the
+     * actual exception rather than the completion wrapper around it.
+     *
+     * @param throwable The throwable the resolve failed with.
+     * @return The underlying cause of the failure.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -21,11 +21,11 @@
 
 package com.pinewoodbuilders.moderation.global.globalmute;
 
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class GlobalMuteContainer {
@@ -33,7 +33,7 @@ public class GlobalMuteContainer {
     private final long ranGuildId;
     private final long userId;
     private final Carbon expiresAt;
-    private ScheduledFuture<?> schedule;
+    private ExpiryEntry<?> schedule;
     private final long mainGroupId;
 
 
@@ -83,36 +83,35 @@ public class GlobalMuteContainer {
     }
 
     /**
-     * Gets the future scheduled task for the mute, this task is used
-     * to automatically unmute a user if there is 5 minutes or less
-     * left of their temporary mute.
+     * Gets the expiry entry for the mute, the entry is used to
+     * automatically unmute the user once their temporary mute expires.
      * <p>
-     * If this value is {@code NULL} the automatic mute task haven't
-     * yet been started for the mute container.
+     * If this value is {@code NULL} the mute is permanent, or the
+     * container was never scheduled with the expiry service.
      *
-     * @return The future scheduled task used to auto unmute the container, or {@code NULL}.
+     * @return The expiry entry used to auto unmute the container, or {@code NULL}.
      */
     @Nullable
-    public ScheduledFuture<?> getSchedule() {
+    public ExpiryEntry<?> getSchedule() {
         return schedule;
     }
 
     /**
-     * Sets the future scheduled task that should automatically unmute the container.
+     * Sets the expiry entry that should automatically unmute the container.
      *
-     * @param schedule The future task used to unmute the container.
+     * @param schedule The expiry entry used to unmute the container.
      */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
+    public void setSchedule(@Nonnull ExpiryEntry<?> schedule) {
         this.schedule = schedule;
     }
 
     /**
-     * Cancels the future scheduled task used to automatically
-     * unmute the container if one has been started.
+     * Cancels the expiry entry used to automatically
+     * unmute the container if one has been scheduled.
      */
     public void cancelSchedule() {
         if (schedule != null) {
-            schedule.cancel(false);
+            schedule.cancel();
             schedule = null;
         }
     }
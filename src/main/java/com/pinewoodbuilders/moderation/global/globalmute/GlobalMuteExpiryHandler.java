@@ -19,26 +19,24 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.global.globalmute;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.moderation.global.globalmute.GlobalMuteContainer;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryHandler;
 import com.pinewoodbuilders.modlog.global.moderation.GlobalModlog;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -47,59 +45,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainGlobalMuteQueueTask implements Task {
+public class GlobalMuteExpiryHandler implements ExpiryHandler<GlobalMuteContainer> {
 
-    private static final Logger log = LoggerFactory.getLogger(DrainGlobalMuteQueueTask.class);
+    private static final Logger log = LoggerFactory.getLogger(GlobalMuteExpiryHandler.class);
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getGlobalMuteManager() == null || avaire.getGlobalMuteManager().getGlobalMutes().isEmpty()) {
-            return;
-        }
+    private final Xeus avaire;
 
-        for (Map.Entry<Long, HashSet<GlobalMuteContainer>> entry : avaire.getGlobalMuteManager().getGlobalMutes().entrySet()) {
-            for (GlobalMuteContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
-
-                Carbon expires = container.getExpiresAt();
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
-                        container.getRanGuildId(), container.getUserId(), differenceInSeconds
-                    );
+    /**
+     * Creates the global mute expiry handler, the handler will globally unmute the user
+     * once their temporary global mute has expired.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public GlobalMuteExpiryHandler(Xeus avaire) {
+        this.avaire = avaire;
+    }
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
+    @Override
+    public boolean handle(ExpiryEntry<GlobalMuteContainer> entry) {
+        if (!avaire.areWeReadyYet()) {
+            return false;
         }
-    }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+        handleAutomaticUnmute(avaire, entry.getContainer());
+        return true;
     }
 
     private void handleAutomaticUnmute(Xeus avaire, GlobalMuteContainer container) {
         try {
             List<Guild> guilds = getGuildsByMainGroupId(avaire, container.getMainGroupId());
             if (guilds == null) {
-                container.cancelSchedule();
                 return;
             }
 
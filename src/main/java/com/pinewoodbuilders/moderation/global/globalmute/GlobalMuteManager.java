@@ -5,6 +5,9 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.global.GlobalMemberKey;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -12,32 +15,30 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GlobalMuteManager {
     private final Xeus avaire;
 
     /**
      * Creates the mute manager instance with the given Xeus application instance,
-     * the mute manager will sync the mutes entities from the database into memory.
+     * the mute manager will sync the mutes entities from the database into memory,
+     * and schedule the temporary global mutes with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public GlobalMuteManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.GLOBAL_MUTE, new GlobalMuteExpiryHandler(avaire));
+
         syncWithGlobalDatabase();
     }
 
-    private final HashMap <Long, HashSet <GlobalMuteContainer>> globalMutes = new HashMap<>();
+    private final Map<GlobalMemberKey, GlobalMuteContainer> globalMutes = new ConcurrentHashMap<>();
 
     public void registerGlobalMute(long guildId, String caseId, long mainGroupId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!globalMutes.containsKey(mainGroupId)) {
-            globalMutes.put(mainGroupId, new HashSet<>());
-        }
-
         if (isGlobalMuted(mainGroupId, userId, guildId)) {
             unregisterGlobalMute(mainGroupId, userId, guildId);
         }
@@ -49,7 +50,7 @@ public class GlobalMuteManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        globalMutes.get(mainGroupId).add(new GlobalMuteContainer(guildId, userId, expiresAt, mainGroupId));
+        register(new GlobalMuteContainer(guildId, userId, expiresAt, mainGroupId));
     }
 
     /**
@@ -61,43 +62,17 @@ public class GlobalMuteManager {
      *                      database.
      */
     public void unregisterGlobalMute(long mainGroupId, long userId, long guildId) throws SQLException {
-        if (!globalMutes.containsKey(mainGroupId)) {
+        GlobalMuteContainer container = globalMutes.remove(new GlobalMemberKey(mainGroupId, userId, guildId));
+        if (container == null) {
             return;
         }
 
-        final boolean[] removedEntities = { false };
-        synchronized (globalMutes) {
-            globalMutes.get(mainGroupId).removeIf(next -> {
-                if (!next.isSame(guildId, userId, mainGroupId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
-            cleanupGlobalMutes(mainGroupId, userId, guildId);
-        }
+        container.cancelSchedule();
+        cleanupGlobalMutes(mainGroupId, userId, guildId);
     }
 
     public boolean isGlobalMuted(long mainGroupId, long userId, long guildId) {
-        if (!globalMutes.containsKey(mainGroupId)) {
-            return false;
-        }
-
-        for (GlobalMuteContainer container : globalMutes.get(mainGroupId)) {
-            if (container.isSame(guildId, userId, mainGroupId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return globalMutes.containsKey(new GlobalMemberKey(mainGroupId, userId, guildId));
     }
 
     /**
@@ -107,17 +82,29 @@ public class GlobalMuteManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfGlobalMutes() {
-        int totalMutes = 0;
-        for (Map.Entry <Long, HashSet <GlobalMuteContainer>> entry : globalMutes.entrySet()) {
-            totalMutes += entry.getValue().size();
-        }
-        return totalMutes;
+        return globalMutes.size();
     }
 
-    public HashMap<Long, HashSet<GlobalMuteContainer>> getGlobalMutes() {
+    public Map<GlobalMemberKey, GlobalMuteContainer> getGlobalMutes() {
         return globalMutes;
     }
 
+    private void register(GlobalMuteContainer container) {
+        GlobalMuteContainer previous = globalMutes.put(
+            new GlobalMemberKey(container.getMainGroupId(), container.getUserId(), container.getRanGuildId()), container
+        );
+        if (previous != null) {
+            previous.cancelSchedule();
+        }
+
+        ExpiryEntry<GlobalMuteContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.GLOBAL_MUTE, container.getMainGroupId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private final Logger log = LoggerFactory.getLogger(GlobalMuteManager.class);
     private void syncWithGlobalDatabase() {
         log.info("Syncing global mutes with the database...");
@@ -129,13 +116,7 @@ public class GlobalMuteManager {
         try {
             int size = getTotalAmountOfMutes();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long mgi = row.getLong("mgi");
-
-                if (!globalMutes.containsKey(mgi)) {
-                    globalMutes.put(mgi, new HashSet<>());
-                }
-
-                globalMutes.get(mgi).add(new GlobalMuteContainer(
+                register(new GlobalMuteContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
@@ -185,11 +166,7 @@ public class GlobalMuteManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfMutes() {
-        int totalMutes = 0;
-        for (Map.Entry<Long, HashSet<GlobalMuteContainer>> entry : globalMutes.entrySet()) {
-            totalMutes += entry.getValue().size();
-        }
-        return totalMutes;
+        return globalMutes.size();
     }
 
 }
@@ -21,11 +21,11 @@
 
 package com.pinewoodbuilders.moderation.global.globalwatch;
 
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class GlobalWatchContainer {
@@ -33,7 +33,7 @@ public class GlobalWatchContainer {
     private final long guildId;
     private final long userId;
     private final Carbon expiresAt;
-    private ScheduledFuture<?> schedule;
+    private ExpiryEntry<?> schedule;
     private final Long mainGroupId;
 
 
@@ -85,36 +85,35 @@ public class GlobalWatchContainer {
     }
 
     /**
-     * Gets the future scheduled task for the OnWatch, this task is used
-     * to automatically unOnWatch a user if there is 5 minutes or less
-     * left of their temporary OnWatch.
+     * Gets the expiry entry for the OnWatch, the entry is used to
+     * automatically unOnWatch the user once their temporary OnWatch expires.
      * <p>
-     * If this value is {@code NULL} the automatic OnWatch task haven't
-     * yet been started for the OnWatch container.
+     * If this value is {@code NULL} the OnWatch is permanent, or the
+     * container was never scheduled with the expiry service.
      *
-     * @return The future scheduled task used to auto unOnWatch the container, or {@code NULL}.
+     * @return The expiry entry used to auto unOnWatch the container, or {@code NULL}.
      */
     @Nullable
-    public ScheduledFuture<?> getSchedule() {
+    public ExpiryEntry<?> getSchedule() {
         return schedule;
     }
 
     /**
-     * Sets the future scheduled task that should automatically unOnWatch the container.
+     * Sets the expiry entry that should automatically unOnWatch the container.
      *
-     * @param schedule The future task used to unOnWatch the container.
+     * @param schedule The expiry entry used to unOnWatch the container.
      */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
+    public void setSchedule(@Nonnull ExpiryEntry<?> schedule) {
         this.schedule = schedule;
     }
 
     /**
-     * Cancels the future scheduled task used to automatically
-     * unOnWatch the container if one has been started.
+     * Cancels the expiry entry used to automatically
+     * unOnWatch the container if one has been scheduled.
      */
     public void cancelSchedule() {
         if (schedule != null) {
-            schedule.cancel(false);
+            schedule.cancel();
             schedule = null;
         }
     }
@@ -19,23 +19,21 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.global.globalwatch;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
-import com.pinewoodbuilders.moderation.global.globalwatch.GlobalWatchContainer;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryHandler;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.modlog.global.watch.GlobalWatchlog;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -44,59 +42,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainGlobalWatchQueueTask implements Task {
+public class GlobalWatchExpiryHandler implements ExpiryHandler<GlobalWatchContainer> {
 
-    private static final Logger log = LoggerFactory.getLogger(DrainGlobalWatchQueueTask.class);
+    private static final Logger log = LoggerFactory.getLogger(GlobalWatchExpiryHandler.class);
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getGlobalWatchManager() == null || avaire.getGlobalWatchManager().getGlobalWatches().isEmpty()) {
-            return;
-        }
+    private final Xeus avaire;
 
-        for (Map.Entry<Long, HashSet<GlobalWatchContainer>> entry : avaire.getGlobalWatchManager().getGlobalWatches().entrySet()) {
-            for (GlobalWatchContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
-
-                Carbon expires = container.getExpiresAt();
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
-                        container.getRanGuildId(), container.getUserId(), differenceInSeconds
-                    );
+    /**
+     * Creates the global watch expiry handler, the handler will remove the user from the global watch
+     * once their temporary global watch has expired.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public GlobalWatchExpiryHandler(Xeus avaire) {
+        this.avaire = avaire;
+    }
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
+    @Override
+    public boolean handle(ExpiryEntry<GlobalWatchContainer> entry) {
+        if (!avaire.areWeReadyYet()) {
+            return false;
         }
-    }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+        handleAutomaticUnmute(avaire, entry.getContainer());
+        return true;
     }
 
     private void handleAutomaticUnmute(Xeus avaire, GlobalWatchContainer container) {
         try {
             List<Guild> guilds = getGuildsByMainGroupId(avaire, container.getMainGroupId());
             if (guilds == null) {
-                container.cancelSchedule();
                 return;
             }
 
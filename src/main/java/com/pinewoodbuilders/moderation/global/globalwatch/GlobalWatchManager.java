@@ -5,6 +5,9 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.global.GlobalMemberKey;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -12,32 +15,30 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GlobalWatchManager {
     private final Xeus avaire;
 
     /**
      * Creates the mute manager instance with the given Xeus application instance,
-     * the mute manager will sync the mutes entities from the database into memory.
+     * the mute manager will sync the mutes entities from the database into memory,
+     * and schedule the temporary global watches with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public GlobalWatchManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.GLOBAL_WATCH, new GlobalWatchExpiryHandler(avaire));
+
         syncWithGlobalDatabase();
     }
 
-    private final HashMap <Long, HashSet <GlobalWatchContainer>> globalWatches = new HashMap<>();
+    private final Map<GlobalMemberKey, GlobalWatchContainer> globalWatches = new ConcurrentHashMap<>();
 
     public void registerGlobalWatch(long ranGuildId, String caseId, long mainGroupId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!globalWatches.containsKey(mainGroupId)) {
-            globalWatches.put(mainGroupId, new HashSet<>());
-        }
-
         if (isGlobalWatched(mainGroupId, userId, ranGuildId)) {
             unregisterGlobalWatch(mainGroupId, userId, ranGuildId);
         }
@@ -49,7 +50,7 @@ public class GlobalWatchManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        globalWatches.get(mainGroupId).add(new GlobalWatchContainer(ranGuildId, userId, expiresAt, mainGroupId));
+        register(new GlobalWatchContainer(ranGuildId, userId, expiresAt, mainGroupId));
     }
 
     /**
@@ -60,43 +61,17 @@ public class GlobalWatchManager {
      *                      database.
      */
     public void unregisterGlobalWatch(long mainGroupId, long userId, long ranGuildId) throws SQLException {
-        if (!globalWatches.containsKey(mainGroupId)) {
+        GlobalWatchContainer container = globalWatches.remove(new GlobalMemberKey(mainGroupId, userId, ranGuildId));
+        if (container == null) {
             return;
         }
 
-        final boolean[] removedEntities = { false };
-        synchronized (globalWatches) {
-            globalWatches.get(mainGroupId).removeIf(next -> {
-                if (!next.isSame(ranGuildId, userId, mainGroupId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
-            cleanupGlobalWatches(mainGroupId, userId, ranGuildId);
-        }
+        container.cancelSchedule();
+        cleanupGlobalWatches(mainGroupId, userId, ranGuildId);
     }
 
     public boolean isGlobalWatched(long mainGroupId, long userId, long ranGuildId) {
-        if (!globalWatches.containsKey(mainGroupId)) {
-            return false;
-        }
-
-        for (GlobalWatchContainer container : globalWatches.get(mainGroupId)) {
-            if (container.isSame(ranGuildId, userId, mainGroupId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return globalWatches.containsKey(new GlobalMemberKey(mainGroupId, userId, ranGuildId));
     }
 
     /**
@@ -106,17 +81,29 @@ public class GlobalWatchManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfGlobalWatches() {
-        int totalWatches = 0;
-        for (Map.Entry<Long, HashSet<GlobalWatchContainer>> entry : globalWatches.entrySet()) {
-            totalWatches += entry.getValue().size();
-        }
-        return totalWatches;
+        return globalWatches.size();
     }
 
-    public HashMap<Long, HashSet<GlobalWatchContainer>> getGlobalWatches() {
+    public Map<GlobalMemberKey, GlobalWatchContainer> getGlobalWatches() {
         return globalWatches;
     }
 
+    private void register(GlobalWatchContainer container) {
+        GlobalWatchContainer previous = globalWatches.put(
+            new GlobalMemberKey(container.getMainGroupId(), container.getUserId(), container.getRanGuildId()), container
+        );
+        if (previous != null) {
+            previous.cancelSchedule();
+        }
+
+        ExpiryEntry<GlobalWatchContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.GLOBAL_WATCH, container.getMainGroupId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private final Logger log = LoggerFactory.getLogger(GlobalWatchManager.class);
     private void syncWithGlobalDatabase() {
         log.info("Syncing global watches with the database...");
@@ -129,14 +116,7 @@ public class GlobalWatchManager {
         try {
             int size = getTotalAmountOfWatches();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long mgi = row.getLong("mgi");
-
-                if (!globalWatches.containsKey(mgi)) {
-                    globalWatches.put(mgi, new HashSet<>());
-                }
-
-
-                globalWatches.get(mgi).add(new GlobalWatchContainer(
+                register(new GlobalWatchContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
@@ -187,11 +167,7 @@ public class GlobalWatchManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfWatches() {
-        int totalWatches = 0;
-        for (Map.Entry<Long, HashSet<GlobalWatchContainer>> entry : globalWatches.entrySet()) {
-            totalWatches += entry.getValue().size();
-        }
-        return totalWatches;
+        return globalWatches.size();
     }
 
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.moderators;
+
+import com.pinewoodbuilders.database.collection.DataRow;
+
+public class GroupModerator {
+
+    private final long discordId;
+    private final long robloxId;
+    private final long mainGroupId;
+    private final boolean globalLead;
+    private final boolean globalAdmin;
+
+    /**
+     * Creates a new group moderator using the given row
+     * from the group moderators database table.
+     *
+     * @param row The database row the group moderator should be created from.
+     */
+    GroupModerator(DataRow row) {
+        this(
+            row.getLong("discord_id"),
+            row.getLong("roblox_id"),
+            row.getLong("main_group_id"),
+            row.getBoolean("is_global_lead"),
+            row.getBoolean("is_global_admin")
+        );
+    }
+
+    GroupModerator(long discordId, long robloxId, long mainGroupId, boolean globalLead, boolean globalAdmin) {
+        this.discordId = discordId;
+        this.robloxId = robloxId;
+        this.mainGroupId = mainGroupId;
+        this.globalLead = globalLead;
+        this.globalAdmin = globalAdmin;
+    }
+
+    /**
+     * Gets the Discord ID of the moderator.
+     *
+     * @return The Discord ID of the moderator.
+     */
+    public long getDiscordId() {
+        return discordId;
+    }
+
+    /**
+     * Gets the Roblox ID of the moderator, the moderator permissions only
+     * applies while the user is verified with the same Roblox account.
+     *
+     * @return The Roblox ID of the moderator.
+     */
+    public long getRobloxId() {
+        return robloxId;
+    }
+
+    /**
+     * Gets the ID of the main group the moderator has permissions for,
+     * global admins are stored with a main group ID of zero.
+     *
+     * @return The ID of the main group the moderator has permissions for.
+     */
+    public long getMainGroupId() {
+        return mainGroupId;
+    }
+
+    /**
+     * Checks if the moderator is a global lead for the main group.
+     *
+     * @return {@code True} if the moderator is a global lead, {@code False} otherwise.
+     */
+    public boolean isGlobalLead() {
+        return globalLead;
+    }
+
+    /**
+     * Checks if the moderator is a global admin.
+     *
+     * @return {@code True} if the moderator is a global admin, {@code False} otherwise.
+     */
+    public boolean isGlobalAdmin() {
+        return globalAdmin;
+    }
+}
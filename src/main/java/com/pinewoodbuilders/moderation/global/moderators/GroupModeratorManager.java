@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.moderators;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.utilities.XeusPermissionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GroupModeratorManager {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupModeratorManager.class);
+
+    private final Xeus avaire;
+
+    /**
+     * The group moderators, keyed by their Discord ID, the map is never
+     * modified once it has been published, any changes to the group
+     * moderators will instead replace the whole map.
+     */
+    private volatile Map<Long, List<GroupModerator>> moderators = Collections.emptyMap();
+
+    /**
+     * Creates the group moderator manager instance with the given Xeus
+     * application instance, the group moderator manager will sync
+     * the group moderators from the database into memory.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public GroupModeratorManager(Xeus avaire) {
+        this.avaire = avaire;
+
+        syncWithDatabase();
+    }
+
+    /**
+     * Checks if the given Discord and Roblox IDs belongs to a global admin.
+     *
+     * @param discordId The Discord ID of the user that should be checked.
+     * @param robloxId  The Roblox ID the user is verified with.
+     * @return {@code True} if the user is a global admin, {@code False} otherwise.
+     */
+    public boolean isGlobalAdmin(long discordId, long robloxId) {
+        for (GroupModerator moderator : getModerators(discordId)) {
+            if (moderator.getMainGroupId() == 0 && moderator.getRobloxId() == robloxId && moderator.isGlobalAdmin()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given Discord and Roblox IDs belongs to a moderator for the given main group.
+     *
+     * @param mainGroupId The ID of the main group the user should be a moderator for.
+     * @param discordId   The Discord ID of the user that should be checked.
+     * @param robloxId    The Roblox ID the user is verified with.
+     * @return {@code True} if the user is a moderator for the main group, {@code False} otherwise.
+     */
+    public boolean isGlobalModerator(long mainGroupId, long discordId, long robloxId) {
+        for (GroupModerator moderator : getModerators(discordId)) {
+            if (moderator.getMainGroupId() == mainGroupId && moderator.getRobloxId() == robloxId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given Discord and Roblox IDs belongs to a global lead for the given main group.
+     *
+     * @param mainGroupId The ID of the main group the user should be a global lead for.
+     * @param discordId   The Discord ID of the user that should be checked.
+     * @param robloxId    The Roblox ID the user is verified with.
+     * @return {@code True} if the user is a global lead for the main group, {@code False} otherwise.
+     */
+    public boolean isGlobalLead(long mainGroupId, long discordId, long robloxId) {
+        for (GroupModerator moderator : getModerators(discordId)) {
+            if (moderator.getMainGroupId() == mainGroupId && moderator.getRobloxId() == robloxId && moderator.isGlobalLead()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets all the group moderator entries for the given Discord ID.
+     *
+     * @param discordId The Discord ID of the moderator.
+     * @return The group moderator entries for the given Discord ID, or an empty list.
+     */
+    public List<GroupModerator> getModerators(long discordId) {
+        return moderators.getOrDefault(discordId, Collections.emptyList());
+    }
+
+    /**
+     * Adds the given group moderator to the in-memory index, this should
+     * be called after the moderator has been stored in the database.
+     *
+     * @param discordId   The Discord ID of the moderator.
+     * @param robloxId    The Roblox ID of the moderator.
+     * @param mainGroupId The ID of the main group the moderator has permissions for.
+     * @param globalLead  Determines if the moderator is a global lead.
+     * @param globalAdmin Determines if the moderator is a global admin.
+     */
+    public synchronized void addModerator(long discordId, long robloxId, long mainGroupId, boolean globalLead, boolean globalAdmin) {
+        Map<Long, List<GroupModerator>> updated = new HashMap<>(moderators);
+
+        List<GroupModerator> entries = new ArrayList<>(updated.getOrDefault(discordId, Collections.emptyList()));
+        entries.add(new GroupModerator(discordId, robloxId, mainGroupId, globalLead, globalAdmin));
+        updated.put(discordId, Collections.unmodifiableList(entries));
+
+        moderators = Collections.unmodifiableMap(updated);
+        XeusPermissionUtil.forgetUserPermissions(discordId);
+    }
+
+    /**
+     * Removes all the group moderator entries for the given Discord ID from the
+     * in-memory index, this should be called after the moderator has
+     * been removed from the database.
+     *
+     * @param discordId The Discord ID of the moderator.
+     */
+    public synchronized void removeModerator(long discordId) {
+        if (!moderators.containsKey(discordId)) {
+            return;
+        }
+
+        Map<Long, List<GroupModerator>> updated = new HashMap<>(moderators);
+        updated.remove(discordId);
+
+        moderators = Collections.unmodifiableMap(updated);
+        XeusPermissionUtil.forgetUserPermissions(discordId);
+    }
+
+    /**
+     * Loads all the group moderators from the database, and replaces the in-memory
+     * index with them, if the moderators fails to load, the current index is kept.
+     */
+    public synchronized void syncWithDatabase() {
+        log.debug("Syncing group moderators with the database...");
+
+        Map<Long, List<GroupModerator>> updated = new HashMap<>();
+        try {
+            for (DataRow row : avaire.getDatabase().newQueryBuilder(Constants.GROUP_MODERATORS_TABLE).get()) {
+                GroupModerator moderator = new GroupModerator(row);
+
+                updated.computeIfAbsent(moderator.getDiscordId(), discordId -> new ArrayList<>())
+                    .add(moderator);
+            }
+        } catch (SQLException e) {
+            log.error("Failed to sync the group moderators with the database: {}", e.getMessage(), e);
+            return;
+        }
+
+        updated.replaceAll((discordId, entries) -> Collections.unmodifiableList(entries));
+        moderators = Collections.unmodifiableMap(updated);
+        XeusPermissionUtil.forgetPermissions();
+
+        log.debug("Synced {} group moderators with the database", updated.size());
+    }
+}
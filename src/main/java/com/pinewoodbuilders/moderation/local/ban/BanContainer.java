@@ -21,11 +21,11 @@
 
 package com.pinewoodbuilders.moderation.local.ban;
 
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class BanContainer {
@@ -33,7 +33,7 @@ public class BanContainer {
     private final long guildId;
     private final long userId;
     private final Carbon expiresAt;
-    private ScheduledFuture<?> schedule;
+    private ExpiryEntry<?> schedule;
 
     /**
      * Creates a ban container using the given guild ID, user ID, and expiration time.
@@ -80,36 +80,35 @@ public class BanContainer {
     }
 
     /**
-     * Gets the future scheduled task for the ban, this task is used
-     * to automatically unban a user if there is 5 minutes or less
-     * left of their temporary ban.
+     * Gets the expiry entry for the ban, the entry is used to
+     * automatically unban the user once their temporary ban expires.
      * <p>
-     * If this value is {@code NULL} the automatic ban task haven't
-     * yet been started for the ban container.
+     * If this value is {@code NULL} the ban is permanent, or the
+     * container was never scheduled with the expiry service.
      *
-     * @return The future scheduled task used to auto unban the container, or {@code NULL}.
+     * @return The expiry entry used to auto unban the container, or {@code NULL}.
      */
     @Nullable
-    public ScheduledFuture<?> getSchedule() {
+    public ExpiryEntry<?> getSchedule() {
         return schedule;
     }
 
     /**
-     * Sets the future scheduled task that should automatically unban the container.
+     * Sets the expiry entry that should automatically unban the container.
      *
-     * @param schedule The future task used to unban the container.
+     * @param schedule The expiry entry used to unban the container.
      */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
+    public void setSchedule(@Nonnull ExpiryEntry<?> schedule) {
         this.schedule = schedule;
     }
 
     /**
-     * Cancels the future scheduled task used to automatically
-     * unban the container if one has been started.
+     * Cancels the expiry entry used to automatically
+     * unban the container if one has been scheduled.
      */
     public void cancelSchedule() {
         if (schedule != null) {
-            schedule.cancel(false);
+            schedule.cancel();
             schedule = null;
         }
     }
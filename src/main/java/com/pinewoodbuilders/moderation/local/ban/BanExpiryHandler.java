@@ -19,16 +19,14 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.local.ban;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
-import com.pinewoodbuilders.moderation.local.ban.BanContainer;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryHandler;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Guild.Ban;
 
@@ -36,56 +34,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
-public class DrainUnbanQueueTask implements Task {
+public class BanExpiryHandler implements ExpiryHandler<BanContainer> {
 
-    private static final Logger log = LoggerFactory.getLogger(DrainUnbanQueueTask.class);
+    private static final Logger log = LoggerFactory.getLogger(BanExpiryHandler.class);
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getBanManger() == null || avaire.getBanManger().getBans().isEmpty()) {
-            return;
-        }
-
-        for (Map.Entry<Long, HashSet<BanContainer>> entry : avaire.getBanManger().getBans().entrySet()) {
-            for (BanContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
+    private final Xeus avaire;
 
-                Carbon expires = container.getExpiresAt();
-                // noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}", container.getGuildId(),
-                            container.getUserId(), differenceInSeconds);
+    /**
+     * Creates the ban expiry handler, the handler will unban the user
+     * once their temporary ban has expired.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public BanExpiryHandler(Xeus avaire) {
+        this.avaire = avaire;
+    }
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                            () -> handleAutomaticUnban(avaire, container), differenceInSeconds, TimeUnit.SECONDS));
-                }
-            }
+    @Override
+    public boolean handle(ExpiryEntry<BanContainer> entry) {
+        if (!avaire.areWeReadyYet()) {
+            return false;
         }
-    }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+        handleAutomaticUnban(avaire, entry.getContainer());
+        return true;
     }
 
     private void handleAutomaticUnban(Xeus avaire, BanContainer container) {
             Guild guild = avaire.getShardManager().getGuildById(container.getGuildId());
             if (guild == null) {
-                if (avaire.areWeReadyYet()) {
-                    unregisterDatabaseRecord(avaire, container);
-                }
-
-                container.cancelSchedule();
+                unregisterDatabaseRecord(avaire, container);
                 return;
             }
 
@@ -26,6 +26,9 @@ import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.local.MemberKey;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,27 +36,29 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BanManager {
 
     private final Logger log = LoggerFactory.getLogger(BanManager.class);
-    private final HashMap<Long, HashSet<BanContainer>> bans = new HashMap<>();
+    private final Map<MemberKey, BanContainer> bans = new ConcurrentHashMap<>();
 
     private final Xeus avaire;
 
     /**
      * Creates the ban manager instance with the given Xeus
      * application instance, the ban manager will sync the
-     * bans entities from the database into memory.
+     * bans entities from the database into memory,
+     * and schedule the temporary bans with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public BanManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.BAN, new BanExpiryHandler(avaire));
+
         syncWithDatabase();
     }
 
@@ -77,10 +82,6 @@ public class BanManager {
      *                      to be removed before the new ban is registered.
      */
     public void registerBan(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!bans.containsKey(guildId)) {
-            bans.put(guildId, new HashSet<>());
-        }
-
         if (isBanned(guildId, userId)) {
             unregisterBan(guildId, userId);
         }
@@ -92,7 +93,7 @@ public class BanManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        bans.get(guildId).add(new BanContainer(guildId, userId, expiresAt));
+        register(new BanContainer(guildId, userId, expiresAt));
     }
 
     /**
@@ -103,29 +104,13 @@ public class BanManager {
      * @throws SQLException If the unban fails to delete the ban record from the database.
      */
     public void unregisterBan(long guildId, long userId) throws SQLException {
-        if (!bans.containsKey(guildId)) {
+        BanContainer container = bans.remove(new MemberKey(guildId, userId));
+        if (container == null) {
             return;
         }
 
-        final boolean[] removedEntities = {false};
-        synchronized (bans) {
-            bans.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
-            cleanupBans(guildId, userId);
-        }
+        container.cancelSchedule();
+        cleanupBans(guildId, userId);
     }
 
     /**
@@ -138,16 +123,7 @@ public class BanManager {
      * with the given guild ID, {@code False} otherwise.
      */
     public boolean isBanned(long guildId, long userId) {
-        if (!bans.containsKey(guildId)) {
-            return false;
-        }
-
-        for (BanContainer container : bans.get(guildId)) {
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-        return false;
+        return bans.containsKey(new MemberKey(guildId, userId));
     }
 
     /**
@@ -157,24 +133,34 @@ public class BanManager {
      * @return The total amount of bans stored.
      */
     public int getTotalAmountOfBans() {
-        int totalbans = 0;
-        for (Map.Entry<Long, HashSet<BanContainer>> entry : bans.entrySet()) {
-            totalbans += entry.getValue().size();
-        }
-        return totalbans;
+        return bans.size();
     }
 
     /**
-     * Gets the map of bans currently stored, where the key is the guild ID for
-     * the bans, and the value is a set of ban containers, which holds
-     * the information about each individual ban.
+     * Gets the map of bans currently stored, where the key is the guild and user
+     * IDs for the ban, and the value is the ban container, which holds
+     * the information about the individual ban.
      *
      * @return The complete map of bans currently stored.
      */
-    public HashMap<Long, HashSet<BanContainer>> getBans() {
+    public Map<MemberKey, BanContainer> getBans() {
         return bans;
     }
 
+    private void register(BanContainer container) {
+        BanContainer previous = bans.put(new MemberKey(container.getGuildId(), container.getUserId()), container);
+        if (previous != null) {
+            previous.cancelSchedule();
+        }
+
+        ExpiryEntry<BanContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.BAN, container.getGuildId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private void syncWithDatabase() {
         log.info("Syncing bans with the database...");
 
@@ -185,13 +171,7 @@ public class BanManager {
         try {
             int size = getTotalAmountOfBans();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!bans.containsKey(guildId)) {
-                    bans.put(guildId, new HashSet<>());
-                }
-
-                bans.get(guildId).add(new BanContainer(
+                register(new BanContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
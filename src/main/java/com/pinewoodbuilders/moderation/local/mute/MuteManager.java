@@ -26,6 +26,9 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.local.MemberKey;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,26 +36,28 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MuteManager {
 
     private final Logger log = LoggerFactory.getLogger(MuteManager.class);
-    private final HashMap<Long, HashSet<MuteContainer>> mutes = new HashMap<>();
+    private final Map<MemberKey, MuteContainer> mutes = new ConcurrentHashMap<>();
 
     private final Xeus avaire;
 
     /**
      * Creates the mute manager instance with the given Xeus application instance,
-     * the mute manager will sync the mutes entities from the database into memory.
+     * the mute manager will sync the mutes entities from the database into memory,
+     * and schedule the temporary mutes with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public MuteManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.MUTE, new MuteExpiryHandler(avaire));
+
         syncWithDatabase();
     }
 
@@ -76,10 +81,6 @@ public class MuteManager {
      *                      be removed before the new mute is registered.
      */
     public void registerMute(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
-            mutes.put(guildId, new HashSet<>());
-        }
-
         if (isMuted(guildId, userId)) {
             unregisterMute(guildId, userId);
         }
@@ -90,7 +91,7 @@ public class MuteManager {
             statement.set("expires_in", expiresAt);
         });
 
-        mutes.get(guildId).add(new MuteContainer(guildId, userId, expiresAt));
+        register(new MuteContainer(guildId, userId, expiresAt));
     }
 
 
@@ -104,29 +105,13 @@ public class MuteManager {
      *                      database.
      */
     public void unregisterMute(long guildId, long userId) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
+        MuteContainer container = mutes.remove(new MemberKey(guildId, userId));
+        if (container == null) {
             return;
         }
 
-        final boolean[] removedEntities = { false };
-        synchronized (mutes) {
-            mutes.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
-            cleanupMutes(guildId, userId);
-        }
+        container.cancelSchedule();
+        cleanupMutes(guildId, userId);
     }
 
 
@@ -141,17 +126,7 @@ public class MuteManager {
      *         the given guild ID, {@code False} otherwise.
      */
     public boolean isMuted(long guildId, long userId) {
-        if (!mutes.containsKey(guildId)) {
-            return false;
-        }
-
-        for (MuteContainer container : mutes.get(guildId)) {
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return mutes.containsKey(new MemberKey(guildId, userId));
     }
 
 
@@ -162,26 +137,36 @@ public class MuteManager {
      * @return The total amount of mutes stored.
      */
     public int getTotalAmountOfMutes() {
-        int totalMutes = 0;
-        for (Map.Entry<Long, HashSet<MuteContainer>> entry : mutes.entrySet()) {
-            totalMutes += entry.getValue().size();
-        }
-        return totalMutes;
+        return mutes.size();
     }
 
 
 
     /**
-     * Gets the map of mutes currently stored, where the key is the guild ID for the
-     * mutes, and the value is a set of mute containers, which holds the information
-     * about each individual mute.
+     * Gets the map of mutes currently stored, where the key is the guild and user
+     * IDs for the mute, and the value is the mute container, which holds the
+     * information about the individual mute.
      *
      * @return The complete map of mutes currently stored.
      */
-    public HashMap<Long, HashSet<MuteContainer>> getMutes() {
+    public Map<MemberKey, MuteContainer> getMutes() {
         return mutes;
     }
 
+    private void register(MuteContainer container) {
+        MuteContainer previous = mutes.put(new MemberKey(container.getGuildId(), container.getUserId()), container);
+        if (previous != null) {
+            previous.cancelSchedule();
+        }
+
+        ExpiryEntry<MuteContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.MUTE, container.getGuildId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private void syncWithDatabase() {
         log.info("Syncing mutes with the database...");
 
@@ -192,13 +177,7 @@ public class MuteManager {
         try {
             int size = getTotalAmountOfMutes();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!mutes.containsKey(guildId)) {
-                    mutes.put(guildId, new HashSet<>());
-                }
-
-                mutes.get(guildId).add(new MuteContainer(row.getLong("guild_id"), row.getLong("target_id"),
+                register(new MuteContainer(row.getLong("guild_id"), row.getLong("target_id"),
                     row.getTimestamp("expires_in")));
             }
 
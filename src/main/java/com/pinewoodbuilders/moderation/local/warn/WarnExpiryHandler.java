@@ -19,84 +19,56 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.local.warn;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.moderation.local.warn.WarnContainer;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryHandler;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
-public class DrainWarnQueueTask implements Task {
+public class WarnExpiryHandler implements ExpiryHandler<WarnContainer> {
 
-    private static final Logger log = LoggerFactory.getLogger(DrainWarnQueueTask.class);
+    private static final Logger log = LoggerFactory.getLogger(WarnExpiryHandler.class);
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getWarningsManager() == null || avaire.getWarningsManager().getWarns().isEmpty()) {
-            return;
-        }
+    private final Xeus avaire;
 
-        for (Map.Entry <Long, HashMap <Long, HashSet <WarnContainer>>> guild : avaire.getWarningsManager().getWarns().entrySet()) {
-            for (Map.Entry <Long, HashSet <WarnContainer>> userWarns : guild.getValue().entrySet()) {
-                for (WarnContainer container : userWarns.getValue()) {
-                    if (container.isPermanent() || container.getSchedule() != null) {
-                        continue;
-                    }
-
-                    Carbon expires = container.getExpiresAt();
-                    //noinspection ConstantConditions
-                    if (expires.copy().subMinutes(5).isPast()) {
-                        long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                        if (differenceInSeconds < 1) {
-                            differenceInSeconds = 1;
-                        }
-
-                        log.debug("Unwarn task started for guildId:{}, userId:{}, time:{}",
-                            container.getGuildId(), container.getUserId(), differenceInSeconds
-                        );
-
-                        container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                            () -> handleAutomaticUnwarn(avaire, container),
-                            differenceInSeconds,
-                            TimeUnit.SECONDS
-                        ));
-                    }
-                }
-            }
-        }
+    /**
+     * Creates the warn expiry handler, the handler will pardon the warning
+     * once their temporary warn has expired.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public WarnExpiryHandler(Xeus avaire) {
+        this.avaire = avaire;
     }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+    @Override
+    public boolean handle(ExpiryEntry<WarnContainer> entry) {
+        if (!avaire.areWeReadyYet()) {
+            return false;
+        }
+
+        handleAutomaticUnwarn(avaire, entry.getContainer());
+        return true;
     }
 
     private void handleAutomaticUnwarn(Xeus avaire, WarnContainer container) {
         try {
             Guild guild = avaire.getShardManager().getGuildById(container.getGuildId());
             if (guild == null) {
-                if (avaire.areWeReadyYet()) {
-                    unregisterDatabaseRecord(avaire, container);
-                }
-
-                container.cancelSchedule();
+                unregisterDatabaseRecord(avaire, container);
                 return;
             }
 
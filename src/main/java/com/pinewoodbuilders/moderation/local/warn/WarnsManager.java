@@ -26,6 +26,9 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.local.MemberKey;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,27 +36,30 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WarnsManager {
 
     private final Logger log = LoggerFactory.getLogger(WarnsManager.class);
-    private final HashMap <Long, HashMap <Long, HashSet <WarnContainer>>> warns = new HashMap <>();
+    private final Map <MemberKey, Map <String, WarnContainer>> warns = new ConcurrentHashMap <>();
 
     private final Xeus avaire;
 
     /**
      * Creates the warn manager instance with the given Xeus
      * application instance, the warn manager will sync the
-     * warns entities from the database into memory.
+     * warns entities from the database into memory, and schedule
+     * the temporary warns with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public WarnsManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.WARN, new WarnExpiryHandler(avaire));
+
         syncWithDatabase();
     }
 
@@ -77,14 +83,6 @@ public class WarnsManager {
      *                      to be removed before the new warn is registered.
      */
     public void registerWarn(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!warns.containsKey(guildId)) {
-            warns.put(guildId, new HashMap <>());
-        }
-
-        if (!warns.get(guildId).containsKey(userId)) {
-            warns.get(guildId).put(userId, new HashSet <>());
-        }
-
         avaire.getDatabase().newQueryBuilder(Constants.WARNINGS_TABLE_NAME)
             .insert(statement -> {
                 statement.set("guild_id", guildId);
@@ -92,7 +90,7 @@ public class WarnsManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        warns.get(guildId).get(userId).add(new WarnContainer(guildId, userId, expiresAt, caseId));
+        register(new WarnContainer(guildId, userId, expiresAt, caseId));
     }
 
     /**
@@ -103,35 +101,18 @@ public class WarnsManager {
      * @throws SQLException If the unwarn fails to delete the warn record from the database.
      */
     public void unregisterWarn(long guildId, long userId, String caseId) throws SQLException {
-        if (!warns.containsKey(guildId)) {
-            return;
-        }
+        WarnContainer[] removed = new WarnContainer[1];
+        warns.computeIfPresent(new MemberKey(guildId, userId), (key, userWarns) -> {
+            removed[0] = userWarns.remove(caseId);
+            return userWarns.isEmpty() ? null : userWarns;
+        });
 
-        if (!warns.get(guildId).containsKey(userId)) {
+        if (removed[0] == null) {
             return;
         }
 
-        AtomicBoolean removedEntities = new AtomicBoolean();
-
-        warns.get(guildId).get(userId).removeIf(next -> {
-            if (next.isSame(guildId, userId, caseId)) {
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities.set(true);
-
-            } else {
-                removedEntities.set(false);
-            }
-
-            return removedEntities.get();
-        });
-
-
-        if (removedEntities.get()) {
-            cleanupWarns(guildId, userId, caseId);
-        }
+        removed[0].cancelSchedule();
+        cleanupWarns(guildId, userId, caseId);
     }
 
     /**
@@ -143,15 +124,12 @@ public class WarnsManager {
      * with the given guild ID, {@code False} otherwise.
      */
     public HashSet <WarnContainer> getWarns(long guildId, long userId) {
-        if (!warns.containsKey(guildId)) {
+        Map <String, WarnContainer> userWarns = warns.get(new MemberKey(guildId, userId));
+        if (userWarns == null) {
             return new HashSet <>();
         }
 
-        if (!warns.get(guildId).containsKey(userId)) {
-            return new HashSet <>();
-        }
-
-        return warns.get(guildId).get(userId);
+        return new HashSet <>(userWarns.values());
     }
 
     /**
@@ -161,20 +139,46 @@ public class WarnsManager {
      * @return The total amount of warns stored.
      */
     public int getTotalAmountOfWarns() {
-        return warns.size();
+        int totalWarns = 0;
+        for (Map <String, WarnContainer> userWarns : warns.values()) {
+            totalWarns += userWarns.size();
+        }
+        return totalWarns;
     }
 
     /**
-     * Gets the map of warns currently stored, where the key is the guild ID for
-     * the warns, and the value is a set of warn containers, which holds
-     * the information about each individual warn.
+     * Gets the map of warns currently stored, where the key is the guild and user
+     * IDs for the warns, and the value is a map of warn containers by their case
+     * ID, which holds the information about each individual warn.
      *
      * @return The complete map of warns currently stored.
      */
-    public HashMap <Long, HashMap <Long, HashSet <WarnContainer>>> getWarns() {
+    public Map <MemberKey, Map <String, WarnContainer>> getWarns() {
         return warns;
     }
 
+    private void register(WarnContainer container) {
+        WarnContainer[] previous = new WarnContainer[1];
+        warns.compute(new MemberKey(container.getGuildId(), container.getUserId()), (key, userWarns) -> {
+            if (userWarns == null) {
+                userWarns = new ConcurrentHashMap <>();
+            }
+            previous[0] = userWarns.put(container.getCaseId(), container);
+            return userWarns;
+        });
+
+        if (previous[0] != null) {
+            previous[0].cancelSchedule();
+        }
+
+        ExpiryEntry <WarnContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.WARN, container.getGuildId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private void syncWithDatabase() {
         log.info("Syncing warns with the database...");
 
@@ -185,19 +189,7 @@ public class WarnsManager {
         try {
             int size = getTotalAmountOfWarns();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-                long targetId = row.getLong("target_id");
-
-
-                if (!warns.containsKey(guildId)) {
-                    warns.put(guildId, new HashMap <>());
-                }
-
-                if (!warns.get(guildId).containsKey(targetId)) {
-                    warns.get(guildId).put(targetId, new HashSet <>());
-                }
-
-                warns.get(guildId).get(targetId).add(new WarnContainer(
+                register(new WarnContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
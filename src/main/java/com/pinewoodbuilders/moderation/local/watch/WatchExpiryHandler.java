@@ -19,21 +19,19 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.local.watch;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.language.I18n;
-import com.pinewoodbuilders.moderation.local.watch.WatchContainer;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryHandler;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.modlog.local.watchlog.Watchlog;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -41,62 +39,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainOnWatchQueueTask implements Task {
+public class WatchExpiryHandler implements ExpiryHandler<WatchContainer> {
 
-    private static final Logger log = LoggerFactory.getLogger(DrainOnWatchQueueTask.class);
+    private static final Logger log = LoggerFactory.getLogger(WatchExpiryHandler.class);
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getOnWatchManger() == null || avaire.getOnWatchManger().getOnWatchs().isEmpty()) {
-            return;
-        }
+    private final Xeus avaire;
 
-        for (Map.Entry<Long, HashSet<WatchContainer>> entry : avaire.getOnWatchManger().getOnWatchs().entrySet()) {
-            for (WatchContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
-
-                Carbon expires = container.getExpiresAt();
-
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unwatch task started for guildId:{}, userId:{}, time:{}",
-                        container.getGuildId(), container.getUserId(), differenceInSeconds
-                    );
-
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
-        }
+    /**
+     * Creates the on watch expiry handler, the handler will remove the user from on watch
+     * once their temporary on watch has expired.
+     *
+     * @param avaire The main Xeus instance.
+     */
+    public WatchExpiryHandler(Xeus avaire) {
+        this.avaire = avaire;
     }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+    @Override
+    public boolean handle(ExpiryEntry<WatchContainer> entry) {
+        if (!avaire.areWeReadyYet()) {
+            return false;
+        }
+
+        handleAutomaticUnmute(avaire, entry.getContainer());
+        return true;
     }
 
     private void handleAutomaticUnmute(Xeus avaire, WatchContainer container) {
         try {
             Guild guild = avaire.getShardManager().getGuildById(container.getGuildId());
             if (guild == null) {
-                if (avaire.areWeReadyYet()) {
-                    unregisterDatabaseRecord(avaire, container);
-                }
-
-                container.cancelSchedule();
+                unregisterDatabaseRecord(avaire, container);
                 return;
             }
 
@@ -26,6 +26,9 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.moderation.expiry.ExpiryEntry;
+import com.pinewoodbuilders.moderation.expiry.ExpiryKind;
+import com.pinewoodbuilders.moderation.local.MemberKey;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.time.Carbon;
 import org.slf4j.Logger;
@@ -33,27 +36,29 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WatchManager {
 
     private final Logger log = LoggerFactory.getLogger(WatchManager.class);
-    private final HashMap<Long, HashSet<WatchContainer>> OnWatchs = new HashMap<>();
+    private final Map<MemberKey, WatchContainer> OnWatchs = new ConcurrentHashMap<>();
 
     private final Xeus avaire;
 
     /**
      * Creates the OnWatch manager instance with the given Xeus
      * application instance, the OnWatch manager will sync the
-     * OnWatchs entities from the database into memory.
+     * OnWatchs entities from the database into memory,
+     * and schedule the temporary OnWatchs with the expiry service.
      *
      * @param avaire The main Xeus instance.
      */
     public WatchManager(Xeus avaire) {
         this.avaire = avaire;
 
+        avaire.getExpiryService().registerHandler(ExpiryKind.WATCH, new WatchExpiryHandler(avaire));
+
         syncWithDatabase();
     }
 
@@ -77,10 +82,6 @@ public class WatchManager {
      *                      to be removed before the new OnWatch is registered.
      */
     public void registerOnWatch(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!OnWatchs.containsKey(guildId)) {
-            OnWatchs.put(guildId, new HashSet<>());
-        }
-
         if (isOnWatchd(guildId, userId)) {
             unregisterOnWatch(guildId, userId);
         }
@@ -92,7 +93,7 @@ public class WatchManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        OnWatchs.get(guildId).add(new WatchContainer(guildId, userId, expiresAt));
+        register(new WatchContainer(guildId, userId, expiresAt));
     }
 
     /**
@@ -103,29 +104,13 @@ public class WatchManager {
      * @throws SQLException If the unOnWatch fails to delete the OnWatch record from the database.
      */
     public void unregisterOnWatch(long guildId, long userId) throws SQLException {
-        if (!OnWatchs.containsKey(guildId)) {
+        WatchContainer container = OnWatchs.remove(new MemberKey(guildId, userId));
+        if (container == null) {
             return;
         }
 
-        final boolean[] removedEntities = {false};
-        synchronized (OnWatchs) {
-            OnWatchs.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
-            cleanupOnWatchs(guildId, userId);
-        }
+        container.cancelSchedule();
+        cleanupOnWatchs(guildId, userId);
     }
 
     /**
@@ -138,20 +123,7 @@ public class WatchManager {
      *         with the given guild ID, {@code False} otherwise.
      */
     public boolean isOnWatchd(long guildId, long userId) {
-        if (!OnWatchs.containsKey(guildId)) {
-            return false;
-        }
-
-        for (WatchContainer container : OnWatchs.get(guildId)) {
-            if (container.isPublic()) {
-                return true;
-            }
-            
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-        return false;
+        return OnWatchs.containsKey(new MemberKey(guildId, userId));
     }
 
     /**
@@ -161,24 +133,34 @@ public class WatchManager {
      * @return The total amount of OnWatchs stored.
      */
     public int getTotalAmountOfOnWatchs() {
-        int totalOnWatchs = 0;
-        for (Map.Entry<Long, HashSet<WatchContainer>> entry : OnWatchs.entrySet()) {
-            totalOnWatchs += entry.getValue().size();
-        }
-        return totalOnWatchs;
+        return OnWatchs.size();
     }
 
     /**
-     * Gets the map of OnWatchs currently stored, where the key is the guild ID for
-     * the OnWatchs, and the value is a set of OnWatch containers, which holds
-     * the information about each individual OnWatch.
+     * Gets the map of OnWatchs currently stored, where the key is the guild and user
+     * IDs for the OnWatch, and the value is the OnWatch container, which holds
+     * the information about the individual OnWatch.
      *
      * @return The complete map of OnWatchs currently stored.
      */
-    public HashMap<Long, HashSet<WatchContainer>> getOnWatchs() {
+    public Map<MemberKey, WatchContainer> getOnWatchs() {
         return OnWatchs;
     }
 
+    private void register(WatchContainer container) {
+        WatchContainer previous = OnWatchs.put(new MemberKey(container.getGuildId(), container.getUserId()), container);
+        if (previous != null) {
+            previous.cancelSchedule();
+        }
+
+        ExpiryEntry<WatchContainer> entry = avaire.getExpiryService().schedule(
+            ExpiryKind.WATCH, container.getGuildId(), container.getUserId(), container.getExpiresAt(), container
+        );
+        if (entry != null) {
+            container.setSchedule(entry);
+        }
+    }
+
     private void syncWithDatabase() {
         log.info("Syncing OnWatchs with the database...");
 
@@ -189,13 +171,7 @@ public class WatchManager {
         try {
             int size = getTotalAmountOfOnWatchs();
             for (DataRow row : avaire.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!OnWatchs.containsKey(guildId)) {
-                    OnWatchs.put(guildId, new HashSet<>());
-                }
-
-                OnWatchs.get(guildId).add(new WatchContainer(
+                register(new WatchContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
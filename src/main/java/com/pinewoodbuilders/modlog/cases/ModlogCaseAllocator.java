@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.modlog.cases;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.Collection;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ModlogCaseAllocator {
+
+    /**
+     * The default amount of case numbers that are reserved
+     * from the database every time a block runs out.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 10;
+
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ModlogCaseReserver reserver;
+    private final int blockSize;
+
+    /**
+     * Creates a new modlog case allocator that reserves its
+     * case numbers from the case counters in the database.
+     *
+     * @param avaire The main Xeus application instance.
+     */
+    public ModlogCaseAllocator(Xeus avaire) {
+        this((sequence, id, amount) -> reserveFromDatabase(avaire, sequence, id, amount), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new modlog case allocator using the given reserver.
+     *
+     * @param reserver  The reserver that should be used to reserve new blocks of case numbers.
+     * @param blockSize The amount of case numbers that should be reserved at a time.
+     */
+    public ModlogCaseAllocator(ModlogCaseReserver reserver, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be at least one.");
+        }
+
+        this.reserver = reserver;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Allocates the next case number for the given sequence and ID, case numbers
+     * are handed out from a block of reserved numbers, once the block runs out
+     * a new block is reserved from the case counter in the database.
+     * <p>
+     * Case numbers are unique across every thread, but numbers that were
+     * reserved and never handed out, for example when the bot restarts
+     * with part of a block left, are skipped.
+     *
+     * @param sequence The sequence the case number should be allocated from.
+     * @param id       The ID of the guild or main group the sequence belongs to.
+     * @return The allocated case number.
+     * @throws SQLException If a new block of case numbers had to be reserved, and the reservation failed.
+     */
+    public int next(ModlogCaseSequence sequence, long id) throws SQLException {
+        Counter counter = counters.computeIfAbsent(new CounterKey(sequence, id), key -> new Counter());
+
+        Block block = counter.block;
+        if (block != null) {
+            int value = block.next.getAndIncrement();
+            if (value <= block.limit) {
+                return value;
+            }
+        }
+
+        synchronized (counter) {
+            // Another thread may have reserved a new block while we
+            // were waiting for the lock, so we try that one first.
+            block = counter.block;
+            if (block != null) {
+                int value = block.next.getAndIncrement();
+                if (value <= block.limit) {
+                    return value;
+                }
+            }
+
+            int limit = reserver.reserve(sequence, id, blockSize);
+            block = new Block(limit - blockSize + 1, limit);
+
+            int value = block.next.getAndIncrement();
+            counter.block = block;
+
+            return value;
+        }
+    }
+
+    private static int reserveFromDatabase(Xeus avaire, ModlogCaseSequence sequence, long id, int amount) throws SQLException {
+        int updated = avaire.getDatabase().newQueryBuilder(sequence.getTable())
+            .where(sequence.getKeyColumn(), id)
+            .update(statement -> statement.setRaw(sequence.getCaseColumn(),
+                "`" + sequence.getCaseColumn() + "` + " + amount
+            ));
+
+        if (updated == 0) {
+            throw new SQLException(String.format("Found no %s row for %s, failed to reserve modlog cases",
+                sequence.getTable(), id
+            ));
+        }
+
+        // Blocks are only ever reserved while holding the counter lock, so
+        // the counter can't move between the update and this lookup.
+        Collection collection = avaire.getDatabase().newQueryBuilder(sequence.getTable())
+            .select(sequence.getCaseColumn())
+            .where(sequence.getKeyColumn(), id)
+            .get();
+
+        if (collection.isEmpty()) {
+            throw new SQLException(String.format("Found no %s row for %s, failed to reserve modlog cases",
+                sequence.getTable(), id
+            ));
+        }
+
+        return collection.first().getInt(sequence.getCaseColumn());
+    }
+
+    private record CounterKey(ModlogCaseSequence sequence, long id) {
+    }
+
+    private static class Counter {
+
+        private volatile Block block;
+    }
+
+    private static class Block {
+
+        private final AtomicInteger next;
+        private final int limit;
+
+        Block(int first, int limit) {
+            this.next = new AtomicInteger(first);
+            this.limit = limit;
+        }
+    }
+}
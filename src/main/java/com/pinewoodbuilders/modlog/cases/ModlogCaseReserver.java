@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.modlog.cases;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ModlogCaseReserver {
+
+    /**
+     * Atomically reserves the given amount of case numbers for the given
+     * sequence and ID, the reserved block is made up of the case numbers
+     * right below, and including, the returned value.
+     *
+     * @param sequence The sequence the case numbers should be reserved from.
+     * @param id       The ID of the guild or main group the sequence belongs to.
+     * @param amount   The amount of case numbers that should be reserved.
+     * @return The highest case number that was reserved.
+     * @throws SQLException If the case numbers couldn't be reserved.
+     */
+    int reserve(ModlogCaseSequence sequence, long id, int amount) throws SQLException;
+}
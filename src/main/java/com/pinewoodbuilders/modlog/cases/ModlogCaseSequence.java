@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.modlog.cases;
+
+import com.pinewoodbuilders.Constants;
+
+public enum ModlogCaseSequence {
+
+    /**
+     * The local modlog cases, stored per guild.
+     */
+    MODLOG(Constants.GUILD_TABLE_NAME, "id", "modlog_case"),
+
+    /**
+     * The local on watch cases, stored per guild.
+     */
+    ON_WATCH(Constants.GUILD_TABLE_NAME, "id", "on_watch_case"),
+
+    /**
+     * The global modlog cases, shared by the global modlog and
+     * the global watch log, stored per main group.
+     */
+    GLOBAL_MODLOG(Constants.GLOBAL_SETTINGS_TABLE, "main_group_id", "global_modlog_case");
+
+    private final String table;
+    private final String keyColumn;
+    private final String caseColumn;
+
+    ModlogCaseSequence(String table, String keyColumn, String caseColumn) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.caseColumn = caseColumn;
+    }
+
+    /**
+     * Gets the name of the table the case counter is stored in.
+     *
+     * @return The name of the table the case counter is stored in.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the column used to identify the row the case counter belongs to.
+     *
+     * @return The column used to identify the row the case counter belongs to.
+     */
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    /**
+     * Gets the column the case counter is stored in.
+     *
+     * @return The column the case counter is stored in.
+     */
+    public String getCaseColumn() {
+        return caseColumn;
+    }
+}
@@ -29,6 +29,7 @@ import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseSequence;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.utilities.RestActionUtil;
@@ -100,7 +101,14 @@ public class GlobalModlog {
             return null;
         }
 
-        transformer.setGlobalModlogCase(transformer.getGlobalModlogCase() + 1);
+        int modlogCase;
+        try {
+            modlogCase = avaire.getModlogCaseAllocator().next(ModlogCaseSequence.GLOBAL_MODLOG, transformer.getMainGroupId());
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to allocate a global modlog case for {}: {}", transformer.getMainGroupId(), e.getMessage(), e);
+            return null;
+        }
+        transformer.raiseGlobalModlogCase(modlogCase);
 
         String[] split;
         EmbedBuilder builder = MessageFactory.createEmbeddedBuilder()
@@ -108,7 +116,7 @@ public class GlobalModlog {
                 action.getType().getName(transformer),
                 action.getType().getEmote(),
                 transformer.getMainGroupName(),
-                transformer.getGlobalModlogCase()
+                modlogCase
             ))
             .setColor(action.getType().getColor())
             .setTimestamp(Instant.now());
@@ -124,7 +132,7 @@ public class GlobalModlog {
                 builder
                     .addField("User", action.getStringifiedTarget(), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, action.getMessage()), false);
+                    .addField("Reason", formatReason(transformer, modlogCase, action.getMessage()), false);
                 break;
 
             case GLOBAL_MUTE:
@@ -141,7 +149,7 @@ public class GlobalModlog {
                     builder.addField("Expires At", split[0], true);
                 }
 
-                builder.addField("Reason", formatReason(transformer, String.join("\n",
+                builder.addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                     Arrays.copyOfRange(split, 1, split.length)
                 )), false);
                 break;
@@ -154,7 +162,7 @@ public class GlobalModlog {
                         modlogParts[0], channel.getGuild().getId(), channel.getId(), modlogParts[1]
                     ), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, String.join("\n",
+                    .addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                         Arrays.copyOfRange(split, 1, split.length)
                     )), false);
 
@@ -165,24 +173,14 @@ public class GlobalModlog {
         }
 
         /*avaire.getEventEmitter().push(new GlobalModlogActionEvent(
-            guild.getJDA(), action, transformer.getGlobalModlogCase()
+            guild.getJDA(), action, modlogCase
         ));*/
 
         channel.sendMessageEmbeds(builder.build()).queue(success -> {
-            try {
-                avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE)
-                    .where("main_group_id", transformer.getMainGroupId())
-                    .update(statement -> {
-                        statement.set("global_modlog_case", transformer.getGlobalModlogCase());
-                    });
-
-                logActionToTheDatabase(avaire, transformer.getMainGroupId(), action, success, transformer.getGlobalModlogCase());
-            } catch (SQLException ignored) {
-                //
-            }
+            logActionToTheDatabase(avaire, transformer.getMainGroupId(), action, success, modlogCase);
         }, RestActionUtil.ignore);
 
-        return "" + transformer.getGlobalModlogCase();
+        return "" + modlogCase;
     }
 
     private static void logActionToTheDatabase(Xeus avaire, long mgi, GlobalModlogAction action, Message message, int modlogCase) {
@@ -203,7 +201,7 @@ public class GlobalModlog {
                         statement.set("message_id", message.getId());
                     }
 
-                    statement.set("reason", formatReason(null, action.getMessage()), true);
+                    statement.set("reason", formatReason(null, modlogCase, action.getMessage()), true);
                 });
         } catch (SQLException ignored) {
             ignored.printStackTrace();
@@ -211,7 +209,7 @@ public class GlobalModlog {
     }
 
     @SuppressWarnings("ConstantConditions")
-    private static String formatReason(@Nullable GlobalSettingsTransformer transformer, String reason) {
+    private static String formatReason(@Nullable GlobalSettingsTransformer transformer, int modlogCase, String reason) {
         if (reason == null || reason.trim().equalsIgnoreCase("No reason was given.")) {
             if (transformer != null) {
                 //CommandContainer command = CommandHandler.getCommand(GlobalModlogReasonCommand.class);
@@ -221,7 +219,7 @@ public class GlobalModlog {
 
                 return String.format(
                     "Moderator do `%sreason %s <reason>`",
-                    /*prefix,*/"<prefix>", transformer.getGlobalModlogCase()
+                    /*prefix,*/"<prefix>", modlogCase
                 );
             }
             return null;
@@ -29,6 +29,7 @@ import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseSequence;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
 import com.pinewoodbuilders.utilities.RestActionUtil;
@@ -116,14 +117,21 @@ public class GlobalWatchlog {
             return null;
         }
 
-        transformer.setGlobalModlogCase(transformer.getGlobalModlogCase() + 1);
+        int modlogCase;
+        try {
+            modlogCase = avaire.getModlogCaseAllocator().next(ModlogCaseSequence.GLOBAL_MODLOG, transformer.getMainGroupId());
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to allocate a global modlog case for {}: {}", transformer.getMainGroupId(), e.getMessage(), e);
+            return null;
+        }
+        transformer.raiseGlobalModlogCase(modlogCase);
 
         String[] split = null;
         EmbedBuilder builder = MessageFactory.createEmbeddedBuilder()
             .setTitle(I18n.format("{0} {1} | Case #{2}",
                 action.getType().getEmote(),
                 transformer.getMainGroupName(),
-                transformer.getGlobalModlogCase()
+                modlogCase
             ))
             .setColor(action.getType().getColor())
             .setTimestamp(Instant.now());
@@ -132,7 +140,7 @@ public class GlobalWatchlog {
             case GLOBAL_UN_WATCH -> builder
                 .addField("User", action.getStringifiedTarget(), true)
                 //.addField("Moderator", action.getStringifiedModerator(), true)
-                .addField("Reason", formatReason(transformer, action.getMessage()), false);
+                .addField("Reason", formatReason(transformer, modlogCase, action.getMessage()), false);
             case GLOBAL_WATCH, GLOBAL_TEMP_WATCH -> {
                 //noinspection ConstantConditions
                 split = action.getMessage().split("\n");
@@ -143,7 +151,7 @@ public class GlobalWatchlog {
                 if (split[0].length() > 0) {
                     builder.addField("Expires At", split[0], true);
                 }
-                builder.addField("Reason", formatReason(transformer, String.join("\n",
+                builder.addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                     Arrays.copyOfRange(split, 1, split.length)
                 )), false);
             }
@@ -151,20 +159,10 @@ public class GlobalWatchlog {
 
 
         channel.sendMessageEmbeds(builder.build()).queue(success -> {
-            try {
-                avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE)
-                    .where("main_group_id", transformer.getMainGroupId())
-                    .update(statement -> {
-                        statement.set("global_modlog_case", transformer.getGlobalModlogCase());
-                    });
-
-                logActionToTheDatabase(avaire, transformer.getMainGroupId(), action, success, transformer.getGlobalModlogCase());
-            } catch (SQLException ignored) {
-                ignored.printStackTrace();
-            }
+            logActionToTheDatabase(avaire, transformer.getMainGroupId(), action, success, modlogCase);
         }, RestActionUtil.ignore);
 
-        return "" + transformer.getGlobalModlogCase();
+        return "" + modlogCase;
     }
 
     /**
@@ -223,19 +221,19 @@ public class GlobalWatchlog {
                         statement.set("message_id", message.getId());
                     }
 
-                    statement.set("reason", formatReason(null, action.getMessage()), true);
+                    statement.set("reason", formatReason(null, modlogCase, action.getMessage()), true);
                 });
         } catch (SQLException ignored) {
             //
         }
     }
 
-    private static String formatReason(@Nullable GlobalSettingsTransformer transformer, String reason) {
+    private static String formatReason(@Nullable GlobalSettingsTransformer transformer, int modlogCase, String reason) {
         if (reason == null || reason.trim().equalsIgnoreCase("No reason was given.")) {
             if (transformer != null) {
                 return String.format(
                     "Moderator do `%sreason %s <reason>`",
-                    "<prefix>", transformer.getGlobalModlogCase()
+                    "<prefix>", modlogCase
                 );
             }
             return null;
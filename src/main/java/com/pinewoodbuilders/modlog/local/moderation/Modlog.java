@@ -32,6 +32,7 @@ import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.handlers.events.ModlogActionEvent;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseSequence;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.utilities.RestActionUtil;
@@ -121,14 +122,21 @@ public class Modlog {
             return null;
         }
 
-        transformer.setModlogCase(transformer.getModlogCase() + 1);
+        int modlogCase;
+        try {
+            modlogCase = avaire.getModlogCaseAllocator().next(ModlogCaseSequence.MODLOG, guild.getIdLong());
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to allocate a modlog case for {}: {}", guild.getId(), e.getMessage(), e);
+            return null;
+        }
+        transformer.raiseModlogCase(modlogCase);
 
         String[] split = null;
         EmbedBuilder builder = MessageFactory.createEmbeddedBuilder()
             .setTitle(I18n.format("{0} {1} | Case #{2}",
                 action.getType().getEmote(),
                 action.getType().getName(guild),
-                transformer.getModlogCase()
+                modlogCase
             ))
             .setColor(action.getType().getColor())
             .setTimestamp(Instant.now());
@@ -141,7 +149,7 @@ public class Modlog {
                 builder
                     .addField("User", action.getStringifiedTarget(), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, action.getMessage()), false);
+                    .addField("Reason", formatReason(transformer, modlogCase, action.getMessage()), false);
                 break;
 
             case MUTE:
@@ -158,7 +166,7 @@ public class Modlog {
                     builder.addField("Expires At", split[0], true);
                 }
 
-                builder.addField("Reason", formatReason(transformer, String.join("\n",
+                builder.addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                     Arrays.copyOfRange(split, 1, split.length)
                 )), false);
                 break;
@@ -167,7 +175,7 @@ public class Modlog {
                 builder
                     .addField("Moderator", action.getStringifiedModerator(), true)
                     .addField("Action", action.getMessage(), true)
-                    .addField("Reason", formatReason(transformer, null), false);
+                    .addField("Reason", formatReason(transformer, modlogCase, null), false);
                 action.setMessage(null);
                 break;
 
@@ -178,7 +186,7 @@ public class Modlog {
                     .addField("User", action.getStringifiedTarget(), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
                     .addField("Voice Channel", split[0], false)
-                    .addField("Reason", formatReason(transformer, String.join("\n",
+                    .addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                         Arrays.copyOfRange(split, 1, split.length)
                     )), false);
 
@@ -196,7 +204,7 @@ public class Modlog {
                         modlogParts[0], transformer.getId(), transformer.getModlog(), modlogParts[1]
                     ), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, String.join("\n",
+                    .addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                         Arrays.copyOfRange(split, 1, split.length)
                     )), false);
 
@@ -207,24 +215,14 @@ public class Modlog {
         }
 
         avaire.getEventEmitter().push(new ModlogActionEvent(
-            guild.getJDA(), action, transformer.getModlogCase()
+            guild.getJDA(), action, modlogCase
         ));
 
         channel.sendMessageEmbeds(builder.build()).queue(success -> {
-            try {
-                avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                    .where("id", guild.getId())
-                    .update(statement -> {
-                        statement.set("modlog_case", transformer.getModlogCase());
-                    });
-
-                logActionToTheDatabase(avaire, guild, action, success, transformer.getModlogCase());
-            } catch (SQLException ignored) {
-                //
-            }
+            logActionToTheDatabase(avaire, guild, action, success, modlogCase);
         }, RestActionUtil.ignore);
 
-        return "" + transformer.getModlogCase();
+        return "" + modlogCase;
     }
 
     /**
@@ -285,7 +283,7 @@ public class Modlog {
                         statement.set("message_id", message.getId());
                     }
 
-                    statement.set("reason", formatReason(null, action.getMessage()), true);
+                    statement.set("reason", formatReason(null, modlogCase, action.getMessage()), true);
                 });
         } catch (SQLException ignored) {
             //
@@ -293,7 +291,7 @@ public class Modlog {
     }
 
     @SuppressWarnings("ConstantConditions")
-    private static String formatReason(@Nullable GuildTransformer transformer, String reason) {
+    private static String formatReason(@Nullable GuildTransformer transformer, int modlogCase, String reason) {
         if (reason == null || reason.trim().equalsIgnoreCase("No reason was given.")) {
             if (transformer != null) {
                 CommandContainer command = CommandHandler.getCommand(ModlogReasonCommand.class);
@@ -303,7 +301,7 @@ public class Modlog {
 
                 return String.format(
                     "Moderator do `%sreason %s <reason>`",
-                    prefix, transformer.getModlogCase()
+                    prefix, modlogCase
                 );
             }
             return null;
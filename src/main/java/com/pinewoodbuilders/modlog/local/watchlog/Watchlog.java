@@ -33,6 +33,7 @@ import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.language.I18n;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseSequence;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.utilities.RestActionUtil;
@@ -122,14 +123,21 @@ public class Watchlog {
             return null;
         }
 
-        transformer.setOnWatchCase(transformer.getOnWatchCase() + 1);
+        int onWatchCase;
+        try {
+            onWatchCase = avaire.getModlogCaseAllocator().next(ModlogCaseSequence.ON_WATCH, guild.getIdLong());
+        } catch (SQLException e) {
+            Xeus.getLogger().error("Failed to allocate a on watch case for {}: {}", guild.getId(), e.getMessage(), e);
+            return null;
+        }
+        transformer.raiseOnWatchCase(onWatchCase);
 
         String[] split = null;
         EmbedBuilder builder = MessageFactory.createEmbeddedBuilder()
             .setTitle(I18n.format("{0} {1} | Case #{2}",
                 action.getType().getEmote(),
                 action.getType().getName(guild),
-                transformer.getOnWatchCase()
+                onWatchCase
             ))
             .setColor(action.getType().getColor())
             .setTimestamp(Instant.now());
@@ -139,7 +147,7 @@ public class Watchlog {
                 builder
                     .addField("User", action.getStringifiedTarget(), true)
                     //.addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, action.getMessage()), false);
+                    .addField("Reason", formatReason(transformer, onWatchCase, action.getMessage()), false);
                 break;
 
             case ON_WATCH:
@@ -154,7 +162,7 @@ public class Watchlog {
                     builder.addField("Expires At", split[0], true);
                 }
 
-                builder.addField("Reason", formatReason(transformer, String.join("\n",
+                builder.addField("Reason", formatReason(transformer, onWatchCase, String.join("\n",
                     Arrays.copyOfRange(split, 1, split.length)
                 )), false);
                 break;
@@ -162,20 +170,10 @@ public class Watchlog {
         }
 
         channel.sendMessageEmbeds(builder.build()).queue(success -> {
-            try {
-                avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                    .where("id", guild.getId())
-                    .update(statement -> {
-                        statement.set("on_watch_case", transformer.getOnWatchCase());
-                    });
-
-                logActionToTheDatabase(avaire, guild, action, success, transformer.getOnWatchCase());
-            } catch (SQLException ignored) {
-                //
-            }
+            logActionToTheDatabase(avaire, guild, action, success, onWatchCase);
         }, RestActionUtil.ignore);
 
-        return "" + transformer.getOnWatchCase();
+        return "" + onWatchCase;
     }
 
     /**
@@ -234,7 +232,7 @@ public class Watchlog {
                         statement.set("message_id", message.getId());
                     }
 
-                    statement.set("reason", formatReason(null, action.getMessage()), true);
+                    statement.set("reason", formatReason(null, modlogCase, action.getMessage()), true);
                 });
         } catch (SQLException ignored) {
             //
@@ -242,7 +240,7 @@ public class Watchlog {
     }
 
     @SuppressWarnings("ConstantConditions")
-    private static String formatReason(@Nullable GuildTransformer transformer, String reason) {
+    private static String formatReason(@Nullable GuildTransformer transformer, int onWatchCase, String reason) {
         if (reason == null || reason.trim().equalsIgnoreCase("No reason was given.")) {
             if (transformer != null) {
                 CommandContainer command = CommandHandler.getCommand(OnWatchCommand.class);
@@ -252,7 +250,7 @@ public class Watchlog {
 
                 return String.format(
                     "Moderator do `%sreason %s <reason>`",
-                    prefix, transformer.getOnWatchCase()
+                    prefix, onWatchCase
                 );
             }
             return null;
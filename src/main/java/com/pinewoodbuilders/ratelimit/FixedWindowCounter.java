@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free fixed window counter, the window starts with the first hit
+ * and every hit after that is counted until the window ends, once the
+ * window has ended the next hit starts a new window.
+ * <p>
+ * The window end and the hit count are packed into a single long so
+ * both can be swapped in one compare-and-set, the window end takes
+ * the upper 44 bits and the hit count the lower 20 bits.
+ */
+public class FixedWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Gets the amount of hits in the current window.
+     *
+     * @param now The current time in milliseconds.
+     * @return The amount of hits in the current window, or <code>0</code> if the window has ended.
+     */
+    public int getHits(long now) {
+        long current = state.get();
+        if (now > windowEnd(current)) {
+            return 0;
+        }
+        return (int) (current & COUNT_MASK);
+    }
+
+    /**
+     * Gets the time in milliseconds for when the current window ends.
+     *
+     * @return The time in milliseconds for when the current window ends.
+     */
+    public long getWindowEnd() {
+        return windowEnd(state.get());
+    }
+
+    /**
+     * Hits the counter, starting a new window if the current window has ended.
+     *
+     * @param now          The current time in milliseconds.
+     * @param windowMillis The length of the window in milliseconds, only used when a new window is started.
+     * @return The amount of hits in the window after the hit.
+     */
+    public int hit(long now, long windowMillis) {
+        while (true) {
+            long current = state.get();
+            long end = windowEnd(current);
+
+            long next = now > end
+                ? pack(now + windowMillis, 1)
+                : pack(end, Math.min((current & COUNT_MASK) + 1, COUNT_MASK));
+
+            if (state.compareAndSet(current, next)) {
+                return (int) (next & COUNT_MASK);
+            }
+        }
+    }
+
+    /**
+     * Checks if the current window has ended.
+     *
+     * @param now The current time in milliseconds.
+     * @return <code>True</code> if the window has ended, <code>False</code> otherwise.
+     */
+    public boolean hasExpired(long now) {
+        return now > getWindowEnd();
+    }
+
+    private static long windowEnd(long state) {
+        return state >>> COUNT_BITS;
+    }
+
+    private static long pack(long windowEnd, long count) {
+        return (windowEnd << COUNT_BITS) | count;
+    }
+}
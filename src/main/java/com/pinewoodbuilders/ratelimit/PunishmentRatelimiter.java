@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
+import com.pinewoodbuilders.time.Carbon;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts hits per ID using a {@link SlidingWindowCounter sliding window}, and hands
+ * out increasingly harsher punishments to IDs that hit the limit repeatedly.
+ */
+public class PunishmentRatelimiter {
+
+    /**
+     * The time in milliseconds that must pass before the same ID can be punished again,
+     * commands are handled on their own thread pool, so it's possible for several
+     * hits from the same ID to cross the limit at once.
+     */
+    private static final long punishmentCooldown = 2500;
+
+    private final int hitLimit;
+    private final long hitTime;
+    private final List<PunishmentLevel> levels;
+
+    private final Map<Long, SlidingWindowCounter> rates = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> punishments = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new punishment ratelimiter.
+     *
+     * @param hitLimit The amount of hits allowed within the hit time before the ID is punished.
+     * @param hitTime  The amount of time in milliseconds each hit is valid for.
+     * @param levels   The punishment levels, each level should be harsher than the one before it.
+     */
+    public PunishmentRatelimiter(int hitLimit, long hitTime, List<PunishmentLevel> levels) {
+        this.hitLimit = hitLimit;
+        this.hitTime = hitTime;
+        this.levels = levels;
+    }
+
+    /**
+     * Hits the ratelimit for the given ID, if the ID has reached the hit limit
+     * within the hit time, the punishment level for the ID is increased.
+     *
+     * @param id The ID that should hit the ratelimit.
+     * @return Possibly-null, the time the punishment expires, or <code>null</code>
+     * if the ID should not be punished.
+     */
+    @Nullable
+    public Carbon hit(long id) {
+        long now = System.currentTimeMillis();
+
+        SlidingWindowCounter rate = rates.computeIfAbsent(id, ignored -> new SlidingWindowCounter(hitLimit, hitTime));
+        if (rate.hit(now) < hitLimit || !rate.claimPunishment(now, punishmentCooldown)) {
+            return null;
+        }
+
+        int level = punishments.merge(id, 0, (current, ignored) -> current + 1);
+
+        return levels.get(Math.min(level, levels.size() - 1)).generateTime();
+    }
+
+    /**
+     * Removes the rates that no longer have any hits within the hit time.
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+
+        rates.values().removeIf(rate -> rate.hasExpired(now));
+    }
+}
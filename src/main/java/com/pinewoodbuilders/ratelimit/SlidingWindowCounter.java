@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free sliding window counter, the counter remembers the time of the
+ * last {@code limit} hits, and only the hits that happened within the
+ * window are counted.
+ */
+public class SlidingWindowCounter {
+
+    private final AtomicLongArray timestamps;
+    private final AtomicInteger index = new AtomicInteger();
+    private final AtomicLong lastHit = new AtomicLong();
+    private final AtomicLong lastPunishment = new AtomicLong();
+    private final long windowMillis;
+
+    /**
+     * Creates a new sliding window counter.
+     *
+     * @param limit        The amount of hits the counter should remember.
+     * @param windowMillis The length of the window in milliseconds.
+     */
+    public SlidingWindowCounter(int limit, long windowMillis) {
+        this.timestamps = new AtomicLongArray(limit);
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Hits the counter, replacing the oldest remembered hit.
+     *
+     * @param now The current time in milliseconds.
+     * @return The amount of hits within the window after the hit.
+     */
+    public int hit(long now) {
+        timestamps.set(Math.floorMod(index.getAndIncrement(), timestamps.length()), now);
+        lastHit.accumulateAndGet(now, Math::max);
+
+        return getHits(now);
+    }
+
+    /**
+     * Gets the amount of hits within the window.
+     *
+     * @param now The current time in milliseconds.
+     * @return The amount of hits within the window.
+     */
+    public int getHits(long now) {
+        int hits = 0;
+        for (int i = 0; i < timestamps.length(); i++) {
+            long time = timestamps.get(i);
+            if (time != 0 && time + windowMillis > now) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Claims the right to punish the owner of the counter, only one claim
+     * is granted within the given cooldown, this prevents punishing
+     * the same entity twice for hits that came in at once.
+     *
+     * @param now            The current time in milliseconds.
+     * @param cooldownMillis The time in milliseconds that must pass between two claims.
+     * @return <code>True</code> if the claim was granted, <code>False</code> otherwise.
+     */
+    public boolean claimPunishment(long now, long cooldownMillis) {
+        long last = lastPunishment.get();
+        return now - last >= cooldownMillis && lastPunishment.compareAndSet(last, now);
+    }
+
+    /**
+     * Checks if every hit in the counter is outside the window.
+     *
+     * @param now The current time in milliseconds.
+     * @return <code>True</code> if the counter has no hits within the window, <code>False</code> otherwise.
+     */
+    public boolean hasExpired(long now) {
+        return lastHit.get() + windowMillis <= now;
+    }
+}
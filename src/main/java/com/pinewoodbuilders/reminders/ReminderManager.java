@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.reminders;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.database.controllers.RemindersController;
+import com.pinewoodbuilders.moderation.expiry.HierarchicalTimingWheel;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.MessageBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.awt.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class ReminderManager {
+
+    /**
+     * The time in milliseconds between each tick on the timing wheel.
+     */
+    public static final long TICK_DURATION = 1000L;
+
+    /**
+     * The amount of slots on each level of the timing wheel.
+     */
+    public static final int WHEEL_SIZE = 64;
+
+    /**
+     * The delay in milliseconds before a reminder that
+     * failed to be delivered is attempted again.
+     */
+    public static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderManager.class);
+
+    private final Xeus avaire;
+    private final HierarchicalTimingWheel<ScheduledReminder> wheel;
+    private final Map<Integer, HierarchicalTimingWheel.Timeout<ScheduledReminder>> timeouts = new ConcurrentHashMap<>();
+    private final Queue<ScheduledReminder> delivered = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates the reminder manager instance, loading every reminder
+     * that hasn't been delivered yet from the database, including
+     * reminders that were due while the bot was offline.
+     *
+     * @param avaire The main Xeus application instance.
+     */
+    public ReminderManager(Xeus avaire) {
+        this.avaire = avaire;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_DURATION, WHEEL_SIZE, System.currentTimeMillis());
+
+        syncWithDatabase();
+    }
+
+    /**
+     * Registers the given reminder, the reminder will be delivered
+     * once the wheel has been advanced past its expiration time.
+     *
+     * @param reminder The reminder that should be registered.
+     */
+    public void register(@Nonnull ScheduledReminder reminder) {
+        long expiresAt = reminder.expiresAt() == null
+            ? System.currentTimeMillis()
+            : reminder.expiresAt().getTime().getTimeInMillis();
+
+        schedule(reminder, expiresAt);
+    }
+
+    /**
+     * Unregisters the reminder with the given ID, preventing it from being delivered.
+     *
+     * @param id The ID of the reminder that should be unregistered.
+     * @return {@code True} if the reminder was still pending, {@code False} otherwise.
+     */
+    public boolean unregister(int id) {
+        synchronized (wheel) {
+            HierarchicalTimingWheel.Timeout<ScheduledReminder> timeout = timeouts.remove(id);
+
+            return timeout != null && timeout.cancel();
+        }
+    }
+
+    /**
+     * Gets the amount of reminders that are waiting to be delivered.
+     *
+     * @return The amount of reminders that are waiting to be delivered.
+     */
+    public int getPendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Advances the timing wheel to the current time, delivering every reminder
+     * that is due, and deletes the reminders that have been delivered since
+     * the last advance from the database using a single query.
+     */
+    public void advance() {
+        List<ScheduledReminder> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+            for (ScheduledReminder reminder : due) {
+                timeouts.remove(reminder.id());
+            }
+        }
+
+        for (ScheduledReminder reminder : due) {
+            deliver(reminder);
+        }
+
+        deleteDeliveredReminders();
+    }
+
+    private void schedule(ScheduledReminder reminder, long expiresAt) {
+        synchronized (wheel) {
+            HierarchicalTimingWheel.Timeout<ScheduledReminder> previous = timeouts.put(
+                reminder.id(), wheel.schedule(reminder, expiresAt)
+            );
+
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+    }
+
+    private void deliver(ScheduledReminder reminder) {
+        avaire.getShardManager().retrieveUserById(reminder.userId()).queue(user -> {
+            TextChannel textChannel = reminder.channelId() == null ? null
+                : avaire.getShardManager().getTextChannelById(reminder.channelId());
+
+            if (textChannel == null || !textChannel.canTalk()) {
+                user.openPrivateChannel().queue(channel -> channel.sendMessage(buildMessage(user, reminder)).queue(
+                    success -> delivered.add(reminder),
+                    error -> retry(reminder, error)
+                ), error -> retry(reminder, error));
+                return;
+            }
+
+            textChannel.sendMessage(buildMessage(user, reminder)).queue(
+                success -> delivered.add(reminder),
+                error -> retry(reminder, error)
+            );
+        }, error -> retry(reminder, error));
+    }
+
+    private void retry(ScheduledReminder reminder, Throwable error) {
+        log.debug("Failed to deliver reminder {} to {}, retrying later: {}",
+            reminder.id(), reminder.userId(), error.getMessage()
+        );
+
+        schedule(reminder, System.currentTimeMillis() + RETRY_DELAY);
+    }
+
+    private void deleteDeliveredReminders() {
+        if (delivered.isEmpty()) {
+            return;
+        }
+
+        List<ScheduledReminder> reminders = new ArrayList<>();
+        for (ScheduledReminder reminder; (reminder = delivered.poll()) != null; ) {
+            reminders.add(reminder);
+        }
+
+        try {
+            avaire.getDatabase().queryUpdate(String.format(
+                "DELETE FROM `%s` WHERE `id` IN (%s);",
+                Constants.REMINDERS_TABLE_NAME,
+                reminders.stream()
+                    .map(reminder -> String.valueOf(reminder.id()))
+                    .collect(Collectors.joining(", "))
+            ));
+        } catch (SQLException e) {
+            log.error("Failed to delete {} delivered reminders, retrying on the next advance: {}",
+                reminders.size(), e.getMessage(), e
+            );
+
+            delivered.addAll(reminders);
+            return;
+        }
+
+        for (ScheduledReminder reminder : reminders) {
+            RemindersController.cache.invalidate(reminder.userId());
+        }
+    }
+
+    private void syncWithDatabase() {
+        log.info("Syncing reminders with the database...");
+
+        try {
+            // Delivered reminders are deleted as they're sent, but reminders that were
+            // marked as sent by older versions are never read again, so we clean
+            // them up before loading the rest.
+            avaire.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
+                .where("sent", true)
+                .delete();
+
+            Collection collection = avaire.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
+                .where("sent", false)
+                .get();
+
+            for (DataRow row : collection) {
+                register(ScheduledReminder.fromDataRow(row));
+            }
+
+            log.info("Syncing reminders completed, {} reminders are waiting to be delivered", collection.size());
+        } catch (SQLException e) {
+            log.error("Failed to sync the reminders with the database: {}", e.getMessage(), e);
+        }
+    }
+
+    private Message buildMessage(User author, ScheduledReminder reminder) {
+        return new MessageBuilder()
+            .setContent(String.format("%s, %s you asked to be reminded about:",
+                author.getAsMention(),
+                reminder.storedAt().diffForHumans()
+            ))
+            .setEmbeds(new EmbedBuilder()
+                .setAuthor(author.getName(), null, author.getEffectiveAvatarUrl())
+                .setColor(new Color(43, 255, 0))
+                .setDescription(reminder.message())
+                .build()
+            ).build();
+    }
+}
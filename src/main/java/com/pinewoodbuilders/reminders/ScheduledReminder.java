@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.reminders;
+
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.time.Carbon;
+
+import javax.annotation.Nullable;
+
+/**
+ * A pending reminder waiting to be delivered by the {@link ReminderManager}.
+ *
+ * @param id        The ID of the reminder in the database.
+ * @param userId    The ID of the user that should be reminded.
+ * @param channelId The ID of the channel the reminder should be sent in, or {@code null} to send it in a DM.
+ * @param message   The message the user should be reminded about.
+ * @param storedAt  The time the reminder was created.
+ * @param expiresAt The time the reminder should be delivered.
+ */
+public record ScheduledReminder(
+    int id,
+    long userId,
+    @Nullable String channelId,
+    String message,
+    Carbon storedAt,
+    Carbon expiresAt
+) {
+
+    /**
+     * Creates a scheduled reminder from the given reminders table row.
+     *
+     * @param row The row from the reminders table.
+     * @return The scheduled reminder for the given row.
+     */
+    public static ScheduledReminder fromDataRow(DataRow row) {
+        return new ScheduledReminder(
+            row.getInt("id"),
+            row.getLong("user_id"),
+            row.getString("channel_id", null),
+            row.getString("message"),
+            row.getTimestamp("stored_at"),
+            row.getTimestamp("expires_at")
+        );
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.requests;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+public class HostConcurrencyInterceptor implements Interceptor {
+
+    /**
+     * The maximum amount of requests that can be in-flight to a single host at the same time.
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * The semaphores used to limit the requests for each host.
+     */
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the host concurrency interceptor, the OkHttp dispatcher only limits
+     * the requests sent through {@link okhttp3.Call#enqueue(okhttp3.Callback)}, so
+     * this interceptor applies the same limit to synchronous requests, a
+     * request is in-flight until the response headers have been read.
+     *
+     * @param maxRequestsPerHost The maximum amount of in-flight requests to a single host.
+     */
+    public HostConcurrencyInterceptor(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    @Nonnull
+    @Override
+    public Response intercept(@Nonnull Chain chain) throws IOException {
+        Semaphore semaphore = hosts.computeIfAbsent(chain.request().url().host(),
+            host -> new Semaphore(maxRequestsPerHost, true)
+        );
+
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a request slot to " + chain.request().url().host());
+        }
+
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.requests;
+
+import com.pinewoodbuilders.metrics.Metrics;
+import io.prometheus.client.Histogram;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+
+public class HostMetricsInterceptor implements Interceptor {
+
+    @Nonnull
+    @Override
+    public Response intercept(@Nonnull Chain chain) throws IOException {
+        Histogram.Timer timer = Metrics.httpRequestDuration
+            .labels(chain.request().url().host())
+            .startTimer();
+
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            timer.observeDuration();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.requests;
+
+import com.pinewoodbuilders.config.Configuration;
+import com.pinewoodbuilders.requests.ratelimit.RateLimitInterceptor;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class HttpClientProvider {
+
+    /**
+     * The shared HTTP client, the client is created lazily using the default
+     * settings if it is requested before the config has been loaded.
+     */
+    private static volatile OkHttpClient client;
+
+    /**
+     * Gets the shared HTTP client, all outgoing HTTP requests should be sent
+     * through this client so they share the same connection pool,
+     * dispatcher, and per-host concurrency limits.
+     *
+     * @return The shared HTTP client.
+     */
+    public static OkHttpClient getClient() {
+        OkHttpClient current = client;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (HttpClientProvider.class) {
+            if (client == null) {
+                client = build(null);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * Rebuilds the shared HTTP client using the "http-client" settings from the given
+     * config, clients that have already been handed out will keep working, but
+     * new requests will be sent using the newly configured client.
+     *
+     * @param config The config that the client settings should be loaded from.
+     */
+    public static synchronized void configure(@Nonnull Configuration config) {
+        client = build(config);
+    }
+
+    private static OkHttpClient build(@Nullable Configuration config) {
+        int maxRequestsPerHost = getInt(config, "max-requests-per-host", 8);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(getInt(config, "max-requests", 64));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(
+                getInt(config, "max-idle-connections", 16),
+                getInt(config, "keep-alive", 300),
+                TimeUnit.SECONDS
+            ))
+            .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .connectTimeout(getInt(config, "connect-timeout", 10), TimeUnit.SECONDS)
+            .readTimeout(getInt(config, "read-timeout", 30), TimeUnit.SECONDS)
+            .writeTimeout(getInt(config, "write-timeout", 30), TimeUnit.SECONDS)
+            .callTimeout(getInt(config, "call-timeout", 60), TimeUnit.SECONDS)
+            .addInterceptor(new RateLimitInterceptor())
+            .addInterceptor(new HostConcurrencyInterceptor(maxRequestsPerHost))
+            .addInterceptor(new HostMetricsInterceptor())
+            .build();
+    }
+
+    private static int getInt(@Nullable Configuration config, String path, int def) {
+        return config == null ? def : config.getInt("http-client." + path, def);
+    }
+}
@@ -22,10 +22,13 @@
 package com.pinewoodbuilders.requests;
 
 import com.pinewoodbuilders.contracts.async.Future;
-import okhttp3.OkHttpClient;
+import okhttp3.Call;
+import okhttp3.Callback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
@@ -41,7 +44,6 @@ public class Request extends Future {
     private final String url;
     private final RequestType type;
 
-    private final OkHttpClient client;
     private final okhttp3.Request.Builder builder;
 
     private final Map<String, Object> parameters = new HashMap<>();
@@ -55,7 +57,6 @@ public class Request extends Future {
         this.url = url;
         this.type = type;
 
-        client = new OkHttpClient();
         builder = new okhttp3.Request.Builder();
         headers.put("User-Agent", "Mozilla/5.0");
     }
@@ -82,7 +83,21 @@ public class Request extends Future {
                 builder.get();
             }
 
-            success.accept(new Response(client.newCall(builder.build()).execute()));
+            HttpClientProvider.getClient().newCall(builder.build()).enqueue(new Callback() {
+                @Override
+                public void onResponse(@Nonnull Call call, @Nonnull okhttp3.Response response) {
+                    try {
+                        success.accept(new Response(response));
+                    } catch (Exception ex) {
+                        failure.accept(ex);
+                    }
+                }
+
+                @Override
+                public void onFailure(@Nonnull Call call, @Nonnull IOException ex) {
+                    failure.accept(ex);
+                }
+            });
         } catch (Exception ex) {
             failure.accept(ex);
         }
@@ -1,34 +1,203 @@
 package com.pinewoodbuilders.requests.ratelimit;
 
 import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RateLimitInterceptor implements Interceptor {
 
-    // private RateLimiter rateLimiter = RateLimiter.create(3);
+    private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    /**
+     * The hosts the ratelimits are applied to by default, subdomains of the
+     * hosts are included, every other host is passed straight through.
+     */
+    public static final Set<String> DEFAULT_HOSTS = Set.of("roblox.com");
+
+    /**
+     * The default maximum amount of milliseconds a request will spend waiting
+     * for ratelimits across all of its attempts, this is kept well below
+     * the call timeout so requests that waited aren't cancelled.
+     */
+    public static final long DEFAULT_MAX_WAIT = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * The maximum amount of times a ratelimited request will be retried.
+     */
+    public static final int MAX_RETRIES = 3;
+
+    /**
+     * The amount of milliseconds to wait before retrying a ratelimited
+     * request, if the response doesn't say how long to wait.
+     */
+    private static final long DEFAULT_RETRY_AFTER = 1000;
+
+    /**
+     * Ratelimit reset values from this amount of seconds and up are read as a unix
+     * timestamp in seconds, anything below is read as the seconds to wait.
+     */
+    private static final long EPOCH_RESET_THRESHOLD = 1_000_000_000L;
+
+    private final Set<String> hosts;
+    private final long maxWait;
+
+    /**
+     * The time in milliseconds each host has run out of requests until.
+     */
+    private final Map<String, AtomicLong> exhaustedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the ratelimit interceptor for the {@link #DEFAULT_HOSTS default hosts}.
+     */
+    public RateLimitInterceptor() {
+        this(DEFAULT_HOSTS, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates the ratelimit interceptor for the given hosts, ratelimited requests are
+     * retried once the response says the ratelimit resets, and once a host runs
+     * out of remaining requests, new requests to the host waits for the reset.
+     *
+     * @param hosts   The hosts the ratelimits should be applied to, including their subdomains.
+     * @param maxWait The maximum amount of milliseconds a request can spend waiting for ratelimits.
+     */
+    public RateLimitInterceptor(@Nonnull Set<String> hosts, long maxWait) {
+        this.hosts = Set.copyOf(hosts);
+        this.maxWait = maxWait;
+    }
 
     @Override
     public @NotNull Response intercept(Chain chain) throws IOException {
-        Response response = chain.proceed(chain.request());
-
-        // 429 is how the api indicates a rate limit error
-        if (!response.isSuccessful() && response.code() == 429) {
-            System.err.println("Cloudant: "+response.message());
-
-            // wait & retry
-            try {
-                System.out.println("wait and retry...");
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                System.out.println("Connection interrupted... retrying...");
+        Request request = chain.request();
+        String host = request.url().host();
+        if (!isRatelimited(host)) {
+            return chain.proceed(request);
+        }
+
+        long deadline = System.currentTimeMillis() + getWaitBudget(chain);
+        AtomicLong until = exhaustedUntil.computeIfAbsent(host, key -> new AtomicLong());
+
+        for (int attempt = 0; ; attempt++) {
+            // Waiting past the deadline would only get the request cancelled by
+            // the call timeout, so the request is sent straight away instead.
+            long exhausted = until.get();
+            if (exhausted <= deadline) {
+                waitUntil(exhausted, host);
+            }
+
+            Response response = chain.proceed(request);
+
+            long now = System.currentTimeMillis();
+            if ("0".equals(response.header("X-RateLimit-Remaining"))) {
+                long resetAt = parseResetTime(response.header("X-RateLimit-Reset"), now);
+                if (resetAt > now) {
+                    until.accumulateAndGet(resetAt, Math::max);
+                }
+            }
+
+            if (response.code() != 429 || attempt >= MAX_RETRIES) {
+                return response;
+            }
+
+            long retryAt = getRetryTime(response, now);
+            if (retryAt > deadline) {
+                log.debug("Ratelimited by {}, the ratelimit resets after the request times out", host);
+                return response;
+            }
+
+            log.debug("Ratelimited by {}, retrying the request in {} ms", host, retryAt - now);
+            response.close();
+
+            waitUntil(retryAt, host);
+        }
+    }
+
+    /**
+     * Parses the given ratelimit reset header value, the value can either be
+     * the amount of seconds until the ratelimit resets, or the unix
+     * timestamp in seconds for when the ratelimit resets.
+     *
+     * @param value The value of the ratelimit reset header.
+     * @param now   The current time in milliseconds.
+     * @return The time in milliseconds the ratelimit resets at, or -1 if the value isn't valid.
+     */
+    public static long parseResetTime(@Nullable String value, long now) {
+        double seconds = parseSeconds(value);
+        if (seconds < 0) {
+            return -1;
+        }
+
+        if (seconds >= EPOCH_RESET_THRESHOLD) {
+            return (long) (seconds * 1000);
+        }
+        return now + (long) (seconds * 1000);
+    }
+
+    private boolean isRatelimited(String host) {
+        if (hosts.contains(host)) {
+            return true;
+        }
+
+        for (int i = host.indexOf('.'); i >= 0; i = host.indexOf('.', i + 1)) {
+            if (hosts.contains(host.substring(i + 1))) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            response = chain.proceed(chain.request());
+    private long getWaitBudget(Chain chain) {
+        long callTimeout = TimeUnit.NANOSECONDS.toMillis(chain.call().timeout().timeoutNanos());
+        return callTimeout > 0 ? Math.min(maxWait, callTimeout / 2) : maxWait;
+    }
+
+    private long getRetryTime(Response response, long now) {
+        double retryAfter = parseSeconds(response.header("Retry-After"));
+        if (retryAfter >= 0) {
+            return now + (long) (retryAfter * 1000);
+        }
+
+        long resetAt = parseResetTime(response.header("X-RateLimit-Reset"), now);
+        return resetAt >= 0 ? resetAt : now + DEFAULT_RETRY_AFTER;
+    }
+
+    private static double parseSeconds(@Nullable String value) {
+        if (value == null) {
+            return -1;
         }
 
-        return response;
+        try {
+            double seconds = Double.parseDouble(value.trim());
+            return seconds >= 0 ? seconds : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void waitUntil(long time, String host) throws InterruptedIOException {
+        long delay = time - System.currentTimeMillis();
+        if (delay <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the ratelimit for " + host + " to reset");
+        }
     }
 }
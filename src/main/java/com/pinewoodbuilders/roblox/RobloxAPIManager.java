@@ -1,6 +1,7 @@
 package com.pinewoodbuilders.roblox;
 
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.requests.HttpClientProvider;
 import com.pinewoodbuilders.roblox.api.group.GroupAPIRoutes;
 import com.pinewoodbuilders.roblox.api.user.RobloxUserAPIRoutes;
 import com.pinewoodbuilders.roblox.evaluations.EvaluationManager;
@@ -14,7 +15,6 @@ import okhttp3.ResponseBody;
 import java.io.IOException;
 
 public class RobloxAPIManager {
-    private final OkHttpClient client = new OkHttpClient();
     private final RobloxUserAPIRoutes userAPI;
     private final VerificationManager verification;
     private final GroupAPIRoutes groupAPI;
@@ -48,7 +48,7 @@ public class RobloxAPIManager {
     }
 
     public OkHttpClient getClient() {
-        return client;
+        return HttpClientProvider.getClient();
     }
 
     public Object toService(Response response, Class<?> clazz) {
@@ -0,0 +1,116 @@
+package com.pinewoodbuilders.roblox.api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class SingleFlightCache<K, V> {
+
+    private final Function<K, CompletableFuture<V>> loader;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final Cache<K, V> cache;
+
+    /**
+     * Creates a single-flight cache, concurrent loads for the same key are collapsed
+     * into a single call to the loader, and successfully loaded values are
+     * cached for the given duration, values that are loaded as
+     * <code>null</code> are never cached.
+     *
+     * @param duration The duration the loaded values should be cached for, or 0 to only collapse concurrent loads.
+     * @param unit     The time unit for the duration.
+     * @param loader   The loader used to load the values for keys that are not cached or in-flight.
+     */
+    public SingleFlightCache(long duration, TimeUnit unit, @Nonnull Function<K, CompletableFuture<V>> loader) {
+        this.loader = loader;
+        this.cache = duration <= 0 ? null : CacheBuilder.newBuilder()
+            .recordStats()
+            .expireAfterWrite(duration, unit)
+            .build();
+    }
+
+    /**
+     * Gets the value for the given key, if the value is cached the returned future will
+     * already be completed, otherwise the in-flight load for the key is returned,
+     * starting a new load if no load is currently running for the key.
+     *
+     * @param key The key that the value should be returned for.
+     * @return The future that completes with the value for the given key.
+     */
+    public CompletableFuture<V> get(@Nonnull K key) {
+        if (cache != null) {
+            V value = cache.getIfPresent(key);
+            if (value != null) {
+                return CompletableFuture.completedFuture(value);
+            }
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return running;
+        }
+
+        CompletableFuture<V> load;
+        try {
+            load = loader.apply(key);
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+
+        load.whenComplete((value, throwable) -> {
+            // The value is cached before the in-flight load is removed, so callers
+            // arriving in between will always find either the cache or the load.
+            if (cache != null && throwable == null && value != null) {
+                cache.put(key, value);
+            }
+            inFlight.remove(key, future);
+
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Gets the amount of loads that are currently in-flight.
+     *
+     * @return The amount of in-flight loads.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Removes the cached value for the given key, if any.
+     *
+     * @param key The key that should be invalidated.
+     */
+    public void invalidate(@Nonnull K key) {
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Gets the underlying cache, or <code>null</code> if values are not cached.
+     *
+     * @return The underlying cache, or <code>null</code>.
+     */
+    @Nullable
+    public Cache<K, V> getCache() {
+        return cache;
+    }
+}
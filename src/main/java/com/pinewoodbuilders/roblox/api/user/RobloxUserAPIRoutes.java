@@ -1,125 +1,175 @@
 package com.pinewoodbuilders.roblox.api.user;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.requests.service.user.inventory.RobloxGamePassService;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
+import com.pinewoodbuilders.roblox.api.SingleFlightCache;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.json.JSONObject;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class RobloxUserAPIRoutes {
 
     private final Xeus avaire;
     private final RobloxAPIManager manager;
-    private final Request.Builder request = new Request.Builder()
-        .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version);
+    private final String userAgent = "Xeus v" + AppInfo.getAppInfo().version;
+
+    /**
+     * Usernames and user IDs rarely change, so they're cached for a while, the
+     * group ranks and game passes are only cached briefly so changes are
+     * picked up quickly, and the user status (description) is never
+     * cached since it's used for verifying users.
+     */
+    private final SingleFlightCache<Long, String> usernames = new SingleFlightCache<>(
+        5, TimeUnit.MINUTES, this::requestUsername
+    );
+    private final SingleFlightCache<String, Long> userIds = new SingleFlightCache<>(
+        5, TimeUnit.MINUTES, this::requestIdFromUsername
+    );
+    private final SingleFlightCache<Long, List<RobloxUserGroupRankService.Data>> userRanks = new SingleFlightCache<>(
+        30, TimeUnit.SECONDS, this::requestUserRanks
+    );
+    private final SingleFlightCache<GamePassKey, List<RobloxGamePassService.Datum>> gamePasses = new SingleFlightCache<>(
+        30, TimeUnit.SECONDS, this::requestUserGamePass
+    );
+    private final SingleFlightCache<Long, String> userStatuses = new SingleFlightCache<>(
+        0, TimeUnit.SECONDS, this::requestUserStatus
+    );
 
     public RobloxUserAPIRoutes(Xeus avaire, RobloxAPIManager robloxAPIManager) {this.avaire = avaire; this.manager = robloxAPIManager;}
 
-    public static final Cache <String, String> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(5, TimeUnit.MINUTES)
-        .build();
+    public CompletableFuture<List<RobloxUserGroupRankService.Data>> getUserRanksAsync(long userId) {
+        return userRanks.get(userId);
+    }
 
-    public List<RobloxUserGroupRankService.Data> getUserRanks(Long botAccount) {
-        request.url("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", botAccount.toString()));
+    public CompletableFuture<String> getUserStatusAsync(long userId) {
+        return userStatuses.get(userId);
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                RobloxUserGroupRankService grs = (RobloxUserGroupRankService) manager.toService(response, RobloxUserGroupRankService.class);
-                if (grs.hasData()) {
-                    return grs.getData();
-                }
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+    public CompletableFuture<String> getUsernameAsync(long userId) {
+        return usernames.get(userId);
     }
 
-    public String getUserStatus(Long botAccount) {
-        request.url("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount.toString()));
+    public CompletableFuture<Long> getIdFromUsernameAsync(@Nonnull String username) {
+        return userIds.get(username.toLowerCase(Locale.ROOT));
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                return json.getString("description");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+    public CompletableFuture<List<RobloxGamePassService.Datum>> getUserGamePassAsync(long userId, long gamepassId) {
+        return gamePasses.get(new GamePassKey(userId, gamepassId));
     }
 
-    public String getUsername(String botAccount) {
-        String username = cache.getIfPresent("username." + botAccount);
-        if (username != null) {
-            return username;
-        }
+    public List<RobloxUserGroupRankService.Data> getUserRanks(Long botAccount) {
+        return getUserRanksAsync(botAccount).join();
+    }
 
-        request.url("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount));
+    public String getUserStatus(Long botAccount) {
+        return getUserStatusAsync(botAccount).join();
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                cache.put("username." + botAccount, json.getString("name"));
-                return json.getString("name");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
+    public String getUsername(String botAccount) {
+        try {
+            return getUsername(Long.parseLong(botAccount));
+        } catch (NumberFormatException e) {
+            return null;
         }
-        return null;
+    }
+
+    public String getUsername(Long userId) {
+        return userId == null ? null : getUsernameAsync(userId).join();
     }
 
     public long getIdFromUsername(String username) {
-        String userId = cache.getIfPresent("robloxId." + username);
-        if (userId != null) {
-            return Long.parseLong(userId);
-        }
+        Long userId = getIdFromUsernameAsync(username).join();
+        return userId == null ? 0 : userId;
+    }
 
-        request.url("https://api.roblox.com/users/get-by-username?username={userId}".replace("{userId}", username));
+    public List<RobloxGamePassService.Datum> getUserGamePass(Long userId, Long gamepassId) {
+        return getUserGamePassAsync(userId, gamepassId).join();
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                cache.put("robloxId." + username, String.valueOf(json.getLong("Id")));
-                return json.getLong("Id");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return 0;
+    private CompletableFuture<List<RobloxUserGroupRankService.Data>> requestUserRanks(Long userId) {
+        return request("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", userId.toString()), response -> {
+            RobloxUserGroupRankService grs = (RobloxUserGroupRankService) manager.toService(response, RobloxUserGroupRankService.class);
+            return grs != null && grs.hasData() ? grs.getData() : null;
+        });
     }
 
+    private CompletableFuture<String> requestUserStatus(Long userId) {
+        return request("https://users.roblox.com/v1/users/{userId}".replace("{userId}", userId.toString()), response ->
+            new JSONObject(response.body().string()).getString("description")
+        );
+    }
 
-    public List<RobloxGamePassService.Datum> getUserGamePass(Long userId, Long gamepassId) {
-        request.url("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
-                        .replace("{userId}", userId.toString())
-                        .replace("{gamepassId}", gamepassId.toString()));
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                RobloxGamePassService grs = (RobloxGamePassService) manager.toService(response, RobloxGamePassService.class);
-                if (grs.hasData()) {
-                    return grs.getData();
+    private CompletableFuture<String> requestUsername(Long userId) {
+        return request("https://users.roblox.com/v1/users/{userId}".replace("{userId}", userId.toString()), response ->
+            new JSONObject(response.body().string()).getString("name")
+        );
+    }
+
+    private CompletableFuture<Long> requestIdFromUsername(String username) {
+        return request("https://api.roblox.com/users/get-by-username?username={userId}".replace("{userId}", username), response ->
+            new JSONObject(response.body().string()).getLong("Id")
+        );
+    }
+
+    private CompletableFuture<List<RobloxGamePassService.Datum>> requestUserGamePass(GamePassKey key) {
+        return request("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
+            .replace("{userId}", String.valueOf(key.userId()))
+            .replace("{gamepassId}", String.valueOf(key.gamepassId())), response -> {
+            RobloxGamePassService grs = (RobloxGamePassService) manager.toService(response, RobloxGamePassService.class);
+            return grs != null && grs.hasData() ? grs.getData() : null;
+        });
+    }
+
+    /**
+     * Sends a GET request to the given URL through the shared HTTP client, the returned
+     * future completes with the parsed response for successful requests, and with
+     * <code>null</code> if the request failed or Roblox didn't respond with 200.
+     */
+    private <T> CompletableFuture<T> request(String url, ResponseParser<T> parser) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        Request request = new Request.Builder()
+            .url(url)
+            .addHeader("User-Agent", userAgent)
+            .build();
+
+        manager.getClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                try (response) {
+                    future.complete(response.code() == 200 ? parser.parse(response) : null);
+                } catch (Exception e) {
+                    Xeus.getLogger().error("Failed parsing response from Roblox API: " + e.getMessage());
+                    future.complete(null);
                 }
             }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
+                future.complete(null);
+            }
+        });
+
+        return future;
     }
 
-    public String getUsername(Long userId) {
-        return getUsername(String.valueOf(userId));
+    private interface ResponseParser<T> {
+        T parse(Response response) throws IOException;
     }
 
+    private record GamePassKey(long userId, long gamepassId) {
+    }
 }
@@ -1,11 +1,9 @@
 package com.pinewoodbuilders.roblox.verification;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.blacklist.kronos.KronosDivision;
 import com.pinewoodbuilders.chat.MessageType;
 import com.pinewoodbuilders.chat.PlaceholderMessage;
 import com.pinewoodbuilders.commands.CommandMessage;
@@ -24,41 +22,66 @@ import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
 import com.pinewoodbuilders.roblox.verification.methods.VerificationMethodsManager;
-import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.roblox.verification.resolver.BloxlinkVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.DatabaseVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.RoWifiVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.RoverVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationCacheKey;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationProvider;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationResolver;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
+import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.internal.utils.PermissionUtil;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.jetbrains.annotations.NotNull;
-import org.json.JSONObject;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
 import java.awt.*;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class VerificationManager {
 
-    public final Cache<String, VerificationEntity> cache = CacheBuilder.newBuilder().recordStats()
-        .expireAfterWrite(24, TimeUnit.HOURS).build();
+    /**
+     * The providers that are looked up when fetching verifications with a backup, in priority order.
+     */
+    private static final List<VerificationProvider> BACKUP_PROVIDERS = List.of(
+        VerificationProvider.PINEWOOD, VerificationProvider.ROVER, VerificationProvider.BLOXLINK
+    );
+
+    public final Cache<VerificationCacheKey, VerificationEntity> cache;
     private final Xeus avaire;
     private final RobloxAPIManager manager;
     private final VerificationMethodsManager verificationMethodsManager;
     private final HashMap<Long, String> inVerification = new HashMap<>();
+    private final VerificationResolver resolver;
 
     public VerificationManager(Xeus avaire, RobloxAPIManager robloxAPIManager) {
         this.avaire = avaire;
         this.manager = robloxAPIManager;
         this.verificationMethodsManager = new VerificationMethodsManager(avaire, robloxAPIManager);
+
+        Map<VerificationProvider, VerificationLookup> lookups = new EnumMap<>(VerificationProvider.class);
+        lookups.put(VerificationProvider.PINEWOOD, new DatabaseVerificationLookup(avaire, ScheduleHandler.getScheduler()));
+        lookups.put(VerificationProvider.ROVER, new RoverVerificationLookup(robloxAPIManager.getClient()));
+        lookups.put(VerificationProvider.BLOXLINK, new BloxlinkVerificationLookup(robloxAPIManager.getClient()));
+        lookups.put(VerificationProvider.ROWIFI, new RoWifiVerificationLookup(robloxAPIManager.getClient()));
+
+        this.resolver = new VerificationResolver(lookups, this::createEntity, ScheduleHandler.getScheduler(),
+            avaire.getConfig().getLong("verification.hedge-delay", 250),
+            avaire.getConfig().getLong("verification.unverified-cache-time", 60)
+        );
+        this.cache = resolver.getCache();
     }
 
     public VerificationMethodsManager getVerificationMethodsManager() {
@@ -111,6 +134,10 @@ public class VerificationManager {
         }
 
         VerificationEntity verificationEntity = fetchVerificationWithBackup(member.getId(), useCache);
+        if (!useCache) {
+            XeusPermissionUtil.forgetUserPermissions(member.getIdLong());
+        }
+
         if (verificationEntity == null) {
             return new VerificationResult(false,
                 "Xeus coudn't find your profile on the Xeus Database, please verify an account with `!verify`.");
@@ -302,17 +329,12 @@ public class VerificationManager {
     }
 
     private boolean isBlacklisted(Guild guild, VerificationEntity verificationEntity) {
-        return switch (guild.getId()) {
-            case "438134543837560832" -> isBlacklisted(avaire.getBlacklistManager().getPBSTBlacklist(), guild, verificationEntity).isSuccess();
-            case "572104809973415943" -> isBlacklisted(avaire.getBlacklistManager().getTMSBlacklist(), guild, verificationEntity).isSuccess();
-            case "498476405160673286" -> isBlacklisted(avaire.getBlacklistManager().getPBMBlacklist(), guild, verificationEntity).isSuccess();
-            case "436670173777362944" -> isBlacklisted(avaire.getBlacklistManager().getPETBlacklist(), guild, verificationEntity).isSuccess();
-            default -> false;
-        };
+        KronosDivision division = KronosDivision.fromGuildId(guild.getIdLong());
+        return division != null && isBlacklisted(division, guild, verificationEntity).isSuccess();
     }
 
-    private VerificationResult isBlacklisted(ArrayList<Long> blacklist, Guild guild, VerificationEntity verificationEntity) {
-        if (blacklist.contains(verificationEntity.getRobloxId())) {
+    private VerificationResult isBlacklisted(KronosDivision division, Guild guild, VerificationEntity verificationEntity) {
+        if (avaire.getBlacklistManager().isBlacklisted(division, verificationEntity.getRobloxId())) {
             String invite = getFirstInvite(guild);
             return new VerificationResult(true, "You're blacklisted on `" + guild.getName() + "`, access to the server has been denied.\n"
                 + "If you feel that your ban was unjustified please appeal at the Pinewood Builders Appeal Center; "
@@ -583,175 +605,95 @@ public class VerificationManager {
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchVerification(String discordUserId, boolean fromCache, @Nullable String selectedApi) {
-        switch (selectedApi != null ? selectedApi : "pinewood") {
-            case "bloxlink":
-                return fetchVerificationFromBloxlink(discordUserId, fromCache);
-            case "rover":
-                return fetchVerificationFromRover(discordUserId, fromCache);
-            case "pinewood":
-            default:
-                return fetchVerificationFromDatabase(discordUserId, fromCache);
+        VerificationProvider provider = VerificationProvider.fromName(selectedApi);
+        if (provider == null || provider == VerificationProvider.ROWIFI) {
+            provider = VerificationProvider.PINEWOOD;
         }
+        return resolve(discordUserId, fromCache, List.of(provider));
     }
 
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchVerificationWithBackup(String discordUserId, boolean fromCache) {
-        VerificationEntity entity = fetchVerificationFromDatabase(discordUserId, fromCache);
-        if (entity == null) {
-            entity = fetchVerificationFromRover(discordUserId, fromCache);
-        }
-
-        if (entity == null) {
-            entity = fetchVerificationFromBloxlink(discordUserId, fromCache);
-        }
+        return resolve(discordUserId, fromCache, BACKUP_PROVIDERS);
+    }
 
-        return entity;
+    public CompletableFuture<VerificationEntity> fetchVerificationWithBackupAsync(long discordUserId, boolean fromCache) {
+        return resolver.resolve(discordUserId, fromCache, BACKUP_PROVIDERS);
     }
 
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchInstantVerificationWithBackup(String discordUserId) {
-        VerificationEntity entity = callUserFromDatabaseAPI(discordUserId);
-        if (entity == null) {
-            entity = callUserFromRoverAPI(discordUserId);
-        }
-
-        if (entity == null) {
-            entity = callUserFromBloxlinkAPI(discordUserId);
-        }
-
-        return entity;
+        return resolve(discordUserId, false, BACKUP_PROVIDERS);
     }
 
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchVerificationFromDatabase(String discordUserId, boolean fromCache) {
-        if (!fromCache) {
-            return forgetAndCache("pinewood:" + discordUserId);
-        }
-        try {
-            return (VerificationEntity) CacheUtil.getUncheckedUnwrapped(cache, "pinewood:" + discordUserId,
-                () -> callUserFromDatabaseAPI(discordUserId));
-        } catch (CacheLoader.InvalidCacheLoadException e) {
-            return null;
-        }
+        return resolve(discordUserId, fromCache, List.of(VerificationProvider.PINEWOOD));
     }
 
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchVerificationFromRover(String discordUserId, boolean fromCache) {
-        if (!fromCache) {
-            return forgetAndCache("rover:" + discordUserId);
-        }
-        try {
-            return (VerificationEntity) CacheUtil.getUncheckedUnwrapped(cache, "rover:" + discordUserId,
-                () -> callUserFromRoverAPI(discordUserId));
-        } catch (CacheLoader.InvalidCacheLoadException e) {
-            return null;
-        }
+        return resolve(discordUserId, fromCache, List.of(VerificationProvider.ROVER));
     }
 
     @Nullable
     @CheckReturnValue
     public VerificationEntity fetchVerificationFromBloxlink(String discordUserId, boolean fromCache) {
-        if (!fromCache) {
-            return forgetAndCache("bloxlink:" + discordUserId);
-        }
-        try {
-            return (VerificationEntity) CacheUtil.getUncheckedUnwrapped(cache, "bloxlink:" + discordUserId,
-                () -> callUserFromBloxlinkAPI(discordUserId));
-        } catch (CacheLoader.InvalidCacheLoadException e) {
-            return null;
-        }
+        return resolve(discordUserId, fromCache, List.of(VerificationProvider.BLOXLINK));
     }
 
     @Nullable
     public VerificationEntity callUserFromBloxlinkAPI(String discordUserId) {
-        Request.Builder request = new Request.Builder().addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .url("https://api.blox.link/v1/user/" + discordUserId);
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                JSONObject json = new JSONObject(response.body().string());
-                if (json.has("primaryAccount")) {
-                    VerificationEntity verificationEntity = new VerificationEntity(json.getLong("primaryAccount"),
-                        manager.getUserAPI().getUsername(json.getLong("primaryAccount")), Long.valueOf(discordUserId),
-                        "bloxlink", true);
-                    cache.put("bloxlink:" + discordUserId, verificationEntity);
-                    return verificationEntity;
-                }
-                return null;
-            } else if (response.code() == 404) {
-                return null;
-            } else {
-                throw new Exception("Rover API returned something else then 200, please retry.");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    private VerificationEntity forgetAndCache(String discordUserId) {
-        if (cache.getIfPresent(discordUserId) != null) {
-            cache.invalidate(discordUserId);
-        }
-        switch (discordUserId.split(":")[0]) {
-            case "rover":
-                return callUserFromRoverAPI(discordUserId.split(":")[1]);
-            case "bloxlink":
-                return callUserFromBloxlinkAPI(discordUserId.split(":")[1]);
-            default:
-                return callUserFromDatabaseAPI(discordUserId.split(":")[1]);
-        }
+        return resolve(discordUserId, false, List.of(VerificationProvider.BLOXLINK));
     }
 
     public VerificationEntity callUserFromDatabaseAPI(String discordUserId) {
-        try {
-            Collection linkedAccounts = avaire.getDatabase().newQueryBuilder(Constants.VERIFICATION_DATABASE_TABLE_NAME)
-                .where("id", discordUserId)/*.andWhere("main", "1")*/.get();
-            if (linkedAccounts.size() == 0) {
-                return null;
-            } else {
-                VerificationEntity ve = new VerificationEntity(linkedAccounts.first().getLong("robloxId"),
-                    manager.getUserAPI().getUsername(linkedAccounts.first().getLong("robloxId")), Long.valueOf(discordUserId),
-                    "pinewood", true);
-                cache.put("pinewood:" + discordUserId, ve);
-                return ve;
-            }
-        } catch (SQLException throwables) {
-            return null;
-        }
+        return resolve(discordUserId, false, List.of(VerificationProvider.PINEWOOD));
     }
 
     @Nullable
     public VerificationEntity callUserFromRoverAPI(String discordUserId) {
-        Request.Builder request = new Request.Builder().addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .url("https://verify.eryn.io/api/user/" + discordUserId);
+        return resolve(discordUserId, false, List.of(VerificationProvider.ROVER));
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                JSONObject json = new JSONObject(response.body().string());
+    @Nullable
+    public VerificationEntity callUserFromRoWifiAPI(String discordUserId) {
+        return resolve(discordUserId, false, List.of(VerificationProvider.ROWIFI));
+    }
 
-                VerificationEntity verificationEntity = new VerificationEntity(json.getLong("robloxId"),
-                    manager.getUserAPI().getUsername(json.getLong("robloxId")), Long.valueOf(discordUserId), "rover", true);
+    public VerificationResolver getResolver() {
+        return resolver;
+    }
 
-                cache.put(discordUserId, verificationEntity);
-                return verificationEntity;
-            } else if (response.code() == 404) {
-                return null;
-            } else {
-                throw new Exception("Rover API returned something else then 200, please retry.");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Forgets the cached verification answers and the resolved permission levels
+     * for the given Discord ID, this should be called whenever the Roblox
+     * account linked to the Discord ID is changed.
+     *
+     * @param discordId The Discord ID that should be forgotten.
+     */
+    public void forgetVerification(long discordId) {
+        resolver.forget(discordId);
+        XeusPermissionUtil.forgetUserPermissions(discordId);
+    }
+
+    @Nullable
+    private VerificationEntity resolve(String discordUserId, boolean fromCache, List<VerificationProvider> providers) {
+        try {
+            return resolver.resolve(Long.parseLong(discordUserId), fromCache, providers).join();
+        } catch (NumberFormatException e) {
+            return null;
         }
-        return null;
+    }
+
+    private CompletableFuture<VerificationEntity> createEntity(VerificationProvider provider, long discordId, long robloxId) {
+        return manager.getUserAPI().getUsernameAsync(robloxId).thenApply(username ->
+            new VerificationEntity(robloxId, username, discordId, provider.getName(), true)
+        );
     }
 
     public VerificationEntity callDiscordUserFromDatabaseAPI(Long robloxId) {
@@ -833,34 +775,4 @@ public class VerificationManager {
         return "https://www.roblox.com/Thumbs/Avatar.ashx?x=150&y=150&Format=Png&userid=" + ve.getRobloxId();
     }
 
-    @Nullable
-    public VerificationEntity callUserFromRoWifiAPI(String discordUserId) {
-        Request.Builder request = new Request.Builder().addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .url("https://api.rowifi.link/v1/users/" + discordUserId);
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                JSONObject json = new JSONObject(response.body().string());
-                if (!json.getBoolean("success")) {
-                    return null;
-                }
-
-                VerificationEntity verificationEntity = new VerificationEntity(json.getLong("roblox_id"),
-                    manager.getUserAPI().getUsername(json.getLong("roblox_id")), json.getLong("discord_id"), "rowifi", true);
-
-                cache.put(discordUserId, verificationEntity);
-                return verificationEntity;
-            } else if (response.code() == 404) {
-                return null;
-            } else {
-                throw new Exception("RoWifi API returned something else then 200, please retry.");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
 }
@@ -1,6 +1,7 @@
 package com.pinewoodbuilders.roblox.verification.methods;
 
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.blacklist.kronos.KronosDivision;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
 import com.pinewoodbuilders.contracts.verification.VerificationResult;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
@@ -83,26 +84,10 @@ public class VerificationMethodsManager {
         } catch (SQLException throwables){
         }
 
-        if (guild.getId().equals("438134543837560832")) {
-            if (avaire.getBlacklistManager().getPBSTBlacklist().contains(verificationEntity.getRobloxId())) {
-                hook.sendMessage("Blacklisted from PBST.").queue();
-                return;
-            }
-        } else if (guild.getId().equals("572104809973415943")) {
-            if (avaire.getBlacklistManager().getTMSBlacklist().contains(verificationEntity.getRobloxId())) {
-                hook.sendMessage("Blacklisted from TMS.").queue();
-                return;
-            }
-        } else if (guild.getId().equalsIgnoreCase("498476405160673286")) {
-            if (avaire.getBlacklistManager().getPBMBlacklist().contains(verificationEntity.getRobloxId())) {
-                hook.sendMessage("Blacklisted from PBM.").queue();
-                return;
-            }
-        } else if (guild.getId().equalsIgnoreCase("436670173777362944")) {
-            if (avaire.getBlacklistManager().getPETBlacklist().contains(verificationEntity.getRobloxId())) {
-                hook.sendMessage("Blacklisted from PET.").queue();
-                return;
-            }
+        KronosDivision division = KronosDivision.fromGuildId(guild.getIdLong());
+        if (division != null && avaire.getBlacklistManager().isBlacklisted(division, verificationEntity.getRobloxId())) {
+            hook.sendMessage("Blacklisted from " + division.getName().toUpperCase() + ".").queue();
+            return;
         }
 
         VerificationTransformer verificationTransformer = VerificationController.fetchVerificationFromGuild(avaire, guild);
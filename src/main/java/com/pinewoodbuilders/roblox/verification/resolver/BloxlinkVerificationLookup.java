@@ -0,0 +1,24 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+
+public class BloxlinkVerificationLookup extends HttpVerificationLookup {
+
+    public static final String API_URL = "https://api.blox.link/v1/user/";
+
+    public BloxlinkVerificationLookup(OkHttpClient client) {
+        this(client, API_URL);
+    }
+
+    public BloxlinkVerificationLookup(OkHttpClient client, String baseUrl) {
+        super(client, baseUrl);
+    }
+
+    @Override
+    protected LookupResult parse(JSONObject json) {
+        return json.has("primaryAccount")
+            ? LookupResult.found(json.getLong("primaryAccount"))
+            : LookupResult.notFound();
+    }
+}
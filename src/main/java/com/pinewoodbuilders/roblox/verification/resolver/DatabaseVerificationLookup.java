@@ -0,0 +1,47 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.query.QueryTemplate;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class DatabaseVerificationLookup implements VerificationLookup {
+
+    private final Xeus avaire;
+    private final Executor executor;
+
+    /**
+     * Creates the database verification lookup, the database queries are
+     * run on the given executor so the lookup won't block the caller.
+     *
+     * @param avaire   The main Xeus application instance.
+     * @param executor The executor the database queries should be run on.
+     */
+    public DatabaseVerificationLookup(Xeus avaire, Executor executor) {
+        this.avaire = avaire;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<LookupResult> lookup(long discordId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Collection linkedAccounts = avaire.getDatabase()
+                    .template("verification_database.fetch-by-id", query -> query
+                        .table(Constants.VERIFICATION_DATABASE_TABLE_NAME)
+                        .where("id", QueryTemplate.parameter("id")))
+                    .get(discordId);
+
+                return linkedAccounts.isEmpty()
+                    ? LookupResult.notFound()
+                    : LookupResult.found(linkedAccounts.first().getLong("robloxId"));
+            } catch (SQLException e) {
+                return LookupResult.failed();
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import com.pinewoodbuilders.AppInfo;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+public abstract class HttpVerificationLookup implements VerificationLookup {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpVerificationLookup.class);
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+
+    /**
+     * Creates a HTTP verification lookup, the Discord ID is appended
+     * to the given base URL when the lookup request is sent.
+     *
+     * @param client  The HTTP client the lookup requests should be sent with.
+     * @param baseUrl The base URL for the provider API.
+     */
+    protected HttpVerificationLookup(OkHttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public CompletableFuture<LookupResult> lookup(long discordId) {
+        CompletableFuture<LookupResult> future = new CompletableFuture<>();
+
+        Request request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .url(baseUrl + discordId)
+            .build();
+
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (response.code() == 404) {
+                        future.complete(LookupResult.notFound());
+                    } else if (response.code() == 200 && body != null) {
+                        future.complete(parse(new JSONObject(body.string())));
+                    } else {
+                        log.warn("{} returned status code {} for {}", getClass().getSimpleName(), response.code(), discordId);
+                        future.complete(LookupResult.failed());
+                    }
+                } catch (Exception e) {
+                    log.warn("{} returned an invalid response for {}: {}", getClass().getSimpleName(), discordId, e.getMessage());
+                    future.complete(LookupResult.failed());
+                }
+            }
+
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                log.warn("Failed sending request to {}: {}", baseUrl, e.getMessage());
+                future.complete(LookupResult.failed());
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Parses the JSON body of a successful response from the provider.
+     *
+     * @param json The JSON body of the response.
+     * @return The lookup result for the response.
+     */
+    protected abstract LookupResult parse(JSONObject json);
+}
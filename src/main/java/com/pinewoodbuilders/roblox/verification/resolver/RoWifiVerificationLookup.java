@@ -0,0 +1,24 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+
+public class RoWifiVerificationLookup extends HttpVerificationLookup {
+
+    public static final String API_URL = "https://api.rowifi.link/v1/users/";
+
+    public RoWifiVerificationLookup(OkHttpClient client) {
+        this(client, API_URL);
+    }
+
+    public RoWifiVerificationLookup(OkHttpClient client, String baseUrl) {
+        super(client, baseUrl);
+    }
+
+    @Override
+    protected LookupResult parse(JSONObject json) {
+        return json.optBoolean("success") && json.has("roblox_id")
+            ? LookupResult.found(json.getLong("roblox_id"))
+            : LookupResult.notFound();
+    }
+}
@@ -0,0 +1,24 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+
+public class RoverVerificationLookup extends HttpVerificationLookup {
+
+    public static final String API_URL = "https://verify.eryn.io/api/user/";
+
+    public RoverVerificationLookup(OkHttpClient client) {
+        this(client, API_URL);
+    }
+
+    public RoverVerificationLookup(OkHttpClient client, String baseUrl) {
+        super(client, baseUrl);
+    }
+
+    @Override
+    protected LookupResult parse(JSONObject json) {
+        return json.has("robloxId")
+            ? LookupResult.found(json.getLong("robloxId"))
+            : LookupResult.notFound();
+    }
+}
@@ -0,0 +1,4 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+public record VerificationCacheKey(VerificationProvider provider, long discordId) {
+}
@@ -0,0 +1,44 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface VerificationLookup {
+
+    /**
+     * Looks up the Roblox account linked to the given Discord ID, the lookup
+     * should not block the calling thread, and should complete with a
+     * {@link LookupResult#failed() failed} result if the provider
+     * couldn't give an authoritative answer.
+     *
+     * @param discordId The Discord ID that should be looked up.
+     * @return The future that completes with the lookup result.
+     */
+    CompletableFuture<LookupResult> lookup(long discordId);
+
+    record LookupResult(Status status, long robloxId) {
+
+        private static final LookupResult NOT_FOUND = new LookupResult(Status.NOT_FOUND, 0);
+        private static final LookupResult FAILED = new LookupResult(Status.FAILED, 0);
+
+        public static LookupResult found(long robloxId) {
+            return new LookupResult(Status.FOUND, robloxId);
+        }
+
+        public static LookupResult notFound() {
+            return NOT_FOUND;
+        }
+
+        public static LookupResult failed() {
+            return FAILED;
+        }
+
+        public boolean isFound() {
+            return status == Status.FOUND;
+        }
+    }
+
+    enum Status {
+        FOUND, NOT_FOUND, FAILED
+    }
+}
@@ -0,0 +1,31 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import javax.annotation.Nullable;
+
+public enum VerificationProvider {
+
+    PINEWOOD("pinewood"),
+    ROVER("rover"),
+    BLOXLINK("bloxlink"),
+    ROWIFI("rowifi");
+
+    private final String name;
+
+    VerificationProvider(String name) {
+        this.name = name;
+    }
+
+    @Nullable
+    public static VerificationProvider fromName(@Nullable String name) {
+        for (VerificationProvider provider : values()) {
+            if (provider.getName().equalsIgnoreCase(name)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,224 @@
+package com.pinewoodbuilders.roblox.verification.resolver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationLookup.LookupResult;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class VerificationResolver {
+
+    private final Map<VerificationProvider, VerificationLookup> lookups;
+    private final EntityFactory entityFactory;
+    private final ScheduledExecutorService scheduler;
+    private final long hedgeDelay;
+
+    private final Cache<VerificationCacheKey, VerificationEntity> cache;
+    private final Cache<VerificationCacheKey, Boolean> unverifiedCache;
+
+    /**
+     * Creates the verification resolver.
+     *
+     * @param lookups        The lookups that should be used for each provider.
+     * @param entityFactory  The factory used to create verification entities for found Roblox accounts.
+     * @param scheduler      The scheduler used to start the hedged lookups.
+     * @param hedgeDelay     The delay in milliseconds between starting the lookups for each provider.
+     * @param unverifiedTime The amount of seconds unverified users should be cached for each provider.
+     */
+    public VerificationResolver(
+        @Nonnull Map<VerificationProvider, VerificationLookup> lookups,
+        @Nonnull EntityFactory entityFactory,
+        @Nonnull ScheduledExecutorService scheduler,
+        long hedgeDelay,
+        long unverifiedTime
+    ) {
+        this.lookups = lookups;
+        this.entityFactory = entityFactory;
+        this.scheduler = scheduler;
+        this.hedgeDelay = Math.max(0, hedgeDelay);
+
+        this.cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .expireAfterWrite(24, TimeUnit.HOURS)
+            .build();
+        this.unverifiedCache = CacheBuilder.newBuilder()
+            .recordStats()
+            .expireAfterWrite(Math.max(1, unverifiedTime), TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * Resolves the verification entity for the given Discord ID using the given providers,
+     * the first provider is looked up straight away, and each of the following providers
+     * are started after the hedge delay, or as soon as all the providers before them
+     * have answered, whichever comes first. The entity from the first provider,
+     * in the given order, that found a linked Roblox account is returned.
+     *
+     * @param discordId The Discord ID that should be resolved.
+     * @param fromCache <code>True</code> if cached answers should be used, <code>False</code> to always look up the providers.
+     * @param providers The providers that should be looked up, in priority order.
+     * @return The future that completes with the verification entity, or <code>null</code> if the user isn't verified.
+     */
+    public CompletableFuture<VerificationEntity> resolve(long discordId, boolean fromCache, @Nonnull List<VerificationProvider> providers) {
+        List<Attempt> attempts = new ArrayList<>(providers.size());
+        for (VerificationProvider provider : providers) {
+            attempts.add(new Attempt(new VerificationCacheKey(provider, discordId), fromCache));
+        }
+
+        if (attempts.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<ScheduledFuture<?>> hedges = new ArrayList<>(attempts.size() - 1);
+        attempts.get(0).start();
+        for (int i = 1; i < attempts.size(); i++) {
+            Attempt attempt = attempts.get(i);
+            if (hedgeDelay == 0) {
+                attempt.start();
+            } else {
+                hedges.add(scheduler.schedule(attempt::start, hedgeDelay * i, TimeUnit.MILLISECONDS));
+            }
+        }
+
+        return settle(attempts, 0).whenComplete((entity, throwable) -> {
+            for (ScheduledFuture<?> hedge : hedges) {
+                hedge.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Resolves the verification entity for the given Discord ID using a single provider.
+     *
+     * @param discordId The Discord ID that should be resolved.
+     * @param fromCache <code>True</code> if cached answers should be used, <code>False</code> to always look up the provider.
+     * @param provider  The provider that should be looked up.
+     * @return The future that completes with the verification entity, or <code>null</code> if the user isn't verified.
+     */
+    public CompletableFuture<VerificationEntity> resolve(long discordId, boolean fromCache, @Nonnull VerificationProvider provider) {
+        return resolve(discordId, fromCache, List.of(provider));
+    }
+
+    /**
+     * Forgets all the cached answers for the given Discord ID.
+     *
+     * @param discordId The Discord ID that should be forgotten.
+     */
+    public void forget(long discordId) {
+        for (VerificationProvider provider : VerificationProvider.values()) {
+            VerificationCacheKey key = new VerificationCacheKey(provider, discordId);
+            cache.invalidate(key);
+            unverifiedCache.invalidate(key);
+        }
+    }
+
+    public Cache<VerificationCacheKey, VerificationEntity> getCache() {
+        return cache;
+    }
+
+    public Cache<VerificationCacheKey, Boolean> getUnverifiedCache() {
+        return unverifiedCache;
+    }
+
+    private CompletableFuture<VerificationEntity> settle(List<Attempt> attempts, int index) {
+        if (index >= attempts.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return attempts.get(index).start().thenCompose(entity -> entity != null
+            ? CompletableFuture.completedFuture(entity)
+            : settle(attempts, index + 1)
+        );
+    }
+
+    @FunctionalInterface
+    public interface EntityFactory {
+
+        /**
+         * Creates the verification entity for a Roblox account found by a provider.
+         *
+         * @param provider  The provider that found the Roblox account.
+         * @param discordId The Discord ID the Roblox account is linked to.
+         * @param robloxId  The ID of the Roblox account.
+         * @return The future that completes with the verification entity.
+         */
+        CompletableFuture<VerificationEntity> create(VerificationProvider provider, long discordId, long robloxId);
+    }
+
+    private class Attempt {
+
+        private final VerificationCacheKey key;
+        private final boolean fromCache;
+        private final AtomicReference<CompletableFuture<VerificationEntity>> future = new AtomicReference<>();
+
+        Attempt(VerificationCacheKey key, boolean fromCache) {
+            this.key = key;
+            this.fromCache = fromCache;
+        }
+
+        CompletableFuture<VerificationEntity> start() {
+            CompletableFuture<VerificationEntity> started = new CompletableFuture<>();
+            if (!future.compareAndSet(null, started)) {
+                return future.get();
+            }
+
+            if (fromCache) {
+                VerificationEntity cached = cache.getIfPresent(key);
+                if (cached != null || unverifiedCache.getIfPresent(key) != null) {
+                    started.complete(cached);
+                    return started;
+                }
+            } else {
+                cache.invalidate(key);
+                unverifiedCache.invalidate(key);
+            }
+
+            VerificationLookup lookup = lookups.get(key.provider());
+            if (lookup == null) {
+                started.complete(null);
+                return started;
+            }
+
+            CompletableFuture<LookupResult> result;
+            try {
+                result = lookup.lookup(key.discordId());
+            } catch (RuntimeException e) {
+                result = CompletableFuture.completedFuture(LookupResult.failed());
+            }
+
+            result.exceptionally(throwable -> LookupResult.failed())
+                .thenCompose(this::toEntity)
+                .whenComplete((entity, throwable) -> started.complete(throwable == null ? entity : null));
+
+            return started;
+        }
+
+        private CompletableFuture<VerificationEntity> toEntity(LookupResult result) {
+            switch (result.status()) {
+                case FOUND:
+                    return entityFactory.create(key.provider(), key.discordId(), result.robloxId()).thenApply(entity -> {
+                        if (entity != null) {
+                            cache.put(key, entity);
+                        }
+                        return entity;
+                    });
+
+                case NOT_FOUND:
+                    unverifiedCache.put(key, Boolean.TRUE);
+                    return CompletableFuture.completedFuture(null);
+
+                default:
+                    return CompletableFuture.completedFuture(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.pinewoodbuilders.roblox.verification.update;
+
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
+import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RankBindingIndex {
+
+    /**
+     * The group ID used by bindings that grants roles for owning a game pass,
+     * the first "rank" of the binding is the ID of the game pass.
+     */
+    public static final String GAME_PASS_GROUP = "GamePass";
+
+    /**
+     * The highest rank a member can have in a Roblox group.
+     */
+    public static final int MAX_RANK = 255;
+
+    private static final long[] NO_ROLES = new long[0];
+
+    private final Map<Long, long[][]> groups;
+    private final Map<Long, long[]> gamePasses;
+    private final Set<Long> boundRoleIds;
+
+    private RankBindingIndex(Map<Long, long[][]> groups, Map<Long, long[]> gamePasses, Set<Long> boundRoleIds) {
+        this.groups = groups;
+        this.gamePasses = gamePasses;
+        this.boundRoleIds = boundRoleIds;
+    }
+
+    /**
+     * Compiles the given guild rank bindings into a rank binding index, each group is
+     * compiled into a table with the roles for every rank in the group, so the
+     * roles for a group rank can be looked up without going through the
+     * bindings, bindings with invalid role or group IDs are skipped.
+     *
+     * @param service The guild rank bindings that should be compiled.
+     * @return The compiled rank binding index.
+     */
+    public static RankBindingIndex compile(@Nullable GuildRobloxRanksService service) {
+        Map<Long, List<Set<Long>>> groupRanks = new HashMap<>();
+        Map<Long, Set<Long>> gamePassRoles = new HashMap<>();
+        Set<Long> boundRoleIds = new HashSet<>();
+
+        if (service == null || service.getGroupRankBindings() == null) {
+            return new RankBindingIndex(Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet());
+        }
+
+        for (GuildRobloxRanksService.GroupRankBinding binding : service.getGroupRankBindings()) {
+            Long roleId = parseId(binding.getRole());
+            if (roleId == null || binding.getGroups() == null) {
+                continue;
+            }
+            boundRoleIds.add(roleId);
+
+            for (GuildRobloxRanksService.Group group : binding.getGroups()) {
+                if (group.getRanks() == null || group.getRanks().isEmpty()) {
+                    continue;
+                }
+
+                if (GAME_PASS_GROUP.equals(group.getId())) {
+                    gamePassRoles.computeIfAbsent(group.getRanks().get(0).longValue(), id -> new LinkedHashSet<>()).add(roleId);
+                    continue;
+                }
+
+                Long groupId = parseId(group.getId());
+                if (groupId == null) {
+                    continue;
+                }
+
+                List<Set<Long>> ranks = groupRanks.computeIfAbsent(groupId, id -> new ArrayList<>(Collections.nCopies(MAX_RANK + 1, null)));
+                for (Integer rank : group.getRanks()) {
+                    if (rank == null || rank < 0 || rank > MAX_RANK) {
+                        continue;
+                    }
+                    if (ranks.get(rank) == null) {
+                        ranks.set(rank, new LinkedHashSet<>());
+                    }
+                    ranks.get(rank).add(roleId);
+                }
+            }
+        }
+
+        Map<Long, long[][]> groups = new HashMap<>();
+        groupRanks.forEach((groupId, ranks) -> {
+            long[][] table = new long[MAX_RANK + 1][];
+            for (int rank = 0; rank <= MAX_RANK; rank++) {
+                table[rank] = ranks.get(rank) == null ? NO_ROLES : toArray(ranks.get(rank));
+            }
+            groups.put(groupId, table);
+        });
+
+        Map<Long, long[]> gamePasses = new HashMap<>();
+        gamePassRoles.forEach((gamePassId, roles) -> gamePasses.put(gamePassId, toArray(roles)));
+
+        return new RankBindingIndex(groups, gamePasses, Collections.unmodifiableSet(boundRoleIds));
+    }
+
+    /**
+     * Gets the role IDs the given group ranks should be granted.
+     *
+     * @param ranks The group ranks of the member.
+     * @return The set of role IDs the group ranks should be granted.
+     */
+    public Set<Long> getRoleIds(@Nonnull List<RobloxUserGroupRankService.Data> ranks) {
+        Set<Long> roleIds = new HashSet<>();
+        for (RobloxUserGroupRankService.Data data : ranks) {
+            addRoleIds(data.getGroup().getId(), data.getRole().getRank(), roleIds);
+        }
+        return roleIds;
+    }
+
+    /**
+     * Adds the role IDs the given rank in the given group should be granted to the given set.
+     *
+     * @param groupId The ID of the Roblox group.
+     * @param rank    The rank in the Roblox group.
+     * @param roleIds The set the role IDs should be added to.
+     */
+    public void addRoleIds(long groupId, int rank, @Nonnull Set<Long> roleIds) {
+        long[][] table = groups.get(groupId);
+        if (table == null || rank < 0 || rank > MAX_RANK) {
+            return;
+        }
+
+        for (long roleId : table[rank]) {
+            roleIds.add(roleId);
+        }
+    }
+
+    /**
+     * Gets the IDs of the game passes that grant roles.
+     *
+     * @return The set of game pass IDs.
+     */
+    public Set<Long> getGamePassIds() {
+        return gamePasses.keySet();
+    }
+
+    /**
+     * Gets the role IDs that owning the given game pass should be granted.
+     *
+     * @param gamePassId The ID of the game pass.
+     * @return The role IDs for the game pass, or an empty array if the game pass isn't bound.
+     */
+    public long[] getGamePassRoleIds(long gamePassId) {
+        return gamePasses.getOrDefault(gamePassId, NO_ROLES);
+    }
+
+    /**
+     * Gets all the role IDs that are bound to a group rank or game pass, these
+     * are the roles that are managed by the bindings, and will be removed
+     * from members who no longer have the group rank or game pass.
+     *
+     * @return The set of bound role IDs.
+     */
+    public Set<Long> getBoundRoleIds() {
+        return boundRoleIds;
+    }
+
+    public boolean isEmpty() {
+        return boundRoleIds.isEmpty();
+    }
+
+    @Nullable
+    private static Long parseId(@Nullable String id) {
+        if (id == null) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long[] toArray(Set<Long> values) {
+        long[] array = new long[values.size()];
+        int index = 0;
+        for (Long value : values) {
+            array[index++] = value;
+        }
+        return array;
+    }
+}
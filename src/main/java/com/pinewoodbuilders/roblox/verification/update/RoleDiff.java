@@ -0,0 +1,41 @@
+package com.pinewoodbuilders.roblox.verification.update;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public record RoleDiff(Set<Long> toAdd, Set<Long> toRemove) {
+
+    /**
+     * Computes the role changes needed to give a member the desired roles, only
+     * managed roles the member already has will be removed, and only the
+     * desired roles the member doesn't already have will be added.
+     *
+     * @param current The role IDs the member currently has.
+     * @param desired The role IDs the member should have.
+     * @param managed The role IDs that are managed, and can be removed from the member.
+     * @return The role changes for the member.
+     */
+    public static RoleDiff compute(@Nonnull Set<Long> current, @Nonnull Set<Long> desired, @Nonnull Set<Long> managed) {
+        Set<Long> toAdd = new HashSet<>();
+        for (Long roleId : desired) {
+            if (!current.contains(roleId)) {
+                toAdd.add(roleId);
+            }
+        }
+
+        Set<Long> toRemove = new HashSet<>();
+        for (Long roleId : current) {
+            if (managed.contains(roleId) && !desired.contains(roleId)) {
+                toRemove.add(roleId);
+            }
+        }
+
+        return new RoleDiff(Collections.unmodifiableSet(toAdd), Collections.unmodifiableSet(toRemove));
+    }
+
+    public boolean isEmpty() {
+        return toAdd.isEmpty() && toRemove.isEmpty();
+    }
+}
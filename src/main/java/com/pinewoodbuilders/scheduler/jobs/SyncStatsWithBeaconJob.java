@@ -24,6 +24,7 @@ package com.pinewoodbuilders.scheduler.jobs;
 import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Job;
+import com.pinewoodbuilders.requests.HttpClientProvider;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.SelfUser;
 import okhttp3.*;
@@ -40,7 +41,6 @@ public class SyncStatsWithBeaconJob extends Job {
     private static final MediaType json = MediaType.parse("application/json; charset=utf-8");
     private static final Logger log = LoggerFactory.getLogger(SyncStatsWithBeaconJob.class);
 
-    private final OkHttpClient client = new OkHttpClient();
 
     public SyncStatsWithBeaconJob(Xeus avaire) {
         super(avaire, 5, 180, TimeUnit.MINUTES);
@@ -60,7 +60,7 @@ public class SyncStatsWithBeaconJob extends Job {
 
         Response response = null;
         try {
-            response = client.newCall(request.build()).execute();
+            response = HttpClientProvider.getClient().newCall(request.build()).execute();
         } catch (IOException e) {
             log.error("Failed sending sync with beacon request: " + e.getMessage());
         } finally {
@@ -30,11 +30,6 @@ import java.util.concurrent.TimeUnit;
 public class RunEveryMinuteJob extends Job {
 
     private final ChangeGameTask changeGameTask = new ChangeGameTask();
-    private final SendRemindersTask sendRemindersTask = new SendRemindersTask();
-    private final DrainMuteQueueTask drainMuteQueueTask = new DrainMuteQueueTask();
-    private final DrainGlobalMuteQueueTask drainGlobalMuteQueueTask = new DrainGlobalMuteQueueTask();
-    private final DrainGlobalWatchQueueTask drainGlobalWatchQueueTask = new DrainGlobalWatchQueueTask();
-    private final DrainWarnQueueTask drainWarnQueueTask = new DrainWarnQueueTask();
     private final GarbageCollectorTask garbageCollectorTask = new GarbageCollectorTask();
     private final SyncBlacklistMetricsTask syncBlacklistMetricsTask = new SyncBlacklistMetricsTask();
     private final ResetRespectStatisticsTask resetRespectStatisticsTask = new ResetRespectStatisticsTask();
@@ -43,8 +38,6 @@ public class RunEveryMinuteJob extends Job {
     private final SyncValidVoteRequestsWithMetricsTask syncValidVoteRequestsWithMetricsTask = new SyncValidVoteRequestsWithMetricsTask();
     private final SyncPlayerExperienceWithDatabaseTask syncPlayerExperienceWithDatabaseTask = new SyncPlayerExperienceWithDatabaseTask();
     private final SyncPlayerUpdateReferencesWithDatabaseTask syncPlayerUpdateReferencesWithDatabaseTask = new SyncPlayerUpdateReferencesWithDatabaseTask();
-    private final DrainOnWatchQueueTask drainOnWatchQueueTask = new DrainOnWatchQueueTask();
-    private final DrainUnbanQueueTask drainUnbanQueueTask = new DrainUnbanQueueTask();
 
     public RunEveryMinuteJob(Xeus avaire) {
         super(avaire, 0, 1, TimeUnit.MINUTES);
@@ -54,10 +47,6 @@ public class RunEveryMinuteJob extends Job {
     public void run() {
         handleTask(
             changeGameTask,
-            sendRemindersTask,
-            drainMuteQueueTask,
-            drainGlobalMuteQueueTask,
-            drainWarnQueueTask,
             garbageCollectorTask,
             syncBlacklistMetricsTask,
             resetRespectStatisticsTask,
@@ -65,10 +54,7 @@ public class RunEveryMinuteJob extends Job {
             updateWebsocketHeartbeatMetricsTask,
             syncValidVoteRequestsWithMetricsTask,
             syncPlayerExperienceWithDatabaseTask,
-            syncPlayerUpdateReferencesWithDatabaseTask,
-            drainOnWatchQueueTask,
-            drainGlobalWatchQueueTask,
-            drainUnbanQueueTask
+            syncPlayerUpdateReferencesWithDatabaseTask
         );
     }
 }
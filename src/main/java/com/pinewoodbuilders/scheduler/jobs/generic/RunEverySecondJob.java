@@ -24,9 +24,11 @@ package com.pinewoodbuilders.scheduler.jobs.generic;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Job;
 import com.pinewoodbuilders.scheduler.tasks.ApplicationShutdownTask;
+import com.pinewoodbuilders.scheduler.tasks.DrainModerationExpiryTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainReactionRoleQueueTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainVoteQueueTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainWeatherQueueTask;
+import com.pinewoodbuilders.scheduler.tasks.SendRemindersTask;
 
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +38,8 @@ public class RunEverySecondJob extends Job {
     private final ApplicationShutdownTask shutdownTask = new ApplicationShutdownTask();
     private final DrainWeatherQueueTask drainWeatherQueueTask = new DrainWeatherQueueTask();
     private final DrainReactionRoleQueueTask reactionRoleQueueTask = new DrainReactionRoleQueueTask();
+    private final DrainModerationExpiryTask drainModerationExpiryTask = new DrainModerationExpiryTask();
+    private final SendRemindersTask sendRemindersTask = new SendRemindersTask();
 
     public RunEverySecondJob(Xeus avaire) {
         super(avaire, 0, 1, TimeUnit.SECONDS);
@@ -43,6 +47,6 @@ public class RunEverySecondJob extends Job {
 
     @Override
     public void run() {
-        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask, reactionRoleQueueTask);
+        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask, reactionRoleQueueTask, drainModerationExpiryTask, sendRemindersTask);
     }
 }
@@ -28,13 +28,12 @@ public class DeleteExpiredBlacklistEntitiesTask implements Task {
 
     @Override
     public void handle(Xeus avaire) {
-        if (avaire.getBlacklist() == null) {
-            return;
+        if (avaire.getBlacklist() != null) {
+            avaire.getBlacklist().removeExpiredEntities();
         }
 
-        synchronized (avaire.getBlacklist().getBlacklistEntities()) {
-            avaire.getBlacklist().getBlacklistEntities()
-                .removeIf(entity -> !entity.isBlacklisted());
+        if (avaire.getFeatureBlacklist() != null) {
+            avaire.getFeatureBlacklist().removeExpiredEntities();
         }
     }
 }
@@ -29,6 +29,8 @@ import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
 import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.handlers.adapter.JDAStateEventAdapter;
 import com.pinewoodbuilders.handlers.adapter.MessageEventAdapter;
+import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
 
 public class GarbageCollectorTask implements Task {
 
@@ -54,10 +56,10 @@ public class GarbageCollectorTask implements Task {
      * cleans up any entities that have expired.
      */
     private void cleanupCache() {
-        // blacklist-ratelimit
-        synchronized (Ratelimit.cache) {
-            Ratelimit.cache.cleanUp();
-        }
+        // blacklist-ratelimit, mute-ratelimit, and command throttles
+        Ratelimit.ratelimiter.purgeExpired();
+        MuteRatelimit.ratelimiter.purgeExpired();
+        ThrottleMiddleware.purgeExpired();
 
         // autorole
         synchronized (JDAStateEventAdapter.cache) {
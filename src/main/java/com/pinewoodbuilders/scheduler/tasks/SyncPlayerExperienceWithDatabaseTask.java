@@ -29,7 +29,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 public class SyncPlayerExperienceWithDatabaseTask implements Task {
@@ -38,15 +37,11 @@ public class SyncPlayerExperienceWithDatabaseTask implements Task {
 
     @Override
     public void handle(Xeus avaire) {
-        if (avaire.getLevelManager().getExperienceQueue().isEmpty()) {
+        if (avaire.getLevelManager().isExperienceQueueEmpty()) {
             return;
         }
 
-        List<ExperienceEntity> experienceQueue;
-        synchronized (avaire.getLevelManager().getExperienceQueue()) {
-            experienceQueue = new ArrayList<>(avaire.getLevelManager().getExperienceQueue());
-            avaire.getLevelManager().getExperienceQueue().clear();
-        }
+        List<ExperienceEntity> experienceQueue = avaire.getLevelManager().drainExperienceQueue();
 
         try {
             String query = String.format(
@@ -58,10 +53,10 @@ public class SyncPlayerExperienceWithDatabaseTask implements Task {
             }
             avaire.getDatabase().queryBatch(query, statement -> {
                 for (ExperienceEntity entity : experienceQueue) {
-                    statement.setInt(1, entity.isExcludeLocal() ? 0 : entity.getExperience());
-                    statement.setInt(2, entity.getExperience());
-                    statement.setString(3, String.valueOf(entity.getUserId()));
-                    statement.setString(4, String.valueOf(entity.getGuildId()));
+                    statement.setLong(1, entity.getLocalExperience());
+                    statement.setLong(2, entity.getExperience());
+                    statement.setLong(3, entity.getUserId());
+                    statement.setLong(4, entity.getGuildId());
                     statement.addBatch();
                 }
             });
@@ -5,109 +5,152 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.commands.CommandContext;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.query.QueryBuilder;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.moderation.global.moderators.GroupModeratorManager;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import org.jetbrains.annotations.NotNull;
 
-import java.sql.SQLException;
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class XeusPermissionUtil {
 
+    /**
+     * The resolved guild based permission levels, keyed by the guild and member IDs,
+     * the cache is invalidated for a member when their roles changes, for a user
+     * when their verification or group moderator entries changes, for a guild
+     * when its roles or settings changes, and entirely when the group
+     * moderators are synced, so the expiry only acts as a safety net.
+     */
+    public static final Cache<PermissionKey, GuildPermissionCheckType> cache = CacheBuilder.newBuilder()
+        .recordStats()
+        .expireAfterWrite(5, TimeUnit.MINUTES)
+        .build();
 
     public static GuildPermissionCheckType getPermissionLevel(GuildSettingsTransformer guildTransformer, Guild guild, Member member) {
         if (Xeus.getInstance().getBotAdmins().getUserById(member.getUser().getIdLong(), true).isGlobalAdmin()) {
             return GuildPermissionCheckType.BOT_ADMIN;
         }
 
-        if (isGlobalAdmin(member.getId())) {
-            return GuildPermissionCheckType.GLOBAL_ADMIN;
-        }
-
         if (guild == null || guildTransformer == null) {
-            return GuildPermissionCheckType.USER;
+            return isGlobalAdmin(member.getId())
+                ? GuildPermissionCheckType.GLOBAL_ADMIN
+                : GuildPermissionCheckType.USER;
         }
 
-        if (isMainGlobalLeadershipRank(guildTransformer.getMainGroupId(), member.getId())) {
-            return GuildPermissionCheckType.MAIN_GLOBAL_LEADERSHIP;
+        if (!Xeus.getInstance().areWeReadyYet()) {
+            return resolvePermissionLevel(guildTransformer, guild, member);
         }
 
-        if (isMainGlobalModRank(guildTransformer.getMainGroupId(), member.getId())) {
-            return GuildPermissionCheckType.MAIN_GLOBAL_MODERATOR;
-        }
+        return (GuildPermissionCheckType) CacheUtil.getUncheckedUnwrapped(
+            cache, new PermissionKey(guild.getIdLong(), member.getIdLong()),
+            () -> resolvePermissionLevel(guildTransformer, guild, member)
+        );
+    }
+
+    /**
+     * Forgets the resolved permission level for the given member in the given guild,
+     * this should be called whenever the member has roles added or removed.
+     *
+     * @param guildId  The ID of the guild the member is in.
+     * @param memberId The ID of the member.
+     */
+    public static void forgetPermissions(long guildId, long memberId) {
+        cache.invalidate(new PermissionKey(guildId, memberId));
+    }
+
+    /**
+     * Forgets the resolved permission levels for all the members of the given guild, this
+     * should be called whenever the roles or permission settings of the guild changes.
+     *
+     * @param guildId The ID of the guild.
+     */
+    public static void forgetPermissions(long guildId) {
+        cache.asMap().keySet().removeIf(key -> key.guildId() == guildId);
+    }
+
+    /**
+     * Forgets the resolved permission levels for the given user in every guild, this
+     * should be called whenever the user is verified with another Roblox account,
+     * or is added or removed as a group moderator.
+     *
+     * @param userId The ID of the user.
+     */
+    public static void forgetUserPermissions(long userId) {
+        cache.asMap().keySet().removeIf(key -> key.memberId() == userId);
+    }
 
+    /**
+     * Forgets all the resolved permission levels, this should be called
+     * whenever the group moderators are synced with the database.
+     */
+    public static void forgetPermissions() {
+        cache.invalidateAll();
+    }
 
-        if (guildTransformer.getLeadRoles() != null) {
-            for (Long roleId : guildTransformer.getLeadRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP;
-                    }
-                }
+    private static GuildPermissionCheckType resolvePermissionLevel(GuildSettingsTransformer guildTransformer, Guild guild, Member member) {
+        VerificationEntity entity = Xeus.getInstance().areWeReadyYet()
+            ? Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(member.getId(), true)
+            : null;
+
+        if (entity != null) {
+            GroupModeratorManager moderators = Xeus.getInstance().getGroupModeratorManager();
+            long discordId = member.getIdLong();
+
+            if (moderators.isGlobalAdmin(discordId, entity.getRobloxId())) {
+                return GuildPermissionCheckType.GLOBAL_ADMIN;
             }
-        }
 
-        if (guildTransformer.getHRRoles() != null) {
-            for (Long roleId : guildTransformer.getHRRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.LOCAL_GROUP_HR;
-                    }
-                }
+            long groupId = guildTransformer.getMainGroupId();
+            if (groupId != 0 && moderators.isGlobalLead(groupId, discordId, entity.getRobloxId())) {
+                return GuildPermissionCheckType.MAIN_GLOBAL_LEADERSHIP;
             }
-        }
 
-        if (guildTransformer.getGroupShoutRoles() != null) {
-            for (Long roleId : guildTransformer.getGroupShoutRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.GROUP_SHOUT;
-                    }
-                }
+            if (groupId != 0 && moderators.isGlobalModerator(groupId, discordId, entity.getRobloxId())) {
+                return GuildPermissionCheckType.MAIN_GLOBAL_MODERATOR;
             }
         }
 
-        return GuildPermissionCheckType.USER;
-    }
+        Set<Long> roles = new HashSet<>();
+        for (Role role : member.getRoles()) {
+            roles.add(role.getIdLong());
+        }
 
-    public static boolean isMainGlobalModRank(long groupId, String memberId) {
-        if (!Xeus.getInstance().areWeReadyYet()) {return false;}
+        if (hasAnyRole(roles, guildTransformer.getLeadRoles())) {
+            return GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP;
+        }
 
-        if (groupId == 0) {
-            return false;
+        if (hasAnyRole(roles, guildTransformer.getHRRoles())) {
+            return GuildPermissionCheckType.LOCAL_GROUP_HR;
         }
 
-        VerificationEntity entity = Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
-        if (entity == null) {
-            return false;
+        if (hasAnyRole(roles, guildTransformer.getGroupShoutRoles())) {
+            return GuildPermissionCheckType.GROUP_SHOUT;
         }
 
+        return GuildPermissionCheckType.USER;
+    }
 
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .where("main_group_id", groupId)
-            .andWhere("discord_id", memberId)
-            .andWhere("roblox_id", entity.getRobloxId());
+    private static boolean hasAnyRole(Set<Long> memberRoles, @Nullable Set<Long> roles) {
+        if (roles == null) {
+            return false;
+        }
 
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
+        for (Long roleId : roles) {
+            if (memberRoles.contains(roleId)) {
                 return true;
             }
-        } catch (SQLException e) {
-            return false;
         }
-
         return false;
     }
 
-    public static boolean isMainGlobalLeadershipRank(long groupId, String memberId) {
+    public static boolean isMainGlobalModRank(long groupId, String memberId) {
         if (!Xeus.getInstance().areWeReadyYet()) {return false;}
 
         if (groupId == 0) {
@@ -119,24 +162,24 @@ public class XeusPermissionUtil {
             return false;
         }
 
+        return Xeus.getInstance().getGroupModeratorManager()
+            .isGlobalModerator(groupId, Long.parseLong(memberId), entity.getRobloxId());
+    }
 
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .where("main_group_id", groupId)
-            .andWhere("discord_id", memberId)
-            .andWhere("roblox_id", entity.getRobloxId())
-            .andWhere("is_global_lead", 1);
+    public static boolean isMainGlobalLeadershipRank(long groupId, String memberId) {
+        if (!Xeus.getInstance().areWeReadyYet()) {return false;}
 
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
-                return true;
-            }
-        } catch (SQLException e) {
+        if (groupId == 0) {
             return false;
         }
 
-        return false;
+        VerificationEntity entity = Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
+        if (entity == null) {
+            return false;
+        }
+
+        return Xeus.getInstance().getGroupModeratorManager()
+            .isGlobalLead(groupId, Long.parseLong(memberId), entity.getRobloxId());
     }
 
     public static boolean isGlobalAdmin(String memberId) {
@@ -151,26 +194,14 @@ public class XeusPermissionUtil {
     }
 
     public static boolean isFullGlobalAdmin(Long discordId, long robloxId) {
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .andWhere("main_group_id", 0)
-            .andWhere("discord_id", discordId)
-            .andWhere("roblox_id", robloxId)
-            .andWhere("is_global_admin", 1);
-
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
-                return true;
-            }
-        } catch (SQLException e) {
-            return false;
-        }
-
-        return false;
+        return discordId != null && Xeus.getInstance().getGroupModeratorManager()
+            .isGlobalAdmin(discordId, robloxId);
     }
 
     public static GuildPermissionCheckType getPermissionLevel(@NotNull CommandContext context) {
         return getPermissionLevel(context.getGuildSettingsTransformer(), context.getGuild(), context.getMember());
     }
+
+    public record PermissionKey(long guildId, long memberId) {
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.blacklist.BlacklistExpiryQueue;
+import com.pinewoodbuilders.time.Carbon;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BlacklistExpiryQueueTests extends BaseTest {
+
+    @Test
+    public void testOnlyExpiredKeysAreDrainedInExpiryOrder() {
+        BlacklistExpiryQueue<String> queue = new BlacklistExpiryQueue<>();
+        queue.schedule("later", Carbon.now().subMinutes(1));
+        queue.schedule("future", Carbon.now().addMinutes(5));
+        queue.schedule("first", Carbon.now().subMinutes(10));
+
+        assertEquals(List.of("first", "later"), drain(queue));
+        assertEquals(List.of(), drain(queue));
+    }
+
+    @Test
+    public void testKeysWithoutAnExpireTimeAreNeverScheduled() {
+        BlacklistExpiryQueue<String> queue = new BlacklistExpiryQueue<>();
+        queue.schedule("permanent", null);
+        queue.schedule("expired", Carbon.now().subMinutes(1));
+
+        assertEquals(List.of("expired"), drain(queue));
+    }
+
+    @Test
+    public void testClearDropsEveryScheduledKey() {
+        BlacklistExpiryQueue<String> queue = new BlacklistExpiryQueue<>();
+        queue.schedule("expired", Carbon.now().subMinutes(1));
+        queue.clear();
+
+        assertEquals(List.of(), drain(queue));
+    }
+
+    private static List<String> drain(BlacklistExpiryQueue<String> queue) {
+        List<String> keys = new ArrayList<>();
+        queue.drainExpired(keys::add);
+        return keys;
+    }
+}
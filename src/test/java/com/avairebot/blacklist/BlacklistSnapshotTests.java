@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.blacklist.kronos.BlacklistSnapshot;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlacklistSnapshotTests extends BaseTest {
+
+    @Test
+    public void testSnapshotContainsOnlyTheGivenIds() {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.of(new long[]{1L, 5L, 4294967296L, 1283719203L}, null, null);
+
+        assertEquals(4, snapshot.size());
+        assertTrue(snapshot.contains(5L));
+        assertTrue(snapshot.contains(4294967296L));
+        assertTrue(snapshot.contains(1283719203L));
+        assertFalse(snapshot.contains(2L));
+        assertFalse(snapshot.contains(0L));
+    }
+
+    @Test
+    public void testSnapshotIgnoresDuplicatesAndHandlesZero() {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.of(new long[]{7L, 0L, 7L, 0L, 9L}, "\"etag\"", null);
+
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.contains(0L));
+        assertEquals("\"etag\"", snapshot.getEtag());
+
+        long[] ids = snapshot.toArray();
+        Arrays.sort(ids);
+        assertArrayEquals(new long[]{0L, 7L, 9L}, ids);
+    }
+
+    @Test
+    public void testEmptySnapshotContainsNothing() {
+        assertEquals(0, BlacklistSnapshot.EMPTY.size());
+        assertFalse(BlacklistSnapshot.EMPTY.contains(0L));
+        assertFalse(BlacklistSnapshot.EMPTY.contains(42L));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.blacklist.features.FeatureBlacklist;
+import com.pinewoodbuilders.blacklist.features.FeatureBlacklistEntity;
+import com.pinewoodbuilders.blacklist.features.FeatureScope;
+import com.pinewoodbuilders.time.Carbon;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FeatureBlacklistTests extends BaseTest {
+
+    private static final long USER_ID = 88739639380172800L;
+    private static final long GUILD_ID = 438134543837560832L;
+    private static final long GLOBAL_GUILD_ID = 1L;
+
+    private FeatureBlacklist blacklist;
+
+    @Before
+    public void setupBlacklist() {
+        blacklist = new FeatureBlacklist(null);
+    }
+
+    @Test
+    public void testGlobalPinewoodRecordsAreMatchedFirst() {
+        FeatureBlacklistEntity global = remember(FeatureScope.PIA_GLOBAL, GLOBAL_GUILD_ID, null);
+        remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().addMinutes(5));
+
+        assertSame(global, blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+        assertSame(global, blacklist.getEntity(USER_ID, GUILD_ID));
+    }
+
+    @Test
+    public void testExactScopeIsMatchedBeforeTheGuildWideScope() {
+        FeatureBlacklistEntity reports = remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().addMinutes(5));
+        FeatureBlacklistEntity guildWide = remember(FeatureScope.GLOBAL, GUILD_ID, Carbon.now().addMinutes(5));
+
+        assertSame(reports, blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+        assertSame(guildWide, blacklist.getEntity(USER_ID, FeatureScope.SUGGESTIONS, GUILD_ID));
+        assertSame(guildWide, blacklist.getEntity(USER_ID, GUILD_ID));
+        assertNull(blacklist.getEntity(USER_ID, FeatureScope.REPORTS, 1234L));
+    }
+
+    @Test
+    public void testRemovingALocalRecordKeepsTheGlobalPinewoodRecord() {
+        FeatureBlacklistEntity global = remember(FeatureScope.PIA_GLOBAL, GLOBAL_GUILD_ID, null);
+        FeatureBlacklistEntity reports = remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().addMinutes(5));
+
+        assertSame(reports, blacklist.forget(USER_ID, GUILD_ID, FeatureScope.REPORTS));
+        assertNull(blacklist.forget(USER_ID, GUILD_ID, FeatureScope.REPORTS));
+        assertSame(global, blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+        assertEquals(1, blacklist.getBlacklistEntities().size());
+
+        assertSame(global, blacklist.forget(USER_ID, GLOBAL_GUILD_ID, FeatureScope.PIA_GLOBAL));
+        assertNull(blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+    }
+
+    @Test
+    public void testRemovingAScopeFallsBackToTheGuildWideRecord() {
+        FeatureBlacklistEntity reports = remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().addMinutes(5));
+        FeatureBlacklistEntity guildWide = remember(FeatureScope.GLOBAL, GUILD_ID, Carbon.now().addMinutes(5));
+
+        assertSame(guildWide, blacklist.forget(USER_ID, GUILD_ID, FeatureScope.SUGGESTIONS));
+        assertNull(blacklist.forget(USER_ID, GUILD_ID, FeatureScope.GLOBAL));
+        assertSame(reports, blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+        assertNull(blacklist.forget(USER_ID, 1234L, FeatureScope.REPORTS));
+    }
+
+    @Test
+    public void testExpiredRecordsAreRemoved() {
+        remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().subMinutes(1));
+        FeatureBlacklistEntity suggestions = remember(FeatureScope.SUGGESTIONS, GUILD_ID, Carbon.now().addMinutes(5));
+
+        blacklist.removeExpiredEntities();
+
+        assertNull(blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+        assertSame(suggestions, blacklist.getEntity(USER_ID, FeatureScope.SUGGESTIONS, GUILD_ID));
+        assertEquals(1, blacklist.getBlacklistEntities().size());
+    }
+
+    @Test
+    public void testReplacedRecordsAreKeptWhenTheOldRecordExpires() {
+        remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().subMinutes(1));
+        FeatureBlacklistEntity replaced = remember(FeatureScope.REPORTS, GUILD_ID, Carbon.now().addMinutes(5));
+
+        blacklist.removeExpiredEntities();
+
+        assertSame(replaced, blacklist.getEntity(USER_ID, FeatureScope.REPORTS, GUILD_ID));
+    }
+
+    private FeatureBlacklistEntity remember(FeatureScope scope, long guildId, Carbon expiresIn) {
+        FeatureBlacklistEntity entity = new FeatureBlacklistEntity(scope, USER_ID, null, expiresIn, guildId);
+        blacklist.remember(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.CacheItem;
+import com.pinewoodbuilders.cache.CacheLog;
+import com.pinewoodbuilders.cache.adapters.FileAdapter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheLogTests extends BaseTest {
+
+    private File folder;
+    private File logFile;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("cache-log-tests").toFile();
+        logFile = new File(folder, "cache.log");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(folder.toPath())
+            .sorted(Comparator.reverseOrder())
+            .map(Path::toFile)
+            .forEach(File::delete);
+    }
+
+    @Test
+    public void testValuesSurviveReopeningTheLog() throws IOException {
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            cacheLog.put("first", 100, bytes("one"), null);
+            cacheLog.put("second", 200, bytes("two"), null);
+            cacheLog.put("first", 300, bytes("three"), null);
+            cacheLog.remove("second");
+        }
+
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            assertEquals(1, cacheLog.size());
+            assertEquals(300, cacheLog.getEntry("first").getTime());
+            assertArrayEquals(bytes("three"), cacheLog.get("first", value -> value));
+            assertFalse(cacheLog.contains("second"));
+        }
+    }
+
+    @Test
+    public void testValuesAreOnlyDecodedOnce() throws IOException {
+        AtomicInteger decodes = new AtomicInteger();
+
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            cacheLog.put("key", 100, bytes("value"), null);
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals("value", cacheLog.get("key", value -> {
+                    decodes.incrementAndGet();
+                    return new String(value, StandardCharsets.UTF_8);
+                }));
+            }
+        }
+
+        assertEquals(1, decodes.get());
+    }
+
+    @Test
+    public void testPartiallyWrittenRecordIsDropped() throws IOException {
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            cacheLog.put("complete", 100, bytes("kept"), null);
+            cacheLog.put("partial", 100, bytes("dropped"), null);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            assertTrue(cacheLog.contains("complete"));
+            assertFalse(cacheLog.contains("partial"));
+
+            cacheLog.put("after", 100, bytes("written"), null);
+        }
+
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            assertArrayEquals(bytes("kept"), cacheLog.get("complete", value -> value));
+            assertArrayEquals(bytes("written"), cacheLog.get("after", value -> value));
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsOnlyLiveValues() throws IOException {
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            for (int i = 0; i < 10; i++) {
+                cacheLog.put("key", 1000 + i, bytes("value-" + i), null);
+            }
+            cacheLog.put("expired", 10, bytes("gone"), null);
+
+            assertEquals(1, cacheLog.removeExpired(500));
+            long before = logFile.length();
+
+            cacheLog.compact();
+
+            assertTrue(logFile.length() < before);
+            assertArrayEquals(bytes("value-9"), cacheLog.get("key", value -> value));
+        }
+
+        try (CacheLog cacheLog = new CacheLog(logFile)) {
+            assertEquals(1, cacheLog.size());
+            assertEquals(1009, cacheLog.getEntry("key").getTime());
+        }
+    }
+
+    @Test
+    public void testFileAdapterMovesLegacyCacheFilesIntoTheLog() throws IOException, NoSuchAlgorithmException {
+        String token = hash("legacy.token");
+        File legacyFolder = new File(folder, token.substring(0, 2) + File.separator + token.substring(2, 4));
+        assertTrue(legacyFolder.mkdirs());
+
+        Files.write(new File(legacyFolder, token.substring(4)).toPath(), bytes(
+            "{\"time\":" + (System.currentTimeMillis() + 60000) + ",\"value\":42,\"key\":\"" + token.substring(4) + "\"}\n"
+        ));
+
+        FileAdapter adapter = new FileAdapter(folder);
+
+        assertFalse(legacyFolder.exists());
+        assertTrue(adapter.has("Legacy.Token "));
+        assertEquals(42D, adapter.get("legacy.token"));
+
+        assertTrue(adapter.put("fresh", "value", 60));
+        assertEquals("value", adapter.get("fresh"));
+
+        CacheItem item = adapter.forget("fresh");
+        assertEquals("value", item.getValue());
+        assertFalse(adapter.has("fresh"));
+        assertNull(adapter.get("fresh"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String hash(String value) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes());
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(Integer.toString((b & 0xff) + 0x100, 16).substring(1));
+        }
+        return sb.toString();
+    }
+}
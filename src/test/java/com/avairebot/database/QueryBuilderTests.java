@@ -23,10 +23,23 @@ package com.avairebot.database;
 
 import com.avairebot.BaseTest;
 import com.avairebot.database.fakes.FakeDatabaseManager;
+import com.pinewoodbuilders.contracts.database.Database;
 import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.query.StatementBinder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class QueryBuilderTests extends BaseTest {
@@ -96,6 +109,79 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testPreparedWhereClausesUsePlaceholdersAndBindValuesInOrder() {
+        QueryBuilder query = makeQuery().usePreparedStatement(true)
+            .where("test", "thing")
+            .where(builder -> {
+                builder.where("role", "admin")
+                    .andWhere("permission_level", ">", 9001);
+            })
+            .orWhere("thing", "it's");
+
+        assertEquals(
+            "SELECT * FROM `test` WHERE `test` = ? AND (`role` = ? AND `permission_level` > ?) OR `thing` = ?;",
+            query.toSQL()
+        );
+        assertEquals(Arrays.asList("thing", "admin", 9001, "it's"), query.getBindings());
+    }
+
+    @Test
+    public void testPreparedBindingsAreResetWhenTheQueryIsRegenerated() {
+        QueryBuilder query = makeQuery().usePreparedStatement(true)
+            .where("user_id", 1234L);
+
+        query.toSQL();
+        query.toSQL();
+
+        assertEquals(Collections.singletonList(1234L), query.getBindings());
+    }
+
+    @Test
+    public void testPreparedUpdateBindsSetValuesBeforeWhereValues() {
+        QueryBuilder query = makeQuery().usePreparedStatement(true)
+            .where("id", 5);
+
+        Map<String, Object> items = new LinkedHashMap<>();
+        items.put("name", "test");
+        items.put("active", true);
+        items.put("updated_at", "RAW:NOW()");
+        query.getItems().add(items);
+
+        assertEquals(
+            "UPDATE `test` SET `name` = ?, `active` = ?, `updated_at` = NOW() WHERE `id` = ?;",
+            query.toSQL(Database.QueryType.UPDATE)
+        );
+        assertEquals(Arrays.asList("test", 1, 5), query.getBindings());
+    }
+
+    @Test
+    public void testNumericStringsAreBoundAsNumbers() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class[]{PreparedStatement.class},
+            (proxy, method, args) -> {
+                calls.add(method.getName() + ":" + args[1]);
+                return null;
+            }
+        );
+
+        StatementBinder.bind(statement, Arrays.asList(
+            "183366432567066625", "-5", "1.5", "99999999999999999999", "12ab", "", 42
+        ));
+
+        assertEquals(Arrays.asList(
+            "setLong:183366432567066625",
+            "setLong:-5",
+            "setBigDecimal:1.5",
+            "setBigDecimal:" + new BigDecimal("99999999999999999999"),
+            "setString:12ab",
+            "setString:",
+            "setLong:42"
+        ), calls);
+    }
+
     private QueryBuilder makeQuery() {
         return dbm.newQueryBuilder("test");
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.fakes.FakeDatabaseManager;
+import com.pinewoodbuilders.database.exceptions.DatabaseException;
+import com.pinewoodbuilders.database.query.QueryTemplate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QueryTemplateTests extends BaseTest {
+
+    private FakeDatabaseManager dbm;
+
+    @Before
+    public void setUp() throws Exception {
+        dbm = new FakeDatabaseManager();
+    }
+
+    @Test
+    public void testTemplateIsCompiledWithPlaceholders() {
+        QueryTemplate template = dbm.template("test.fetch", query -> query
+            .table("test")
+            .select("id", "name")
+            .where("id", QueryTemplate.parameter("id")));
+
+        assertEquals("SELECT `id`, `name` FROM `test` WHERE `id` = ?;", template.getQuery());
+        assertEquals(Collections.singletonList("id"), template.getParameters());
+        assertEquals(Collections.singletonList(123456789012345678L), template.bind(123456789012345678L));
+    }
+
+    @Test
+    public void testTemplatesAreCompiledOnlyOncePerName() {
+        QueryTemplate template = dbm.template("test.cached", query -> query
+            .table("test")
+            .where("id", QueryTemplate.parameter("id")));
+
+        assertSame(template, dbm.template("test.cached", query -> query
+            .table("something-else")
+        ));
+    }
+
+    @Test
+    public void testTemplateBindsConstantsAndRepeatedParameters() {
+        QueryTemplate template = dbm.template("test.layout", query -> query
+            .table("test")
+            .where("user_id", QueryTemplate.parameter("user_id"))
+            .andWhere("active", 1)
+            .andWhere("guild_id", QueryTemplate.parameter("guild_id"))
+            .orWhere("owner_id", QueryTemplate.parameter("user_id")));
+
+        assertEquals(
+            "SELECT * FROM `test` WHERE `user_id` = ? AND `active` = ? AND `guild_id` = ? OR `owner_id` = ?;",
+            template.getQuery()
+        );
+        assertEquals(Arrays.asList("user_id", "guild_id"), template.getParameters());
+        assertEquals(Arrays.asList(1L, 1, 2L, 1L), template.bind(1L, 2L));
+    }
+
+    @Test
+    public void testTemplateThrowsWhenGivenTheWrongAmountOfValues() {
+        QueryTemplate template = dbm.template("test.arguments", query -> query
+            .table("test")
+            .where("id", QueryTemplate.parameter("id")));
+
+        assertThrows(DatabaseException.class, template::bind);
+        assertThrows(DatabaseException.class, () -> template.bind(1L, 2L));
+    }
+}
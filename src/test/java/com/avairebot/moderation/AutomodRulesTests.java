@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.moderation.global.automod.AutomodRules;
+import com.pinewoodbuilders.moderation.global.automod.AutomodRules.ContentViolation;
+import com.vdurmont.emoji.EmojiParser;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AutomodRulesTests extends BaseTest {
+
+    private static final Pattern shortcodePattern = Pattern.compile("(:[^:\\s]*(?:::[^:\\s]*)*:)", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] textPieces = {
+        "a", "A", "b", "B", "1", ":", "::", " ", "\t", "\n", "\r\n", " ", "é", "É", "ß"
+    };
+
+    private static final String[] emojiPieces = {
+        "a", "b", ":", "::", " ", "\t", "\n", "é", ":smile:", "❤", "😀", "🔥"
+    };
+
+    @Test
+    public void testCharacterSpamMatchesTheOldPatternOnRandomContent() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            String content = randomContent(random, textPieces);
+            int threshold = 2 + random.nextInt(4);
+
+            Pattern pattern = Pattern.compile("(.)\\1{" + (threshold - 1) + ",}", Pattern.CASE_INSENSITIVE);
+            ContentViolation expected = pattern.matcher(content).find()
+                ? ContentViolation.CHARACTER_SPAM
+                : ContentViolation.NONE;
+
+            assertEquals(expected, rules(threshold, 0).checkContent(content), content);
+        }
+    }
+
+    @Test
+    public void testEmojiSpamMatchesTheOldPatternsOnRandomContent() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            String content = randomContent(random, emojiPieces);
+            int threshold = 1 + random.nextInt(5);
+
+            int count = EmojiParser.extractEmojis(content).size();
+            Matcher matcher = shortcodePattern.matcher(content);
+            while (matcher.find()) {
+                count++;
+            }
+
+            ContentViolation expected = count >= threshold
+                ? ContentViolation.EMOJI_SPAM
+                : ContentViolation.NONE;
+
+            assertEquals(expected, rules(0, threshold).checkContent(content), content);
+        }
+    }
+
+    @Test
+    public void testUnterminatedShortcodesAreNotCounted() {
+        AutomodRules rules = rules(0, 1);
+
+        assertEquals(ContentViolation.NONE, rules.checkContent(":"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("hey :smile"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("hey :smile and :wave"));
+        assertEquals(ContentViolation.EMOJI_SPAM, rules.checkContent("hey :smile:"));
+    }
+
+    @Test
+    public void testUnterminatedShortcodeGroupsBacktrackToTheLastGroup() {
+        AutomodRules rules = rules(0, 1);
+
+        assertEquals(ContentViolation.EMOJI_SPAM, rules.checkContent("a:b::c d"));
+        assertEquals(ContentViolation.EMOJI_SPAM, rules.checkContent("hey :b::c"));
+        assertEquals(ContentViolation.NONE, rules(0, 2).checkContent("hey :b::c"));
+    }
+
+    @Test
+    public void testCharacterRunAtTheEndOfTheContent() {
+        AutomodRules rules = rules(3, 0);
+
+        assertEquals(ContentViolation.CHARACTER_SPAM, rules.checkContent("hello!!!"));
+        assertEquals(ContentViolation.CHARACTER_SPAM, rules.checkContent("noooO"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("hello!!"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("hello!!\n!"));
+    }
+
+    @Test
+    public void testCharacterRunsWithMixedUnicode() {
+        AutomodRules rules = rules(3, 0);
+
+        assertEquals(ContentViolation.CHARACTER_SPAM, rules.checkContent("cafééé"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("caféÉé"));
+        assertEquals(ContentViolation.CHARACTER_SPAM, rules.checkContent("fire 🔥🔥🔥"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("🔥😀🔥😀"));
+    }
+
+    @Test
+    public void testEmojiCountWithMixedUnicode() {
+        AutomodRules rules = rules(0, 3);
+
+        assertEquals(ContentViolation.EMOJI_SPAM, rules.checkContent("naïve :smile: 😀 🔥"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("naïve :smile: 😀"));
+        assertEquals(ContentViolation.NONE, rules.checkContent("naïve café :smile:"));
+    }
+
+    @Test
+    public void testCharacterSpamTakesPriorityOverEmojiSpam() {
+        assertEquals(ContentViolation.CHARACTER_SPAM, rules(3, 1).checkContent(":smile: aaa"));
+        assertEquals(ContentViolation.NONE, rules(0, 0).checkContent(":smile: aaa"));
+    }
+
+    private static AutomodRules rules(int characterSpam, int emojiSpam) {
+        GuildSettingsTransformer transformer = new GuildSettingsTransformer(null);
+        transformer.setCharacterSpam(characterSpam);
+        transformer.setEmojiSpam(emojiSpam);
+
+        return transformer.getAutomodRules();
+    }
+
+    private static String randomContent(Random random, String[] pieces) {
+        StringBuilder builder = new StringBuilder();
+
+        int amount = random.nextInt(16);
+        for (int i = 0; i < amount; i++) {
+            builder.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.google.common.base.Ticker;
+import com.google.common.cache.LoadingCache;
+import com.pinewoodbuilders.moderation.global.automod.ActivityWindow;
+import com.pinewoodbuilders.moderation.global.automod.ChannelActivity;
+import com.pinewoodbuilders.moderation.global.automod.MessageActivity;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ChannelActivityTests extends BaseTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final LoadingCache <ChannelActivity.ActivityKey, ActivityWindow> cache = ChannelActivity.createCache(ticker);
+    private final ChannelActivity.ActivityKey key = new ChannelActivity.ActivityKey(1L, 2L);
+
+    @Test
+    public void testWindowIsKeptWhileABurstRunsPastTheActivityTime() {
+        for (int i = 0; i < 6; i++) {
+            record(i, i * 3000L);
+            ticker.advance(3, TimeUnit.SECONDS);
+        }
+
+        ActivityWindow window = cache.getIfPresent(key);
+        assertNotNull(window);
+
+        List <MessageActivity> activity = window.getActivityAfter(15000L - ChannelActivity.activityTime);
+        assertEquals(4, activity.size());
+        assertEquals(2L, activity.get(0).messageId());
+        assertEquals(5L, activity.get(3).messageId());
+    }
+
+    @Test
+    public void testWindowExpiresOnceTheAuthorHasBeenQuiet() {
+        record(1, 0L);
+
+        ticker.advance(ChannelActivity.activityTime - 1, TimeUnit.MILLISECONDS);
+        assertNotNull(cache.getIfPresent(key));
+
+        ticker.advance(ChannelActivity.activityTime, TimeUnit.MILLISECONDS);
+        assertNull(cache.getIfPresent(key));
+    }
+
+    private void record(long messageId, long timestamp) {
+        cache.getUnchecked(key).add(new MessageActivity(messageId, key.authorId(), timestamp, false, false));
+    }
+
+    private static class FakeTicker extends Ticker {
+
+        private long nanos = 0;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long time, TimeUnit unit) {
+            nanos += unit.toNanos(time);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.expiry.HierarchicalTimingWheel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HierarchicalTimingWheelTests extends BaseTest {
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @Before
+    public void setupWheel() {
+        wheel = new HierarchicalTimingWheel<>(1000, 8, 0);
+    }
+
+    @Test
+    public void testValuesExpireOnTheirDeadlineAndNotBefore() {
+        wheel.schedule("a", 2500);
+        wheel.schedule("b", 3000);
+
+        assertEquals(List.of(), wheel.advance(2000));
+        assertEquals(List.of(), wheel.advance(2999));
+        assertEquals(Set.of("a", "b"), Set.copyOf(wheel.advance(3000)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledValuesNeverExpire() {
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 5000);
+        wheel.schedule("b", 5000);
+
+        assertTrue(timeout.isPending());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.isPending());
+        assertFalse(timeout.cancel());
+
+        assertEquals(List.of("b"), wheel.advance(5000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testValuesCascadeDownFromTheCoarserWheels() {
+        // With 8 slots of one second each, these deadlines can only fit on the
+        // second (8 seconds per slot) and third (64 seconds per slot) wheels.
+        wheel.schedule("minute", 60_000);
+        wheel.schedule("hour", 3_600_000);
+
+        assertEquals(2, wheel.size());
+        for (long now = 1000; now < 60_000; now += 1000) {
+            assertEquals(List.of(), wheel.advance(now));
+        }
+        assertEquals(List.of("minute"), wheel.advance(60_000));
+
+        assertEquals(List.of(), wheel.advance(3_599_999));
+        assertEquals(List.of("hour"), wheel.advance(3_600_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testOverdueValuesExpireOnTheNextAdvance() {
+        wheel.advance(10_000);
+        wheel.schedule("past", 1000);
+        wheel.schedule("now", 10_000);
+
+        assertEquals(Set.of("past", "now"), Set.copyOf(wheel.advance(10_000)));
+    }
+
+    @Test
+    public void testSkippingFurtherAheadThanTheWheelExpiresEverythingDue() {
+        wheel.schedule("a", 4000);
+        wheel.schedule("b", 90_000);
+        wheel.schedule("c", 500_000);
+
+        assertEquals(Set.of("a", "b"), Set.copyOf(wheel.advance(100_000)));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("c"), wheel.advance(500_000));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.moderation.LinkLevel;
+import com.pinewoodbuilders.moderation.global.filter.LinkFilterIndex;
+import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LinkFilterIndexTests extends BaseTest {
+
+    private static final long MAIN_GROUP_ID = 159511;
+
+    @Test
+    public void testExactDomainMatch() {
+        LinkFilterIndex index = createIndex(
+            new LinkContainer(MAIN_GROUP_ID, "roblox.com", LinkLevel.SAFE.getLevel()),
+            new LinkContainer(MAIN_GROUP_ID, "bit.ly", LinkLevel.SHORT.getLevel())
+        );
+
+        assertEquals(LinkLevel.SAFE, index.getLinkLevel(MAIN_GROUP_ID, "roblox.com"));
+        assertEquals(LinkLevel.SHORT, index.getLinkLevel(MAIN_GROUP_ID, "bit.ly"));
+        assertEquals(LinkLevel.SAFE, index.find(MAIN_GROUP_ID, "roblox.com"));
+        assertNull(index.find(MAIN_GROUP_ID, "www.roblox.com"));
+    }
+
+    @Test
+    public void testSubdomainsMatchTheirParentDomains() {
+        LinkFilterIndex index = createIndex(
+            new LinkContainer(MAIN_GROUP_ID, "roblox.com", LinkLevel.SAFE.getLevel())
+        );
+
+        assertEquals(LinkLevel.SAFE, index.getLinkLevel(MAIN_GROUP_ID, "www.roblox.com"));
+        assertEquals(LinkLevel.SAFE, index.getLinkLevel(MAIN_GROUP_ID, "a.b.roblox.com"));
+    }
+
+    @Test
+    public void testTheMostSpecificDomainWins() {
+        LinkFilterIndex index = createIndex(
+            new LinkContainer(MAIN_GROUP_ID, "roblox.com", LinkLevel.SAFE.getLevel()),
+            new LinkContainer(MAIN_GROUP_ID, "scam.roblox.com", LinkLevel.WARN.getLevel())
+        );
+
+        assertEquals(LinkLevel.WARN, index.getLinkLevel(MAIN_GROUP_ID, "scam.roblox.com"));
+        assertEquals(LinkLevel.WARN, index.getLinkLevel(MAIN_GROUP_ID, "www.scam.roblox.com"));
+        assertEquals(LinkLevel.SAFE, index.getLinkLevel(MAIN_GROUP_ID, "www.roblox.com"));
+    }
+
+    @Test
+    public void testDomainsOnlyMatchOnWholeLabels() {
+        LinkFilterIndex index = createIndex(
+            new LinkContainer(MAIN_GROUP_ID, "roblox.com", LinkLevel.SAFE.getLevel())
+        );
+
+        assertEquals(LinkLevel.DELETE, index.getLinkLevel(MAIN_GROUP_ID, "notroblox.com"));
+        assertEquals(LinkLevel.DELETE, index.getLinkLevel(MAIN_GROUP_ID, "roblox.com.evil.net"));
+        assertEquals(LinkLevel.DELETE, index.getLinkLevel(MAIN_GROUP_ID, "com"));
+        assertEquals(LinkLevel.DELETE, index.getLinkLevel(MAIN_GROUP_ID, "roblox.com."));
+    }
+
+    @Test
+    public void testLinksAreScopedToTheirMainGroup() {
+        LinkFilterIndex index = createIndex(
+            new LinkContainer(MAIN_GROUP_ID, "roblox.com", LinkLevel.SAFE.getLevel())
+        );
+
+        assertEquals(LinkLevel.DELETE, index.getLinkLevel(1, "roblox.com"));
+        assertEquals(LinkLevel.DELETE, LinkFilterIndex.EMPTY.getLinkLevel(MAIN_GROUP_ID, "roblox.com"));
+        assertEquals(1, index.size());
+    }
+
+    private static LinkFilterIndex createIndex(LinkContainer... containers) {
+        Map <Long, Map <String, LinkContainer>> links = new HashMap <>();
+        for (LinkContainer container : containers) {
+            links.computeIfAbsent(container.getMainGroupId(), id -> new HashMap <>())
+                .put(container.getTopLevelDomain().toLowerCase(), container);
+        }
+        return LinkFilterIndex.compile(links);
+    }
+}
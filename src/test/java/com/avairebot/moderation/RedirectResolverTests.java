@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.global.filter.RedirectResolver;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedirectResolverTests extends BaseTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtomicInteger requests;
+    private RedirectResolver resolver;
+
+    @Before
+    public void setUp() throws Exception {
+        requests = new AtomicInteger();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/hop/")) {
+                int hop = Integer.parseInt(path.substring(5));
+                exchange.getResponseHeaders().add("Location", hop > 0 ? "/hop/" + (hop - 1) : "/final");
+                exchange.sendResponseHeaders(302, -1);
+            } else if (path.equals("/loop")) {
+                exchange.getResponseHeaders().add("Location", "/loop");
+                exchange.sendResponseHeaders(302, -1);
+            } else if (path.equals("/slow")) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException ignored) {
+                }
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        resolver = new RedirectResolver(2, 16, 5, Duration.ofMillis(500), 100, Duration.ofMinutes(1));
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testResolvesTheFullRedirectChain() throws Exception {
+        List<String> redirects = resolver.resolve(baseUrl + "/hop/1").get();
+
+        assertEquals(Arrays.asList(
+            baseUrl + "/hop/1",
+            baseUrl + "/hop/0",
+            baseUrl + "/final"
+        ), redirects);
+    }
+
+    @Test
+    public void testUrlsWithoutRedirectsOnlyContainThemselves() throws Exception {
+        assertEquals(Collections.singletonList(baseUrl + "/final"), resolver.resolve(baseUrl + "/final").get());
+    }
+
+    @Test
+    public void testStopsFollowingRedirectsAfterTheMaximumHops() throws Exception {
+        List<String> redirects = resolver.resolve(baseUrl + "/loop").get();
+
+        assertEquals(6, redirects.size());
+        assertEquals(5, requests.get());
+    }
+
+    @Test
+    public void testResolvedChainsAreCached() throws Exception {
+        resolver.resolve(baseUrl + "/hop/2").get();
+        resolver.resolve(baseUrl + "/hop/2").get();
+
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    public void testSlowHopsTimeOutAndAreNotCached() {
+        assertThrows(ExecutionException.class, () -> resolver.resolve(baseUrl + "/slow").get());
+        assertThrows(ExecutionException.class, () -> resolver.resolve(baseUrl + "/slow").get());
+
+        assertTrue(resolver.getCache().asMap().isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.filter.AhoCorasickMatcher;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class WordFilterTests extends BaseTest {
+
+    @Test
+    public void testMatcherFindsTermsAnywhereInTheText() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Arrays.asList("he", "she", "hers", "his"));
+
+        assertEquals("she", matcher.findFirst("ushers"));
+        assertEquals("his", matcher.findFirst("this"));
+        assertNull(matcher.findFirst("hxrs"));
+    }
+
+    @Test
+    public void testMatcherFollowsFailureLinksBetweenPartialMatches() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Arrays.asList("abcd", "bce"));
+
+        assertEquals("bce", matcher.findFirst("abce"));
+        assertNull(matcher.findFirst("abc"));
+    }
+
+    @Test
+    public void testMatcherIgnoresEmptyTerms() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(Arrays.asList("", null, "bad", "bad"));
+
+        assertEquals(1, matcher.size());
+        assertNull(matcher.findFirst("good"));
+    }
+
+    @Test
+    public void testWildcardFilterIsCaseInsensitive() {
+        WordFilter filter = WordFilter.compile(Collections.emptyList(), Arrays.asList("BadWord", "worse"));
+
+        assertEquals("badword", filter.findWildcardMatch("this is a BADWORDS message"));
+        assertEquals("worse", filter.findWildcardMatch("it gets Worse"));
+        assertNull(filter.findWildcardMatch("a perfectly fine message"));
+    }
+
+    @Test
+    public void testExactFilterOnlyMatchesWholeWords() {
+        WordFilter filter = WordFilter.compile(Arrays.asList("Bad", "word"), Collections.emptyList());
+
+        assertEquals("bad", filter.findExactMatch("that is BAD"));
+        assertEquals("word", filter.findExactMatch("word up"));
+        assertNull(filter.findExactMatch("badly worded"));
+        assertNull(filter.findWildcardMatch("bad word"));
+    }
+
+    @Test
+    public void testFilterIgnoresNullAndBlankEntries() {
+        WordFilter filter = WordFilter.compile(Arrays.asList(null, "", "  ", "bad"), Arrays.asList(null, " ", "worse"));
+
+        assertEquals("bad", filter.findExactMatch("so  bad"));
+        assertNull(filter.findExactMatch("two  spaces"));
+        assertEquals("worse", filter.findWildcardMatch("even worse"));
+        assertNull(filter.findWildcardMatch("a perfectly fine message"));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.modlog;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseAllocator;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseReserver;
+import com.pinewoodbuilders.modlog.cases.ModlogCaseSequence;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModlogCaseAllocatorTests extends BaseTest {
+
+    @Test
+    public void testCasesAreAllocatedInOrderFromTheReservedBlocks() throws SQLException {
+        InMemoryReserver reserver = new InMemoryReserver();
+        reserver.counters.put("MODLOG:1", 41);
+
+        ModlogCaseAllocator allocator = new ModlogCaseAllocator(reserver, 5);
+        for (int i = 42; i <= 53; i++) {
+            assertEquals(i, allocator.next(ModlogCaseSequence.MODLOG, 1));
+        }
+
+        assertEquals(3, reserver.reservations);
+        assertEquals(56, reserver.counters.get("MODLOG:1"));
+    }
+
+    @Test
+    public void testSequencesAndIdsAreCountedSeparately() throws SQLException {
+        ModlogCaseAllocator allocator = new ModlogCaseAllocator(new InMemoryReserver(), 10);
+
+        assertEquals(1, allocator.next(ModlogCaseSequence.MODLOG, 1));
+        assertEquals(1, allocator.next(ModlogCaseSequence.MODLOG, 2));
+        assertEquals(1, allocator.next(ModlogCaseSequence.ON_WATCH, 1));
+        assertEquals(2, allocator.next(ModlogCaseSequence.MODLOG, 1));
+    }
+
+    @Test
+    public void testFailedReservationsCanBeRetried() throws SQLException {
+        InMemoryReserver reserver = new InMemoryReserver();
+        ModlogCaseAllocator allocator = new ModlogCaseAllocator((sequence, id, amount) -> {
+            if (reserver.reservations++ == 0) {
+                throw new SQLException("Connection lost");
+            }
+            return reserver.reserve(sequence, id, amount);
+        }, 10);
+
+        assertThrows(SQLException.class, () -> allocator.next(ModlogCaseSequence.MODLOG, 1));
+        assertEquals(1, allocator.next(ModlogCaseSequence.MODLOG, 1));
+    }
+
+    @Test
+    public void testConcurrentAllocationsNeverHandOutDuplicates() throws Exception {
+        int threads = 16;
+        int allocationsPerThread = 2_000;
+
+        InMemoryReserver reserver = new InMemoryReserver();
+        ModlogCaseAllocator allocator = new ModlogCaseAllocator(reserver, 7);
+
+        Map<Long, Set<Integer>> allocated = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < allocationsPerThread; i++) {
+                        long guildId = i % 3;
+                        int modlogCase = allocator.next(ModlogCaseSequence.MODLOG, guildId);
+
+                        assertTrue(allocated.computeIfAbsent(guildId, id -> ConcurrentHashMap.newKeySet()).add(modlogCase),
+                            "Case #" + modlogCase + " was handed out twice for " + guildId
+                        );
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = 0;
+        for (Map.Entry<Long, Set<Integer>> entry : allocated.entrySet()) {
+            int reserved = reserver.counters.get("MODLOG:" + entry.getKey());
+            for (int modlogCase : entry.getValue()) {
+                assertTrue(modlogCase >= 1 && modlogCase <= reserved);
+            }
+            total += entry.getValue().size();
+        }
+        assertEquals(threads * allocationsPerThread, total);
+    }
+
+    private static class InMemoryReserver implements ModlogCaseReserver {
+
+        private final Map<String, Integer> counters = new HashMap<>();
+        private int reservations = 0;
+
+        @Override
+        public synchronized int reserve(ModlogCaseSequence sequence, long id, int amount) {
+            reservations++;
+            return counters.merge(sequence.name() + ":" + id, amount, Integer::sum);
+        }
+    }
+}
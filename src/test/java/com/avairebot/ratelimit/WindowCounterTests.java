@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.ratelimit;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.ratelimit.FixedWindowCounter;
+import com.pinewoodbuilders.ratelimit.SlidingWindowCounter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WindowCounterTests extends BaseTest {
+
+    @Test
+    public void testFixedWindowCountsHitsUntilTheWindowEnds() {
+        FixedWindowCounter counter = new FixedWindowCounter();
+
+        assertEquals(0, counter.getHits(1000));
+        assertEquals(1, counter.hit(1000, 500));
+        assertEquals(2, counter.hit(1200, 500));
+        assertEquals(1500, counter.getWindowEnd());
+        assertEquals(2, counter.getHits(1500));
+
+        assertTrue(counter.hasExpired(1501));
+        assertEquals(0, counter.getHits(1501));
+        assertEquals(1, counter.hit(1600, 500));
+        assertEquals(2100, counter.getWindowEnd());
+    }
+
+    @Test
+    public void testFixedWindowDoesNotLoseConcurrentHits() throws InterruptedException {
+        FixedWindowCounter counter = new FixedWindowCounter();
+        long now = System.currentTimeMillis();
+
+        int threads = 8, hitsPerThread = 10000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int hit = 0; hit < hitsPerThread; hit++) {
+                    counter.hit(now, 60000);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * hitsPerThread, counter.getHits(now));
+    }
+
+    @Test
+    public void testSlidingWindowOnlyCountsRecentHits() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, 1000);
+
+        assertEquals(1, counter.hit(1000));
+        assertEquals(2, counter.hit(1500));
+        assertEquals(3, counter.hit(1900));
+        assertEquals(2, counter.getHits(2000));
+
+        // The oldest hit is replaced once the limit is reached.
+        assertEquals(3, counter.hit(2100));
+        assertFalse(counter.hasExpired(2100));
+        assertTrue(counter.hasExpired(3100));
+    }
+
+    @Test
+    public void testSlidingWindowGrantsOnePunishmentPerCooldown() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, 1000);
+
+        assertTrue(counter.claimPunishment(10000, 2500));
+        assertFalse(counter.claimPunishment(11000, 2500));
+        assertTrue(counter.claimPunishment(12500, 2500));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.requests;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.requests.ratelimit.RateLimitInterceptor;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitInterceptorTests extends BaseTest {
+
+    private static final long MAX_WAIT = 5000;
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtomicInteger requests;
+    private RateLimitInterceptor interceptor;
+
+    @Before
+    public void setUp() throws Exception {
+        requests = new AtomicInteger();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int request = requests.incrementAndGet();
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/retry-after") && request <= 2) {
+                exchange.getResponseHeaders().add("Retry-After", "0.1");
+                exchange.sendResponseHeaders(429, -1);
+            } else if (path.equals("/always-ratelimited")) {
+                exchange.getResponseHeaders().add("Retry-After", "0.05");
+                exchange.sendResponseHeaders(429, -1);
+            } else if (path.equals("/ratelimited-for-long")) {
+                exchange.getResponseHeaders().add("Retry-After", "30");
+                exchange.sendResponseHeaders(429, -1);
+            } else if (path.startsWith("/exhausted/") && request == 1) {
+                exchange.getResponseHeaders().add("X-RateLimit-Remaining", "0");
+                exchange.getResponseHeaders().add("X-RateLimit-Reset", path.substring(11));
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        interceptor = new RateLimitInterceptor(Set.of("127.0.0.1"), MAX_WAIT);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRatelimitedRequestsAreRetriedAfterTheRetryAfterDelay() throws IOException {
+        long start = System.currentTimeMillis();
+
+        assertEquals(200, execute(interceptor, "/retry-after"));
+        assertEquals(3, requests.get());
+        assertTrue(System.currentTimeMillis() - start >= 200);
+    }
+
+    @Test
+    public void testRatelimitedRequestsStopRetryingAfterTheMaximumRetries() throws IOException {
+        assertEquals(429, execute(interceptor, "/always-ratelimited"));
+        assertEquals(RateLimitInterceptor.MAX_RETRIES + 1, requests.get());
+    }
+
+    @Test
+    public void testRatelimitedRequestsAreNotRetriedPastTheMaximumWait() throws IOException {
+        long start = System.currentTimeMillis();
+
+        assertEquals(429, execute(interceptor, "/ratelimited-for-long"));
+        assertEquals(1, requests.get());
+        assertTrue(System.currentTimeMillis() - start < MAX_WAIT);
+    }
+
+    @Test
+    public void testRequestsWaitForTheResetOnceTheRemainingRequestsRunOut() throws IOException {
+        assertEquals(200, execute(interceptor, "/exhausted/0.3"));
+
+        long start = System.currentTimeMillis();
+
+        assertEquals(200, execute(interceptor, "/exhausted/0.3"));
+        assertTrue(System.currentTimeMillis() - start >= 250);
+    }
+
+    @Test
+    public void testResetTimestampsAreNotReadAsDelays() throws IOException {
+        long resetAt = System.currentTimeMillis() / 1000 + 2;
+        assertEquals(200, execute(interceptor, "/exhausted/" + resetAt));
+
+        long start = System.currentTimeMillis();
+
+        assertEquals(200, execute(interceptor, "/exhausted/" + resetAt));
+
+        long waited = System.currentTimeMillis() - start;
+        assertTrue(waited >= 900 && waited < MAX_WAIT, "Waited " + waited + " ms for the ratelimit to reset");
+    }
+
+    @Test
+    public void testRequestsAreNotHeldBackByResetsPastTheMaximumWait() throws IOException {
+        assertEquals(200, execute(interceptor, "/exhausted/30"));
+
+        long start = System.currentTimeMillis();
+
+        assertEquals(200, execute(interceptor, "/exhausted/30"));
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void testOtherHostsAreNotRatelimited() throws IOException {
+        assertEquals(429, execute(new RateLimitInterceptor(), "/always-ratelimited"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testResetValuesCanBeDelaysOrTimestamps() {
+        long now = 1_700_000_000_000L;
+
+        assertEquals(now + 1500, RateLimitInterceptor.parseResetTime("1.5", now));
+        assertEquals(1_700_000_030_000L, RateLimitInterceptor.parseResetTime("1700000030", now));
+        assertEquals(-1, RateLimitInterceptor.parseResetTime("soon", now));
+        assertEquals(-1, RateLimitInterceptor.parseResetTime(null, now));
+    }
+
+    private int execute(RateLimitInterceptor interceptor, String path) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(interceptor)
+            .build();
+
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + path).build()).execute()) {
+            return response.code();
+        } finally {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+}
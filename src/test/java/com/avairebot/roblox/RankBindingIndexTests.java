@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService.Group;
+import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService.GroupRankBinding;
+import com.pinewoodbuilders.roblox.verification.update.RankBindingIndex;
+import com.pinewoodbuilders.roblox.verification.update.RoleDiff;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RankBindingIndexTests extends BaseTest {
+
+    private static final long GROUP_ID = 159511;
+
+    @Test
+    public void testGroupRanksAreLookedUpFromTheCompiledBindings() {
+        RankBindingIndex index = RankBindingIndex.compile(createService(
+            new GroupRankBinding("100", List.of(new Group(String.valueOf(GROUP_ID), List.of(1, 2, 3)))),
+            new GroupRankBinding("200", List.of(new Group(String.valueOf(GROUP_ID), List.of(3, 255)))),
+            new GroupRankBinding("300", List.of(new Group("645836", List.of(1))))
+        ));
+
+        assertEquals(Set.of(100L), getRoleIds(index, GROUP_ID, 1));
+        assertEquals(Set.of(100L, 200L), getRoleIds(index, GROUP_ID, 3));
+        assertEquals(Set.of(200L), getRoleIds(index, GROUP_ID, 255));
+        assertEquals(Set.of(), getRoleIds(index, GROUP_ID, 4));
+        assertEquals(Set.of(300L), getRoleIds(index, 645836, 1));
+        assertEquals(Set.of(), getRoleIds(index, 1, 1));
+        assertEquals(Set.of(100L, 200L, 300L), index.getBoundRoleIds());
+    }
+
+    @Test
+    public void testGamePassBindingsAreIndexedByGamePassId() {
+        RankBindingIndex index = RankBindingIndex.compile(createService(
+            new GroupRankBinding("100", List.of(new Group(RankBindingIndex.GAME_PASS_GROUP, List.of(5011)))),
+            new GroupRankBinding("200", List.of(new Group(RankBindingIndex.GAME_PASS_GROUP, List.of(5011))))
+        ));
+
+        assertEquals(Set.of(5011L), index.getGamePassIds());
+        assertArrayEquals(new long[]{100L, 200L}, index.getGamePassRoleIds(5011));
+        assertEquals(0, index.getGamePassRoleIds(1).length);
+    }
+
+    @Test
+    public void testInvalidBindingsAreSkipped() {
+        RankBindingIndex index = RankBindingIndex.compile(createService(
+            new GroupRankBinding("not-a-role", List.of(new Group(String.valueOf(GROUP_ID), List.of(1)))),
+            new GroupRankBinding("100", List.of(new Group("not-a-group", List.of(1)))),
+            new GroupRankBinding("200", List.of(new Group(String.valueOf(GROUP_ID), List.of(-1, 256))))
+        ));
+
+        assertEquals(Set.of(), getRoleIds(index, GROUP_ID, 1));
+        assertEquals(Set.of(100L, 200L), index.getBoundRoleIds());
+        assertTrue(RankBindingIndex.compile(null).isEmpty());
+    }
+
+    @Test
+    public void testRoleDiffOnlyContainsChanges() {
+        Set<Long> managed = Set.of(100L, 200L, 300L);
+
+        RoleDiff diff = RoleDiff.compute(Set.of(1L, 100L, 200L), Set.of(100L, 300L), managed);
+        assertEquals(Set.of(300L), diff.toAdd());
+        assertEquals(Set.of(200L), diff.toRemove());
+
+        assertTrue(RoleDiff.compute(Set.of(1L, 100L), Set.of(100L), managed).isEmpty());
+    }
+
+    private Set<Long> getRoleIds(RankBindingIndex index, long groupId, int rank) {
+        Set<Long> roleIds = new HashSet<>();
+        index.addRoleIds(groupId, rank, roleIds);
+        return roleIds;
+    }
+
+    private GuildRobloxRanksService createService(GroupRankBinding... bindings) {
+        GuildRobloxRanksService service = new GuildRobloxRanksService();
+        service.setGroupRankBindings(List.of(bindings));
+        return service;
+    }
+}
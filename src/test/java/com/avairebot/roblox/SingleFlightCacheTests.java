@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.roblox.api.SingleFlightCache;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightCacheTests extends BaseTest {
+
+    @Test
+    public void testConcurrentLoadsForTheSameKeyAreCollapsed() {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        SingleFlightCache<Long, String> cache = new SingleFlightCache<>(1, TimeUnit.MINUTES, key -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+
+        CompletableFuture<String> first = cache.get(1L);
+        CompletableFuture<String> second = cache.get(1L);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getInFlightCount());
+
+        pending.complete("Senither");
+
+        assertEquals("Senither", first.join());
+        assertEquals(0, cache.getInFlightCount());
+
+        assertEquals("Senither", cache.get(1L).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testDifferentKeysAreLoadedSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightCache<Long, String> cache = new SingleFlightCache<>(1, TimeUnit.MINUTES, key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("user-" + key);
+        });
+
+        assertEquals("user-1", cache.get(1L).join());
+        assertEquals("user-2", cache.get(2L).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testNullValuesAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightCache<Long, String> cache = new SingleFlightCache<>(1, TimeUnit.MINUTES, key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertNull(cache.get(1L).join());
+        assertNull(cache.get(1L).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testZeroDurationOnlyCollapsesInFlightLoads() {
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightCache<Long, String> cache = new SingleFlightCache<>(0, TimeUnit.SECONDS, key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("status");
+        });
+
+        assertNull(cache.getCache());
+        assertEquals("status", cache.get(1L).join());
+        assertEquals("status", cache.get(1L).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testFailedLoadsAreRemovedFromTheInFlightLoads() {
+        SingleFlightCache<Long, String> cache = new SingleFlightCache<>(1, TimeUnit.MINUTES, key -> {
+            throw new IllegalStateException("Roblox is down");
+        });
+
+        assertTrue(cache.get(1L).isCompletedExceptionally());
+        assertEquals(0, cache.getInFlightCount());
+    }
+}
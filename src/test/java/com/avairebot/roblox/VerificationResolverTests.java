@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.verification.VerificationEntity;
+import com.pinewoodbuilders.roblox.verification.resolver.BloxlinkVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.RoverVerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationCacheKey;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationLookup;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationLookup.LookupResult;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationProvider;
+import com.pinewoodbuilders.roblox.verification.resolver.VerificationResolver;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VerificationResolverTests extends BaseTest {
+
+    private static final long DISCORD_ID = 88739639380172800L;
+    private static final List<VerificationProvider> PROVIDERS = List.of(
+        VerificationProvider.PINEWOOD, VerificationProvider.ROVER, VerificationProvider.BLOXLINK
+    );
+
+    private final OkHttpClient client = new OkHttpClient();
+    private final AtomicInteger databaseLookups = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+    private StubProvider rover;
+    private StubProvider bloxlink;
+
+    @Before
+    public void setUp() throws IOException {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        rover = new StubProvider();
+        bloxlink = new StubProvider();
+    }
+
+    @After
+    public void tearDown() {
+        rover.stop();
+        bloxlink.stop();
+        scheduler.shutdownNow();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    @Test
+    public void testHigherPriorityProviderWinsEvenIfItAnswersLast() {
+        rover.respond(200, "{\"status\":\"ok\",\"robloxId\":1001}", 200);
+        bloxlink.respond(200, "{\"status\":\"ok\",\"primaryAccount\":\"2002\"}", 0);
+
+        VerificationEntity entity = createResolver(0).resolve(DISCORD_ID, true, PROVIDERS).join();
+
+        assertNotNull(entity);
+        assertEquals(1001, entity.getRobloxId());
+        assertEquals("rover", entity.getProvider());
+        assertEquals(1, databaseLookups.get());
+    }
+
+    @Test
+    public void testLowerPriorityProvidersAreHedgedBeforeSlowProvidersAnswer() {
+        rover.respond(404, "{\"status\":\"error\",\"error\":\"User not found.\"}", 400);
+        bloxlink.respond(200, "{\"status\":\"ok\",\"primaryAccount\":\"2002\"}", 0);
+
+        VerificationEntity entity = createResolver(50).resolve(DISCORD_ID, true, PROVIDERS).join();
+
+        assertNotNull(entity);
+        assertEquals(2002, entity.getRobloxId());
+        assertEquals("bloxlink", entity.getProvider());
+        assertTrue(bloxlink.firstRequestAt.get() < rover.firstAnsweredAt.get());
+    }
+
+    @Test
+    public void testUnverifiedUsersAreCached() {
+        rover.respond(404, "{\"status\":\"error\",\"error\":\"User not found.\"}", 0);
+        bloxlink.respond(200, "{\"status\":\"error\",\"error\":\"This user is not linked with Bloxlink.\"}", 0);
+
+        VerificationResolver resolver = createResolver(0);
+
+        assertNull(resolver.resolve(DISCORD_ID, true, PROVIDERS).join());
+        assertNull(resolver.resolve(DISCORD_ID, true, PROVIDERS).join());
+
+        assertEquals(1, databaseLookups.get());
+        assertEquals(1, rover.requests.get());
+        assertEquals(1, bloxlink.requests.get());
+        assertNotNull(resolver.getUnverifiedCache().getIfPresent(new VerificationCacheKey(VerificationProvider.ROVER, DISCORD_ID)));
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() {
+        rover.respond(500, "Internal Server Error", 0);
+        bloxlink.respond(404, "{}", 0);
+
+        VerificationResolver resolver = createResolver(0);
+
+        assertNull(resolver.resolve(DISCORD_ID, true, PROVIDERS).join());
+        assertNull(resolver.resolve(DISCORD_ID, true, PROVIDERS).join());
+
+        assertEquals(2, rover.requests.get());
+        assertEquals(1, bloxlink.requests.get());
+    }
+
+    @Test
+    public void testVerifiedUsersAreCachedByProviderAndDiscordId() {
+        rover.respond(200, "{\"status\":\"ok\",\"robloxId\":1001}", 0);
+        bloxlink.respond(404, "{}", 0);
+
+        VerificationResolver resolver = createResolver(0);
+
+        assertNotNull(resolver.resolve(DISCORD_ID, true, PROVIDERS).join());
+        assertNotNull(resolver.resolve(DISCORD_ID, true, VerificationProvider.ROVER).join());
+        assertEquals(1, rover.requests.get());
+
+        assertNotNull(resolver.getCache().getIfPresent(new VerificationCacheKey(VerificationProvider.ROVER, DISCORD_ID)));
+
+        assertNotNull(resolver.resolve(DISCORD_ID, false, VerificationProvider.ROVER).join());
+        assertEquals(2, rover.requests.get());
+    }
+
+    private VerificationResolver createResolver(long hedgeDelay) {
+        Map<VerificationProvider, VerificationLookup> lookups = new EnumMap<>(VerificationProvider.class);
+        lookups.put(VerificationProvider.PINEWOOD, discordId -> {
+            databaseLookups.incrementAndGet();
+            return CompletableFuture.completedFuture(LookupResult.notFound());
+        });
+        lookups.put(VerificationProvider.ROVER, new RoverVerificationLookup(client, rover.getUrl()));
+        lookups.put(VerificationProvider.BLOXLINK, new BloxlinkVerificationLookup(client, bloxlink.getUrl()));
+
+        return new VerificationResolver(lookups, (provider, discordId, robloxId) -> CompletableFuture.completedFuture(
+            new VerificationEntity(robloxId, "user-" + robloxId, discordId, provider.getName(), true)
+        ), scheduler, hedgeDelay, 60);
+    }
+
+    private static class StubProvider {
+
+        private final HttpServer server;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicLong firstRequestAt = new AtomicLong();
+        private final AtomicLong firstAnsweredAt = new AtomicLong();
+
+        private volatile int status = 404;
+        private volatile String body = "{}";
+        private volatile long latency = 0;
+
+        StubProvider() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                requests.incrementAndGet();
+                firstRequestAt.compareAndSet(0, System.nanoTime());
+
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream stream = exchange.getResponseBody()) {
+                    stream.write(bytes);
+                }
+                firstAnsweredAt.compareAndSet(0, System.nanoTime());
+            });
+            server.start();
+        }
+
+        void respond(int status, String body, long latency) {
+            this.status = status;
+            this.body = body;
+            this.latency = latency;
+        }
+
+        String getUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/user/";
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+    }
+}